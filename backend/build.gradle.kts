@@ -7,6 +7,7 @@ plugins {
     id("io.spring.dependency-management") version "1.1.7"
     id("io.gatling.gradle") version "3.15.1.2"
     id("org.openapi.generator") version "7.14.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.albunyaan"
@@ -114,6 +115,15 @@ tasks.test {
     environment("FIRESTORE_EMULATOR_HOST", "localhost:8090")
 }
 
+// Microbenchmarks in src/jmh (e.g. SearchTokenizerBenchmark): ./gradlew jmh
+// Narrow with -Pjmh.includes=<regex>; results land in build/results/jmh.
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.set(listOf(it)) }
+}
+
 tasks.bootJar {
     duplicatesStrategy = DuplicatesStrategy.WARN
 }
@@ -0,0 +1,47 @@
+package com.albunyaan.tube.service;
+
+import java.util.*;
+
+/**
+ * The regex-based tokenizer SearchTokenizer replaced, kept verbatim as the benchmark baseline.
+ */
+class LegacySearchTokenizer {
+
+    public String normalizeArabic(String text) {
+        if (text == null) return "";
+        String r = text.replaceAll("[\\u064B-\\u065F]", "");
+        r = r.replaceAll("[\\u0623\\u0625\\u0622\\u0671]", "ا");
+        r = r.replaceAll("ة", "ه");
+        return r;
+    }
+
+    public List<String> tokenize(String title, String channelName) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (title != null) addWordTokens(tokens, title);
+        if (channelName != null) addWordTokens(tokens, channelName);
+        return new ArrayList<>(tokens);
+    }
+
+    public List<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (query == null) return new ArrayList<>();
+        for (String word : query.split("[\\s\\p{Punct}\\u060C\\u061B\\u061F\\u00BB\\u00AB]+")) {
+            if (word.length() < 2) continue;
+            String normalized = normalizeArabic(word.toLowerCase(Locale.ROOT));
+            if (normalized.length() >= 2) terms.add(normalized);
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private void addWordTokens(Set<String> tokens, String text) {
+        for (String word : text.split("[\\s\\p{Punct}\\u060C\\u061B\\u061F\\u00BB\\u00AB]+")) {
+            if (word.length() < 3) continue;
+            String lower = word.toLowerCase(Locale.ROOT);
+            tokens.add(lower);
+            String normalized = normalizeArabic(lower);
+            if (!normalized.equals(lower) && !normalized.isEmpty()) {
+                tokens.add(normalized);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.albunyaan.tube.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokenizer cost per corpus pass: indexing (tokenize title + channel) and query-term
+ * extraction, new single-pass tokenizer vs the regex version it replaced. The corpus is
+ * {@code search-titles.txt}: one "title|channel" per line, mixed Arabic (with and without
+ * tashkeel) and English, in the shape of indexed stream titles.
+ *
+ * <p>Run with {@code ./gradlew jmh -Pjmh.includes=SearchTokenizerBenchmark}; add
+ * {@code -prof gc} via jmh args to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchTokenizerBenchmark {
+
+    @Param({"false", "true"})
+    public boolean stemming;
+
+    private final List<String> titles = new ArrayList<>();
+    private final List<String> channels = new ArrayList<>();
+    private SearchTokenizer tokenizer;
+    private LegacySearchTokenizer legacy;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = SearchTokenizerBenchmark.class.getResourceAsStream("/search-titles.txt");
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                int bar = line.lastIndexOf('|');
+                titles.add(bar >= 0 ? line.substring(0, bar) : line);
+                channels.add(bar >= 0 ? line.substring(bar + 1) : null);
+            }
+        }
+        tokenizer = new SearchTokenizer(stemming);
+        legacy = new LegacySearchTokenizer();
+    }
+
+    @Benchmark
+    public void tokenize(Blackhole bh) {
+        for (int i = 0; i < titles.size(); i++) {
+            bh.consume(tokenizer.tokenize(titles.get(i), channels.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void tokenizeLegacy(Blackhole bh) {
+        for (int i = 0; i < titles.size(); i++) {
+            bh.consume(legacy.tokenize(titles.get(i), channels.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void queryTerms(Blackhole bh) {
+        for (String title : titles) {
+            bh.consume(tokenizer.queryTerms(title));
+        }
+    }
+
+    @Benchmark
+    public void queryTermsLegacy(Blackhole bh) {
+        for (String title : titles) {
+            bh.consume(legacy.queryTerms(title));
+        }
+    }
+
+    @Benchmark
+    public void normalizeArabic(Blackhole bh) {
+        for (String title : titles) {
+            bh.consume(tokenizer.normalizeArabic(title));
+        }
+    }
+
+    @Benchmark
+    public void normalizeArabicLegacy(Blackhole bh) {
+        for (String title : titles) {
+            bh.consume(legacy.normalizeArabic(title));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.albunyaan.tube.service;
+
+import com.albunyaan.tube.config.ValidationProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the circuit breaker checks made around every YouTube extraction: the gateway's
+ * {@code isOpen()} + {@code allowProbe()} before the call and {@code recordSuccess()} after
+ * it, single-threaded and under contention. {@code state} picks CLOSED (the normal case) or
+ * OPEN (every check rejects). The {@code mixed} group runs checks on six threads while two
+ * record successes, roughly admin, download and scheduler traffic sharing one breaker.
+ *
+ * <p>Run with {@code ./gradlew jmh -Pjmh.includes=YouTubeCircuitBreakerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class YouTubeCircuitBreakerBenchmark {
+
+    @Param({"CLOSED", "OPEN"})
+    public String state;
+
+    private YouTubeCircuitBreaker breaker;
+
+    @Setup
+    public void setUp() {
+        ValidationProperties props = new ValidationProperties();
+        props.getYoutube().getCircuitBreaker().setEnabled(true);
+        props.getYoutube().getCircuitBreaker().getRollingWindow().setErrorThreshold(1);
+        breaker = new YouTubeCircuitBreaker(props, null);
+        if ("OPEN".equals(state)) {
+            breaker.recordRateLimitError(new RuntimeException("rate limit"));
+        }
+    }
+
+    @Benchmark
+    public boolean check() {
+        return !breaker.isOpen() && breaker.allowProbe();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean checkContended() {
+        return !breaker.isOpen() && breaker.allowProbe();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void recordSuccessContended() {
+        breaker.recordSuccess();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public boolean mixedCheck() {
+        return !breaker.isOpen() && breaker.allowProbe();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public void mixedSuccess() {
+        breaker.recordSuccess();
+    }
+}
@@ -6,6 +6,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
@@ -94,6 +96,74 @@ public class AsyncConfig {
         return executor;
     }
 
+    /**
+     * Per-type page reads for the account sync pull (subscriptions, playlists, favorites).
+     *
+     * Configuration rationale:
+     * - One pull fans out into three tasks (one per type), each a Firestore page read plus
+     *   its archive projection; maxPoolSize=12 serves four concurrent pulls fully parallel.
+     * - queueCapacity=60: absorbs app-start bursts when many clients sync at once.
+     * - CallerRunsPolicy: under saturation the request thread reads that type itself, i.e.
+     *   the pull degrades to the old sequential shape instead of failing.
+     * - The request's attributes are carried to the worker so per-request Firestore
+     *   accounting (read budget, lookup memo) still sees these reads.
+     */
+    @Bean(name = "syncPullExecutor")
+    public Executor syncPullExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(6);
+        executor.setMaxPoolSize(12);
+        executor.setQueueCapacity(60);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("sync-pull-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(15);
+        executor.setTaskDecorator(task -> {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes == null) return task;
+            return () -> {
+                // Restore rather than reset: under CallerRunsPolicy this runs on the request thread
+                RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+                RequestContextHolder.setRequestAttributes(attributes);
+                try {
+                    task.run();
+                } finally {
+                    if (previous != null) {
+                        RequestContextHolder.setRequestAttributes(previous);
+                    } else {
+                        RequestContextHolder.resetRequestAttributes();
+                    }
+                }
+            };
+        });
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Background refreshes for stale-while-revalidate caches (public-content and friends).
+     *
+     * Configuration rationale:
+     * - 2 threads: refreshes are one per distinct cache key, and each refresh fans out on
+     *   publicContentExecutor itself; more threads would only move the herd there.
+     * - queueCapacity=100: after a bulk eviction, hot keys queue up and refresh in turn.
+     * - AbortPolicy: a rejected refresh is simply skipped; the stale entry keeps being served
+     *   and the next request for that key retries. Never run refreshes on Tomcat threads.
+     */
+    @Bean(name = "cacheRefreshExecutor")
+    public Executor cacheRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * Expose the rejection handler as a bean so its metrics can be monitored.
      * Use this to track validation executor overload events.
@@ -1,24 +1,43 @@
 package com.albunyaan.tube.config;
 
+import com.albunyaan.tube.config.cache.StaleWhileRevalidateCache;
+import com.albunyaan.tube.config.cache.TieredCacheManager;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.CompositeCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
  * BACKEND-PERF-01: Caffeine Cache Configuration
  *
  * Configures in-memory caching strategy with different TTLs for different data types.
- * Uses Caffeine for high-performance caching.
+ * Uses Caffeine for high-performance caching. When {@code app.cache.tiered.enabled} is set,
+ * the public content caches get a shared Redis tier behind Caffeine (see {@link TieredCacheManager}).
+ * Public content caches are stale-while-revalidate by default (see {@link StaleWhileRevalidateCache}).
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(CacheConfig.class);
+
     /**
      * Cache names with specific TTLs
      */
@@ -34,11 +53,9 @@ public class CacheConfig {
     public static final String CACHE_YOUTUBE_VIDEO_SEARCH = "youtubeVideoSearch";
     public static final String CACHE_WORKSPACE_EXCLUSIONS = "workspaceExclusions";
 
-    // NewPipe extractor caches (used by SearchOrchestrator, ChannelOrchestrator)
+    // NewPipe extractor caches (used by SearchOrchestrator, ChannelOrchestrator).
+    // Channel/playlist/stream info lives in ExtractionResultCache (per-kind TTLs, shared via Redis).
     public static final String CACHE_NEWPIPE_SEARCH_RESULTS = "newpipeSearchResults";
-    public static final String CACHE_NEWPIPE_CHANNEL_INFO = "newpipeChannelInfo";
-    public static final String CACHE_NEWPIPE_PLAYLIST_INFO = "newpipePlaylistInfo";
-    public static final String CACHE_NEWPIPE_VIDEO_INFO = "newpipeVideoInfo";
     public static final String CACHE_NEWPIPE_CHANNEL_VALIDATION = "newpipeChannelValidation";
     public static final String CACHE_NEWPIPE_PLAYLIST_VALIDATION = "newpipePlaylistValidation";
     public static final String CACHE_NEWPIPE_VIDEO_VALIDATION = "newpipeVideoValidation";
@@ -69,9 +86,15 @@ public class CacheConfig {
      * 1. Add a constant for the cache name above
      * 2. Add it to the cacheManager constructor below
      * 3. Update any @Cacheable annotations to use the constant
+     * 4. To share it across nodes through Redis, add a TTL under app.cache.tiered.ttl
+     *    (values must be encodable by CacheValueCodec, otherwise they stay local)
      */
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(TieredCacheProperties tieredProperties,
+                                     StaleWhileRevalidateProperties swrProperties,
+                                     @Qualifier("cacheRefreshExecutor") Executor cacheRefreshExecutor,
+                                     ObjectProvider<RedisConnectionFactory> redisConnectionFactory,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager(
                 // Category caches
                 CACHE_CATEGORY_TREE,
@@ -92,9 +115,6 @@ public class CacheConfig {
 
                 // NewPipe extractor caches (SearchOrchestrator, ChannelOrchestrator)
                 CACHE_NEWPIPE_SEARCH_RESULTS,
-                CACHE_NEWPIPE_CHANNEL_INFO,
-                CACHE_NEWPIPE_PLAYLIST_INFO,
-                CACHE_NEWPIPE_VIDEO_INFO,
                 CACHE_NEWPIPE_CHANNEL_VALIDATION,
                 CACHE_NEWPIPE_PLAYLIST_VALIDATION,
                 CACHE_NEWPIPE_VIDEO_VALIDATION,
@@ -122,6 +142,17 @@ public class CacheConfig {
                         .recordStats()
                         .build());
 
+        // Tiered caches use their configured TTL locally too, so L1 never outlives L2
+        if (tieredProperties.isEnabled()) {
+            tieredProperties.getTtl().forEach((name, ttl) ->
+                    cacheManager.registerCustomCache(name,
+                            Caffeine.newBuilder()
+                                    .expireAfterWrite(ttl)
+                                    .maximumSize(1000)
+                                    .recordStats()
+                                    .build()));
+        }
+
         // Cubic R-final5 P2 — order-of-operations guard.
         //
         // CaffeineCacheManager builds caches lazily on first getCache() call,
@@ -141,7 +172,30 @@ public class CacheConfig {
                     + "a startup read may have lazily built it with the default 1h TTL.");
         }
 
-        return cacheManager;
+        CacheManager localManager = cacheManager;
+        if (swrProperties.isEnabled() && !swrProperties.getCaches().isEmpty()) {
+            // Stale-while-revalidate caches shadow the same-named Caffeine caches
+            List<Cache> swrCaches = new ArrayList<>();
+            for (String name : swrProperties.getCaches()) {
+                Duration ttl = tieredProperties.getTtl().getOrDefault(name, Duration.ofHours(1));
+                swrCaches.add(new StaleWhileRevalidateCache(name, ttl, swrProperties.getMaxStale(), 1000,
+                        cacheRefreshExecutor, meterRegistry.getIfAvailable()));
+            }
+            SimpleCacheManager swrManager = new SimpleCacheManager();
+            swrManager.setCaches(swrCaches);
+            swrManager.afterPropertiesSet();
+            localManager = new CompositeCacheManager(swrManager, cacheManager);
+        }
+
+        if (!tieredProperties.isEnabled()) {
+            return localManager;
+        }
+        RedisConnectionFactory connectionFactory = redisConnectionFactory.getIfAvailable();
+        if (connectionFactory == null) {
+            log.warn("app.cache.tiered.enabled is set but no RedisConnectionFactory is configured; using local caches only");
+            return localManager;
+        }
+        return new TieredCacheManager(localManager, connectionFactory, tieredProperties, meterRegistry.getIfAvailable());
     }
 
     /**
@@ -0,0 +1,168 @@
+package com.albunyaan.tube.config;
+
+import com.albunyaan.tube.repository.ApprovalRepository;
+import com.albunyaan.tube.repository.ChannelRepository;
+import com.albunyaan.tube.repository.PlaylistRepository;
+import com.albunyaan.tube.repository.VideoRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Instruments every public method of the {@code @Repository} beans.
+ *
+ * Each call records {@code firestore.query.duration} tagged by collection, operation
+ * (read / count / write), query (the repository method, which names the query shape) and
+ * outcome (success / timeout / error), plus {@code firestore.query.documents} and
+ * {@code firestore.query.timeouts}. Documents read are also charged to the current request's
+ * read budget (see {@link FirestoreReadBudgetFilter}).
+ *
+ * Document counts are taken from the result (list or map size, 1 per present Optional, one
+ * read per 1000 index entries for aggregations) and from the size of a collection argument
+ * for batch writes. The advice sits inside any caching advice, so cache hits are not counted.
+ */
+public class FirestoreQueryMetrics extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    private static final String COLLECTION_FIELD = "COLLECTION_NAME";
+    private static final String[] READ_PREFIXES = {"find", "search", "exists", "is", "archived", "load", "pull", "get"};
+
+    public FirestoreQueryMetrics(ObjectProvider<MetricsConfig.ApplicationMetrics> applicationMetrics) {
+        setProxyTargetClass(true);
+        this.advisor = new DefaultPointcutAdvisor(new RepositoryMethods(), new Interceptor(applicationMetrics));
+    }
+
+    /** Public instance methods declared by a {@code @Repository} class. */
+    private static final class RepositoryMethods extends StaticMethodMatcherPointcut {
+
+        RepositoryMethods() {
+            setClassFilter(type -> type.isAnnotationPresent(Repository.class));
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            int modifiers = method.getModifiers();
+            return Modifier.isPublic(modifiers)
+                    && !Modifier.isStatic(modifiers)
+                    && method.getDeclaringClass() != Object.class
+                    && !com.google.cloud.firestore.CollectionReference.class.isAssignableFrom(method.getReturnType());
+        }
+    }
+
+    private static final class Interceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MetricsConfig.ApplicationMetrics> applicationMetrics;
+        private final ClassValue<String> collections = new ClassValue<>() {
+            @Override
+            protected String computeValue(Class<?> type) {
+                return collectionOf(type);
+            }
+        };
+
+        Interceptor(ObjectProvider<MetricsConfig.ApplicationMetrics> applicationMetrics) {
+            this.applicationMetrics = applicationMetrics;
+        }
+
+        @Override
+        @Nullable
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            MetricsConfig.ApplicationMetrics metrics = applicationMetrics.getIfAvailable();
+            if (metrics == null) {
+                return invocation.proceed();
+            }
+            Method method = invocation.getMethod();
+            String query = method.getName();
+            String operation = operationOf(query);
+            long start = System.nanoTime();
+            String outcome = "error";
+            long documents = 0;
+            try {
+                Object result = invocation.proceed();
+                outcome = "success";
+                documents = "write".equals(operation)
+                        ? writtenDocuments(invocation.getArguments())
+                        : readDocuments(result);
+                return result;
+            } catch (Throwable t) {
+                if (isTimeout(t)) outcome = "timeout";
+                throw t;
+            } finally {
+                metrics.recordFirestoreQuery(collections.get(method.getDeclaringClass()), operation, query, outcome,
+                        System.nanoTime() - start, documents);
+                if (!"write".equals(operation)) {
+                    FirestoreReadBudgetFilter.charge(documents);
+                }
+            }
+        }
+    }
+
+    static String operationOf(String method) {
+        if (method.startsWith("count")) return "count";
+        if (method.equals("getOrCreate")) return "write";
+        for (String prefix : READ_PREFIXES) {
+            if (method.startsWith(prefix)) return "read";
+        }
+        return "write";
+    }
+
+    static long readDocuments(@Nullable Object result) {
+        if (result == null) return 0;
+        if (result instanceof Collection<?> items) return items.size();
+        if (result instanceof Map<?, ?> items) return items.size();
+        if (result instanceof Optional<?> item) return item.isPresent() ? 1 : 0;
+        // Aggregations bill one read per batch of up to 1000 index entries
+        if (result instanceof Long count) return Math.max(1, (count + 999) / 1000);
+        if (result instanceof Integer count) return Math.max(1, (count + 999) / 1000);
+        if (result instanceof ChannelRepository.PaginatedResult<?> page) return page.getItems().size();
+        if (result instanceof PlaylistRepository.PaginatedResult<?> page) return page.getItems().size();
+        if (result instanceof VideoRepository.PaginatedResult<?> page) return page.getItems().size();
+        if (result instanceof ApprovalRepository.PaginatedResult<?> page) return page.getItems().size();
+        return 1;
+    }
+
+    static long writtenDocuments(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof Collection<?> items) return items.size();
+            if (argument instanceof Map<?, ?> items && arguments.length == 1) return items.size();
+        }
+        return 1;
+    }
+
+    private static boolean isTimeout(Throwable t) {
+        Throwable cause = t;
+        for (int depth = 0; cause != null && depth < 5; depth++, cause = cause.getCause()) {
+            if (cause instanceof TimeoutException) return true;
+        }
+        return false;
+    }
+
+    /** The repository's {@code COLLECTION_NAME}, else its name (e.g. "approval" for ApprovalRepository). */
+    static String collectionOf(Class<?> type) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                Field field = c.getDeclaredField(COLLECTION_FIELD);
+                if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                    field.setAccessible(true);
+                    return (String) field.get(null);
+                }
+            } catch (NoSuchFieldException | IllegalAccessException | RuntimeException e) {
+                // fall through to the superclass / class name
+            }
+        }
+        String name = ClassUtils.getUserClass(type).getSimpleName().replaceFirst("Repository$", "");
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(java.util.Locale.ROOT);
+    }
+}
@@ -0,0 +1,71 @@
+package com.albunyaan.tube.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-request Firestore read budget.
+ *
+ * Repository reads made on the request thread are charged here by
+ * {@link FirestoreQueryMetrics}. When the request completes, the total is recorded as
+ * {@code firestore.request.reads} by route, and requests that read more than the budget
+ * are logged and counted in {@code firestore.request.read.budget.exceeded}. This is what
+ * attributes Firestore read quota to endpoints. Reads done on other threads (async tasks,
+ * schedulers) are not charged to any request.
+ */
+public class FirestoreReadBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(FirestoreReadBudgetFilter.class);
+    private static final String READS_ATTRIBUTE = FirestoreReadBudgetFilter.class.getName() + ".reads";
+
+    private final MetricsConfig.ApplicationMetrics metrics;
+    private final long budget;
+
+    public FirestoreReadBudgetFilter(MetricsConfig.ApplicationMetrics metrics, long budget) {
+        this.metrics = metrics;
+        this.budget = budget;
+    }
+
+    /** Charge documents read to the request bound to this thread, if any. */
+    static void charge(long documents) {
+        if (documents <= 0) return;
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(READS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof AtomicLong reads) {
+            reads.addAndGet(documents);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AtomicLong reads = new AtomicLong();
+        request.setAttribute(READS_ATTRIBUTE, reads);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long total = reads.get();
+            if (total > 0) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+                boolean overBudget = budget > 0 && total > budget;
+                if (overBudget) {
+                    log.warn("Firestore read budget exceeded: {} {} read {} documents (budget {})",
+                            request.getMethod(), uri, total, budget);
+                }
+                metrics.recordRequestReads(request.getMethod(), uri, total, overBudget);
+            }
+        }
+    }
+}
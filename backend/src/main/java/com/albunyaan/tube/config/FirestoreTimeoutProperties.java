@@ -51,6 +51,13 @@ public class FirestoreTimeoutProperties {
     @Max(value = 100000, message = "Default max results must not exceed 100,000")
     private int defaultMaxResults = 1000;
 
+    /**
+     * Chunks of one batched ID lookup (whereIn / getAll) kept in flight at once
+     * Must be at least 1 (1 = sequential)
+     */
+    @Min(value = 1, message = "Lookup concurrency must be at least 1")
+    private int lookupConcurrency = 8;
+
     public long getRead() {
         return read;
     }
@@ -82,4 +89,12 @@ public class FirestoreTimeoutProperties {
     public void setDefaultMaxResults(int defaultMaxResults) {
         this.defaultMaxResults = defaultMaxResults;
     }
+
+    public int getLookupConcurrency() {
+        return lookupConcurrency;
+    }
+
+    public void setLookupConcurrency(int lookupConcurrency) {
+        this.lookupConcurrency = lookupConcurrency;
+    }
 }
@@ -1,11 +1,16 @@
 package com.albunyaan.tube.config;
 
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
@@ -37,6 +42,29 @@ public class MetricsConfig {
         return new ApplicationMetrics(registry);
     }
 
+    /**
+     * Times every public method of the {@code @Repository} beans (see FirestoreQueryMetrics).
+     * Static so the post-processor does not force early initialization of this configuration.
+     */
+    @Bean
+    public static FirestoreQueryMetrics firestoreQueryMetrics(ObjectProvider<ApplicationMetrics> applicationMetrics) {
+        return new FirestoreQueryMetrics(applicationMetrics);
+    }
+
+    /**
+     * Counts Firestore documents read per HTTP request and logs requests over the budget.
+     * Registered ahead of the security chain so reads made during authentication count too.
+     */
+    @Bean
+    public FilterRegistrationBean<FirestoreReadBudgetFilter> firestoreReadBudgetFilter(
+            ApplicationMetrics applicationMetrics,
+            @Value("${app.firebase.firestore.read-budget:500}") long readBudget) {
+        FilterRegistrationBean<FirestoreReadBudgetFilter> registration =
+                new FilterRegistrationBean<>(new FirestoreReadBudgetFilter(applicationMetrics, readBudget));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
     /**
      * Application-specific metrics holder
      */
@@ -63,6 +91,55 @@ public class MetricsConfig {
             timer.record(durationMs, java.util.concurrent.TimeUnit.MILLISECONDS);
         }
 
+        /**
+         * Record one repository call: latency by outcome, documents read or written, and
+         * timeouts. {@code query} is the repository method, i.e. the query shape.
+         */
+        public void recordFirestoreQuery(String collection, String operation, String query, String outcome,
+                                         long durationNanos, long documents) {
+            String key = "firestore.query:" + collection + ":" + operation + ":" + query + ":" + outcome;
+            Timer timer = timerCache.computeIfAbsent(key, k ->
+                    Timer.builder("firestore.query.duration")
+                            .description("Time taken for a Firestore repository call")
+                            .tag("collection", collection)
+                            .tag("operation", operation)
+                            .tag("query", query)
+                            .tag("outcome", outcome)
+                            .register(registry)
+            );
+            timer.record(durationNanos, java.util.concurrent.TimeUnit.NANOSECONDS);
+            if (documents > 0) {
+                DistributionSummary.builder("firestore.query.documents")
+                        .description("Documents read or written by a Firestore repository call")
+                        .tags("collection", collection, "operation", operation, "query", query)
+                        .register(registry)
+                        .record(documents);
+            }
+            if ("timeout".equals(outcome)) {
+                registry.counter("firestore.query.timeouts",
+                        "collection", collection,
+                        "query", query
+                ).increment();
+            }
+        }
+
+        /**
+         * Record the Firestore documents read while serving one HTTP request
+         */
+        public void recordRequestReads(String method, String uri, long documents, boolean overBudget) {
+            DistributionSummary.builder("firestore.request.reads")
+                    .description("Firestore documents read per HTTP request")
+                    .tags("method", method, "uri", uri)
+                    .register(registry)
+                    .record(documents);
+            if (overBudget) {
+                registry.counter("firestore.request.read.budget.exceeded",
+                        "method", method,
+                        "uri", uri
+                ).increment();
+            }
+        }
+
         /**
          * Record cache hit/miss
          */
@@ -107,6 +184,16 @@ public class MetricsConfig {
             timer.record(durationMs, java.util.concurrent.TimeUnit.MILLISECONDS);
         }
 
+        /**
+         * Record a YouTube info fetch that led an extraction or joined one already in flight
+         */
+        public void recordYoutubeSingleFlight(String endpoint, boolean coalesced) {
+            registry.counter("youtube.api.singleflight",
+                    "endpoint", endpoint,
+                    "result", coalesced ? "coalesced" : "leader"
+            ).increment();
+        }
+
         /**
          * Record content validation check
          */
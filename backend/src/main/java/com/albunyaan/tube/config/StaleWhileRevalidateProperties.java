@@ -0,0 +1,65 @@
+package com.albunyaan.tube.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for stale-while-revalidate local caches (see StaleWhileRevalidateCache).
+ *
+ * Listed caches keep serving an evicted or expired entry for up to {@code maxStale} while one
+ * background refresh per key recomputes it, and coalesce concurrent misses for the same key.
+ * Their TTL comes from {@code app.cache.tiered.ttl} (1 hour if not listed there).
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.cache.stale-while-revalidate")
+public class StaleWhileRevalidateProperties {
+
+    /**
+     * Enable stale-while-revalidate for the listed caches
+     */
+    private boolean enabled = true;
+
+    /**
+     * Caches served stale-while-revalidate. Their @Cacheable methods must use sync = true,
+     * otherwise they behave like a plain cache (no stale serving, no coalescing).
+     */
+    private List<String> caches = new ArrayList<>(List.of(
+            CacheConfig.CACHE_PUBLIC_CONTENT,
+            CacheConfig.CACHE_PUBLIC_CONTENT_SEARCH,
+            CacheConfig.CACHE_CATEGORY_TREE));
+
+    /**
+     * Longest an entry is served after it was evicted or expired. Bounds how long a moderation
+     * change can stay invisible if refreshes keep failing; normally a refresh lands in well
+     * under a second.
+     */
+    private Duration maxStale = Duration.ofSeconds(60);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getCaches() {
+        return caches;
+    }
+
+    public void setCaches(List<String> caches) {
+        this.caches = caches;
+    }
+
+    public Duration getMaxStale() {
+        return maxStale;
+    }
+
+    public void setMaxStale(Duration maxStale) {
+        this.maxStale = maxStale;
+    }
+}
@@ -0,0 +1,102 @@
+package com.albunyaan.tube.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration for the two-tier (Caffeine L1 + Redis L2) public content caches.
+ *
+ * Only the caches listed under {@code ttl} are tiered; every other cache stays local-only.
+ * Disabled by default so dev and tests run without Redis; production turns it on with
+ * {@code APP_CACHE_TIERED_ENABLED=true} plus the usual {@code spring.data.redis.*} settings.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.cache.tiered")
+public class TieredCacheProperties {
+
+    /**
+     * Enable the Redis tier and cross-node invalidation
+     */
+    private boolean enabled = false;
+
+    /**
+     * Prefix for every Redis key written by the cache
+     */
+    private String keyPrefix = "albunyaan:cache:";
+
+    /**
+     * Pub/sub channel carrying evict/clear notifications between nodes
+     */
+    private String invalidationChannel = "albunyaan:cache:invalidation";
+
+    /**
+     * How often each node re-reads the per-cache generation counters. Safety net for
+     * invalidation messages missed while a node was disconnected from Redis.
+     */
+    private Duration generationPollInterval = Duration.ofSeconds(10);
+
+    /**
+     * After a Redis error, serve from L1 only for this long before trying Redis again
+     */
+    private Duration failureBackoff = Duration.ofSeconds(30);
+
+    /**
+     * Tiered caches and their TTL (applied to both tiers)
+     */
+    private Map<String, Duration> ttl = new LinkedHashMap<>(Map.of(
+            CacheConfig.CACHE_PUBLIC_CONTENT, Duration.ofHours(1),
+            CacheConfig.CACHE_PUBLIC_CONTENT_SEARCH, Duration.ofMinutes(30),
+            CacheConfig.CACHE_CATEGORY_TREE, Duration.ofHours(1)));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public void setInvalidationChannel(String invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    public Duration getGenerationPollInterval() {
+        return generationPollInterval;
+    }
+
+    public void setGenerationPollInterval(Duration generationPollInterval) {
+        this.generationPollInterval = generationPollInterval;
+    }
+
+    public Duration getFailureBackoff() {
+        return failureBackoff;
+    }
+
+    public void setFailureBackoff(Duration failureBackoff) {
+        this.failureBackoff = failureBackoff;
+    }
+
+    public Map<String, Duration> getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Map<String, Duration> ttl) {
+        this.ttl = ttl;
+    }
+}
@@ -17,6 +17,8 @@ public class ValidationProperties {
     private final Channel channel = new Channel();
     private final Playlist playlist = new Playlist();
     private final YouTube youtube = new YouTube();
+    private final Queue queue = new Queue();
+    private final Checkpoint checkpoint = new Checkpoint();
 
     public Video getVideo() {
         return video;
@@ -34,6 +36,14 @@ public class ValidationProperties {
         return youtube;
     }
 
+    public Queue getQueue() {
+        return queue;
+    }
+
+    public Checkpoint getCheckpoint() {
+        return checkpoint;
+    }
+
     /**
      * Video validation settings
      */
@@ -46,6 +56,19 @@ public class ValidationProperties {
          */
         private int maxItemsPerRun = 20;
 
+        /**
+         * Items checked per run by the availability probe (oEmbed / channel feeds).
+         * Only those it flags, up to {@code maxItemsPerRun}, get a full extraction.
+         */
+        private int maxProbeItemsPerRun = 200;
+
+        /**
+         * YouTube requests one run may spend: each full extraction costs
+         * {@code queue.extraction-request-cost}, the rest goes to probe requests.
+         * {@code maxItemsPerRun} still caps extractions. 0 disables the budget.
+         */
+        private int requestBudgetPerRun = 260;
+
         public Scheduler getScheduler() {
             return scheduler;
         }
@@ -58,6 +81,22 @@ public class ValidationProperties {
             this.maxItemsPerRun = maxItemsPerRun;
         }
 
+        public int getMaxProbeItemsPerRun() {
+            return maxProbeItemsPerRun;
+        }
+
+        public void setMaxProbeItemsPerRun(int maxProbeItemsPerRun) {
+            this.maxProbeItemsPerRun = maxProbeItemsPerRun;
+        }
+
+        public int getRequestBudgetPerRun() {
+            return requestBudgetPerRun;
+        }
+
+        public void setRequestBudgetPerRun(int requestBudgetPerRun) {
+            this.requestBudgetPerRun = requestBudgetPerRun;
+        }
+
         /**
          * Scheduler settings for video validation
          */
@@ -108,6 +147,17 @@ public class ValidationProperties {
          */
         private int maxItemsPerRun = 30;
 
+        /**
+         * Channels checked per run through their RSS feed; full extraction stays
+         * capped at {@code maxItemsPerRun}.
+         */
+        private int maxProbeItemsPerRun = 300;
+
+        /**
+         * YouTube requests one run may spend (see {@link Video#getRequestBudgetPerRun()}).
+         */
+        private int requestBudgetPerRun = 390;
+
         public Scheduler getScheduler() {
             return scheduler;
         }
@@ -120,6 +170,22 @@ public class ValidationProperties {
             this.maxItemsPerRun = maxItemsPerRun;
         }
 
+        public int getMaxProbeItemsPerRun() {
+            return maxProbeItemsPerRun;
+        }
+
+        public void setMaxProbeItemsPerRun(int maxProbeItemsPerRun) {
+            this.maxProbeItemsPerRun = maxProbeItemsPerRun;
+        }
+
+        public int getRequestBudgetPerRun() {
+            return requestBudgetPerRun;
+        }
+
+        public void setRequestBudgetPerRun(int requestBudgetPerRun) {
+            this.requestBudgetPerRun = requestBudgetPerRun;
+        }
+
         public static class Scheduler {
             private boolean enabled = true;
             /** 6:30 AM UTC daily, staggered 30 min after the video validator. */
@@ -176,6 +242,17 @@ public class ValidationProperties {
          */
         private int maxItemsPerRun = 20;
 
+        /**
+         * Playlists checked per run through oEmbed; full extraction stays capped
+         * at {@code maxItemsPerRun}.
+         */
+        private int maxProbeItemsPerRun = 200;
+
+        /**
+         * YouTube requests one run may spend (see {@link Video#getRequestBudgetPerRun()}).
+         */
+        private int requestBudgetPerRun = 260;
+
         public Scheduler getScheduler() {
             return scheduler;
         }
@@ -188,6 +265,22 @@ public class ValidationProperties {
             this.maxItemsPerRun = maxItemsPerRun;
         }
 
+        public int getMaxProbeItemsPerRun() {
+            return maxProbeItemsPerRun;
+        }
+
+        public void setMaxProbeItemsPerRun(int maxProbeItemsPerRun) {
+            this.maxProbeItemsPerRun = maxProbeItemsPerRun;
+        }
+
+        public int getRequestBudgetPerRun() {
+            return requestBudgetPerRun;
+        }
+
+        public void setRequestBudgetPerRun(int requestBudgetPerRun) {
+            this.requestBudgetPerRun = requestBudgetPerRun;
+        }
+
         public static class Scheduler {
             private boolean enabled = true;
             /** 7:00 AM UTC daily, staggered 30 min after the channel validator. */
@@ -221,17 +314,100 @@ public class ValidationProperties {
         }
     }
 
+    /**
+     * Priority-scored validation queue ({@code ValidationQueueService}): which items a run
+     * validates, and the leases that keep concurrent runs off the same items.
+     */
+    public static class Queue {
+        private boolean enabled = true;
+        private int candidateWindow = 500; // Stalest items scored per run
+        private int failureWindowDays = 7; // Playback failure reports older than this are ignored
+        private int leaseMinutes = 120; // Matches the scheduler lock TTL
+        private int extractionRequestCost = 3; // Approximate YouTube requests per full extraction
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCandidateWindow() {
+            return candidateWindow;
+        }
+
+        public void setCandidateWindow(int candidateWindow) {
+            this.candidateWindow = candidateWindow;
+        }
+
+        public int getFailureWindowDays() {
+            return failureWindowDays;
+        }
+
+        public void setFailureWindowDays(int failureWindowDays) {
+            this.failureWindowDays = failureWindowDays;
+        }
+
+        public int getLeaseMinutes() {
+            return leaseMinutes;
+        }
+
+        public void setLeaseMinutes(int leaseMinutes) {
+            this.leaseMinutes = leaseMinutes;
+        }
+
+        public int getExtractionRequestCost() {
+            return extractionRequestCost;
+        }
+
+        public void setExtractionRequestCost(int extractionRequestCost) {
+            this.extractionRequestCost = extractionRequestCost;
+        }
+    }
+
+    /**
+     * Full (all content types) validation runs: items are streamed in pages and the run's
+     * position and counters are checkpointed after each page, so an interrupted run is resumed
+     * by the next one instead of starting over.
+     */
+    public static class Checkpoint {
+        private int pageSize = 25; // Items per page, and per checkpoint
+        private int staleAfterMinutes = 30; // A RUNNING run without a checkpoint for this long is resumable
+
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        public void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        public int getStaleAfterMinutes() {
+            return staleAfterMinutes;
+        }
+
+        public void setStaleAfterMinutes(int staleAfterMinutes) {
+            this.staleAfterMinutes = staleAfterMinutes;
+        }
+    }
+
     /**
      * YouTube API interaction settings
      */
     public static class YouTube {
         private final Throttle throttle = new Throttle();
         private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+        private final Probe probe = new Probe();
 
         public Throttle getThrottle() {
             return throttle;
         }
 
+        public Probe getProbe() {
+            return probe;
+        }
+
         public CircuitBreaker getCircuitBreaker() {
             return circuitBreaker;
         }
@@ -243,6 +419,9 @@ public class ValidationProperties {
             private boolean enabled = true;
             private long delayBetweenItemsMs = 3000; // 3 seconds between requests
             private long jitterMs = 1000; // Random jitter up to 1 second
+            private int burst = 3; // Requests that may go back to back after an idle period
+            private int interactiveReserve = 1; // Of the burst, tokens only interactive requests may spend
+            private final Adaptive adaptive = new Adaptive();
 
             public boolean isEnabled() {
                 return enabled;
@@ -267,6 +446,121 @@ public class ValidationProperties {
             public void setJitterMs(long jitterMs) {
                 this.jitterMs = jitterMs;
             }
+
+            public int getBurst() {
+                return burst;
+            }
+
+            public void setBurst(int burst) {
+                this.burst = burst;
+            }
+
+            public int getInteractiveReserve() {
+                return interactiveReserve;
+            }
+
+            public void setInteractiveReserve(int interactiveReserve) {
+                this.interactiveReserve = interactiveReserve;
+            }
+
+            public Adaptive getAdaptive() {
+                return adaptive;
+            }
+
+            /**
+             * Adaptive spacing ({@code YouTubeAdaptiveRate}): the delay starts at
+             * {@code delay-between-items-ms} and moves within [min, max] with YouTube's responses.
+             */
+            public static class Adaptive {
+                private boolean enabled = true;
+                private long minDelayMs = 750; // Fastest spacing the controller may reach
+                private long maxDelayMs = 30000; // Slowest spacing after repeated back-offs
+                private long decreaseStepMs = 50; // Delay removed per clean, fast response
+                private double backoffFactor = 2.0; // Delay multiplier on a 429/reCAPTCHA or slow response
+                private long slowResponseMs = 8000; // A successful call slower than this counts as a back-off signal
+                private int persistIntervalSeconds = 60; // Least time between saves of the learned delay
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public long getMinDelayMs() {
+                    return minDelayMs;
+                }
+
+                public void setMinDelayMs(long minDelayMs) {
+                    this.minDelayMs = minDelayMs;
+                }
+
+                public long getMaxDelayMs() {
+                    return maxDelayMs;
+                }
+
+                public void setMaxDelayMs(long maxDelayMs) {
+                    this.maxDelayMs = maxDelayMs;
+                }
+
+                public long getDecreaseStepMs() {
+                    return decreaseStepMs;
+                }
+
+                public void setDecreaseStepMs(long decreaseStepMs) {
+                    this.decreaseStepMs = decreaseStepMs;
+                }
+
+                public double getBackoffFactor() {
+                    return backoffFactor;
+                }
+
+                public void setBackoffFactor(double backoffFactor) {
+                    this.backoffFactor = backoffFactor;
+                }
+
+                public long getSlowResponseMs() {
+                    return slowResponseMs;
+                }
+
+                public void setSlowResponseMs(long slowResponseMs) {
+                    this.slowResponseMs = slowResponseMs;
+                }
+
+                public int getPersistIntervalSeconds() {
+                    return persistIntervalSeconds;
+                }
+
+                public void setPersistIntervalSeconds(int persistIntervalSeconds) {
+                    this.persistIntervalSeconds = persistIntervalSeconds;
+                }
+            }
+        }
+
+        /**
+         * Availability probe ({@code YouTubeAvailabilityProbe}) run before extraction.
+         * Probe requests are paced on their own and do not spend throttle tokens.
+         */
+        public static class Probe {
+            private boolean enabled = true;
+            private long delayMs = 250; // Spacing between probe requests
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getDelayMs() {
+                return delayMs;
+            }
+
+            public void setDelayMs(long delayMs) {
+                this.delayMs = delayMs;
+            }
         }
 
         /**
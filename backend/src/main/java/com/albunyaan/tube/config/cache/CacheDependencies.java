@@ -0,0 +1,93 @@
+package com.albunyaan.tube.config.cache;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Dependency tags for cached values, used for targeted invalidation.
+ *
+ * A cached method declares what its result was built from while it runs, e.g.
+ * {@code declare("VIDEO", "cat-1")} or {@code declare("CATEGORY", null)} for "any category".
+ * Tags are {@code KIND:scope}; scope {@value #ANY} means every scope of that kind.
+ *
+ * Declarations are collected per thread by the cache computing the value (see
+ * {@link StaleWhileRevalidateCache}, {@link TieredCache}); outside a cache computation they are no-ops. A value
+ * computed without any declaration is untagged and treated as depending on everything.
+ * Nested computations (a cached method calling another cached method) also pass their
+ * tags up to the enclosing computation.
+ */
+public final class CacheDependencies {
+
+    public static final String ANY = "*";
+    private static final String SEPARATOR = ":";
+
+    private static final ThreadLocal<Set<String>> CURRENT = new ThreadLocal<>();
+
+    private CacheDependencies() {
+    }
+
+    /** Result of a computation plus the tags it declared (null = untagged). */
+    record Captured<T>(T value, @Nullable Set<String> tags) {}
+
+    /**
+     * Record that the value being computed depends on {@code kind} within {@code scope}.
+     *
+     * @param scope scope id (e.g. category ID), or null for any scope
+     */
+    public static void declare(String kind, @Nullable String scope) {
+        Set<String> tags = CURRENT.get();
+        if (tags != null) {
+            tags.add(tag(kind, scope));
+        }
+    }
+
+    public static void declare(String kind, Collection<String> scopes) {
+        for (String scope : scopes) {
+            declare(kind, scope);
+        }
+    }
+
+    static String tag(String kind, @Nullable String scope) {
+        return kind + SEPARATOR + (scope == null || scope.isBlank() ? ANY : scope);
+    }
+
+    static <T> Captured<T> capture(Callable<T> computation) throws Exception {
+        Set<String> parent = CURRENT.get();
+        Set<String> tags = new HashSet<>();
+        CURRENT.set(tags);
+        T value;
+        try {
+            value = computation.call();
+        } finally {
+            if (parent != null) {
+                parent.addAll(tags);
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+        return new Captured<>(value, tags.isEmpty() ? null : Set.copyOf(tags));
+    }
+
+    /**
+     * @param tags   tags of a cached entry (null = untagged, matches everything)
+     * @param kind   kind of the change
+     * @param scopes affected scopes, or null if unknown (matches every scope of {@code kind})
+     */
+    public static boolean matches(@Nullable Set<String> tags, String kind, @Nullable Set<String> scopes) {
+        if (tags == null) return true;
+        String prefix = kind + SEPARATOR;
+        for (String tag : tags) {
+            if (!tag.startsWith(prefix)) continue;
+            String scope = tag.substring(prefix.length());
+            if (scopes == null || ANY.equals(scope) || scopes.contains(scope)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
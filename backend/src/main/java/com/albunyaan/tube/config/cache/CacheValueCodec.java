@@ -0,0 +1,259 @@
+package com.albunyaan.tube.config.cache;
+
+import com.albunyaan.tube.dto.CategoryDto;
+import com.albunyaan.tube.dto.ContentItemDto;
+import com.albunyaan.tube.dto.CursorPageDto;
+import com.albunyaan.tube.dto.HomeCategoryDto;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary encoding for values stored in the Redis tier.
+ *
+ * The hot values ({@code CursorPageDto<ContentItemDto>} pages and {@code List<ContentItemDto>}
+ * search results) are written field by field with no type names or property keys. Small,
+ * cold DTOs (categories, home sections) are written as JSON tagged with a class from a fixed
+ * allow-list. {@code ResponseEntity} wrappers from controller-level caches keep their status
+ * and body; headers are not cached.
+ *
+ * Anything else is not encodable: {@link #encode} returns null and the value stays L1-only.
+ */
+final class CacheValueCodec {
+
+    static final byte FORMAT_VERSION = 1;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_LIST = 2;
+    private static final byte TAG_CURSOR_PAGE = 3;
+    private static final byte TAG_CONTENT_ITEM = 4;
+    private static final byte TAG_RESPONSE_ENTITY = 5;
+    private static final byte TAG_JSON = 6;
+
+    private static final Map<String, Class<?>> JSON_TYPES = Map.of(
+            CategoryDto.class.getName(), CategoryDto.class,
+            HomeCategoryDto.class.getName(), HomeCategoryDto.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * @return encoded bytes, or null if the value (or something nested in it) is not supported
+     */
+    byte[] encode(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            if (!write(out, value)) return null;
+        } catch (IOException e) {
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IOException if the bytes are truncated, from another format version or
+     *                     reference a type outside the allow-list
+     */
+    Object decode(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported cache format version " + version);
+            }
+            return read(in);
+        }
+    }
+
+    private boolean write(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof String s) {
+            out.writeByte(TAG_STRING);
+            writeString(out, s);
+        } else if (value instanceof ContentItemDto item) {
+            out.writeByte(TAG_CONTENT_ITEM);
+            writeContentItem(out, item);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(TAG_LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                if (!write(out, element)) return false;
+            }
+        } else if (value instanceof CursorPageDto<?> page) {
+            out.writeByte(TAG_CURSOR_PAGE);
+            if (!write(out, page.getData())) return false;
+            CursorPageDto.PageInfo info = page.getPageInfo();
+            out.writeBoolean(info != null);
+            if (info != null) {
+                // hasNext is derived from nextCursor by PageInfo itself
+                writeString(out, info.getNextCursor());
+                writeInteger(out, info.getTotalCount());
+                out.writeByte(info.getTruncated() == null ? -1 : info.getTruncated() ? 1 : 0);
+            }
+        } else if (value instanceof ResponseEntity<?> entity) {
+            if (!entity.getHeaders().isEmpty()) return false;
+            out.writeByte(TAG_RESPONSE_ENTITY);
+            out.writeShort(entity.getStatusCode().value());
+            if (!write(out, entity.getBody())) return false;
+        } else if (JSON_TYPES.containsKey(value.getClass().getName())) {
+            out.writeByte(TAG_JSON);
+            writeString(out, value.getClass().getName());
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            out.writeInt(json.length);
+            out.write(json);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private Object read(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_STRING:
+                return readString(in);
+            case TAG_CONTENT_ITEM:
+                return readContentItem(in);
+            case TAG_LIST: {
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(read(in));
+                }
+                return list;
+            }
+            case TAG_CURSOR_PAGE: {
+                @SuppressWarnings("unchecked")
+                List<Object> data = (List<Object>) read(in);
+                CursorPageDto<Object> page = new CursorPageDto<>();
+                page.setData(data);
+                if (in.readBoolean()) {
+                    String nextCursor = readString(in);
+                    Integer totalCount = readInteger(in);
+                    byte truncated = in.readByte();
+                    page.setPageInfo(new CursorPageDto.PageInfo(nextCursor, totalCount,
+                            truncated < 0 ? null : truncated == 1));
+                }
+                return page;
+            }
+            case TAG_RESPONSE_ENTITY: {
+                int status = in.readShort();
+                return ResponseEntity.status(HttpStatusCode.valueOf(status)).body(read(in));
+            }
+            case TAG_JSON: {
+                Class<?> type = JSON_TYPES.get(readString(in));
+                if (type == null) {
+                    throw new IOException("Cached JSON type is not allowed");
+                }
+                byte[] json = new byte[in.readInt()];
+                in.readFully(json);
+                return objectMapper.readValue(json, type);
+            }
+            default:
+                throw new IOException("Unknown cache value tag " + tag);
+        }
+    }
+
+    private static void writeContentItem(DataOutputStream out, ContentItemDto item) throws IOException {
+        writeString(out, item.getId());
+        writeString(out, item.getType());
+        writeString(out, item.getTitle());
+        writeString(out, item.getName());
+        writeString(out, item.getCategory());
+        writeString(out, item.getDescription());
+        writeString(out, item.getThumbnailUrl());
+        writeInteger(out, item.getDurationSeconds());
+        writeInteger(out, item.getUploadedDaysAgo());
+        writeLong(out, item.getViewCount());
+        writeString(out, item.getChannelTitle());
+        writeLong(out, item.getSubscribers());
+        writeInteger(out, item.getVideoCount());
+        writeInteger(out, item.getItemCount());
+        List<String> keywords = item.getKeywords();
+        out.writeInt(keywords == null ? -1 : keywords.size());
+        if (keywords != null) {
+            for (String keyword : keywords) {
+                writeString(out, keyword);
+            }
+        }
+    }
+
+    private static ContentItemDto readContentItem(DataInputStream in) throws IOException {
+        ContentItemDto item = new ContentItemDto();
+        item.setId(readString(in));
+        item.setType(readString(in));
+        item.setTitle(readString(in));
+        item.setName(readString(in));
+        item.setCategory(readString(in));
+        item.setDescription(readString(in));
+        item.setThumbnailUrl(readString(in));
+        item.setDurationSeconds(readInteger(in));
+        item.setUploadedDaysAgo(readInteger(in));
+        item.setViewCount(readLong(in));
+        item.setChannelTitle(readString(in));
+        item.setSubscribers(readLong(in));
+        item.setVideoCount(readInteger(in));
+        item.setItemCount(readInteger(in));
+        int keywordCount = in.readInt();
+        if (keywordCount >= 0) {
+            List<String> keywords = new ArrayList<>(keywordCount);
+            for (int i = 0; i < keywordCount; i++) {
+                keywords.add(readString(in));
+            }
+            item.setKeywords(keywords);
+        }
+        return item;
+    }
+
+    // Length-prefixed UTF-8 (writeUTF caps at 64 KB, descriptions can be long); -1 = null.
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeInt(value);
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeLong(value);
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+}
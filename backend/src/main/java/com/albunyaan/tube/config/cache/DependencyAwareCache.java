@@ -0,0 +1,19 @@
+package com.albunyaan.tube.config.cache;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Set;
+
+/**
+ * Cache that can drop only the entries depending on a change (see {@link CacheDependencies}).
+ */
+public interface DependencyAwareCache {
+
+    /**
+     * Evict every entry whose tags match the change; untagged entries always match.
+     *
+     * @param kind   kind of the change (e.g. VIDEO, ORDER)
+     * @param scopes affected scopes, or null if unknown
+     */
+    void evictDependents(String kind, @Nullable Set<String> scopes);
+}
@@ -0,0 +1,312 @@
+package com.albunyaan.tube.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local cache that keeps serving an entry after it is evicted or expires, while exactly one
+ * background refresh per key recomputes it.
+ *
+ * Semantics for {@code @Cacheable(sync = true)} callers ({@link #get(Object, Callable)}):
+ * - fresh entry: returned.
+ * - stale entry (evicted, cleared or past TTL) for at most {@code maxStale}: returned at once,
+ *   and a refresh is started on the refresh executor unless one is already running for the key.
+ * - no servable entry: the first caller computes the value on its own thread; concurrent
+ *   callers for the same key wait on that computation instead of starting their own.
+ *
+ * Plain {@link #get(Object)} (non-sync callers, the tiered cache) only sees fresh entries.
+ *
+ * A value computed while an evict/clear raced with it is stored as already stale, so a
+ * refresh that started before a moderation change can never be served as fresh after it.
+ *
+ * Values remember the {@link CacheDependencies} tags declared while computing them, so
+ * {@link #evictDependents} only marks the entries a change actually touches as stale.
+ */
+public class StaleWhileRevalidateCache implements Cache, DependencyAwareCache {
+
+    private static final Logger log = LoggerFactory.getLogger(StaleWhileRevalidateCache.class);
+
+    /**
+     * @param loadSeq       mutation sequence when the computation started
+     * @param invalidatedSeq sequence of the evict that invalidated this entry, 0 if none
+     * @param hasValue      false for tombstones left by evicting a key that had no entry
+     * @param tags          dependency tags declared by the computation, null = untagged
+     */
+    private record Entry(Object value, boolean hasValue, long loadSeq, long writtenAtMs,
+                         long invalidatedSeq, long invalidatedAtMs, Set<String> tags) {}
+
+    private record DependencyEviction(String kind, Set<String> scopes, long atMs) {}
+
+    private final String name;
+    private final long ttlMs;
+    private final long maxStaleMs;
+    private final Executor refreshExecutor;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Entry> store;
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /** Every evict/clear takes a number from this sequence. */
+    private final AtomicLong sequence = new AtomicLong();
+    /** Sequence of the latest clear(); entries loaded before it are stale. */
+    private volatile long lastClearSeq;
+    /** clear() sequence → wall time, pruned once older than maxStale. */
+    private final ConcurrentNavigableMap<Long, Long> clears = new ConcurrentSkipListMap<>();
+    /** evictDependents() sequence → change, so loads racing with it are stored stale. */
+    private final ConcurrentNavigableMap<Long, DependencyEviction> dependencyEvictions = new ConcurrentSkipListMap<>();
+
+    private final Counter staleServed;
+    private final Counter coalescedWaiters;
+    private final Counter refreshSucceeded;
+    private final Counter refreshFailed;
+    private final Counter refreshRejected;
+
+    public StaleWhileRevalidateCache(String name, Duration ttl, Duration maxStale, long maximumSize,
+                                     Executor refreshExecutor, @Nullable MeterRegistry meterRegistry) {
+        this.name = name;
+        this.ttlMs = ttl.toMillis();
+        this.maxStaleMs = maxStale.toMillis();
+        this.refreshExecutor = refreshExecutor;
+        this.store = Caffeine.newBuilder()
+                .expireAfterWrite(ttl.plus(maxStale))
+                .maximumSize(maximumSize)
+                .build();
+
+        MeterRegistry registry = meterRegistry != null ? meterRegistry : new SimpleMeterRegistry();
+        this.staleServed = counter(registry, "cache.swr.stale.served", null);
+        this.coalescedWaiters = counter(registry, "cache.swr.coalesced.waiters", null);
+        this.refreshSucceeded = counter(registry, "cache.swr.refreshes", "success");
+        this.refreshFailed = counter(registry, "cache.swr.refreshes", "failure");
+        this.refreshRejected = counter(registry, "cache.swr.refreshes", "rejected");
+    }
+
+    private Counter counter(MeterRegistry registry, String metric, String result) {
+        Counter.Builder builder = Counter.builder(metric).tag("cache", name);
+        if (result != null) builder.tag("result", result);
+        return builder.register(registry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return store;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Entry entry = store.getIfPresent(key);
+        return entry != null && isFresh(entry, System.currentTimeMillis()) ? new SimpleValueWrapper(entry.value()) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long now = System.currentTimeMillis();
+        Entry entry = store.getIfPresent(key);
+        if (entry != null && isFresh(entry, now)) {
+            return (T) entry.value();
+        }
+        if (entry != null && isServableStale(entry, now)) {
+            staleServed.increment();
+            refreshAsync(key, valueLoader);
+            return (T) entry.value();
+        }
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalescedWaiters.increment();
+            try {
+                return (T) running.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ValueRetrievalException(key, valueLoader, e);
+            } catch (ExecutionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+        try {
+            T value = load(key, valueLoader);
+            mine.complete(value);
+            return value;
+        } catch (Exception e) {
+            mine.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            // Errors skip the catch above; never leave waiters blocked on an unfinished future
+            mine.completeExceptionally(new IllegalStateException("Cache load for " + key + " aborted"));
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private void refreshAsync(Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, mine) != null) return; // one refresh per key
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    mine.complete(load(key, valueLoader));
+                    refreshSucceeded.increment();
+                } catch (Exception e) {
+                    mine.completeExceptionally(e);
+                    refreshFailed.increment();
+                    log.warn("Background refresh of {} [{}] failed; serving stale copy: {}", name, key, e.getMessage());
+                } finally {
+                    mine.completeExceptionally(new IllegalStateException("Cache refresh for " + key + " aborted"));
+                    inFlight.remove(key, mine);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Refresh pool saturated: keep serving stale, the next request retries.
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(new CompletionException(e));
+            refreshRejected.increment();
+        }
+    }
+
+    private <T> T load(Object key, Callable<T> valueLoader) throws Exception {
+        long loadSeq = sequence.get();
+        CacheDependencies.Captured<T> captured = CacheDependencies.capture(valueLoader);
+        write(key, captured.value(), loadSeq, captured.tags());
+        return captured.value();
+    }
+
+    private void write(Object key, Object value, long loadSeq, @Nullable Set<String> tags) {
+        long now = System.currentTimeMillis();
+        Map.Entry<Long, DependencyEviction> racing = firstMatchingEviction(loadSeq, tags);
+        store.asMap().compute(key, (k, previous) -> {
+            if (previous != null && previous.invalidatedSeq() > loadSeq) {
+                // evict(key) ran while this value was being computed: keep it marked stale
+                return new Entry(value, true, loadSeq, now, previous.invalidatedSeq(), previous.invalidatedAtMs(), tags);
+            }
+            if (racing != null) {
+                return new Entry(value, true, loadSeq, now, racing.getKey(), racing.getValue().atMs(), tags);
+            }
+            return new Entry(value, true, loadSeq, now, 0, 0, tags);
+        });
+    }
+
+    @Nullable
+    private Map.Entry<Long, DependencyEviction> firstMatchingEviction(long loadSeq, @Nullable Set<String> tags) {
+        for (Map.Entry<Long, DependencyEviction> e : dependencyEvictions.tailMap(loadSeq, false).entrySet()) {
+            if (CacheDependencies.matches(tags, e.getValue().kind(), e.getValue().scopes())) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        write(key, value, sequence.get(), null);
+    }
+
+    @Override
+    public void evict(Object key) {
+        long seq = sequence.incrementAndGet();
+        long now = System.currentTimeMillis();
+        store.asMap().compute(key, (k, previous) -> previous == null
+                ? new Entry(null, false, 0, now, seq, now, null)
+                : new Entry(previous.value(), previous.hasValue(), previous.loadSeq(), previous.writtenAtMs(),
+                        previous.invalidatedSeq() != 0 ? previous.invalidatedSeq() : seq,
+                        previous.invalidatedSeq() != 0 ? previous.invalidatedAtMs() : now, previous.tags()));
+    }
+
+    /** Marks the entries depending on the change stale, like {@link #evict} per matching key. */
+    @Override
+    public void evictDependents(String kind, @Nullable Set<String> scopes) {
+        long now = System.currentTimeMillis();
+        long seq = sequence.incrementAndGet();
+        dependencyEvictions.put(seq, new DependencyEviction(kind, scopes, now));
+        // A load running longer than the TTL is stale on arrival anyway
+        dependencyEvictions.values().removeIf(e -> now - e.atMs() > ttlMs);
+        store.asMap().forEach((key, entry) -> {
+            if (entry.hasValue() && CacheDependencies.matches(entry.tags(), kind, scopes)) {
+                evict(key);
+            }
+        });
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = store.getIfPresent(key) != null;
+        evict(key);
+        return present;
+    }
+
+    /** Marks every entry stale; nothing is dropped until it ages past {@code maxStale}. */
+    @Override
+    public void clear() {
+        long now = System.currentTimeMillis();
+        long seq = sequence.incrementAndGet();
+        clears.put(seq, now);
+        lastClearSeq = seq;
+        clears.values().removeIf(at -> now - at > maxStaleMs);
+    }
+
+    @Override
+    public boolean invalidate() {
+        // Explicit "drop everything now", e.g. actuator cache endpoint
+        store.invalidateAll();
+        clear();
+        return true;
+    }
+
+    private boolean isFresh(Entry entry, long now) {
+        return entry.hasValue()
+                && entry.invalidatedSeq() == 0
+                && entry.loadSeq() >= lastClearSeq
+                && now - entry.writtenAtMs() < ttlMs;
+    }
+
+    private boolean isServableStale(Entry entry, long now) {
+        if (!entry.hasValue()) return false;
+        long staleSince = entry.writtenAtMs() + ttlMs;
+        if (entry.invalidatedSeq() != 0) {
+            staleSince = Math.min(staleSince, entry.invalidatedAtMs());
+        }
+        if (entry.loadSeq() < lastClearSeq) {
+            Map.Entry<Long, Long> firstClear = clears.ceilingEntry(entry.loadSeq() + 1);
+            if (firstClear == null) {
+                return false; // invalidated by a clear so old it has been pruned
+            }
+            staleSince = Math.min(staleSince, firstClear.getValue());
+        }
+        return now - staleSince <= maxStaleMs;
+    }
+}
@@ -0,0 +1,125 @@
+package com.albunyaan.tube.config.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * One tiered cache: a local Caffeine cache in front of the shared Redis tier.
+ *
+ * Reads try L1, then L2 (populating L1 on a hit). Writes go to both tiers. Evict and clear
+ * apply locally and are broadcast through {@link TieredCacheManager} so other nodes drop their
+ * L1 copies. Redis failures degrade to L1-only; they never fail the caller.
+ *
+ * Dependency tags declared while computing a value index its Redis key, so
+ * {@link #evictDependents} removes only the dependent entries on every tier. Values read
+ * from Redis reach L1 untagged and are dropped by any dependency eviction.
+ */
+final class TieredCache implements Cache, DependencyAwareCache {
+
+    private final String name;
+    private final Cache local;
+    private final Duration ttl;
+    private final TieredCacheManager owner;
+
+    TieredCache(String name, Cache local, Duration ttl, TieredCacheManager owner) {
+        this.name = name;
+        this.local = local;
+        this.ttl = ttl;
+        this.owner = owner;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    /** L1 only; used when another node announces an eviction. */
+    Cache local() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper hit = local.get(key);
+        if (hit != null) return hit;
+        ValueWrapper remote = owner.load(name, key);
+        if (remote != null) {
+            local.put(key, remote.get());
+        }
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Caffeine serializes loads per key, so concurrent misses on this node hit Redis once.
+        return local.get(key, () -> {
+            ValueWrapper remote = owner.load(name, key);
+            if (remote != null) {
+                @SuppressWarnings("unchecked")
+                T value = (T) remote.get();
+                return value;
+            }
+            CacheDependencies.Captured<T> computed = CacheDependencies.capture(valueLoader);
+            owner.store(name, key, computed.value(), ttl, computed.tags());
+            return computed.value();
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+        owner.store(name, key, value, ttl, null);
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        owner.evict(name, key);
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        owner.clear(name);
+    }
+
+    @Override
+    public void evictDependents(String kind, @Nullable Set<String> scopes) {
+        evictLocalDependents(local, kind, scopes);
+        owner.evictDependents(name, kind, scopes);
+    }
+
+    static void evictLocalDependents(Cache local, String kind, @Nullable Set<String> scopes) {
+        if (local instanceof DependencyAwareCache aware) {
+            aware.evictDependents(kind, scopes);
+        } else {
+            local.clear();
+        }
+    }
+
+    static ValueWrapper wrap(Object value) {
+        return new SimpleValueWrapper(value);
+    }
+}
@@ -0,0 +1,366 @@
+package com.albunyaan.tube.config.cache;
+
+import com.albunyaan.tube.config.TieredCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier {@link CacheManager}: Caffeine near cache (L1) per node, Redis shared tier (L2).
+ *
+ * Only the caches configured in {@link TieredCacheProperties#getTtl()} are tiered; all other
+ * names are served by the local manager unchanged.
+ *
+ * Cross-node freshness:
+ * - {@code evict(key)} deletes the Redis entry and publishes an evict message; every other
+ *   node drops the key from its L1.
+ * - {@code clear()} (what {@code @CacheEvict(allEntries = true)} calls) bumps a per-cache
+ *   generation counter in Redis instead of scanning keys. Redis keys embed the generation, so
+ *   old entries become unreachable at once and expire by TTL. The new generation is published;
+ *   receivers clear their L1.
+ * - {@code evictDependents(kind, scopes)} deletes the Redis entries found through per-tag index
+ *   sets written alongside each value (see {@link CacheDependencies}) and publishes the change;
+ *   receivers evict the matching entries from their L1.
+ * - Each node also polls the generation counters, so a node that missed a message (Redis
+ *   reconnect, network blip) converges within one poll interval.
+ *
+ * Redis errors never reach callers: reads miss, writes are skipped, and the Redis tier is
+ * bypassed for {@link TieredCacheProperties#getFailureBackoff()} so a dead Redis does not add
+ * a connect timeout to every request. Evict/clear always try Redis, since they carry
+ * moderation changes.
+ */
+public class TieredCacheManager implements CacheManager, InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TieredCacheManager.class);
+
+    private static final String OP_EVICT = "E";
+    private static final String OP_CLEAR = "C";
+    private static final String OP_DEPENDENTS = "D";
+    private static final String SCOPE_SEPARATOR = "\u001F";
+    private static final String UNTAGGED_INDEX = "u";
+
+    private final CacheManager local;
+    private final RedisConnectionFactory connectionFactory;
+    private final TieredCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final RedisTemplate<String, byte[]> valueTemplate;
+    private final StringRedisTemplate stringTemplate;
+    private final CacheValueCodec codec = new CacheValueCodec();
+    private final Map<String, TieredCache> tiered = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> generations = new LinkedHashMap<>();
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile long redisBypassUntil;
+    private RedisMessageListenerContainer listenerContainer;
+    private ScheduledExecutorService generationPoller;
+
+    public TieredCacheManager(CacheManager local,
+                              RedisConnectionFactory connectionFactory,
+                              TieredCacheProperties properties,
+                              @Nullable MeterRegistry meterRegistry) {
+        this.local = local;
+        this.connectionFactory = connectionFactory;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        properties.getTtl().forEach((name, ttl) -> {
+            Cache l1 = local.getCache(name);
+            if (l1 == null) {
+                throw new IllegalStateException("TieredCacheManager: no local cache named " + name);
+            }
+            tiered.put(name, new TieredCache(name, l1, ttl, this));
+            generations.put(name, new AtomicLong());
+        });
+
+        this.valueTemplate = new RedisTemplate<>();
+        valueTemplate.setConnectionFactory(connectionFactory);
+        valueTemplate.setKeySerializer(RedisSerializer.string());
+        valueTemplate.setValueSerializer(RedisSerializer.byteArray());
+        valueTemplate.afterPropertiesSet();
+        this.stringTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.addMessageListener(this::onMessage, new ChannelTopic(properties.getInvalidationChannel()));
+        try {
+            listenerContainer.afterPropertiesSet();
+            listenerContainer.start();
+        } catch (RuntimeException e) {
+            // The container keeps retrying the subscription; generation polling covers the gap.
+            log.warn("Tiered cache: could not subscribe to {} yet: {}", properties.getInvalidationChannel(), e.getMessage());
+        }
+
+        refreshGenerations();
+        long pollMs = Math.max(1000, properties.getGenerationPollInterval().toMillis());
+        generationPoller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "tiered-cache-generations");
+            t.setDaemon(true);
+            return t;
+        });
+        generationPoller.scheduleWithFixedDelay(this::refreshGenerations, pollMs, pollMs, TimeUnit.MILLISECONDS);
+        log.info("Tiered cache enabled for {} (node {})", tiered.keySet(), nodeId);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (generationPoller != null) {
+            generationPoller.shutdownNow();
+        }
+        if (listenerContainer != null) {
+            listenerContainer.destroy();
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TieredCache cache = tiered.get(name);
+        return cache != null ? cache : local.getCache(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(local.getCacheNames());
+        names.addAll(tiered.keySet());
+        return names;
+    }
+
+    // ---- Redis tier, called by TieredCache ----
+
+    Cache.ValueWrapper load(String cacheName, Object key) {
+        if (!redisUsable()) return null;
+        byte[] data;
+        try {
+            data = valueTemplate.opsForValue().get(dataKey(cacheName, key));
+        } catch (RuntimeException e) {
+            redisFailed(cacheName, e);
+            return null;
+        }
+        if (data == null) {
+            count(cacheName, "miss");
+            return null;
+        }
+        try {
+            Object value = codec.decode(data);
+            count(cacheName, "hit");
+            return TieredCache.wrap(value);
+        } catch (IOException e) {
+            // Written by a different format version during a rolling deploy; recompute.
+            log.debug("Tiered cache {}: undecodable entry for {}: {}", cacheName, key, e.getMessage());
+            count(cacheName, "miss");
+            return null;
+        }
+    }
+
+    void store(String cacheName, Object key, Object value, Duration ttl, @Nullable Set<String> tags) {
+        if (!redisUsable()) return;
+        byte[] data = codec.encode(value);
+        if (data == null) {
+            count(cacheName, "unencodable");
+            return;
+        }
+        String dataKey = dataKey(cacheName, key);
+        Set<String> indexKeys = new LinkedHashSet<>();
+        if (tags == null) {
+            indexKeys.add(indexKey(cacheName, UNTAGGED_INDEX));
+        } else {
+            for (String tag : tags) {
+                indexKeys.add(indexKey(cacheName, "t:" + tag));
+                indexKeys.add(indexKey(cacheName, "k:" + tag.substring(0, tag.indexOf(':'))));
+            }
+        }
+        try {
+            valueTemplate.opsForValue().set(dataKey, data, ttl);
+            byte[] member = dataKey.getBytes(StandardCharsets.UTF_8);
+            stringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String indexKey : indexKeys) {
+                    byte[] raw = indexKey.getBytes(StandardCharsets.UTF_8);
+                    connection.setCommands().sAdd(raw, member);
+                    connection.keyCommands().expire(raw, ttl.toSeconds());
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            redisFailed(cacheName, e);
+        }
+    }
+
+    void evict(String cacheName, Object key) {
+        try {
+            valueTemplate.delete(dataKey(cacheName, key));
+            publish(cacheName, OP_EVICT, String.valueOf(key));
+        } catch (RuntimeException e) {
+            redisFailed(cacheName, e);
+        }
+    }
+
+    void clear(String cacheName) {
+        try {
+            Long generation = stringTemplate.opsForValue().increment(generationKey(cacheName));
+            if (generation != null) {
+                generations.get(cacheName).accumulateAndGet(generation, Math::max);
+                publish(cacheName, OP_CLEAR, Long.toString(generation));
+            }
+        } catch (RuntimeException e) {
+            redisFailed(cacheName, e);
+        }
+    }
+
+    void evictDependents(String cacheName, String kind, @Nullable Set<String> scopes) {
+        List<String> indexKeys = new ArrayList<>();
+        indexKeys.add(indexKey(cacheName, UNTAGGED_INDEX));
+        if (scopes == null) {
+            indexKeys.add(indexKey(cacheName, "k:" + kind));
+        } else {
+            indexKeys.add(indexKey(cacheName, "t:" + CacheDependencies.tag(kind, CacheDependencies.ANY)));
+            scopes.forEach(scope -> indexKeys.add(indexKey(cacheName, "t:" + CacheDependencies.tag(kind, scope))));
+        }
+        try {
+            Set<String> dependents = stringTemplate.opsForSet().union(indexKeys);
+            List<String> doomed = new ArrayList<>(indexKeys);
+            if (dependents != null) doomed.addAll(dependents);
+            stringTemplate.delete(doomed);
+            String argument = scopes == null ? kind
+                    : kind + SCOPE_SEPARATOR + String.join(SCOPE_SEPARATOR, scopes);
+            publish(cacheName, OP_DEPENDENTS, argument);
+        } catch (RuntimeException e) {
+            redisFailed(cacheName, e);
+        }
+    }
+
+    // ---- cross-node invalidation ----
+
+    private void publish(String cacheName, String op, String argument) {
+        stringTemplate.convertAndSend(properties.getInvalidationChannel(),
+                String.join("\n", nodeId, cacheName, op, argument));
+    }
+
+    void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 4);
+        if (parts.length != 4 || nodeId.equals(parts[0])) return;
+        TieredCache cache = tiered.get(parts[1]);
+        if (cache == null) return;
+        if (OP_EVICT.equals(parts[2])) {
+            cache.local().evict(parts[3]);
+        } else if (OP_DEPENDENTS.equals(parts[2])) {
+            String[] change = parts[3].split(SCOPE_SEPARATOR, -1);
+            Set<String> scopes = null;
+            if (change.length > 1) {
+                scopes = new LinkedHashSet<>();
+                for (int i = 1; i < change.length; i++) {
+                    if (!change[i].isEmpty()) scopes.add(change[i]);
+                }
+            }
+            TieredCache.evictLocalDependents(cache.local(), change[0], scopes);
+        } else if (OP_CLEAR.equals(parts[2])) {
+            try {
+                long generation = Long.parseLong(parts[3]);
+                long previous = generations.get(parts[1]).getAndAccumulate(generation, Math::max);
+                if (generation > previous) {
+                    cache.local().clear();
+                }
+            } catch (NumberFormatException e) {
+                log.debug("Tiered cache: ignoring malformed clear message for {}", parts[1]);
+            }
+        }
+    }
+
+    /**
+     * Re-read every generation counter in one round trip. Any change (including a reset after a
+     * Redis restart) means this node missed a clear: adopt it and drop the L1 contents.
+     */
+    void refreshGenerations() {
+        if (tiered.isEmpty()) return;
+        List<String> names = new ArrayList<>(tiered.keySet());
+        List<String> keys = names.stream().map(this::generationKey).toList();
+        List<String> values;
+        try {
+            values = stringTemplate.opsForValue().multiGet(keys);
+        } catch (RuntimeException e) {
+            redisFailed("*", e);
+            return;
+        }
+        if (values == null) return;
+        for (int i = 0; i < names.size(); i++) {
+            String raw = values.get(i);
+            long remote;
+            try {
+                remote = raw != null ? Long.parseLong(raw) : 0;
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (generations.get(names.get(i)).getAndSet(remote) != remote) {
+                tiered.get(names.get(i)).local().clear();
+            }
+        }
+    }
+
+    // ---- helpers ----
+
+    private String dataKey(String cacheName, Object key) {
+        return properties.getKeyPrefix() + cacheName + ":" + generations.get(cacheName).get() + ":" + key;
+    }
+
+    private String indexKey(String cacheName, String index) {
+        return properties.getKeyPrefix() + cacheName + ":idx:" + generations.get(cacheName).get() + ":" + index;
+    }
+
+    private String generationKey(String cacheName) {
+        return properties.getKeyPrefix() + cacheName + ":gen";
+    }
+
+    private boolean redisUsable() {
+        return System.currentTimeMillis() >= redisBypassUntil;
+    }
+
+    private void redisFailed(String cacheName, RuntimeException e) {
+        count(cacheName, "error");
+        boolean firstInWindow = redisUsable();
+        redisBypassUntil = System.currentTimeMillis() + properties.getFailureBackoff().toMillis();
+        if (firstInWindow) {
+            log.warn("Tiered cache: Redis unavailable, serving from local cache for {}s: {}",
+                    properties.getFailureBackoff().toSeconds(), e.getMessage());
+        }
+    }
+
+    private void count(String cacheName, String result) {
+        if (meterRegistry == null) return;
+        Counter.builder("cache.tiered.redis")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -6,6 +6,7 @@ import com.albunyaan.tube.repository.CategoryRepository;
 import com.albunyaan.tube.security.FirebaseUserDetails;
 import com.albunyaan.tube.service.AuditLogService;
 import com.albunyaan.tube.service.PublicContentCacheService;
+import com.albunyaan.tube.service.PublicContentChange;
 import com.albunyaan.tube.service.SortOrderService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -125,7 +126,7 @@ public class CategoryController {
 
         Category saved = categoryRepository.save(category);
         try {
-            publicContentCacheService.evictPublicContentCaches();
+            publicContentCacheService.evictForChange(PublicContentChange.category(saved.getId()));
         } catch (Exception ce) {
             log.warn("Cache eviction failed after creating category {}: {}", saved.getId(), ce.getMessage());
         }
@@ -175,7 +176,7 @@ public class CategoryController {
 
         Category updated = categoryRepository.save(existing);
         try {
-            publicContentCacheService.evictPublicContentCaches();
+            publicContentCacheService.evictForChange(PublicContentChange.category(id));
         } catch (Exception ce) {
             log.warn("Cache eviction failed after updating category {}: {}", id, ce.getMessage());
         }
@@ -214,7 +215,7 @@ public class CategoryController {
         }
         categoryRepository.deleteById(id);
         try {
-            publicContentCacheService.evictPublicContentCaches();
+            publicContentCacheService.evictForChange(PublicContentChange.category(id));
         } catch (Exception ce) {
             log.warn("Cache eviction failed after deleting category {}: {}", id, ce.getMessage());
         }
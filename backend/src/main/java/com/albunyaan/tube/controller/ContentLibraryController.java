@@ -11,6 +11,7 @@ import com.albunyaan.tube.repository.VideoRepository;
 import com.albunyaan.tube.dto.YouTubeContentType;
 import com.albunyaan.tube.service.ImportGraduationService;
 import com.albunyaan.tube.service.PublicContentCacheService;
+import com.albunyaan.tube.service.PublicContentChange;
 import com.albunyaan.tube.service.SortOrderService;
 import com.albunyaan.tube.service.TagEnrichmentService;
 import com.albunyaan.tube.service.VisibilityPolicy;
@@ -238,6 +239,20 @@ public class ContentLibraryController {
         }
     }
 
+    /**
+     * Cache-invalidation event for a content item, scoped to its current categories
+     * (unscoped if they cannot be read).
+     */
+    private PublicContentChange contentChange(BulkActionItem item) {
+        List<String> categoryIds = null;
+        try {
+            categoryIds = getCategoryIdsForItem(item.type, item.id);
+        } catch (Exception e) {
+            log.debug("Could not read categories of {} {}: {}", item.type, item.id, e.getMessage());
+        }
+        return PublicContentChange.content(item.type, item.id, categoryIds);
+    }
+
     /**
      * Ceiling on how deep browse pagination can reach per content type, so a page request can
      * never turn into an unbounded collection scan. Only reached by paging that deep, because
@@ -1178,23 +1193,28 @@ public class ContentLibraryController {
         BulkActionResponse response = executeBulkStatusUpdate(request.items, "APPROVED", "approving");
 
         // Add newly approved items to category sort order (only for items that succeeded)
+        List<PublicContentChange> changes = new ArrayList<>();
         if (response.successCount > 0) {
             for (BulkActionItem item : request.items) {
                 String key = item.type.toLowerCase() + ":" + item.id;
                 if (response.failedKeys.contains(key)) continue;
+                List<String> catIds = null;
                 try {
-                    List<String> catIds = getCategoryIdsForItem(item.type, item.id);
+                    catIds = getCategoryIdsForItem(item.type, item.id);
                     if (catIds != null) {
                         for (String categoryId : catIds) {
                             sortOrderService.addContentToCategory(categoryId, item.id, item.type.toLowerCase());
+                            changes.add(PublicContentChange.order(categoryId));
                         }
                     }
                 } catch (Exception e) {
                     log.warn("Failed to add sort order for {} {}: {}", item.type, item.id, e.getMessage());
                 }
+                changes.add(PublicContentChange.content(item.type, item.id, catIds));
             }
         }
-        publicContentCacheService.evictPublicContentCaches();
+        // Only the pages of the approved items' categories are invalidated
+        publicContentCacheService.evictForChanges(changes);
 
         log.info("Bulk approve completed: user={}, successCount={}, errorCount={}",
                 username, response.successCount, response.errors.size());
@@ -1220,10 +1240,12 @@ public class ContentLibraryController {
         BulkActionResponse response = executeBulkStatusUpdate(request.items, "REJECTED", "rejecting");
 
         // Remove rejected items from category sort order (only for items that succeeded)
+        List<PublicContentChange> changes = new ArrayList<>();
         if (response.successCount > 0) {
             for (BulkActionItem item : request.items) {
                 String key = item.type.toLowerCase() + ":" + item.id;
                 if (response.failedKeys.contains(key)) continue;
+                changes.add(contentChange(item));
                 try {
                     sortOrderService.removeContentFromAllCategories(item.id, item.type.toLowerCase());
                 } catch (Exception e) {
@@ -1231,7 +1253,7 @@ public class ContentLibraryController {
                 }
             }
         }
-        publicContentCacheService.evictPublicContentCaches();
+        publicContentCacheService.evictForChanges(changes);
 
         log.info("Bulk reject completed: user={}, successCount={}, errorCount={}",
                 username, response.successCount, response.errors.size());
@@ -1262,9 +1284,11 @@ public class ContentLibraryController {
         BulkActionResponse response = executeBulkStatusUpdate(request.items, "PENDING", "marking pending");
 
         // Out of the public listings while it is under review again.
+        List<PublicContentChange> changes = new ArrayList<>();
         if (response.successCount > 0) {
             for (BulkActionItem item : request.items) {
                 if (response.failedKeys.contains(item.type.toLowerCase() + ":" + item.id)) continue;
+                changes.add(contentChange(item));
                 try {
                     sortOrderService.removeContentFromAllCategories(item.id, item.type.toLowerCase());
                 } catch (Exception e) {
@@ -1272,7 +1296,7 @@ public class ContentLibraryController {
                 }
             }
         }
-        publicContentCacheService.evictPublicContentCaches();
+        publicContentCacheService.evictForChanges(changes);
 
         log.info("Bulk mark-pending completed: user={}, successCount={}, errorCount={}",
                 username, response.successCount, response.errors.size());
@@ -1339,9 +1363,11 @@ public class ContentLibraryController {
 
         int successCount = 0;
         List<String> errors = new ArrayList<>();
+        List<PublicContentChange> changes = new ArrayList<>();
 
         for (BulkActionItem item : request.items) {
             try {
+                int successBefore = successCount;
                 List<String> oldCategoryIds = null;
                 String contentType = item.type.toLowerCase();
                 boolean isApproved = false;
@@ -1387,6 +1413,14 @@ public class ContentLibraryController {
                         errors.add("Invalid type: " + item.type);
                         continue;
                 }
+                if (successCount > successBefore) {
+                    // Pages of both the old and the new categories change
+                    Set<String> affected = new HashSet<>();
+                    if (oldCategoryIds != null) affected.addAll(oldCategoryIds);
+                    if (request.categoryIds != null) affected.addAll(request.categoryIds);
+                    changes.add(PublicContentChange.content(contentType, item.id, affected));
+                    affected.forEach(categoryId -> changes.add(PublicContentChange.order(categoryId)));
+                }
 
                 // Sync sort order for approved items: remove from old categories, add to new
                 if (isApproved && oldCategoryIds != null) {
@@ -1418,7 +1452,7 @@ public class ContentLibraryController {
             }
         }
 
-        publicContentCacheService.evictPublicContentCaches();
+        publicContentCacheService.evictForChanges(changes);
         return ResponseEntity.ok(new BulkActionResponse(successCount, errors));
     }
 
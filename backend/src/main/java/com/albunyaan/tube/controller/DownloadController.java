@@ -108,10 +108,12 @@ public class DownloadController {
      */
     @PostMapping("/analytics/download-failed")
     public ResponseEntity<Void> trackDownloadFailed(@Valid @RequestBody DownloadFailedEventDto event,
-            @AuthenticationPrincipal FirebaseUserDetails user) {
+            @AuthenticationPrincipal FirebaseUserDetails user,
+            @RequestHeader(value = "X-Device-Id", required = false) String deviceId) {
         downloadService.trackDownloadFailed(
             event.getVideoId(),
             user != null ? user.getUid() : "anonymous",
+            deviceId,
             event.getErrorReason(),
             event.getDeviceType()
         );
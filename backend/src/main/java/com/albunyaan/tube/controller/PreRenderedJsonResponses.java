@@ -0,0 +1,133 @@
+package com.albunyaan.tube.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes public JSON responses from bytes rendered once per cached value.
+ *
+ * Public pages are served from the public-content caches, so repeated requests receive the
+ * same DTO instance. Rendered bodies are memoized per instance (identity, weakly referenced),
+ * so each cached page is serialized by Jackson and gzipped once instead of on every request;
+ * a recomputed page is a new instance and renders afresh.
+ *
+ * Responses carry a strong ETag derived from the JSON bytes (distinct per content encoding),
+ * so {@code If-None-Match} revalidations are answered with 304 by Spring MVC. Bodies are
+ * pre-gzipped when the client accepts it and written with {@code Content-Encoding: gzip},
+ * which also stops the servlet container from compressing them again.
+ */
+final class PreRenderedJsonResponses {
+
+    /** Below this size gzip does not pay off; matches spring.compression.min-response-size. */
+    private static final int MIN_GZIP_SIZE = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Object, Rendered> rendered = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(2_000)
+            .build();
+
+    PreRenderedJsonResponses(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    private final class Rendered {
+        final byte[] json;
+        final String etag;
+        private volatile byte[] gzip;
+
+        Rendered(byte[] json) {
+            this.json = json;
+            this.etag = hash(json);
+        }
+
+        byte[] gzip() {
+            byte[] g = gzip;
+            if (g == null) {
+                gzip = g = compress(json);
+            }
+            return g;
+        }
+    }
+
+    /**
+     * @param acceptEncoding request {@code Accept-Encoding} header, may be null
+     */
+    ResponseEntity<byte[]> ok(Object body, CacheControl cacheControl, @Nullable String acceptEncoding)
+            throws JsonProcessingException {
+        Rendered r;
+        try {
+            r = rendered.get(body, key -> {
+                try {
+                    return new Rendered(objectMapper.writeValueAsBytes(key));
+                } catch (JsonProcessingException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw (JsonProcessingException) e.getCause();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (r.json.length >= MIN_GZIP_SIZE && acceptsGzip(acceptEncoding)) {
+            return response.eTag("\"" + r.etag + "-gz\"")
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(r.gzip());
+        }
+        return response.eTag("\"" + r.etag + "\"").body(r.json);
+    }
+
+    static boolean acceptsGzip(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] coding = part.trim().split(";");
+            String name = coding[0].trim().toLowerCase(Locale.ROOT);
+            if (!name.equals("gzip") && !name.equals("*")) continue;
+            boolean refused = false;
+            for (int i = 1; i < coding.length; i++) {
+                String param = coding[i].trim().replace(" ", "");
+                if (param.equals("q=0") || param.matches("q=0\\.0*")) refused = true;
+            }
+            return !refused;
+        }
+        return false;
+    }
+
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -5,11 +5,15 @@ import com.albunyaan.tube.dto.CategoryDto;
 import com.albunyaan.tube.dto.ContentItemDto;
 import com.albunyaan.tube.dto.CursorPageDto;
 import com.albunyaan.tube.dto.HomeCategoryDto;
+import com.albunyaan.tube.service.PublicContentChange;
 import com.albunyaan.tube.service.PublicContentService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -29,9 +33,11 @@ public class PublicContentController {
     private static final Logger log = LoggerFactory.getLogger(PublicContentController.class);
 
     private final PublicContentService contentService;
+    private final PreRenderedJsonResponses renderedResponses;
 
-    public PublicContentController(PublicContentService contentService) {
+    public PublicContentController(PublicContentService contentService, ObjectMapper objectMapper) {
         this.contentService = contentService;
+        this.renderedResponses = new PreRenderedJsonResponses(objectMapper);
     }
 
     /**
@@ -48,7 +54,8 @@ public class PublicContentController {
             @RequestParam(required = false) String cursor,
             @RequestParam(required = false, defaultValue = "5") int categoryLimit,
             @RequestParam(required = false, defaultValue = "10") int contentLimit,
-            @RequestParam(required = false) String category
+            @RequestParam(required = false) String category,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
         int validCategoryLimit = Math.min(Math.max(categoryLimit, 1), 10);
         int validContentLimit = Math.min(Math.max(contentLimit, 1), 20);
@@ -60,9 +67,8 @@ public class PublicContentController {
             // cachePublic() is safe here because this endpoint is unauthenticated and returns
             // identical content for all users. If auth/personalisation is ever added, switch
             // to cachePrivate() to prevent shared proxy caches from leaking user-specific data.
-            return ResponseEntity.ok()
-                    .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
-                    .body(feed);
+            return renderedResponses.ok(feed,
+                    CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic(), acceptEncoding);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             log.error("Interrupted while fetching home feed", e);
@@ -89,7 +95,7 @@ public class PublicContentController {
      * @return Paginated content with next cursor
      */
     @GetMapping("/content")
-    public ResponseEntity<CursorPageDto<ContentItemDto>> getContent(
+    public ResponseEntity<byte[]> getContent(
             @RequestParam(required = false, defaultValue = "HOME") String type,
             @RequestParam(required = false) String cursor,
             @RequestParam(required = false, defaultValue = "20") int limit,
@@ -97,8 +103,9 @@ public class PublicContentController {
             @RequestParam(required = false) String length,
             @RequestParam(required = false) String date,
             @RequestParam(required = false) String sort,
-            @RequestParam(required = false) String q
-    ) throws ExecutionException, InterruptedException, java.util.concurrent.TimeoutException {
+            @RequestParam(required = false) String q,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) throws ExecutionException, InterruptedException, java.util.concurrent.TimeoutException, JsonProcessingException {
         // Validate and cap limit
         int validLimit = Math.min(Math.max(limit, 1), 50);
         String trimmedQ = (q != null) ? q.trim() : null;
@@ -109,7 +116,8 @@ public class PublicContentController {
                 type, cursor, validLimit, category, length, date, sort, normalizedQ
         );
 
-        return ResponseEntity.ok(page);
+        // No max-age, as before; the ETag turns revalidation of an unchanged page into a 304
+        return renderedResponses.ok(page, CacheControl.empty(), acceptEncoding);
     }
 
     /**
@@ -119,8 +127,11 @@ public class PublicContentController {
      * @return List of all active categories
      */
     @GetMapping("/categories")
-    @Cacheable(value = CacheConfig.CACHE_CATEGORY_TREE, key = "'public-categories'")
+    @Cacheable(value = CacheConfig.CACHE_CATEGORY_TREE, key = "'public-categories'", sync = true)
     public ResponseEntity<List<CategoryDto>> getCategories() throws ExecutionException, InterruptedException, java.util.concurrent.TimeoutException {
+        // Declared here too: the nested getCategories() call declares nothing on a cache hit
+        PublicContentChange.dependsOnContent(null);
+        PublicContentChange.dependsOn(PublicContentChange.Kind.CATEGORY, null);
         return ResponseEntity.ok(contentService.getCategories());
     }
 
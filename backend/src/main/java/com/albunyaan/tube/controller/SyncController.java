@@ -5,11 +5,22 @@ import com.albunyaan.tube.dto.sync.PlaylistSyncDto;
 import com.albunyaan.tube.dto.sync.PutFavoriteRequest;
 import com.albunyaan.tube.dto.sync.PutPlaylistRequest;
 import com.albunyaan.tube.dto.sync.PutSubscriptionRequest;
+import com.albunyaan.tube.dto.sync.SyncBatchOp;
+import com.albunyaan.tube.dto.sync.SyncBatchRequest;
+import com.albunyaan.tube.dto.sync.SyncBatchResponseDto;
 import com.albunyaan.tube.dto.sync.SubscriptionSyncDto;
 import com.albunyaan.tube.dto.sync.SyncCursors;
+import com.albunyaan.tube.dto.sync.SyncPageDto;
 import com.albunyaan.tube.dto.sync.SyncResponseDto;
+import com.albunyaan.tube.dto.sync.SyncRowDto;
+import com.albunyaan.tube.dto.sync.SyncStreamLineDto;
 import com.albunyaan.tube.security.FirebaseUserDetails;
 import com.albunyaan.tube.service.sync.SyncService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,12 +28,15 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
@@ -30,10 +44,14 @@ import java.util.concurrent.TimeoutException;
 @RequestMapping("/api/account")
 public class SyncController {
 
+    static final String NDJSON = "application/x-ndjson";
+
     private final SyncService sync;
+    private final ObjectMapper json;
 
-    public SyncController(SyncService sync) {
+    public SyncController(SyncService sync, ObjectMapper json) {
         this.sync = sync;
+        this.json = json;
     }
 
     // ── Pull ────────────────────────────────────────────────────────────────
@@ -50,19 +68,118 @@ public class SyncController {
             // known same-ms drop risk; new clients get exact pagination.
             @RequestParam(name = "subs_id", required = false) String subsId,
             @RequestParam(name = "playlists_id", required = false) String playlistsId,
-            @RequestParam(name = "favorites_id", required = false) String favoritesId)
+            @RequestParam(name = "favorites_id", required = false) String favoritesId,
+            // Protocol 2 (snapshot bootstrap for fresh and stale cursors): clients send v=2,
+            // and echo a page's mode=SNAPSHOT back as <type>_mode=SNAPSHOT.
+            @RequestParam(name = "v", required = false, defaultValue = "1") int protocol,
+            @RequestParam(name = "subs_mode", required = false) String subsMode,
+            @RequestParam(name = "playlists_mode", required = false) String playlistsMode,
+            @RequestParam(name = "favorites_mode", required = false) String favoritesMode)
             throws ExecutionException, InterruptedException, TimeoutException {
         if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         // Validate cursor ids: Firestore docIds are <= 1500 bytes; reject anything
         // with slashes/control chars or larger than that so a malicious client
         // can't bloat the startAfter query (cubic R5 P2).
-        if (!isValidCursorId(subsId) || !isValidCursorId(playlistsId) || !isValidCursorId(favoritesId)) {
+        if (!isValidCursorId(subsId) || !isValidCursorId(playlistsId) || !isValidCursorId(favoritesId)
+                || !isValidProtocol(protocol, subsMode, playlistsMode, favoritesMode)) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
-        SyncCursors cursors = new SyncCursors(subs, subsId, playlists, playlistsId, favorites, favoritesId);
+        SyncCursors cursors = cursorsOf(subs, subsId, playlists, playlistsId, favorites, favoritesId,
+                protocol, subsMode, playlistsMode, favoritesMode);
         return ResponseEntity.ok(sync.pull(principal.getUid(), cursors));
     }
 
+    /**
+     * Opt-in streamed pull ({@code Accept: application/x-ndjson}): same parameters and
+     * cursor semantics as {@link #getSync}, written one {@link SyncStreamLineDto} per line
+     * as each type's page is projected instead of buffering the whole response. Written on
+     * the request thread (the pull is bounded to one page per type), flushed once per page.
+     */
+    @GetMapping(value = "/sync", produces = NDJSON)
+    public void streamSync(
+            @AuthenticationPrincipal FirebaseUserDetails principal,
+            @RequestParam(name = "subs", required = false, defaultValue = "0") long subs,
+            @RequestParam(name = "playlists", required = false, defaultValue = "0") long playlists,
+            @RequestParam(name = "favorites", required = false, defaultValue = "0") long favorites,
+            @RequestParam(name = "subs_id", required = false) String subsId,
+            @RequestParam(name = "playlists_id", required = false) String playlistsId,
+            @RequestParam(name = "favorites_id", required = false) String favoritesId,
+            @RequestParam(name = "v", required = false, defaultValue = "1") int protocol,
+            @RequestParam(name = "subs_mode", required = false) String subsMode,
+            @RequestParam(name = "playlists_mode", required = false) String playlistsMode,
+            @RequestParam(name = "favorites_mode", required = false) String favoritesMode,
+            HttpServletResponse response)
+            throws ExecutionException, InterruptedException, TimeoutException, IOException {
+        if (principal == null) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return;
+        }
+        if (!isValidCursorId(subsId) || !isValidCursorId(playlistsId) || !isValidCursorId(favoritesId)
+                || !isValidProtocol(protocol, subsMode, playlistsMode, favoritesMode)) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        SyncCursors cursors = cursorsOf(subs, subsId, playlists, playlistsId, favorites, favoritesId,
+                protocol, subsMode, playlistsMode, favoritesMode);
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        OutputStream out = response.getOutputStream();
+        // Keep the response open between lines; flush once per page rather than per row
+        ObjectWriter writer = json.writerFor(SyncStreamLineDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        // A failure before the response is committed still gets a normal error response;
+        // a later one cuts the stream before the "done" line and the client discards it.
+        sync.pull(principal.getUid(), cursors, new SyncService.RowSink() {
+            @Override
+            public void row(String collection, SyncRowDto row) throws IOException {
+                writeLine(writer, out, SyncStreamLineDto.row(collection, row));
+            }
+
+            @Override
+            public void pageEnd(String collection, Long nextCursor, String nextCursorId) throws IOException {
+                writeLine(writer, out, SyncStreamLineDto.page(collection, nextCursor, nextCursorId));
+                out.flush();
+            }
+
+            @Override
+            public void pageEnd(String collection, Long nextCursor, String nextCursorId,
+                                String mode, Boolean resyncRequired) throws IOException {
+                writeLine(writer, out,
+                        SyncStreamLineDto.page(collection, nextCursor, nextCursorId, mode, resyncRequired));
+                out.flush();
+            }
+        });
+        writeLine(writer, out, SyncStreamLineDto.done());
+        out.flush();
+    }
+
+    private static void writeLine(ObjectWriter writer, OutputStream out, SyncStreamLineDto line) throws IOException {
+        writer.writeValue(out, line);
+        out.write('\n');
+    }
+
+    private static SyncCursors cursorsOf(long subs, String subsId, long playlists, String playlistsId,
+                                         long favorites, String favoritesId,
+                                         int protocol, String subsMode, String playlistsMode, String favoritesMode) {
+        SyncCursors cursors = new SyncCursors(subs, subsId, playlists, playlistsId, favorites, favoritesId);
+        cursors.setProtocol(protocol);
+        cursors.setSubscriptionsSnapshot(subsMode != null);
+        cursors.setPlaylistsSnapshot(playlistsMode != null);
+        cursors.setFavoritesSnapshot(favoritesMode != null);
+        return cursors;
+    }
+
+    /** Known protocol; a {@code *_mode} is only meaningful (and only accepted) on protocol 2. */
+    private static boolean isValidProtocol(int protocol, String... modes) {
+        if (protocol != SyncCursors.PROTOCOL_DELTA && protocol != SyncCursors.PROTOCOL_SNAPSHOT) return false;
+        for (String mode : modes) {
+            if (mode == null) continue;
+            if (protocol != SyncCursors.PROTOCOL_SNAPSHOT || !SyncPageDto.MODE_SNAPSHOT.equalsIgnoreCase(mode)) return false;
+        }
+        return true;
+    }
+
     private static final int MAX_CURSOR_ID_BYTES = 1500;
 
     private static boolean isValidCursorId(String id) {
@@ -81,6 +198,30 @@ public class SyncController {
         return true;
     }
 
+    // ── Batched push ────────────────────────────────────────────────────────
+
+    /**
+     * Applies a queue of offline edits (upserts and deletes across all three collections)
+     * in one request; see {@link SyncService#pushBatch}. Each op is validated like its
+     * single-row endpoint and any invalid op rejects the batch with 400; after that, each
+     * op gets its own result carrying the committed row or {@code "failed"}.
+     */
+    @PostMapping("/sync/batch")
+    public ResponseEntity<SyncBatchResponseDto> postSyncBatch(
+            @AuthenticationPrincipal FirebaseUserDetails principal,
+            @Valid @RequestBody SyncBatchRequest req)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        // The single-row endpoints get the id from the path, which can't carry a '/';
+        // here it is in the body, so apply the same docId rules as the cursor ids.
+        for (SyncBatchOp op : req.getOps()) {
+            if (!isValidCursorId(op.getId())) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+        }
+        return ResponseEntity.ok(sync.pushBatch(principal.getUid(), req.getOps()));
+    }
+
     // ── Subscriptions ───────────────────────────────────────────────────────
 
     @PutMapping("/subscriptions/{id}")
@@ -0,0 +1,85 @@
+package com.albunyaan.tube.dto.sync;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * One queued edit in a {@link SyncBatchRequest}:
+ *
+ * <ul>
+ *   <li>{@code {"op":"upsert","collection":"favorites","id":"…","favorite":{…}}} — same body
+ *       as {@code PUT /api/account/favorites/{id}}; {@code subscription} / {@code playlist}
+ *       for the other collections;
+ *   <li>{@code {"op":"delete","collection":"favorites","id":"…"}} — same as the DELETE.
+ * </ul>
+ */
+@JsonIgnoreProperties(ignoreUnknown = false)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SyncBatchOp {
+    public static final String OP_UPSERT = "upsert";
+    public static final String OP_DELETE = "delete";
+
+    @NotNull
+    @Pattern(regexp = OP_UPSERT + "|" + OP_DELETE)
+    private String op;
+    @NotNull
+    @Pattern(regexp = "subscriptions|playlists|favorites")
+    private String collection;
+    @NotBlank
+    private String id;
+    @Valid
+    private PutSubscriptionRequest subscription;
+    @Valid
+    private PutPlaylistRequest playlist;
+    @Valid
+    private PutFavoriteRequest favorite;
+
+    public SyncBatchOp() {}
+
+    public static SyncBatchOp delete(String collection, String id) {
+        SyncBatchOp op = new SyncBatchOp();
+        op.op = OP_DELETE;
+        op.collection = collection;
+        op.id = id;
+        return op;
+    }
+
+    /** An upsert carries exactly the body of its collection; a delete carries none. */
+    @JsonIgnore
+    @AssertTrue(message = "upsert needs the body matching its collection; delete takes none")
+    public boolean isBodyConsistent() {
+        int bodies = (subscription != null ? 1 : 0) + (playlist != null ? 1 : 0) + (favorite != null ? 1 : 0);
+        if (OP_DELETE.equals(op)) return bodies == 0;
+        if (bodies != 1 || collection == null) return false;
+        return switch (collection) {
+            case "subscriptions" -> subscription != null;
+            case "playlists" -> playlist != null;
+            case "favorites" -> favorite != null;
+            default -> false;
+        };
+    }
+
+    @JsonIgnore
+    public boolean isDelete() {
+        return OP_DELETE.equals(op);
+    }
+
+    public String getOp()                                   { return op; }
+    public void setOp(String v)                             { this.op = v; }
+    public String getCollection()                           { return collection; }
+    public void setCollection(String v)                     { this.collection = v; }
+    public String getId()                                   { return id; }
+    public void setId(String v)                             { this.id = v; }
+    public PutSubscriptionRequest getSubscription()         { return subscription; }
+    public void setSubscription(PutSubscriptionRequest v)   { this.subscription = v; }
+    public PutPlaylistRequest getPlaylist()                 { return playlist; }
+    public void setPlaylist(PutPlaylistRequest v)           { this.playlist = v; }
+    public PutFavoriteRequest getFavorite()                 { return favorite; }
+    public void setFavorite(PutFavoriteRequest v)           { this.favorite = v; }
+}
@@ -0,0 +1,37 @@
+package com.albunyaan.tube.dto.sync;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/account/sync/batch}: a client's queued offline edits, oldest
+ * first. Each op is validated like the matching single-row PUT/DELETE; one malformed op
+ * rejects the whole batch with 400 so the client never half-applies a queue it built wrong.
+ */
+@JsonIgnoreProperties(ignoreUnknown = false)
+public class SyncBatchRequest {
+    /** Upper bound per request; larger queues are sent as several batches. */
+    public static final int MAX_OPS = 2000;
+
+    @NotNull
+    @Size(max = MAX_OPS)
+    private List<@NotNull @Valid SyncBatchOp> ops;
+
+    public SyncBatchRequest() {}
+
+    public SyncBatchRequest(List<SyncBatchOp> ops) {
+        this.ops = ops;
+    }
+
+    public List<SyncBatchOp> getOps() {
+        return ops;
+    }
+
+    public void setOps(List<SyncBatchOp> v) {
+        this.ops = v;
+    }
+}
@@ -0,0 +1,22 @@
+package com.albunyaan.tube.dto.sync;
+
+import java.util.List;
+
+/** Response of {@code POST /api/account/sync/batch}: one result per op, in request order. */
+public class SyncBatchResponseDto {
+    private List<SyncBatchResultDto> results;
+
+    public SyncBatchResponseDto() {}
+
+    public SyncBatchResponseDto(List<SyncBatchResultDto> results) {
+        this.results = results;
+    }
+
+    public List<SyncBatchResultDto> getResults() {
+        return results;
+    }
+
+    public void setResults(List<SyncBatchResultDto> v) {
+        this.results = v;
+    }
+}
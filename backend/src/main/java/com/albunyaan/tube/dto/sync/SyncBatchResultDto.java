@@ -0,0 +1,42 @@
+package com.albunyaan.tube.dto.sync;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one {@link SyncBatchOp}, at the same position as the op in the request.
+ * {@code status} is {@code "ok"} with {@code item} set to the committed row (its
+ * {@code updatedAt} is the commit time, projected like the single-row echoes), or
+ * {@code "failed"} when the op's commit group failed — the client keeps the op queued
+ * and retries it.
+ *
+ * <p>When the batch touches the same row more than once only the last op is written;
+ * every op on that row echoes the committed row.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SyncBatchResultDto {
+    public static final String STATUS_OK = "ok";
+    public static final String STATUS_FAILED = "failed";
+
+    private String collection;
+    private String id;
+    private String status;
+    private SyncRowDto item;
+
+    public SyncBatchResultDto() {}
+
+    public SyncBatchResultDto(String collection, String id, SyncRowDto item) {
+        this.collection = collection;
+        this.id = id;
+        this.status = item == null ? STATUS_FAILED : STATUS_OK;
+        this.item = item;
+    }
+
+    public String getCollection()           { return collection; }
+    public void setCollection(String v)     { this.collection = v; }
+    public String getId()                   { return id; }
+    public void setId(String v)             { this.id = v; }
+    public String getStatus()               { return status; }
+    public void setStatus(String v)         { this.status = v; }
+    public SyncRowDto getItem()             { return item; }
+    public void setItem(SyncRowDto v)       { this.item = v; }
+}
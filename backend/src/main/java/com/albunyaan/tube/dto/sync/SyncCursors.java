@@ -1,6 +1,14 @@
 package com.albunyaan.tube.dto.sync;
 
 public class SyncCursors {
+    /** Sync protocol spoken by pre-snapshot clients: delta pages only. */
+    public static final int PROTOCOL_DELTA = 1;
+    /**
+     * Clients at this version accept snapshot pages ({@link SyncPageDto#MODE_SNAPSHOT}) for
+     * a fresh pull or a cursor past the tombstone GC horizon.
+     */
+    public static final int PROTOCOL_SNAPSHOT = 2;
+
     private long subscriptions;
     private long playlists;
     private long favorites;
@@ -10,6 +18,12 @@ public class SyncCursors {
     private String subscriptionsId;
     private String playlistsId;
     private String favoritesId;
+    // Protocol 2: per-type "continue the snapshot" flags, set when the previous page said
+    // mode=SNAPSHOT. The timestamp above is then the snapshot time, the id the last docId.
+    private int protocol = PROTOCOL_DELTA;
+    private boolean subscriptionsSnapshot;
+    private boolean playlistsSnapshot;
+    private boolean favoritesSnapshot;
 
     public SyncCursors() {}
     public SyncCursors(long s, long p, long f) {
@@ -32,4 +46,12 @@ public class SyncCursors {
     public void setPlaylistsId(String v)      { this.playlistsId = v; }
     public String getFavoritesId()            { return favoritesId; }
     public void setFavoritesId(String v)      { this.favoritesId = v; }
+    public int getProtocol()                    { return protocol; }
+    public void setProtocol(int v)              { this.protocol = v; }
+    public boolean isSubscriptionsSnapshot()    { return subscriptionsSnapshot; }
+    public void setSubscriptionsSnapshot(boolean v) { this.subscriptionsSnapshot = v; }
+    public boolean isPlaylistsSnapshot()        { return playlistsSnapshot; }
+    public void setPlaylistsSnapshot(boolean v) { this.playlistsSnapshot = v; }
+    public boolean isFavoritesSnapshot()        { return favoritesSnapshot; }
+    public void setFavoritesSnapshot(boolean v) { this.favoritesSnapshot = v; }
 }
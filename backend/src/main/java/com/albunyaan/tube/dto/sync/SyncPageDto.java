@@ -1,8 +1,12 @@
 package com.albunyaan.tube.dto.sync;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 public class SyncPageDto<T extends SyncRowDto> {
+    public static final String MODE_SNAPSHOT = "SNAPSHOT";
+
     private List<T> items;
     /**
      * Cursor pointing past the last row in {@link #items}, or null iff the
@@ -19,6 +23,21 @@ public class SyncPageDto<T extends SyncRowDto> {
      * boundary don't drop (cubic R3/R4 P1).
      */
     private String nextCursorId;
+    /**
+     * Protocol 2 only. {@code "SNAPSHOT"}: the next pull for this type must continue the
+     * snapshot ({@code <type>_mode=snapshot} with this page's cursor). Absent: pull deltas from
+     * {@link #nextCursor} as usual — on the last snapshot page that is the snapshot time, so
+     * every change made while the snapshot was paged arrives as a delta.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String mode;
+    /**
+     * Protocol 2 only. True on the first page of a snapshot: the client's cursor was fresh or
+     * older than the tombstone GC horizon, so it must drop its synced rows of this type and
+     * rebuild them from the snapshot, which carries live rows only — no tombstones.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean resyncRequired;
 
     public SyncPageDto() {}
 
@@ -55,4 +74,20 @@ public class SyncPageDto<T extends SyncRowDto> {
     public void setNextCursorId(String v) {
         this.nextCursorId = v;
     }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String v) {
+        this.mode = v;
+    }
+
+    public Boolean getResyncRequired() {
+        return resyncRequired;
+    }
+
+    public void setResyncRequired(Boolean v) {
+        this.resyncRequired = v;
+    }
 }
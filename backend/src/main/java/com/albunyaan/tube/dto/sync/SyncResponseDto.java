@@ -1,9 +1,14 @@
 package com.albunyaan.tube.dto.sync;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class SyncResponseDto {
     private SyncPageDto<SubscriptionSyncDto> subscriptions;
     private SyncPageDto<PlaylistSyncDto> playlists;
     private SyncPageDto<FavoriteSyncDto> favorites;
+    /** Protocol the pages were written in; absent for protocol 1 so the legacy shape is unchanged. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer protocolVersion;
 
     public SyncResponseDto() {}
 
@@ -38,4 +43,12 @@ public class SyncResponseDto {
     public void setFavorites(SyncPageDto<FavoriteSyncDto> v) {
         this.favorites = v;
     }
+
+    public Integer getProtocolVersion() {
+        return protocolVersion;
+    }
+
+    public void setProtocolVersion(Integer v) {
+        this.protocolVersion = v;
+    }
 }
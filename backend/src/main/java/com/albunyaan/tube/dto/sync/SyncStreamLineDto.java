@@ -0,0 +1,81 @@
+package com.albunyaan.tube.dto.sync;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of the streamed sync pull ({@code Accept: application/x-ndjson}).
+ *
+ * <ul>
+ *   <li>{@code {"type":"row","collection":"subscriptions","item":{...}}} — one row;
+ *   <li>{@code {"type":"page","collection":"subscriptions","nextCursor":…,"nextCursorId":…}}
+ *       — the collection's page is complete; cursor semantics as in {@link SyncPageDto}
+ *       (an absent {@code nextCursor} means the page was empty), including its protocol-2
+ *       {@code mode} and {@code resyncRequired};
+ *   <li>{@code {"type":"done"}} — last line. A stream without it was cut short and must be
+ *       discarded by the client.
+ * </ul>
+ *
+ * Collections arrive in completion order, not a fixed order; each one's rows precede its
+ * {@code page} line.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SyncStreamLineDto {
+    public static final String TYPE_ROW = "row";
+    public static final String TYPE_PAGE = "page";
+    public static final String TYPE_DONE = "done";
+
+    private String type;
+    private String collection;
+    private SyncRowDto item;
+    private Long nextCursor;
+    private String nextCursorId;
+    private String mode;
+    private Boolean resyncRequired;
+
+    public SyncStreamLineDto() {}
+
+    public static SyncStreamLineDto row(String collection, SyncRowDto item) {
+        SyncStreamLineDto line = new SyncStreamLineDto();
+        line.type = TYPE_ROW;
+        line.collection = collection;
+        line.item = item;
+        return line;
+    }
+
+    public static SyncStreamLineDto page(String collection, Long nextCursor, String nextCursorId) {
+        return page(collection, nextCursor, nextCursorId, null, null);
+    }
+
+    public static SyncStreamLineDto page(String collection, Long nextCursor, String nextCursorId,
+                                         String mode, Boolean resyncRequired) {
+        SyncStreamLineDto line = new SyncStreamLineDto();
+        line.type = TYPE_PAGE;
+        line.collection = collection;
+        line.nextCursor = nextCursor;
+        line.nextCursorId = nextCursorId;
+        line.mode = mode;
+        line.resyncRequired = resyncRequired;
+        return line;
+    }
+
+    public static SyncStreamLineDto done() {
+        SyncStreamLineDto line = new SyncStreamLineDto();
+        line.type = TYPE_DONE;
+        return line;
+    }
+
+    public String getType()                 { return type; }
+    public void setType(String v)           { this.type = v; }
+    public String getCollection()           { return collection; }
+    public void setCollection(String v)     { this.collection = v; }
+    public SyncRowDto getItem()             { return item; }
+    public void setItem(SyncRowDto v)       { this.item = v; }
+    public Long getNextCursor()             { return nextCursor; }
+    public void setNextCursor(Long v)       { this.nextCursor = v; }
+    public String getNextCursorId()         { return nextCursorId; }
+    public void setNextCursorId(String v)   { this.nextCursorId = v; }
+    public String getMode()                 { return mode; }
+    public void setMode(String v)           { this.mode = v; }
+    public Boolean getResyncRequired()      { return resyncRequired; }
+    public void setResyncRequired(Boolean v) { this.resyncRequired = v; }
+}
@@ -25,6 +25,7 @@ public class SearchableStream {
     private boolean visible;
     private Timestamp indexedAt;
     private Timestamp lastSeenAt;
+    private String contentHash;     // StreamIndexService.contentHash of the last write; unchanged re-ingests are skipped
 
     public SearchableStream() {}
 
@@ -69,4 +70,7 @@ public class SearchableStream {
 
     public Timestamp getLastSeenAt() { return lastSeenAt; }
     public void setLastSeenAt(Timestamp lastSeenAt) { this.lastSeenAt = lastSeenAt; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
 }
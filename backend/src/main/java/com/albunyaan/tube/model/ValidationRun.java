@@ -27,6 +27,10 @@ public class ValidationRun {
     public static final String STATUS_RUNNING = "RUNNING";
     public static final String STATUS_COMPLETED = "COMPLETED";
     public static final String STATUS_FAILED = "FAILED";
+    /** Stopped early with its checkpoint kept (e.g. circuit breaker open); the next full run resumes it */
+    public static final String STATUS_PAUSED = "PAUSED";
+    /** Checkpoint handed over to a later run (details.resumedIn) */
+    public static final String STATUS_RESUMED = "RESUMED";
 
     @DocumentId
     private String id;
@@ -47,7 +51,7 @@ public class ValidationRun {
     private String triggeredByDisplayName;
 
     /**
-     * Status: STATUS_RUNNING, STATUS_COMPLETED, STATUS_FAILED
+     * Status: STATUS_RUNNING, STATUS_COMPLETED, STATUS_FAILED, STATUS_PAUSED, STATUS_RESUMED
      */
     private String status;
 
@@ -175,6 +179,40 @@ public class ValidationRun {
      */
     private String currentPhase;
 
+    // Checkpoint of a full run (all content types), saved after every page so a restart,
+    // an expired lock or an open circuit breaker does not discard the run's progress
+
+    /**
+     * Document ID of the last item taken from the current phase's stream, or null at phase start
+     */
+    private String cursorId;
+
+    /**
+     * lastValidatedAt of that item as read (the stream is ordered by lastValidatedAt, then ID)
+     */
+    private Timestamp cursorValidatedAt;
+
+    /**
+     * Items of the current phase handed to validation so far (counts against the per-type limit)
+     */
+    private int phaseScanned;
+
+    /**
+     * Items validated at or after this instant are not due; fixed at run start so a resumed run
+     * does not pick up what it validated itself
+     */
+    private Timestamp eligibleBefore;
+
+    /**
+     * When the checkpoint was last saved; null for runs that do not checkpoint
+     */
+    private Timestamp checkpointedAt;
+
+    /**
+     * Number of interrupted runs this run's progress was carried over from
+     */
+    private int resumeCount;
+
     /**
      * Additional details about the run (JSON-like map)
      * Can include: videoIds, error messages, configuration, etc.
@@ -482,6 +520,115 @@ public class ValidationRun {
         this.details.put(key, value);
     }
 
+    // Checkpoint getters/setters
+
+    public String getCursorId() {
+        return cursorId;
+    }
+
+    public void setCursorId(String cursorId) {
+        this.cursorId = cursorId;
+    }
+
+    public Timestamp getCursorValidatedAt() {
+        return cursorValidatedAt;
+    }
+
+    public void setCursorValidatedAt(Timestamp cursorValidatedAt) {
+        this.cursorValidatedAt = cursorValidatedAt;
+    }
+
+    public int getPhaseScanned() {
+        return phaseScanned;
+    }
+
+    public void setPhaseScanned(int phaseScanned) {
+        this.phaseScanned = phaseScanned;
+    }
+
+    public Timestamp getEligibleBefore() {
+        return eligibleBefore;
+    }
+
+    public void setEligibleBefore(Timestamp eligibleBefore) {
+        this.eligibleBefore = eligibleBefore;
+    }
+
+    public Timestamp getCheckpointedAt() {
+        return checkpointedAt;
+    }
+
+    public void setCheckpointedAt(Timestamp checkpointedAt) {
+        this.checkpointedAt = checkpointedAt;
+    }
+
+    public int getResumeCount() {
+        return resumeCount;
+    }
+
+    public void setResumeCount(int resumeCount) {
+        this.resumeCount = resumeCount;
+    }
+
+    /**
+     * Enter a phase of a full run, clearing the previous phase's stream position
+     */
+    public void startPhase(String phase) {
+        this.currentPhase = phase;
+        this.cursorId = null;
+        this.cursorValidatedAt = null;
+        this.phaseScanned = 0;
+    }
+
+    /**
+     * Move the stream position past a page whose last item is {@code lastId}
+     */
+    public void advanceCursor(String lastId, Timestamp lastValidatedAt, int scanned) {
+        this.cursorId = lastId;
+        this.cursorValidatedAt = lastValidatedAt;
+        this.phaseScanned += scanned;
+    }
+
+    /**
+     * Whether a later full run may take over this run's checkpoint: it was paused, or it is
+     * still RUNNING but has not checkpointed since {@code staleBefore} (its instance died or
+     * lost the run)
+     */
+    public boolean isResumable(Timestamp staleBefore) {
+        if (checkpointedAt == null) {
+            return false;
+        }
+        return STATUS_PAUSED.equals(status)
+                || (STATUS_RUNNING.equals(status) && checkpointedAt.compareTo(staleBefore) < 0);
+    }
+
+    /**
+     * Carry over the counters and checkpoint of an interrupted run, so this run continues it
+     */
+    public void resumeFrom(ValidationRun previous) {
+        this.channelsChecked = previous.channelsChecked;
+        this.channelsMarkedArchived = previous.channelsMarkedArchived;
+        this.playlistsChecked = previous.playlistsChecked;
+        this.playlistsMarkedArchived = previous.playlistsMarkedArchived;
+        this.videosChecked = previous.videosChecked;
+        this.videosMarkedArchived = previous.videosMarkedArchived;
+        this.videosMarkedUnavailable = previous.videosMarkedUnavailable;
+        this.errorCount = previous.errorCount;
+        this.totalChannelsToCheck = previous.totalChannelsToCheck;
+        this.totalPlaylistsToCheck = previous.totalPlaylistsToCheck;
+        this.totalVideosToCheck = previous.totalVideosToCheck;
+        this.currentPhase = previous.currentPhase;
+        this.cursorId = previous.cursorId;
+        this.cursorValidatedAt = previous.cursorValidatedAt;
+        this.phaseScanned = previous.phaseScanned;
+        this.eligibleBefore = previous.eligibleBefore;
+        this.resumeCount = previous.resumeCount + 1;
+        if (previous.details != null) {
+            previous.details.forEach(this.details::putIfAbsent);
+        }
+        this.details.put("resumedFrom", previous.id);
+    }
+
     /**
      * Mark the validation run as completed and calculate duration
      */
@@ -1,5 +1,9 @@
 package com.albunyaan.tube.model;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Enum representing the validation status of content (channels, playlists, videos).
  * Indicates whether the content still exists on YouTube.
@@ -24,6 +28,14 @@ public enum ValidationStatus {
      * Content has been archived by admin (hidden from app, kept in database).
      * Used when validation detects unavailable content - auto-archived for review.
      */
-    ARCHIVED
+    ARCHIVED;
+
+    /**
+     * Stored values of content that validation runs still check: never validated (null),
+     * VALID and ERROR. ARCHIVED and UNAVAILABLE content is left alone, so queries filter on this
+     * to keep it from piling up at the head of the stalest-first stream.
+     */
+    public static final List<String> REVALIDATED_VALUES =
+            Collections.unmodifiableList(Arrays.asList(null, VALID.name(), ERROR.name()));
 }
 
@@ -91,6 +91,17 @@ public class CategoryContentOrderRepository {
         return merged;
     }
 
+    /**
+     * Find every order entry across all categories (unsorted).
+     * Used to build the in-memory public catalog snapshot.
+     */
+    public List<CategoryContentOrder> findAll()
+            throws ExecutionException, InterruptedException, TimeoutException {
+        ApiFuture<QuerySnapshot> query = getCollection().get();
+        return query.get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS)
+                .toObjects(CategoryContentOrder.class);
+    }
+
     /**
      * Count unique content entries across multiple category IDs.
      * Deduplicates by contentType+contentId to avoid double-counting content
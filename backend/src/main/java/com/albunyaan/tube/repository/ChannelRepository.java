@@ -6,10 +6,12 @@ import com.albunyaan.tube.model.Channel;
 import com.albunyaan.tube.model.ValidationStatus;
 import org.springframework.cache.annotation.Cacheable;
 import com.google.api.core.ApiFuture;
+import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.AggregateQuery;
 import com.google.cloud.firestore.AggregateQuerySnapshot;
 import com.google.cloud.firestore.CollectionReference;
 import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.FieldPath;
 import com.google.cloud.firestore.Firestore;
 import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.cloud.firestore.Query;
@@ -74,6 +76,26 @@ public class ChannelRepository {
         return channel;
     }
 
+    /**
+     * {@link #save} for several channels through one BulkWriter, so a validation run writes a
+     * page of re-validated channels in a few round trips.
+     *
+     * @return IDs of the channels whose write failed; all others were written
+     */
+    public java.util.Set<String> saveAll(List<Channel> channels) throws ExecutionException, InterruptedException, TimeoutException {
+        for (Channel channel : channels) {
+            channel.touch();
+            // Same derived-field sync as save()
+            channel.setStatus(channel.getStatus());
+            channel.setExcludedItems(channel.getExcludedItems());
+            if (channel.getId() == null) {
+                channel.setId(getCollection().document().getId());
+            }
+        }
+        return FirestoreBulkWrites.setAll(firestore, getCollection(), channels, Channel::getId,
+                timeoutProperties.getBulkQuery());
+    }
+
     /**
      * Atomically save a channel only if its current status matches the expected value.
      * Uses a Firestore transaction to prevent concurrent approve/reject race conditions.
@@ -164,23 +186,22 @@ public class ChannelRepository {
     public java.util.Set<String> archivedIdsAmong(java.util.Collection<String> youtubeIds) {
         if (youtubeIds == null || youtubeIds.isEmpty()) return java.util.Set.of();
         java.util.Set<String> out = new java.util.HashSet<>();
-        java.util.List<String> all = new java.util.ArrayList<>(youtubeIds);
-        for (int i = 0; i < all.size(); i += 30) {
-            java.util.List<String> chunk = all.subList(i, Math.min(i + 30, all.size()));
-            try {
-                ApiFuture<QuerySnapshot> q = getCollection()
-                        .whereIn("youtubeId", new java.util.ArrayList<>(chunk))
-                        .get();
-                for (QueryDocumentSnapshot d : q.get(timeoutProperties.getRead(), java.util.concurrent.TimeUnit.SECONDS).getDocuments()) {
-                    Channel c = d.toObject(Channel.class);
-                    ValidationStatus s = c.getValidationStatus();
-                    if (s == ValidationStatus.ARCHIVED || s == ValidationStatus.UNAVAILABLE) {
-                        out.add(c.getYoutubeId());
-                    }
+        try {
+            // Chunks run concurrently; a failed chunk is skipped (fail open) rather than
+            // failing the whole page.
+            for (DocumentSnapshot d : FirestoreBatchLookup.whereIn(
+                    getCollection(), "youtubeId", youtubeIds, timeoutProperties, timeoutProperties.getRead(),
+                    e -> log.warn("archivedIdsAmong: chunk lookup failed, failing open", e))) {
+                Channel item = d.toObject(Channel.class);
+                ValidationStatus s = item != null ? item.getValidationStatus() : null;
+                if (s == ValidationStatus.ARCHIVED || s == ValidationStatus.UNAVAILABLE) {
+                    out.add(item.getYoutubeId());
                 }
-            } catch (Exception e) {
-                log.warn("archivedIdsAmong: chunk lookup failed, failing open", e);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("archivedIdsAmong: lookup failed, failing open", e);
         }
         return out;
     }
@@ -240,6 +261,33 @@ public class ChannelRepository {
         return query.get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS).toObjects(Channel.class);
     }
 
+    /**
+     * Next page of {@link #findByStatusOrderByLastValidatedAtAsc} after the position
+     * ({@code afterValidatedAt}, {@code afterId}), ties broken by document ID. Validation runs
+     * stream through this and checkpoint the position, so a resumed run continues where the
+     * previous one stopped. A null {@code afterId} starts from the beginning.
+     *
+     * ARCHIVED and UNAVAILABLE items are excluded: runs skip them without moving their
+     * lastValidatedAt, so they would otherwise stay at the head of every run's stream.
+     *
+     * Note: Requires Firestore composite index: status (ASC) + validationStatus (ASC) +
+     * lastValidatedAt (ASC); document ID is its implicit last ordering.
+     */
+    public List<Channel> findByStatusOrderByLastValidatedAtAscAfter(
+            String status, Timestamp afterValidatedAt, String afterId, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        Query query = getCollection()
+                .whereEqualTo("status", status)
+                .whereIn("validationStatus", ValidationStatus.REVALIDATED_VALUES)
+                .orderBy("lastValidatedAt", Query.Direction.ASCENDING)
+                .orderBy(FieldPath.documentId(), Query.Direction.ASCENDING)
+                .limit(limit);
+        if (afterId != null) {
+            query = query.startAfter(afterValidatedAt, afterId);
+        }
+        return query.get().get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS).toObjects(Channel.class);
+    }
+
     /**
      * Find approved channels by category ID with deterministic ordering.
      * NOTE: This unbounded method is retained for backwards compatibility but
@@ -588,6 +636,8 @@ public class ChannelRepository {
         Query query = getCollection()
                 .whereEqualTo("status", "APPROVED")
                 .orderBy("subscribers", Query.Direction.DESCENDING)
+                // Same tie-break as the catalog snapshot, so multi-category merges see one order
+                .orderBy(FieldPath.documentId(), Query.Direction.ASCENDING)
                 .limit(limit + 1); // Fetch one extra to detect hasNext
 
         // Apply cursor if provided. If the cursor's document no longer exists
@@ -647,6 +697,7 @@ public class ChannelRepository {
                 .whereArrayContains("categoryIds", category)
                 .whereEqualTo("status", "APPROVED")
                 .orderBy("subscribers", Query.Direction.DESCENDING)
+                .orderBy(FieldPath.documentId(), Query.Direction.ASCENDING)
                 .limit(limit + 1);
 
         // Apply cursor if provided. Stale cursor → restart from first page
@@ -993,25 +1044,19 @@ public class ChannelRepository {
     /**
      * Batch-fetch channels by their YouTube IDs using chunked whereIn queries.
      * Returns a map of youtubeId → Channel for O(1) annotation lookups.
+     * Chunks (30 IDs, Firestore's whereIn limit) run concurrently via {@link FirestoreBatchLookup}.
      */
     public Map<String, Channel> findByYoutubeIds(java.util.Collection<String> youtubeIds)
             throws ExecutionException, InterruptedException, TimeoutException {
         Map<String, Channel> result = new HashMap<>();
         if (youtubeIds == null || youtubeIds.isEmpty()) return result;
 
-        List<String> idList = new ArrayList<>(youtubeIds);
-        int chunkSize = 30;
-        for (int i = 0; i < idList.size(); i += chunkSize) {
-            List<String> chunk = idList.subList(i, Math.min(i + chunkSize, idList.size()));
-            ApiFuture<QuerySnapshot> query = getCollection()
-                    .whereIn("youtubeId", new ArrayList<>(chunk))
-                    .get();
-            List<QueryDocumentSnapshot> docs = query.get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS)
-                    .getDocuments();
-            for (QueryDocumentSnapshot doc : docs) {
-                Channel ch = doc.toObject(Channel.class);
-                if (ch != null) {
-                    ch.setId(doc.getId());
+        for (DocumentSnapshot doc : FirestoreBatchLookup.whereIn(
+                getCollection(), "youtubeId", youtubeIds, timeoutProperties, timeoutProperties.getBulkQuery(), null)) {
+            Channel ch = doc.toObject(Channel.class);
+            if (ch != null) {
+                ch.setId(doc.getId());
+                if (ch.getYoutubeId() != null) {
                     result.put(ch.getYoutubeId(), ch);
                 }
             }
@@ -1028,21 +1073,12 @@ public class ChannelRepository {
         Map<String, Channel> result = new HashMap<>();
         if (ids == null || ids.isEmpty()) return result;
 
-        List<DocumentReference> refs = new ArrayList<>();
-        for (String id : ids) {
-            refs.add(getCollection().document(id));
-        }
-
-        List<DocumentSnapshot> snapshots = firestore.getAll(refs.toArray(new DocumentReference[0]))
-                .get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS);
-
-        for (DocumentSnapshot snap : snapshots) {
-            if (snap.exists()) {
-                Channel ch = snap.toObject(Channel.class);
-                if (ch != null) {
-                    ch.setId(snap.getId());
-                    result.put(snap.getId(), ch);
-                }
+        for (DocumentSnapshot snap : FirestoreBatchLookup.getAll(
+                firestore, getCollection(), ids, timeoutProperties, timeoutProperties.getBulkQuery())) {
+            Channel ch = snap.toObject(Channel.class);
+            if (ch != null) {
+                ch.setId(snap.getId());
+                result.put(snap.getId(), ch);
             }
         }
         return result;
@@ -0,0 +1,182 @@
+package com.albunyaan.tube.repository;
+
+import com.albunyaan.tube.config.FirestoreTimeoutProperties;
+import com.google.api.core.ApiFuture;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.QuerySnapshot;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Batched multi-ID lookups shared by the repositories.
+ *
+ * IDs are split into chunks (30 values for {@code whereIn}, Firestore's clause limit;
+ * {@value #GET_ALL_CHUNK} references per {@code getAll}) and the chunks are dispatched
+ * concurrently, at most {@link FirestoreTimeoutProperties#getLookupConcurrency()} in flight per
+ * call, so a lookup costs about one round trip instead of one per chunk. Results come back in
+ * the order of the requested IDs.
+ *
+ * Within one GET/HEAD request, every ID already looked up (found or not) is answered from a
+ * request-scoped memo, so assembling a response never fetches the same document twice.
+ * Requests that may write, and work outside a request (schedulers, async tasks), always read
+ * through.
+ */
+final class FirestoreBatchLookup {
+
+    /** Firestore's cap on values in a {@code whereIn} filter. */
+    static final int WHERE_IN_LIMIT = 30;
+
+    static final int GET_ALL_CHUNK = 100;
+
+    private static final String MEMO_ATTRIBUTE = FirestoreBatchLookup.class.getName() + ".memo";
+    private static final String DOCUMENT_ID = "__name__";
+
+    private FirestoreBatchLookup() {
+    }
+
+    /**
+     * Documents whose {@code field} equals one of {@code values}, in value order.
+     *
+     * @param onChunkFailure when non-null, a failed chunk is reported here and skipped (its
+     *                       values are not memoized); when null, the first failure is thrown
+     */
+    static List<DocumentSnapshot> whereIn(CollectionReference collection, String field, Collection<String> values,
+                                          FirestoreTimeoutProperties timeouts, long timeoutSeconds,
+                                          @Nullable Consumer<Exception> onChunkFailure)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return lookup(collection.getPath(), field, values, WHERE_IN_LIMIT, timeouts, timeoutSeconds, onChunkFailure,
+                chunk -> collection.whereIn(field, new ArrayList<>(chunk)).get(),
+                (QuerySnapshot snapshot) -> new ArrayList<DocumentSnapshot>(snapshot.getDocuments()),
+                doc -> doc.get(field) instanceof String value ? value : null);
+    }
+
+    /** Existing documents with the given IDs, in ID order, via {@code firestore.getAll}. */
+    static List<DocumentSnapshot> getAll(Firestore firestore, CollectionReference collection, Collection<String> ids,
+                                         FirestoreTimeoutProperties timeouts, long timeoutSeconds)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return lookup(collection.getPath(), DOCUMENT_ID, ids, GET_ALL_CHUNK, timeouts, timeoutSeconds, null,
+                chunk -> {
+                    DocumentReference[] refs = new DocumentReference[chunk.size()];
+                    for (int i = 0; i < refs.length; i++) {
+                        refs[i] = collection.document(chunk.get(i));
+                    }
+                    return firestore.getAll(refs);
+                },
+                Function.identity(),
+                DocumentSnapshot::getId);
+    }
+
+    private static <R> List<DocumentSnapshot> lookup(String path, String field, Collection<String> values, int chunkSize,
+                                                     FirestoreTimeoutProperties timeouts, long timeoutSeconds,
+                                                     @Nullable Consumer<Exception> onChunkFailure,
+                                                     Function<List<String>, ApiFuture<R>> dispatch,
+                                                     Function<R, List<DocumentSnapshot>> documents,
+                                                     Function<DocumentSnapshot, String> keyOf)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        if (values == null || values.isEmpty()) return List.of();
+
+        Map<String, List<DocumentSnapshot>> memo = requestMemo();
+        Map<String, List<DocumentSnapshot>> found = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String value : new LinkedHashSet<>(values)) {
+            if (value == null) continue;
+            List<DocumentSnapshot> memoized = memo != null ? memo.get(memoKey(path, field, value)) : null;
+            found.put(value, memoized);
+            if (memoized == null) missing.add(value);
+        }
+
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < missing.size(); i += chunkSize) {
+            chunks.add(missing.subList(i, Math.min(i + chunkSize, missing.size())));
+        }
+        int concurrency = Math.max(1, timeouts.getLookupConcurrency());
+        List<ApiFuture<R>> inFlight = new ArrayList<>(chunks.size());
+        try {
+            for (int i = 0; i < chunks.size(); i++) {
+                if (i >= concurrency) {
+                    collect(chunks.get(i - concurrency), inFlight.get(i - concurrency), timeoutSeconds,
+                            onChunkFailure, documents, keyOf, found);
+                }
+                inFlight.add(dispatch.apply(chunks.get(i)));
+            }
+            for (int i = Math.max(0, chunks.size() - concurrency); i < chunks.size(); i++) {
+                collect(chunks.get(i), inFlight.get(i), timeoutSeconds, onChunkFailure, documents, keyOf, found);
+            }
+        } catch (ExecutionException | InterruptedException | TimeoutException | RuntimeException e) {
+            inFlight.forEach(future -> future.cancel(true));
+            throw e;
+        }
+
+        List<DocumentSnapshot> out = new ArrayList<>();
+        for (Map.Entry<String, List<DocumentSnapshot>> entry : found.entrySet()) {
+            List<DocumentSnapshot> docs = entry.getValue();
+            if (docs == null) continue; // chunk failed open
+            if (memo != null) memo.put(memoKey(path, field, entry.getKey()), docs);
+            out.addAll(docs);
+        }
+        return out;
+    }
+
+    private static <R> void collect(List<String> chunk, ApiFuture<R> future, long timeoutSeconds,
+                                    @Nullable Consumer<Exception> onChunkFailure,
+                                    Function<R, List<DocumentSnapshot>> documents,
+                                    Function<DocumentSnapshot, String> keyOf,
+                                    Map<String, List<DocumentSnapshot>> found)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        List<DocumentSnapshot> docs;
+        try {
+            docs = documents.apply(future.get(timeoutSeconds, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (ExecutionException | TimeoutException | RuntimeException e) {
+            if (onChunkFailure == null) throw e;
+            onChunkFailure.accept(e);
+            return;
+        }
+        for (String value : chunk) {
+            found.put(value, new ArrayList<>(1));
+        }
+        for (DocumentSnapshot doc : docs) {
+            if (doc == null || !doc.exists()) continue;
+            List<DocumentSnapshot> bucket = found.get(keyOf.apply(doc));
+            if (bucket != null) bucket.add(doc);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private static Map<String, List<DocumentSnapshot>> requestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servlet)) return null;
+        String method = servlet.getRequest().getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) return null;
+        Object memo = attributes.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new ConcurrentHashMap<String, List<DocumentSnapshot>>();
+            attributes.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<String, List<DocumentSnapshot>>) memo;
+    }
+
+    private static String memoKey(String path, String field, String value) {
+        return path + '\u0000' + field + '\u0000' + value;
+    }
+}
@@ -0,0 +1,67 @@
+package com.albunyaan.tube.repository;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.firestore.BulkWriter;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.WriteResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Whole-document writes of several entities through one {@link BulkWriter}, shared by the
+ * content repositories. BulkWriter batches the sets and sends the batches in parallel, so
+ * saving a page of items costs a few round trips instead of one per item.
+ */
+final class FirestoreBulkWrites {
+
+    private static final Logger log = LoggerFactory.getLogger(FirestoreBulkWrites.class);
+
+    private FirestoreBulkWrites() {
+    }
+
+    /**
+     * Set every entity at {@code collection/<id>}, like a {@code save} each.
+     *
+     * @return IDs of the entities whose write failed (each logged); empty when all landed
+     */
+    static <T> Set<String> setAll(Firestore firestore, CollectionReference collection, List<T> entities,
+                                  Function<T, String> idOf, long timeoutSeconds)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        if (entities.isEmpty()) {
+            return Set.of();
+        }
+        List<String> ids = new ArrayList<>(entities.size());
+        List<ApiFuture<WriteResult>> writes = new ArrayList<>(entities.size());
+        BulkWriter writer = firestore.bulkWriter();
+        try {
+            for (T entity : entities) {
+                String id = idOf.apply(entity);
+                ids.add(id);
+                writes.add(writer.set(collection.document(id), entity));
+            }
+            writer.flush();
+            List<WriteResult> results = ApiFutures.successfulAsList(writes).get(timeoutSeconds, TimeUnit.SECONDS);
+            Set<String> failed = new LinkedHashSet<>();
+            for (int i = 0; i < ids.size(); i++) {
+                if (results.get(i) == null) {
+                    failed.add(ids.get(i));
+                    log.warn("{} bulk write failed for {}", collection.getId(), ids.get(i));
+                }
+            }
+            return failed;
+        } finally {
+            writer.close();
+        }
+    }
+}
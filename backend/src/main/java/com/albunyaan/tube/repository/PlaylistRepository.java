@@ -6,10 +6,12 @@ import com.albunyaan.tube.model.Playlist;
 import com.albunyaan.tube.model.ValidationStatus;
 import org.springframework.cache.annotation.Cacheable;
 import com.google.api.core.ApiFuture;
+import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.AggregateQuery;
 import com.google.cloud.firestore.AggregateQuerySnapshot;
 import com.google.cloud.firestore.CollectionReference;
 import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.FieldPath;
 import com.google.cloud.firestore.Firestore;
 import com.google.cloud.firestore.Query;
 import com.google.cloud.firestore.QueryDocumentSnapshot;
@@ -76,6 +78,23 @@ public class PlaylistRepository {
         return playlist;
     }
 
+    /**
+     * {@link #save} for several playlists through one BulkWriter, so a validation run writes a
+     * page of re-validated playlists in a few round trips.
+     *
+     * @return IDs of the playlists whose write failed; all others were written
+     */
+    public java.util.Set<String> saveAll(List<Playlist> playlists) throws ExecutionException, InterruptedException, java.util.concurrent.TimeoutException {
+        for (Playlist playlist : playlists) {
+            playlist.touch();
+            if (playlist.getId() == null) {
+                playlist.setId(getCollection().document().getId());
+            }
+        }
+        return FirestoreBulkWrites.setAll(firestore, getCollection(), playlists, Playlist::getId,
+                timeoutProperties.getBulkQuery());
+    }
+
     /**
      * Atomically save a playlist only if its current status matches the expected value.
      * Uses a Firestore transaction to prevent concurrent approve/reject race conditions.
@@ -151,24 +170,22 @@ public class PlaylistRepository {
     public java.util.Set<String> archivedIdsAmong(java.util.Collection<String> youtubeIds) {
         if (youtubeIds == null || youtubeIds.isEmpty()) return java.util.Set.of();
         java.util.Set<String> out = new java.util.HashSet<>();
-        java.util.List<String> all = new java.util.ArrayList<>(youtubeIds);
-        for (int i = 0; i < all.size(); i += 30) {
-            java.util.List<String> chunk = all.subList(i, Math.min(i + 30, all.size()));
-            try {
-                ApiFuture<QuerySnapshot> q = getCollection()
-                        .whereIn("youtubeId", new java.util.ArrayList<>(chunk))
-                        .get();
-                for (QueryDocumentSnapshot d : q.get(timeoutProperties.getRead(), java.util.concurrent.TimeUnit.SECONDS).getDocuments()) {
-                    Playlist p = d.toObject(Playlist.class);
-                    var s = p.getValidationStatus();
-                    if (s == com.albunyaan.tube.model.ValidationStatus.ARCHIVED
-                            || s == com.albunyaan.tube.model.ValidationStatus.UNAVAILABLE) {
-                        out.add(p.getYoutubeId());
-                    }
+        try {
+            // Chunks run concurrently; a failed chunk is skipped (fail open) rather than
+            // failing the whole page.
+            for (com.google.cloud.firestore.DocumentSnapshot d : FirestoreBatchLookup.whereIn(
+                    getCollection(), "youtubeId", youtubeIds, timeoutProperties, timeoutProperties.getRead(),
+                    e -> log.warn("archivedIdsAmong: chunk lookup failed, failing open", e))) {
+                Playlist item = d.toObject(Playlist.class);
+                ValidationStatus s = item != null ? item.getValidationStatus() : null;
+                if (s == ValidationStatus.ARCHIVED || s == ValidationStatus.UNAVAILABLE) {
+                    out.add(item.getYoutubeId());
                 }
-            } catch (Exception e) {
-                log.warn("archivedIdsAmong: chunk lookup failed, failing open", e);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("archivedIdsAmong: lookup failed, failing open", e);
         }
         return out;
     }
@@ -214,6 +231,33 @@ public class PlaylistRepository {
         return query.get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS).toObjects(Playlist.class);
     }
 
+    /**
+     * Next page of {@link #findByStatusOrderByLastValidatedAtAsc} after the position
+     * ({@code afterValidatedAt}, {@code afterId}), ties broken by document ID. Validation runs
+     * stream through this and checkpoint the position, so a resumed run continues where the
+     * previous one stopped. A null {@code afterId} starts from the beginning.
+     *
+     * ARCHIVED and UNAVAILABLE items are excluded: runs skip them without moving their
+     * lastValidatedAt, so they would otherwise stay at the head of every run's stream.
+     *
+     * Note: Requires Firestore composite index: status (ASC) + validationStatus (ASC) +
+     * lastValidatedAt (ASC); document ID is its implicit last ordering.
+     */
+    public List<Playlist> findByStatusOrderByLastValidatedAtAscAfter(
+            String status, Timestamp afterValidatedAt, String afterId, int limit)
+            throws ExecutionException, InterruptedException, java.util.concurrent.TimeoutException {
+        Query query = getCollection()
+                .whereEqualTo("status", status)
+                .whereIn("validationStatus", ValidationStatus.REVALIDATED_VALUES)
+                .orderBy("lastValidatedAt", Query.Direction.ASCENDING)
+                .orderBy(FieldPath.documentId(), Query.Direction.ASCENDING)
+                .limit(limit);
+        if (afterId != null) {
+            query = query.startAfter(afterValidatedAt, afterId);
+        }
+        return query.get().get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS).toObjects(Playlist.class);
+    }
+
     public List<Playlist> findByCategoryId(String categoryId) throws ExecutionException, InterruptedException, java.util.concurrent.TimeoutException {
         ApiFuture<QuerySnapshot> query = getCollection()
                 .whereArrayContains("categoryIds", categoryId)
@@ -536,6 +580,8 @@ public class PlaylistRepository {
         Query query = getCollection()
                 .whereEqualTo("status", STATUS_APPROVED)
                 .orderBy("itemCount", Query.Direction.DESCENDING)
+                // Same tie-break as the catalog snapshot, so multi-category merges see one order
+                .orderBy(FieldPath.documentId(), Query.Direction.ASCENDING)
                 .limit(limit + 1);
 
         if (cursor != null && !cursor.isEmpty()) {
@@ -590,6 +636,7 @@ public class PlaylistRepository {
                 .whereArrayContains("categoryIds", category)
                 .whereEqualTo("status", STATUS_APPROVED)
                 .orderBy("itemCount", Query.Direction.DESCENDING)
+                .orderBy(FieldPath.documentId(), Query.Direction.ASCENDING)
                 .limit(limit + 1);
 
         if (cursor != null && !cursor.isEmpty()) {
@@ -922,28 +969,21 @@ public class PlaylistRepository {
     /**
      * Batch-fetch playlists by their YouTube IDs using chunked whereIn queries.
      * Returns a map of youtubeId to Playlist for efficient lookup.
-     * Firestore whereIn supports up to 30 values per query.
+     * Firestore whereIn supports up to 30 values per query; chunks run concurrently
+     * via {@link FirestoreBatchLookup}.
      */
     public Map<String, Playlist> findByYoutubeIds(java.util.Collection<String> youtubeIds)
             throws ExecutionException, InterruptedException, TimeoutException {
         Map<String, Playlist> result = new HashMap<>();
         if (youtubeIds == null || youtubeIds.isEmpty()) return result;
 
-        List<String> idList = new ArrayList<>(youtubeIds);
-        int chunkSize = 30;
-        for (int i = 0; i < idList.size(); i += chunkSize) {
-            List<String> chunk = idList.subList(i, Math.min(i + chunkSize, idList.size()));
-            ApiFuture<QuerySnapshot> query = getCollection()
-                    .whereIn("youtubeId", new ArrayList<>(chunk))
-                    .get();
-            List<QueryDocumentSnapshot> docs = query.get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS).getDocuments();
-            for (QueryDocumentSnapshot doc : docs) {
-                Playlist pl = doc.toObject(Playlist.class);
-                if (pl != null) {
-                    pl.setId(doc.getId());
-                    if (pl.getYoutubeId() != null) {
-                        result.put(pl.getYoutubeId(), pl);
-                    }
+        for (com.google.cloud.firestore.DocumentSnapshot doc : FirestoreBatchLookup.whereIn(
+                getCollection(), "youtubeId", youtubeIds, timeoutProperties, timeoutProperties.getBulkQuery(), null)) {
+            Playlist pl = doc.toObject(Playlist.class);
+            if (pl != null) {
+                pl.setId(doc.getId());
+                if (pl.getYoutubeId() != null) {
+                    result.put(pl.getYoutubeId(), pl);
                 }
             }
         }
@@ -959,22 +999,12 @@ public class PlaylistRepository {
         Map<String, Playlist> result = new HashMap<>();
         if (ids == null || ids.isEmpty()) return result;
 
-        List<DocumentReference> refs = new ArrayList<>();
-        for (String id : ids) {
-            refs.add(getCollection().document(id));
-        }
-
-        List<com.google.cloud.firestore.DocumentSnapshot> snapshots =
-                firestore.getAll(refs.toArray(new DocumentReference[0]))
-                        .get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS);
-
-        for (com.google.cloud.firestore.DocumentSnapshot snap : snapshots) {
-            if (snap.exists()) {
-                Playlist pl = snap.toObject(Playlist.class);
-                if (pl != null) {
-                    pl.setId(snap.getId());
-                    result.put(snap.getId(), pl);
-                }
+        for (com.google.cloud.firestore.DocumentSnapshot snap : FirestoreBatchLookup.getAll(
+                firestore, getCollection(), ids, timeoutProperties, timeoutProperties.getBulkQuery())) {
+            Playlist pl = snap.toObject(Playlist.class);
+            if (pl != null) {
+                pl.setId(snap.getId());
+                result.put(snap.getId(), pl);
             }
         }
         return result;
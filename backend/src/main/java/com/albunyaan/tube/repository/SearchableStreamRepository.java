@@ -2,6 +2,8 @@ package com.albunyaan.tube.repository;
 
 import com.albunyaan.tube.config.FirestoreTimeoutProperties;
 import com.albunyaan.tube.model.SearchableStream;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
 import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.*;
 import org.slf4j.Logger;
@@ -37,6 +39,51 @@ public class SearchableStreamRepository {
      */
     public void upsert(SearchableStream stream, String sourceKey)
             throws ExecutionException, InterruptedException, TimeoutException {
+        getCollection().document(stream.getStreamId())
+                .set(upsertData(stream, sourceKey), SetOptions.merge())
+                .get(timeoutProperties.getWrite(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Existing streams by ID (absent IDs are simply missing from the map), fetched with
+     * batched {@code getAll} calls rather than one read per stream.
+     */
+    public Map<String, SearchableStream> findByIds(Collection<String> streamIds)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        Map<String, SearchableStream> out = new HashMap<>();
+        for (DocumentSnapshot doc : FirestoreBatchLookup.getAll(firestore, getCollection(), streamIds,
+                timeoutProperties, timeoutProperties.getRead())) {
+            if (!doc.exists()) continue;
+            SearchableStream stream = doc.toObject(SearchableStream.class);
+            if (stream != null) out.put(doc.getId(), stream);
+        }
+        return out;
+    }
+
+    /**
+     * {@link #upsert} for a page of streams through one {@link BulkWriter}, which sends the
+     * merges in parallel batches instead of one round trip each.
+     *
+     * @return IDs of the streams whose write was acknowledged; failures are logged and left out
+     */
+    public List<String> upsertAll(List<SearchableStream> streams, String sourceKey)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        if (streams.isEmpty()) return List.of();
+        List<ApiFuture<WriteResult>> writes = new ArrayList<>(streams.size());
+        BulkWriter writer = firestore.bulkWriter();
+        try {
+            for (SearchableStream stream : streams) {
+                writes.add(writer.set(getCollection().document(stream.getStreamId()),
+                        upsertData(stream, sourceKey), SetOptions.merge()));
+            }
+            writer.flush();
+            return acknowledged(streams.stream().map(SearchableStream::getStreamId).toList(), writes, "upsert");
+        } finally {
+            writer.close();
+        }
+    }
+
+    private Map<String, Object> upsertData(SearchableStream stream, String sourceKey) {
         Map<String, Object> data = new HashMap<>();
         data.put("title", stream.getTitle());
         data.put("titleNorm", stream.getTitleNorm());
@@ -51,10 +98,25 @@ public class SearchableStreamRepository {
         data.put("visible", true);
         data.put("indexedAt", Timestamp.now());
         data.put("lastSeenAt", Timestamp.now());
+        if (stream.getContentHash() != null) {
+            data.put("contentHash", stream.getContentHash());
+        }
+        return data;
+    }
 
-        getCollection().document(stream.getStreamId())
-                .set(data, SetOptions.merge())
-                .get(timeoutProperties.getWrite(), TimeUnit.SECONDS);
+    private List<String> acknowledged(List<String> ids, List<ApiFuture<WriteResult>> writes, String op)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        List<WriteResult> results = ApiFutures.successfulAsList(writes)
+                .get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS);
+        List<String> ok = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (results.get(i) != null) {
+                ok.add(ids.get(i));
+            } else {
+                log.warn("searchable_streams {} failed for {}", op, ids.get(i));
+            }
+        }
+        return ok;
     }
 
     /**
@@ -71,6 +133,25 @@ public class SearchableStreamRepository {
                 .toObjects(SearchableStream.class);
     }
 
+    /**
+     * Page through visible streams in document-ID order — used to load the in-memory search index.
+     *
+     * @param startAfterId last stream ID of the previous page, or null for the first page
+     */
+    public List<SearchableStream> findVisiblePage(String startAfterId, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        Query query = getCollection()
+                .whereEqualTo("visible", true)
+                .orderBy(FieldPath.documentId())
+                .limit(limit);
+        if (startAfterId != null) {
+            query = query.startAfter(startAfterId);
+        }
+        return query.get()
+                .get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS)
+                .toObjects(SearchableStream.class);
+    }
+
     /**
      * Find all streams contributed by a given sourceKey — used when a source is rejected.
      */
@@ -85,7 +166,8 @@ public class SearchableStreamRepository {
     }
 
     /**
-     * Remove sourceKey from a stream. Sets visible=false if no source keys remain.
+     * Remove sourceKey from a stream. Sets visible=false if no source keys remain and clears
+     * the content hash, so the next ingest of any source rewrites the stream.
      */
     public void removeSource(String streamId, String sourceKey)
             throws ExecutionException, InterruptedException, TimeoutException {
@@ -102,11 +184,66 @@ public class SearchableStreamRepository {
             Map<String, Object> updates = new HashMap<>();
             updates.put("sourceKeys", keys);
             updates.put("visible", !keys.isEmpty());
+            // The hash covers the source keys; drop it so re-adding this source is written
+            updates.put("contentHash", FieldValue.delete());
             transaction.update(docRef, updates);
             return null;
         }).get(timeoutProperties.getWrite(), TimeUnit.SECONDS);
     }
 
+    /**
+     * {@link #removeSource} for up to {@code limit} streams contributed by {@code sourceKey},
+     * written through one {@link BulkWriter}. Each update is conditioned on the document's
+     * update time at query time; a stream changed since then (e.g. a concurrent ingest added
+     * a source) goes through the transactional {@link #removeSource} instead.
+     *
+     * @return IDs of the streams the source was removed from
+     */
+    public List<String> removeSourcePage(String sourceKey, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        List<QueryDocumentSnapshot> docs = getCollection()
+                .whereArrayContains("sourceKeys", sourceKey)
+                .limit(limit)
+                .get()
+                .get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS)
+                .getDocuments();
+        if (docs.isEmpty()) return List.of();
+        List<String> ids = new ArrayList<>(docs.size());
+        List<ApiFuture<WriteResult>> writes = new ArrayList<>(docs.size());
+        BulkWriter writer = firestore.bulkWriter();
+        try {
+            for (QueryDocumentSnapshot doc : docs) {
+                Object raw = doc.get("sourceKeys");
+                List<String> keys = new ArrayList<>();
+                if (raw instanceof List<?> list) {
+                    for (Object key : list) {
+                        if (key instanceof String k && !k.equals(sourceKey)) keys.add(k);
+                    }
+                }
+                Map<String, Object> updates = new HashMap<>();
+                updates.put("sourceKeys", keys);
+                updates.put("visible", !keys.isEmpty());
+                updates.put("contentHash", FieldValue.delete());
+                ids.add(doc.getId());
+                writes.add(writer.update(doc.getReference(), updates, Precondition.updatedAt(doc.getUpdateTime())));
+            }
+            writer.flush();
+            List<String> removed = acknowledged(ids, writes, "removeSource");
+            if (removed.size() < ids.size()) {
+                Set<String> done = new HashSet<>(removed);
+                removed = new ArrayList<>(removed);
+                for (String id : ids) {
+                    if (done.contains(id)) continue;
+                    removeSource(id, sourceKey);
+                    removed.add(id);
+                }
+            }
+            return removed;
+        } finally {
+            writer.close();
+        }
+    }
+
     /**
      * Mark a stream as invisible regardless of its sourceKeys.
      * Used when an individual video is archived — the stream may still
@@ -1,8 +1,11 @@
 package com.albunyaan.tube.repository;
 
 import com.albunyaan.tube.config.FirestoreTimeoutProperties;
+import com.google.api.core.ApiFuture;
 import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
@@ -17,6 +20,10 @@ public class SyncRepository {
     public static final String SUBS_COLL      = "subscriptions";
     public static final String PLAYLISTS_COLL = "playlists";
     public static final String FAVORITES_COLL = "favorites";
+    /** Firestore WriteBatch hard limit (500 ops per batch). */
+    public static final int    WRITE_BATCH_SIZE = 500;
+
+    private static final Logger log = LoggerFactory.getLogger(SyncRepository.class);
 
     private final Firestore firestore;
     private final FirestoreTimeoutProperties timeouts;
@@ -29,6 +36,13 @@ public class SyncRepository {
     /** Internal representation: doc-id, body map, server updatedAt in epoch millis. */
     public record RawRow(String id, Map<String, Object> data, long updatedAt) {}
 
+    /** One write of a {@link #writeBatch}: an upsert of {@code payload}, or a tombstone when it is null. */
+    public record BatchWrite(String type, String id, Map<String, Object> payload) {
+        public static BatchWrite tombstone(String type, String id) {
+            return new BatchWrite(type, id, null);
+        }
+    }
+
     // -------------------------------------------------------------------------
     // Private helpers
     // -------------------------------------------------------------------------
@@ -95,6 +109,30 @@ public class SyncRepository {
         return out;
     }
 
+    /**
+     * Snapshot read: up to {@code limit} live ({@code deleted=false}) rows in {@code type},
+     * ordered by docId and starting after {@code afterDocId} (null = from the start).
+     * Tombstones are never returned. Equality plus {@code __name__} order is served by the
+     * automatic single-field index.
+     */
+    public List<RawRow> pullLive(String uid, String type, String afterDocId, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        Query q = coll(uid, type)
+                .whereEqualTo("deleted", false)
+                .orderBy(FieldPath.documentId(), Query.Direction.ASCENDING);
+        if (afterDocId != null && !afterDocId.isBlank()) {
+            q = q.startAfter(afterDocId);
+        }
+        QuerySnapshot snap = q.limit(limit).get().get(timeouts.getBulkQuery(), TimeUnit.SECONDS);
+        List<RawRow> out = new ArrayList<>(snap.size());
+        for (QueryDocumentSnapshot d : snap.getDocuments()) {
+            Timestamp ts = d.getTimestamp("updatedAt");
+            long updatedAtMillis = ts == null ? 0L : ts.toDate().getTime();
+            out.add(new RawRow(d.getId(), d.getData(), updatedAtMillis));
+        }
+        return out;
+    }
+
     // The legacy 4-arg pull(uid, type, since, limit) overload was removed
     // (cubic R5 P0): it called the strict-greater-than branch which silently
     // dropped same-ms ties — exactly the bug the compound cursor closes.
@@ -153,4 +191,63 @@ public class SyncRepository {
         echo.put("updatedAt", commit);
         return new RawRow(id, echo, commit.toDate().getTime());
     }
+
+    // -------------------------------------------------------------------------
+    // Batched push
+    // -------------------------------------------------------------------------
+
+    /**
+     * Apply {@code writes} under {@code users/{uid}} with the same merge semantics as
+     * {@link #upsert} / {@link #tombstone}, committed as {@link WriteBatch}es of up to
+     * {@link #WRITE_BATCH_SIZE} ops. The groups are committed concurrently, so callers
+     * must not pass the same document twice.
+     *
+     * <p>Returns the persisted rows in {@code writes} order, each carrying its own commit
+     * time. A group whose commit fails is logged and its rows come back {@code null};
+     * the other groups are unaffected.
+     */
+    public List<RawRow> writeBatch(String uid, List<BatchWrite> writes) throws InterruptedException {
+        List<Map<String, Object>> bodies = new ArrayList<>(writes.size());
+        List<ApiFuture<List<WriteResult>>> commits = new ArrayList<>();
+        WriteBatch batch = firestore.batch();
+        int inBatch = 0;
+        for (BatchWrite w : writes) {
+            Map<String, Object> body = w.payload() == null ? new HashMap<>() : new HashMap<>(w.payload());
+            body.put("deleted",   w.payload() == null);
+            body.put("updatedAt", FieldValue.serverTimestamp());
+            batch.set(coll(uid, w.type()).document(w.id()), body, SetOptions.merge());
+            bodies.add(body);
+            if (++inBatch == WRITE_BATCH_SIZE) {
+                commits.add(batch.commit());
+                batch = firestore.batch();
+                inBatch = 0;
+            }
+        }
+        if (inBatch > 0) {
+            commits.add(batch.commit());
+        }
+
+        List<RawRow> out = new ArrayList<>(writes.size());
+        for (int g = 0; g < commits.size(); g++) {
+            int from = g * WRITE_BATCH_SIZE;
+            int to = Math.min(from + WRITE_BATCH_SIZE, writes.size());
+            List<WriteResult> results;
+            try {
+                results = commits.get(g).get(timeouts.getWrite(), TimeUnit.SECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("sync.batch.commit.failed uid={} group={} size={} err={}",
+                        uid, g, to - from, e.getMessage());
+                out.addAll(Collections.nCopies(to - from, null));
+                continue;
+            }
+            for (int i = from; i < to; i++) {
+                // Same as upsert/tombstone: echo the commit time, never a re-read
+                Timestamp commit = results.get(i - from).getUpdateTime();
+                Map<String, Object> echo = bodies.get(i);
+                echo.put("updatedAt", commit);
+                out.add(new RawRow(writes.get(i).id(), echo, commit.toDate().getTime()));
+            }
+        }
+        return out;
+    }
 }
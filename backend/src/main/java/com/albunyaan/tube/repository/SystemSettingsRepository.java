@@ -5,6 +5,7 @@ import com.google.api.core.ApiFuture;
 import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.ListenerRegistration;
 import com.google.cloud.firestore.WriteResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +17,7 @@ import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 /**
  * System Settings Repository (Firestore)
@@ -193,6 +195,22 @@ public class SystemSettingsRepository {
         }
     }
 
+    /**
+     * Listen to a settings document: {@code onChange} receives its data now and after every
+     * write (not when it is absent or deleted). Firestore ends the listener after an error,
+     * which goes to {@code onError}; register again to resume.
+     */
+    public ListenerRegistration listen(String key, Consumer<Map<String, Object>> onChange,
+                                       Consumer<Exception> onError) {
+        return getDocument(key).addSnapshotListener((snapshot, error) -> {
+            if (error != null) {
+                onError.accept(error);
+            } else if (snapshot != null && snapshot.exists() && snapshot.getData() != null) {
+                onChange.accept(snapshot.getData());
+            }
+        });
+    }
+
     // ==================== Distributed Locking ====================
     //
     // Implementation notes:
@@ -222,9 +240,12 @@ public class SystemSettingsRepository {
         try {
             String docKey = "lock_" + lockKey;
             DocumentReference docRef = getDocument(docKey);
+            // Set by the transaction (on its final attempt) when this instance already held the lock
+            boolean[] renewal = new boolean[1];
 
             Boolean acquired = firestore.runTransaction(transaction -> {
                 DocumentSnapshot snapshot = transaction.get(docRef).get();
+                renewal[0] = false;
 
                 if (snapshot.exists()) {
                     Map<String, Object> data = snapshot.getData();
@@ -241,6 +262,7 @@ public class SystemSettingsRepository {
                                 return false; // Lock held by someone else
                             }
                             // We already hold this lock - extend it
+                            renewal[0] = true;
                         }
                         // Lock expired or held by us - can acquire/extend
                     }
@@ -269,7 +291,10 @@ public class SystemSettingsRepository {
                 return true;
             }).get(timeoutProperties.getWrite(), TimeUnit.SECONDS);
 
-            if (acquired) {
+            if (acquired && renewal[0]) {
+                // Frequent heartbeats (e.g. tombstone GC every tick) would flood INFO
+                logger.debug("Extended distributed lock: {} (instance: {}, ttl: {}s)", lockKey, instanceId, ttlSeconds);
+            } else if (acquired) {
                 logger.info("Acquired distributed lock: {} (instance: {}, ttl: {}s)", lockKey, instanceId, ttlSeconds);
             }
             return acquired;
@@ -0,0 +1,186 @@
+package com.albunyaan.tube.repository;
+
+import com.albunyaan.tube.config.FirestoreTimeoutProperties;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldValue;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.SetOptions;
+import com.google.cloud.firestore.WriteBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Validation Queue Repository (Firestore)
+ *
+ * One document per queued item, keyed {@code <type>_<youtubeId>}, holding what the content
+ * documents do not: client playback failure reports and the lease of the run currently
+ * validating the item. Leases follow the {@code SystemSettingsRepository.tryAcquireLock}
+ * model: holder + expiry in millis, claimed in a transaction, free again once expired.
+ *
+ * Requires the composite index validation_queue (type ASC, lastFailureAt DESC).
+ */
+@Repository
+public class ValidationQueueRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationQueueRepository.class);
+    private static final String COLLECTION_NAME = "validation_queue";
+    /** Firestore's cap on writes per batch/transaction. */
+    private static final int MAX_WRITES = 500;
+
+    /** Failure reports stored for one item. */
+    public record FailureReport(String youtubeId, int failureCount, Timestamp lastFailureAt) {
+    }
+
+    private final Firestore firestore;
+    private final FirestoreTimeoutProperties timeoutProperties;
+
+    public ValidationQueueRepository(Firestore firestore, FirestoreTimeoutProperties timeoutProperties) {
+        this.firestore = firestore;
+        this.timeoutProperties = timeoutProperties;
+    }
+
+    private CollectionReference getCollection() {
+        return firestore.collection(COLLECTION_NAME);
+    }
+
+    private DocumentReference getDocument(String type, String youtubeId) {
+        return getCollection().document(type + "_" + youtubeId);
+    }
+
+    /**
+     * Count one client playback failure against an item. Fire-and-forget, like the
+     * download analytics events that trigger it.
+     */
+    public void recordFailure(String type, String youtubeId) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("type", type);
+        data.put("youtubeId", youtubeId);
+        data.put("failureCount", FieldValue.increment(1));
+        data.put("lastFailureAt", Timestamp.now());
+        getDocument(type, youtubeId).set(data, SetOptions.merge());
+    }
+
+    /**
+     * Items of {@code type} with a failure reported since {@code since}, most recent first.
+     */
+    public List<FailureReport> findFailuresSince(String type, Timestamp since, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        List<QueryDocumentSnapshot> docs = getCollection()
+                .whereEqualTo("type", type)
+                .whereGreaterThanOrEqualTo("lastFailureAt", since)
+                .orderBy("lastFailureAt", Query.Direction.DESCENDING)
+                .limit(limit)
+                .get()
+                .get(timeoutProperties.getRead(), TimeUnit.SECONDS)
+                .getDocuments();
+        List<FailureReport> reports = new ArrayList<>(docs.size());
+        for (QueryDocumentSnapshot doc : docs) {
+            Number count = (Number) doc.get("failureCount");
+            int failures = count != null ? count.intValue() : 0;
+            if (failures > 0) {
+                reports.add(new FailureReport(doc.getString("youtubeId"), failures, doc.getTimestamp("lastFailureAt")));
+            }
+        }
+        return reports;
+    }
+
+    /**
+     * Lease items for one run, in the given (priority) order. Items leased by another holder
+     * whose lease has not expired are skipped.
+     *
+     * @param scores priority score recorded on each leased entry, for inspection
+     * @return the YouTube IDs leased, in request order
+     */
+    public List<String> tryLease(String type, List<String> youtubeIds, Map<String, Double> scores,
+                                 String holder, long ttlMillis) {
+        List<String> leased = new ArrayList<>();
+        for (int from = 0; from < youtubeIds.size(); from += MAX_WRITES) {
+            List<String> chunk = youtubeIds.subList(from, Math.min(youtubeIds.size(), from + MAX_WRITES));
+            try {
+                leased.addAll(firestore.runTransaction(transaction -> {
+                    DocumentReference[] refs = chunk.stream()
+                            .map(id -> getDocument(type, id))
+                            .toArray(DocumentReference[]::new);
+                    List<DocumentSnapshot> snapshots = transaction.getAll(refs).get();
+                    long now = System.currentTimeMillis();
+                    List<String> claimed = new ArrayList<>();
+                    for (int i = 0; i < refs.length; i++) {
+                        DocumentSnapshot snapshot = snapshots.get(i);
+                        if (snapshot.exists()) {
+                            Number expiresAt = (Number) snapshot.get("leaseExpiresAt");
+                            String leasedBy = snapshot.getString("leasedBy");
+                            if (expiresAt != null && expiresAt.longValue() > now && !holder.equals(leasedBy)) {
+                                continue;
+                            }
+                        }
+                        Map<String, Object> lease = new HashMap<>();
+                        lease.put("type", type);
+                        lease.put("youtubeId", chunk.get(i));
+                        lease.put("leasedBy", holder);
+                        lease.put("leaseExpiresAt", now + ttlMillis);
+                        lease.put("score", scores.getOrDefault(chunk.get(i), 0d));
+                        transaction.set(refs[i], lease, SetOptions.merge());
+                        claimed.add(chunk.get(i));
+                    }
+                    return claimed;
+                }).get(timeoutProperties.getWrite(), TimeUnit.SECONDS));
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                // Fail open: validation must not stop because the queue is unavailable
+                logger.warn("Failed to lease {} validation queue entries; validating without lease: {}",
+                        type, e.getMessage());
+                leased.addAll(chunk);
+            }
+        }
+        return leased;
+    }
+
+    /**
+     * Release the leases of a run. Items in {@code validated} also have their failure
+     * reports cleared, as the validation that just ran has answered them.
+     */
+    public void release(String type, Collection<String> youtubeIds, Set<String> validated) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(youtubeIds));
+        for (int from = 0; from < ids.size(); from += MAX_WRITES) {
+            WriteBatch batch = firestore.batch();
+            for (String id : ids.subList(from, Math.min(ids.size(), from + MAX_WRITES))) {
+                Map<String, Object> update = new HashMap<>();
+                update.put("leasedBy", FieldValue.delete());
+                update.put("leaseExpiresAt", FieldValue.delete());
+                if (validated.contains(id)) {
+                    update.put("failureCount", 0);
+                    update.put("lastValidatedAt", Timestamp.now());
+                }
+                batch.set(getDocument(type, id), update, SetOptions.merge());
+            }
+            try {
+                batch.commit().get(timeoutProperties.getWrite(), TimeUnit.SECONDS);
+            } catch (ExecutionException | InterruptedException | TimeoutException e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                // Leases expire on their own
+                logger.warn("Failed to release {} validation queue leases: {}", type, e.getMessage());
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.albunyaan.tube.repository;
 import com.albunyaan.tube.config.FirestoreTimeoutProperties;
 import com.albunyaan.tube.model.ValidationRun;
 import com.google.api.core.ApiFuture;
+import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.CollectionReference;
 import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.DocumentSnapshot;
@@ -12,7 +13,9 @@ import com.google.cloud.firestore.QuerySnapshot;
 import com.google.cloud.firestore.WriteResult;
 import org.springframework.stereotype.Repository;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -163,4 +166,50 @@ public class ValidationRunRepository {
         List<ValidationRun> runs = query.get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS).toObjects(ValidationRun.class);
         return runs.isEmpty() ? Optional.empty() : Optional.of(runs.get(0));
     }
+
+    /**
+     * Save a run only while its stored status is still RUNNING. In one transaction the stored
+     * run is re-read; once another run has claimed it (see {@link #claimForResume}) or it has
+     * ended, nothing is written, so a slow instance cannot overwrite the claim.
+     *
+     * @return false if the stored run is no longer RUNNING
+     */
+    public boolean saveIfRunning(ValidationRun validationRun)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        DocumentReference docRef = getCollection().document(validationRun.getId());
+        return firestore.runTransaction(transaction -> {
+            DocumentSnapshot snapshot = transaction.get(docRef).get(timeoutProperties.getRead(), TimeUnit.SECONDS);
+            if (snapshot.exists() && !ValidationRun.STATUS_RUNNING.equals(snapshot.getString("status"))) {
+                return false;
+            }
+            transaction.set(docRef, validationRun);
+            return true;
+        }).get(timeoutProperties.getWrite(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Hand the checkpoint of an interrupted full run over to the run {@code resumedIn}. In one
+     * transaction the run is re-read, checked to still be resumable (see
+     * {@link ValidationRun#isResumable}) and marked RESUMED, so two runs starting at once
+     * cannot both continue it.
+     *
+     * @return the run as it was before the claim, or empty if it is no longer resumable
+     */
+    public Optional<ValidationRun> claimForResume(String runId, String resumedIn, Timestamp staleBefore)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        DocumentReference docRef = getCollection().document(runId);
+        return firestore.runTransaction(transaction -> {
+            DocumentSnapshot snapshot = transaction.get(docRef).get(timeoutProperties.getRead(), TimeUnit.SECONDS);
+            ValidationRun run = snapshot.exists() ? snapshot.toObject(ValidationRun.class) : null;
+            if (run == null || !run.isResumable(staleBefore)) {
+                return Optional.<ValidationRun>empty();
+            }
+            Map<String, Object> updates = new HashMap<>();
+            updates.put("status", ValidationRun.STATUS_RESUMED);
+            updates.put("completedAt", Timestamp.now());
+            updates.put("details.resumedIn", resumedIn);
+            transaction.update(docRef, updates);
+            return Optional.of(run);
+        }).get(timeoutProperties.getWrite(), TimeUnit.SECONDS);
+    }
 }
@@ -6,10 +6,12 @@ import com.albunyaan.tube.model.ValidationStatus;
 import com.albunyaan.tube.model.Video;
 import org.springframework.cache.annotation.Cacheable;
 import com.google.api.core.ApiFuture;
+import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.AggregateQuery;
 import com.google.cloud.firestore.AggregateQuerySnapshot;
 import com.google.cloud.firestore.CollectionReference;
 import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.FieldPath;
 import com.google.cloud.firestore.Firestore;
 import com.google.cloud.firestore.Query;
 import com.google.cloud.firestore.QueryDocumentSnapshot;
@@ -18,6 +20,8 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import com.google.cloud.firestore.WriteResult;
 import com.albunyaan.tube.util.CursorUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
@@ -38,6 +42,7 @@ import java.util.concurrent.TimeoutException;
 @Repository
 public class VideoRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(VideoRepository.class);
     private static final String COLLECTION_NAME = "videos";
     private final Firestore firestore;
     private final FirestoreTimeoutProperties timeoutProperties;
@@ -67,6 +72,23 @@ public class VideoRepository {
         return video;
     }
 
+    /**
+     * {@link #save} for several videos through one BulkWriter, so a validation run writes a
+     * page of re-validated videos in a few round trips.
+     *
+     * @return IDs of the videos whose write failed; all others were written
+     */
+    public java.util.Set<String> saveAll(List<Video> videos) throws ExecutionException, InterruptedException, TimeoutException {
+        for (Video video : videos) {
+            video.touch();
+            if (video.getId() == null) {
+                video.setId(getCollection().document().getId());
+            }
+        }
+        return FirestoreBulkWrites.setAll(firestore, getCollection(), videos, Video::getId,
+                timeoutProperties.getBulkQuery());
+    }
+
     /**
      * Atomically save a video only if its current status matches the expected value.
      * Uses a Firestore transaction to prevent concurrent approve/reject race conditions.
@@ -142,24 +164,23 @@ public class VideoRepository {
     public java.util.Set<String> archivedIdsAmong(java.util.Collection<String> youtubeIds) {
         if (youtubeIds == null || youtubeIds.isEmpty()) return java.util.Set.of();
         java.util.Set<String> out = new java.util.HashSet<>();
-        java.util.List<String> all = new java.util.ArrayList<>(youtubeIds);
-        for (int i = 0; i < all.size(); i += 30) {
-            java.util.List<String> chunk = all.subList(i, Math.min(i + 30, all.size()));
-            try {
-                ApiFuture<QuerySnapshot> q = getCollection()
-                        .whereIn("youtubeId", new java.util.ArrayList<>(chunk))
-                        .get();
-                for (QueryDocumentSnapshot d : q.get(timeoutProperties.getRead(), java.util.concurrent.TimeUnit.SECONDS).getDocuments()) {
-                    Video v = d.toObject(Video.class);
-                    var s = v.getValidationStatus();
-                    if (s == com.albunyaan.tube.model.ValidationStatus.ARCHIVED
-                            || s == com.albunyaan.tube.model.ValidationStatus.UNAVAILABLE) {
-                        out.add(v.getYoutubeId());
-                    }
+        try {
+            // Chunks run concurrently; a failed chunk is skipped (fail open) rather than
+            // failing the whole page.
+            for (com.google.cloud.firestore.DocumentSnapshot d : FirestoreBatchLookup.whereIn(
+                    getCollection(), "youtubeId", youtubeIds, timeoutProperties, timeoutProperties.getRead(),
+                    e -> log.warn("archivedIdsAmong: chunk lookup failed, failing open", e))) {
+                Video item = d.toObject(Video.class);
+                ValidationStatus s = item != null ? item.getValidationStatus() : null;
+                if (s == ValidationStatus.ARCHIVED || s == ValidationStatus.UNAVAILABLE) {
+                    out.add(item.getYoutubeId());
                 }
-            } catch (Exception e) {
-                // fail open — never break sync reads on archive-lookup error
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // fail open — never break sync reads on archive-lookup error
+            log.warn("archivedIdsAmong: lookup failed, failing open", e);
         }
         return out;
     }
@@ -219,6 +240,33 @@ public class VideoRepository {
         return query.get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS).toObjects(Video.class);
     }
 
+    /**
+     * Next page of {@link #findByStatusOrderByLastValidatedAtAsc} after the position
+     * ({@code afterValidatedAt}, {@code afterId}), ties broken by document ID. Validation runs
+     * stream through this and checkpoint the position, so a resumed run continues where the
+     * previous one stopped. A null {@code afterId} starts from the beginning.
+     *
+     * ARCHIVED and UNAVAILABLE items are excluded: runs skip them without moving their
+     * lastValidatedAt, so they would otherwise stay at the head of every run's stream.
+     *
+     * Note: Requires Firestore composite index: status (ASC) + validationStatus (ASC) +
+     * lastValidatedAt (ASC); document ID is its implicit last ordering.
+     */
+    public List<Video> findByStatusOrderByLastValidatedAtAscAfter(
+            String status, Timestamp afterValidatedAt, String afterId, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        Query query = getCollection()
+                .whereEqualTo("status", status)
+                .whereIn("validationStatus", ValidationStatus.REVALIDATED_VALUES)
+                .orderBy("lastValidatedAt", Query.Direction.ASCENDING)
+                .orderBy(FieldPath.documentId(), Query.Direction.ASCENDING)
+                .limit(limit);
+        if (afterId != null) {
+            query = query.startAfter(afterValidatedAt, afterId);
+        }
+        return query.get().get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS).toObjects(Video.class);
+    }
+
     public List<Video> findByCategoryId(String categoryId) throws ExecutionException, InterruptedException, TimeoutException {
         ApiFuture<QuerySnapshot> query = getCollection()
                 .whereArrayContains("categoryIds", categoryId)
@@ -559,6 +607,8 @@ public class VideoRepository {
         Query query = getCollection()
                 .whereEqualTo("status", "APPROVED")
                 .orderBy("uploadedAt", Query.Direction.DESCENDING)
+                // Same tie-break as the catalog snapshot, so multi-category merges see one order
+                .orderBy(FieldPath.documentId(), Query.Direction.ASCENDING)
                 .limit(fetchLimit);
 
         if (cursor != null && !cursor.isEmpty()) {
@@ -632,6 +682,7 @@ public class VideoRepository {
                 .whereArrayContains("categoryIds", category)
                 .whereEqualTo("status", "APPROVED")
                 .orderBy("uploadedAt", Query.Direction.DESCENDING)
+                .orderBy(FieldPath.documentId(), Query.Direction.ASCENDING)
                 .limit(fetchLimit);
 
         if (cursor != null && !cursor.isEmpty()) {
@@ -835,25 +886,20 @@ public class VideoRepository {
     /**
      * Batch-fetch videos by their YouTube IDs using chunked whereIn queries.
      * Returns a map of youtubeId to Video for efficient lookup.
-     * Firestore whereIn supports up to 30 values per query.
+     * Firestore whereIn supports up to 30 values per query; chunks run concurrently
+     * via {@link FirestoreBatchLookup}.
      */
     public Map<String, Video> findByYoutubeIds(Collection<String> youtubeIds)
             throws ExecutionException, InterruptedException, TimeoutException {
         Map<String, Video> result = new HashMap<>();
         if (youtubeIds == null || youtubeIds.isEmpty()) return result;
 
-        List<String> idList = new ArrayList<>(youtubeIds);
-        int chunkSize = 30;
-        for (int i = 0; i < idList.size(); i += chunkSize) {
-            List<String> chunk = idList.subList(i, Math.min(i + chunkSize, idList.size()));
-            ApiFuture<QuerySnapshot> query = getCollection()
-                    .whereIn("youtubeId", new ArrayList<>(chunk))
-                    .get();
-            List<QueryDocumentSnapshot> docs = query.get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS).getDocuments();
-            for (QueryDocumentSnapshot doc : docs) {
-                Video v = doc.toObject(Video.class);
-                if (v != null) {
-                    v.setId(doc.getId());
+        for (com.google.cloud.firestore.DocumentSnapshot doc : FirestoreBatchLookup.whereIn(
+                getCollection(), "youtubeId", youtubeIds, timeoutProperties, timeoutProperties.getBulkQuery(), null)) {
+            Video v = doc.toObject(Video.class);
+            if (v != null) {
+                v.setId(doc.getId());
+                if (v.getYoutubeId() != null) {
                     result.put(v.getYoutubeId(), v);
                 }
             }
@@ -870,22 +916,12 @@ public class VideoRepository {
         Map<String, Video> result = new HashMap<>();
         if (ids == null || ids.isEmpty()) return result;
 
-        List<DocumentReference> refs = new ArrayList<>();
-        for (String id : ids) {
-            refs.add(getCollection().document(id));
-        }
-
-        List<com.google.cloud.firestore.DocumentSnapshot> snapshots =
-                firestore.getAll(refs.toArray(new DocumentReference[0]))
-                        .get(timeoutProperties.getBulkQuery(), TimeUnit.SECONDS);
-
-        for (com.google.cloud.firestore.DocumentSnapshot snap : snapshots) {
-            if (snap.exists()) {
-                Video v = snap.toObject(Video.class);
-                if (v != null) {
-                    v.setId(snap.getId());
-                    result.put(snap.getId(), v);
-                }
+        for (com.google.cloud.firestore.DocumentSnapshot snap : FirestoreBatchLookup.getAll(
+                firestore, getCollection(), ids, timeoutProperties, timeoutProperties.getBulkQuery())) {
+            Video v = snap.toObject(Video.class);
+            if (v != null) {
+                v.setId(snap.getId());
+                result.put(snap.getId(), v);
             }
         }
         return result;
@@ -1,125 +1,387 @@
 package com.albunyaan.tube.scheduler;
 
 import com.albunyaan.tube.config.FirestoreTimeoutProperties;
+import com.albunyaan.tube.repository.SystemSettingsRepository;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
 import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.BulkWriter;
+import com.google.cloud.firestore.BulkWriterOptions;
 import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Precondition;
+import com.google.cloud.firestore.Query;
 import com.google.cloud.firestore.QueryDocumentSnapshot;
-import com.google.cloud.firestore.QuerySnapshot;
-import com.google.cloud.firestore.WriteBatch;
+import com.google.cloud.firestore.WriteResult;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Plan D — weekly tombstone GC. Sunday 03:00 UTC. Bounded work per type.
- * Deletes `deleted=true AND updatedAt < now - 90d` from every user's
- * subcollection (via Firestore collectionGroup).
+ * Plan D — tombstone GC. Deletes {@code deleted=true AND updatedAt < now - 90d} from every
+ * user's subcollection (via Firestore collectionGroup).
+ *
+ * <p>Runs continuously instead of as a weekly burst: every tick, the node holding the
+ * {@value #LOCK_KEY} lock works for up to one slice. Each type's pass covers
+ * [oldest tombstone, cutoff) split into {@code updatedAt} partitions that are drained
+ * concurrently, oldest first within each. Deletes go through one shared {@link BulkWriter}
+ * capped at the deletes-per-second budget (it ramps up to that on its own). Partition
+ * cursors are checkpointed in {@code system_settings} after every page, so a crashed or
+ * pre-empted node's pass is picked up where it stopped.
  */
 @Component
 public class TombstoneGcScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(TombstoneGcScheduler.class);
     private static final long RETENTION_DAYS = 90L;
-    /** Firestore WriteBatch hard limit (500 ops per batch). */
-    private static final int WRITE_BATCH_SIZE = 500;
-    /** Cap per scheduled run so one userbase doesn't pin the scheduler for minutes. */
-    private static final int MAX_DELETES_PER_RUN = 20_000;
+    static final List<String> TYPES = List.of("subscriptions", "playlists", "favorites");
+    private static final String LOCK_KEY = "tombstone_gc";
+    private static final String CHECKPOINT_PREFIX = "tombstone_gc_";
+    /** Rows read per partition query; deletes are acknowledged before the cursor moves past them. */
+    private static final int PAGE_SIZE = 500;
+    /** BulkWriter's own default starting rate; lower budgets start at the budget. */
+    private static final int INITIAL_OPS_PER_SECOND = 500;
+
+    private enum Outcome { PURGED, FAILED }
 
     private final Firestore firestore;
     private final MeterRegistry meters;
     private final FirestoreTimeoutProperties timeouts;
+    private final SystemSettingsRepository settings;
+    private final boolean enabled;
+    private final int deletesPerSecond;
+    private final int partitions;
+    private final long sliceMs;
+    private final long backlogRefreshMs;
+    private final String instanceId;
+    private final ExecutorService workers;
+    private final Map<String, AtomicLong> backlog = new HashMap<>();
+
+    /** Kept across slices so the writer's ramp-up isn't reset every tick. */
+    private BulkWriter writer;
+    private long backlogRefreshedAt;
 
     public TombstoneGcScheduler(Firestore firestore,
                                 MeterRegistry meters,
-                                FirestoreTimeoutProperties timeouts) {
+                                FirestoreTimeoutProperties timeouts,
+                                SystemSettingsRepository settings,
+                                @Value("${app.sync.tombstone-gc.enabled:true}") boolean enabled,
+                                @Value("${app.sync.tombstone-gc.deletes-per-second:200}") int deletesPerSecond,
+                                @Value("${app.sync.tombstone-gc.partitions:4}") int partitions,
+                                @Value("${app.sync.tombstone-gc.slice-ms:50000}") long sliceMs,
+                                @Value("${app.sync.tombstone-gc.backlog-refresh-ms:300000}") long backlogRefreshMs) {
         this.firestore = firestore;
         this.meters = meters;
         this.timeouts = timeouts;
+        this.settings = settings;
+        this.enabled = enabled;
+        this.deletesPerSecond = Math.max(1, deletesPerSecond);
+        this.partitions = Math.max(1, partitions);
+        this.sliceMs = sliceMs;
+        this.backlogRefreshMs = backlogRefreshMs;
+        this.instanceId = generateInstanceId();
+        // One thread per (type, partition): every partition drains until the slice deadline,
+        // so a smaller pool would leave later types' partitions queued until after it.
+        this.workers = Executors.newFixedThreadPool(TYPES.size() * this.partitions, r -> {
+            Thread t = new Thread(r, "tombstone-gc");
+            t.setDaemon(true);
+            return t;
+        });
+        for (String type : TYPES) {
+            AtomicLong pending = new AtomicLong(-1);
+            backlog.put(type, pending);
+            meters.gauge("account.sync.tombstone.gc.backlog", List.of(Tag.of("type", type)),
+                    pending, AtomicLong::get);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+        closeWriter();
     }
 
-    @Scheduled(cron = "0 0 3 * * SUN", zone = "UTC")
+    @Scheduled(fixedDelayString = "${app.sync.tombstone-gc.interval-ms:10000}",
+               initialDelayString = "${app.sync.tombstone-gc.interval-ms:10000}")
     public void pruneTombstones() {
+        if (!enabled) return;
+        // Lock outlives the slice with margin; a crashed holder is replaced within two slices.
+        int ttlSeconds = (int) Math.max(60, TimeUnit.MILLISECONDS.toSeconds(sliceMs * 2));
+        if (!settings.tryAcquireLock(LOCK_KEY, instanceId, ttlSeconds)) {
+            // Another node is collecting; start afresh if this node gets the lock back later
+            closeWriter();
+            return;
+        }
         Instant cutoffInst = Instant.now().minus(Duration.ofDays(RETENTION_DAYS));
-        Timestamp cutoff = Timestamp.ofTimeSecondsAndNanos(cutoffInst.getEpochSecond(), cutoffInst.getNano());
-        for (String type : List.of("subscriptions", "playlists", "favorites")) {
-            int purged = purgeOne(type, cutoff);
-            log.info("account.sync.tombstone.gc type={} purged={}", type, purged);
-            meters.counter("account.sync.tombstone.gc.purged", "type", type).increment(purged);
+        long deadline = System.currentTimeMillis() + sliceMs;
+        try {
+            runSlice(cutoffInst.toEpochMilli(), deadline);
+            refreshBacklog(cutoffInst.toEpochMilli());
+        } catch (Exception e) {
+            log.error("account.sync.tombstone.gc.error", e);
         }
     }
 
-    private int purgeOne(String type, Timestamp cutoff) {
+    private void runSlice(long cutoffMs, long deadline) throws Exception {
+        Map<String, Pass> passes = new HashMap<>();
+        List<Future<Map<Outcome, Integer>>> running = new ArrayList<>();
+        List<String> runningTypes = new ArrayList<>();
+        for (String type : TYPES) {
+            Pass pass = loadOrStartPass(type, cutoffMs);
+            if (pass == null) continue;
+            passes.put(type, pass);
+            for (int i = 0; i < pass.cursors().length; i++) {
+                if (pass.isDone(i)) continue;
+                int partition = i;
+                running.add(workers.submit(() -> drainPartition(type, pass, partition, deadline)));
+                runningTypes.add(type);
+            }
+        }
+        Map<String, int[]> totals = new HashMap<>();
+        for (int i = 0; i < running.size(); i++) {
+            Map<Outcome, Integer> done = running.get(i).get();
+            int[] t = totals.computeIfAbsent(runningTypes.get(i), k -> new int[2]);
+            t[0] += done.getOrDefault(Outcome.PURGED, 0);
+            t[1] += done.getOrDefault(Outcome.FAILED, 0);
+        }
+        for (Map.Entry<String, int[]> e : totals.entrySet()) {
+            int purged = e.getValue()[0];
+            int failed = e.getValue()[1];
+            log.info("account.sync.tombstone.gc type={} purged={} failed={}", e.getKey(), purged, failed);
+            meters.counter("account.sync.tombstone.gc.purged", "type", e.getKey()).increment(purged);
+            meters.counter("account.sync.tombstone.gc.failed", "type", e.getKey()).increment(failed);
+        }
+        for (Map.Entry<String, Pass> e : passes.entrySet()) {
+            if (e.getValue().isComplete()) {
+                // Next tick starts a new pass from whatever is now oldest (including rows whose
+                // delete failed here), up to the then-current cutoff.
+                settings.delete(CHECKPOINT_PREFIX + e.getKey());
+                log.info("account.sync.tombstone.gc.pass.complete type={} cutoffMs={}",
+                        e.getKey(), e.getValue().cutoffMs());
+            }
+        }
+    }
+
+    /** The checkpointed pass for {@code type}, or a new one; null when nothing is past the cutoff. */
+    private Pass loadOrStartPass(String type, long cutoffMs) throws Exception {
+        Pass saved = settings.loadOrThrow(CHECKPOINT_PREFIX + type).map(Pass::fromMap).orElse(null);
+        if (saved != null && !saved.isComplete()) return saved;
+        List<QueryDocumentSnapshot> oldest = tombstones(type, 0L, cutoffMs).limit(1)
+                .get().get(timeouts.getBulkQuery(), TimeUnit.SECONDS).getDocuments();
+        if (oldest.isEmpty()) return null;
+        Pass pass = Pass.split(updatedAtMs(oldest.get(0)), cutoffMs, partitions);
+        settings.trySave(CHECKPOINT_PREFIX + type, pass.toMap());
+        log.info("account.sync.tombstone.gc.pass.start type={} fromMs={} cutoffMs={} partitions={}",
+                type, pass.cursors()[0], cutoffMs, pass.cursors().length);
+        return pass;
+    }
+
+    /**
+     * Drains one partition oldest-first until it is empty or the slice ends. Each page's
+     * deletes are awaited before its cursor is checkpointed, so a crash never skips rows.
+     */
+    private Map<Outcome, Integer> drainPartition(String type, Pass pass, int partition, long deadline) {
+        Map<Outcome, Integer> outcome = new EnumMap<>(Outcome.class);
+        QueryDocumentSnapshot last = null;
         try {
-            // Cubic R7 P1 — orderBy("updatedAt", ASC) so the OLDEST tombstones
-            // are processed first.
-            //
-            // Pre-fix the query had no order-by; Firestore's default order on
-            // collection-group reads is effectively by document name (random
-            // hash). For a cohort exceeding MAX_DELETES_PER_RUN=20_000, each
-            // weekly run picked the same arbitrary 20k rows; rows older than
-            // 90 days BEHIND the head were never reached and accumulated
-            // forever, defeating the GC's purpose. ASC by updatedAt drains
-            // the oldest backlog first so eventual consistency holds even if
-            // the cohort temporarily exceeds the run budget. The compound
-            // index (deleted, updatedAt, __name__) supports this without
-            // extra Firestore work.
-            QuerySnapshot snap = firestore.collectionGroup(type)
-                    .whereEqualTo("deleted", true)
-                    .whereLessThan("updatedAt", cutoff)
-                    .orderBy("updatedAt", com.google.cloud.firestore.Query.Direction.ASCENDING)
-                    .limit(MAX_DELETES_PER_RUN)
-                    .get().get(timeouts.getBulkQuery(), TimeUnit.SECONDS);
-            // Cubic R-final2 P2 — count only committed deletes. Pre-fix
-            // `total++` ran in the row loop before commit; on batch commit
-            // failure the rows were NOT deleted, but the counter (and the
-            // Micrometer purge metric) already included them, overstating
-            // GC progress to operators.
-            int total = 0;
-            WriteBatch batch = firestore.batch();
-            int inBatch = 0;
-            for (QueryDocumentSnapshot d : snap.getDocuments()) {
-                // Re-assert deleted=true via updateTime precondition so a concurrent
-                // upsert that resurrected the row between snapshot and commit aborts
-                // this delete instead of clobbering the live data (cubic R5 P0 GC
-                // race). The precondition matches the snapshot's update time; if
-                // Firestore has seen a later write, the batch commit fails.
-                batch.delete(d.getReference(), com.google.cloud.firestore.Precondition.updatedAt(d.getUpdateTime()));
-                inBatch++;
-                if (inBatch == WRITE_BATCH_SIZE) {
-                    try {
-                        batch.commit().get(timeouts.getWrite(), TimeUnit.SECONDS);
-                        total += inBatch;
-                    } catch (Exception commitErr) {
-                        // Partial-batch resurrection — log + continue with next batch
-                        // rather than aborting the whole run. Skipped rows do not
-                        // count toward `total`.
-                        log.warn("tombstone.gc.batch.commit.failed type={} batchSize={} err={}",
-                                type, inBatch, commitErr.getMessage());
-                    }
-                    batch = firestore.batch();
-                    inBatch = 0;
+            while (!pass.isDone(partition) && System.currentTimeMillis() < deadline) {
+                Query query = tombstones(type, pass.cursors()[partition], pass.ends()[partition]).limit(PAGE_SIZE);
+                if (last != null) query = query.startAfter(last);
+                List<QueryDocumentSnapshot> page = query.get().get(timeouts.getBulkQuery(), TimeUnit.SECONDS)
+                        .getDocuments();
+                List<ApiFuture<WriteResult>> deletes = new ArrayList<>(page.size());
+                BulkWriter bulk = writer();
+                for (QueryDocumentSnapshot d : page) {
+                    // Re-assert the row is unchanged via updateTime precondition so a concurrent
+                    // upsert that resurrected it between query and delete aborts this delete
+                    // instead of clobbering the live data (cubic R5 P0 GC race).
+                    deletes.add(bulk.delete(d.getReference(), Precondition.updatedAt(d.getUpdateTime())));
                 }
-            }
-            if (inBatch > 0) {
-                try {
-                    batch.commit().get(timeouts.getWrite(), TimeUnit.SECONDS);
-                    total += inBatch;
-                } catch (Exception commitErr) {
-                    log.warn("tombstone.gc.batch.commit.failed type={} batchSize={} err={}",
-                            type, inBatch, commitErr.getMessage());
+                bulk.flush();
+                // Budget-paced: a full page needs PAGE_SIZE / deletesPerSecond seconds at the cap
+                long waitSeconds = timeouts.getWrite() + (long) Math.ceil((double) page.size() / deletesPerSecond);
+                // Count only acknowledged deletes; failures stay null in the list
+                int purged = 0;
+                for (WriteResult r : ApiFutures.successfulAsList(deletes).get(waitSeconds, TimeUnit.SECONDS)) {
+                    if (r != null) purged++;
                 }
+                outcome.merge(Outcome.PURGED, purged, Integer::sum);
+                outcome.merge(Outcome.FAILED, page.size() - purged, Integer::sum);
+                if (page.size() < PAGE_SIZE) {
+                    pass.finish(partition);
+                } else {
+                    last = page.get(page.size() - 1);
+                    pass.advance(partition, updatedAtMs(last));
+                }
+                checkpoint(type, pass);
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            // The checkpoint still holds the last acknowledged page; the next slice resumes there
+            log.warn("tombstone.gc.partition.failed type={} partition={} err={}", type, partition, e.getMessage());
+        }
+        return outcome;
+    }
+
+    private void checkpoint(String type, Pass pass) {
+        settings.trySave(CHECKPOINT_PREFIX + type, pass.toMap());
+    }
+
+    private Query tombstones(String type, long fromMs, long toMs) {
+        // Cubic R7 P1 — orderBy("updatedAt", ASC) so the OLDEST tombstones are processed
+        // first. The compound index (deleted, updatedAt, __name__) supports this.
+        return firestore.collectionGroup(type)
+                .whereEqualTo("deleted", true)
+                .whereGreaterThanOrEqualTo("updatedAt", toTimestamp(fromMs))
+                .whereLessThan("updatedAt", toTimestamp(toMs))
+                .orderBy("updatedAt", Query.Direction.ASCENDING);
+    }
+
+    /** Rows eligible for GC per type, refreshed at most every backlog-refresh interval. */
+    private void refreshBacklog(long cutoffMs) {
+        long now = System.currentTimeMillis();
+        if (now - backlogRefreshedAt < backlogRefreshMs) return;
+        backlogRefreshedAt = now;
+        for (String type : TYPES) {
+            try {
+                long count = tombstones(type, 0L, cutoffMs).count()
+                        .get().get(timeouts.getBulkQuery(), TimeUnit.SECONDS).getCount();
+                backlog.get(type).set(count);
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+                log.warn("tombstone.gc.backlog.count.failed type={} err={}", type, e.getMessage());
             }
-            return total;
+        }
+    }
+
+    private synchronized BulkWriter writer() {
+        if (writer == null) {
+            writer = firestore.bulkWriter(BulkWriterOptions.builder()
+                    .setInitialOpsPerSecond(Math.min(INITIAL_OPS_PER_SECOND, deletesPerSecond))
+                    .setMaxOpsPerSecond(deletesPerSecond)
+                    .build());
+        }
+        return writer;
+    }
+
+    private synchronized void closeWriter() {
+        if (writer == null) return;
+        try {
+            writer.close();
         } catch (Exception e) {
-            log.error("account.sync.tombstone.gc.error type={}", type, e);
-            return 0;
+            log.warn("tombstone.gc.writer.close.failed err={}", e.getMessage());
+        }
+        writer = null;
+    }
+
+    private static long updatedAtMs(QueryDocumentSnapshot d) {
+        Timestamp ts = d.getTimestamp("updatedAt");
+        return ts == null ? 0L : ts.toDate().getTime();
+    }
+
+    private static Timestamp toTimestamp(long ms) {
+        return Timestamp.ofTimeMicroseconds(TimeUnit.MILLISECONDS.toMicros(ms));
+    }
+
+    private static String generateInstanceId() {
+        try {
+            String hostname = InetAddress.getLocalHost().getHostName();
+            String pid = ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
+            return hostname + "-" + pid;
+        } catch (Exception e) {
+            return "instance-" + java.util.UUID.randomUUID().toString().substring(0, 8);
+        }
+    }
+
+    /**
+     * One GC pass over a type: partition i covers [cursors[i], ends[i]) in updatedAt millis,
+     * and cursors[i] only moves forward once the rows before it are deleted. The cursor is
+     * inclusive, so undeleted rows sharing the checkpointed millisecond are re-read after a
+     * resume rather than missed.
+     */
+    record Pass(long cutoffMs, long[] cursors, long[] ends) {
+
+        static Pass split(long fromMs, long cutoffMs, int partitions) {
+            long span = Math.max(0L, cutoffMs - fromMs);
+            int n = (int) Math.max(1L, Math.min(partitions, span));
+            long[] cursors = new long[n];
+            long[] ends = new long[n];
+            for (int i = 0; i < n; i++) {
+                cursors[i] = fromMs + span * i / n;
+                ends[i] = i == n - 1 ? cutoffMs : fromMs + span * (i + 1) / n;
+            }
+            return new Pass(cutoffMs, cursors, ends);
+        }
+
+        synchronized boolean isDone(int i) {
+            return cursors[i] >= ends[i];
+        }
+
+        synchronized boolean isComplete() {
+            for (int i = 0; i < cursors.length; i++) {
+                if (cursors[i] < ends[i]) return false;
+            }
+            return true;
+        }
+
+        synchronized void advance(int i, long toMs) {
+            cursors[i] = Math.max(cursors[i], Math.min(toMs, ends[i]));
+        }
+
+        synchronized void finish(int i) {
+            cursors[i] = ends[i];
+        }
+
+        synchronized Map<String, Object> toMap() {
+            Map<String, Object> m = new HashMap<>();
+            m.put("cutoffMs", cutoffMs);
+            List<Long> c = new ArrayList<>(cursors.length);
+            List<Long> e = new ArrayList<>(ends.length);
+            for (int i = 0; i < cursors.length; i++) {
+                c.add(cursors[i]);
+                e.add(ends[i]);
+            }
+            m.put("cursors", c);
+            m.put("ends", e);
+            m.put("updatedAt", System.currentTimeMillis());
+            return m;
+        }
+
+        /** Null for a missing or malformed checkpoint, which then starts a fresh pass. */
+        static Pass fromMap(Map<String, Object> m) {
+            if (!(m.get("cutoffMs") instanceof Number cutoff)
+                    || !(m.get("cursors") instanceof List<?> c)
+                    || !(m.get("ends") instanceof List<?> e)
+                    || c.isEmpty() || c.size() != e.size()) {
+                return null;
+            }
+            long[] cursors = new long[c.size()];
+            long[] ends = new long[e.size()];
+            for (int i = 0; i < c.size(); i++) {
+                if (!(c.get(i) instanceof Number ci) || !(e.get(i) instanceof Number ei)) return null;
+                cursors[i] = ci.longValue();
+                ends[i] = ei.longValue();
+            }
+            return new Pass(cutoff.longValue(), cursors, ends);
         }
     }
 }
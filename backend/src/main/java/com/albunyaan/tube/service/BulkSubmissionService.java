@@ -286,7 +286,8 @@ public class BulkSubmissionService {
             // but a parallel-submit refactor should add a batch cap mirroring
             // preview's 180s allOf().get(...).
             PreviewFetchResult authoritative;
-            try {
+            try (YouTubeRequestScheduler.LaneScope ignored =
+                         YouTubeRequestScheduler.withLane(YouTubeRequestScheduler.Lane.BULK)) {
                 authoritative = gateway.fetchByDetectedType(
                         parsed.type(), parsed.youtubeId(), parsed.normalizedUrl());
             } catch (RuntimeException fetchErr) {
@@ -413,7 +414,11 @@ public class BulkSubmissionService {
                         PreviewError.of(PreviewErrorCode.DUPLICATE));
             }
 
-            PreviewFetchResult fetch = gateway.fetchByDetectedType(parsed.type(), parsed.youtubeId(), parsed.normalizedUrl());
+            PreviewFetchResult fetch;
+            try (YouTubeRequestScheduler.LaneScope ignored =
+                         YouTubeRequestScheduler.withLane(YouTubeRequestScheduler.Lane.BULK)) {
+                fetch = gateway.fetchByDetectedType(parsed.type(), parsed.youtubeId(), parsed.normalizedUrl());
+            }
             if (fetch.errorCode() != null) {
                 return new PreviewRow(rowIndex, originalUrl, parsed.type(), null, null,
                         RowStatus.ERROR, null, null, PreviewError.of(fetch.errorCode()));
@@ -10,6 +10,7 @@ import com.albunyaan.tube.dto.StreamDetailsDto;
 import com.albunyaan.tube.dto.StreamItemDto;
 import com.albunyaan.tube.util.ThumbnailUrls;
 import com.albunyaan.tube.util.YouTubeUrlUtils;
+import org.schabi.newpipe.extractor.Info;
 import org.schabi.newpipe.extractor.InfoItem;
 import org.schabi.newpipe.extractor.ListExtractor;
 import org.schabi.newpipe.extractor.Page;
@@ -25,6 +26,7 @@ import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 import org.schabi.newpipe.extractor.stream.StreamType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
@@ -60,30 +62,46 @@ public class ChannelOrchestrator {
     private final YouTubeThrottler throttler;
     private final YouTubeCircuitBreaker circuitBreaker;
     private final YouTubeOEmbedClient oEmbedClient;
+    @Nullable
+    private final ExtractionResultCache extractionCache;
 
     public ChannelOrchestrator(
             YouTubeGateway gateway,
             @Nullable YouTubeThrottler throttler,
             @Nullable YouTubeCircuitBreaker circuitBreaker,
             @Nullable YouTubeOEmbedClient oEmbedClient) {
+        this(gateway, throttler, circuitBreaker, oEmbedClient, null);
+    }
+
+    @Autowired
+    public ChannelOrchestrator(
+            YouTubeGateway gateway,
+            @Nullable YouTubeThrottler throttler,
+            @Nullable YouTubeCircuitBreaker circuitBreaker,
+            @Nullable YouTubeOEmbedClient oEmbedClient,
+            @Nullable ExtractionResultCache extractionCache) {
         this.gateway = gateway;
         this.throttler = throttler;
         this.circuitBreaker = circuitBreaker;
         this.oEmbedClient = oEmbedClient;
-        logger.info("ChannelOrchestrator initialized with throttler: {}, circuitBreaker: {}",
-                throttler != null, circuitBreaker != null);
+        this.extractionCache = extractionCache;
+        logger.info("ChannelOrchestrator initialized with throttler: {}, circuitBreaker: {}, extractionCache: {}",
+                throttler != null, circuitBreaker != null, extractionCache != null);
     }
 
     // ==================== Channel Operations ====================
 
     /**
-     * Get channel details by channel ID or URL
+     * Get channel details by channel ID or URL.
+     * Served from the {@link ExtractionResultCache} while fresh (or stale while the circuit is open).
      */
-    @Cacheable(value = "newpipeChannelInfo", key = "#channelId", unless = "#result == null")
     public ChannelInfo getChannelDetails(String channelId) throws IOException {
         try {
             logger.debug("Fetching channel details for: {}", channelId);
-            ChannelInfo info = gateway.fetchChannelInfo(channelId);
+            ChannelInfo info = extractionCache != null
+                    ? extractionCache.get(ExtractionResultCache.Kind.CHANNEL, channelId, ChannelInfo.class,
+                            () -> gateway.fetchChannelInfo(channelId))
+                    : gateway.fetchChannelInfo(channelId);
             logger.debug("Channel '{}' has {} subscribers", info.getName(), info.getSubscriberCount());
             return info;
         } catch (ExtractionException e) {
@@ -350,13 +368,16 @@ public class ChannelOrchestrator {
     // ==================== Playlist Operations ====================
 
     /**
-     * Get playlist details by playlist ID
+     * Get playlist details by playlist ID.
+     * Served from the {@link ExtractionResultCache} while fresh (or stale while the circuit is open).
      */
-    @Cacheable(value = "newpipePlaylistInfo", key = "#playlistId", unless = "#result == null")
     public PlaylistInfo getPlaylistDetails(String playlistId) throws IOException {
         try {
             logger.debug("Fetching playlist details for: {}", playlistId);
-            PlaylistInfo info = gateway.fetchPlaylistInfo(playlistId);
+            PlaylistInfo info = extractionCache != null
+                    ? extractionCache.get(ExtractionResultCache.Kind.PLAYLIST, playlistId, PlaylistInfo.class,
+                            () -> gateway.fetchPlaylistInfo(playlistId))
+                    : gateway.fetchPlaylistInfo(playlistId);
             logger.debug("Playlist '{}' has {} videos", info.getName(), info.getStreamCount());
             return info;
         } catch (ExtractionException e) {
@@ -461,13 +482,16 @@ public class ChannelOrchestrator {
     // ==================== Video Operations ====================
 
     /**
-     * Get video details by video ID
+     * Get video details by video ID.
+     * Served from the {@link ExtractionResultCache} while fresh (or stale while the circuit is open).
      */
-    @Cacheable(value = "newpipeVideoInfo", key = "#videoId", unless = "#result == null")
     public StreamInfo getVideoDetails(String videoId) throws IOException {
         try {
             logger.debug("Fetching video details for: {}", videoId);
-            StreamInfo info = gateway.fetchStreamInfo(videoId);
+            StreamInfo info = extractionCache != null
+                    ? extractionCache.get(ExtractionResultCache.Kind.STREAM, videoId, StreamInfo.class,
+                            () -> gateway.fetchStreamInfo(videoId))
+                    : gateway.fetchStreamInfo(videoId);
             logger.debug("Video '{}' has {} views, duration: {}s",
                     info.getName(), info.getViewCount(), info.getDuration());
             return info;
@@ -520,6 +544,19 @@ public class ChannelOrchestrator {
 
     // ==================== Batch Validation ====================
 
+    /** Validation always extracts live; its results still save the next details read a call. */
+    private void cacheValidated(ExtractionResultCache.Kind kind, String youtubeId, Info info) {
+        if (extractionCache != null) {
+            extractionCache.put(kind, youtubeId, info);
+        }
+    }
+
+    private void evictUnavailable(ExtractionResultCache.Kind kind, String youtubeId) {
+        if (extractionCache != null) {
+            extractionCache.evict(kind, youtubeId);
+        }
+    }
+
     /**
      * Batch validate and fetch channels
      * @deprecated Use {@link #batchValidateChannelsWithDetails(List)} for proper error handling
@@ -623,6 +660,7 @@ public class ChannelOrchestrator {
                 ChannelInfo info = gateway.fetchChannelInfo(channelId);
                 if (info != null) {
                     result.addValid(channelId, info);
+                    cacheValidated(ExtractionResultCache.Kind.CHANNEL, channelId, info);
                     logger.debug("Channel {} exists on YouTube: {}", channelId, info.getName());
                 } else {
                     // Null result without exception - should not happen, but treat as error
@@ -639,6 +677,7 @@ public class ChannelOrchestrator {
                 logger.info("Channel {} CONFIRMED not available (ContentNotAvailableException): {} ({})",
                         channelId, e.getMessage(), e.getClass().getSimpleName());
                 result.addNotFound(channelId);
+                evictUnavailable(ExtractionResultCache.Kind.CHANNEL, channelId);
             } catch (ExtractionException e) {
                 // Check if this is a rate limit error (detection only - recording is in gateway)
                 if (circuitBreaker != null && circuitBreaker.isRateLimitError(e)) {
@@ -762,6 +801,7 @@ public class ChannelOrchestrator {
                 PlaylistInfo info = gateway.fetchPlaylistInfo(playlistId);
                 if (info != null) {
                     result.addValid(playlistId, info);
+                    cacheValidated(ExtractionResultCache.Kind.PLAYLIST, playlistId, info);
                     logger.debug("Playlist {} exists on YouTube: {}", playlistId, info.getName());
                 } else {
                     logger.warn("Playlist {} returned null info without exception", playlistId);
@@ -771,6 +811,7 @@ public class ChannelOrchestrator {
                 logger.info("Playlist {} CONFIRMED not available (ContentNotAvailableException): {} ({})",
                         playlistId, e.getMessage(), e.getClass().getSimpleName());
                 result.addNotFound(playlistId);
+                evictUnavailable(ExtractionResultCache.Kind.PLAYLIST, playlistId);
             } catch (ExtractionException e) {
                 // Check if this is a rate limit error (detection only - recording is in gateway)
                 if (circuitBreaker != null && circuitBreaker.isRateLimitError(e)) {
@@ -891,6 +932,7 @@ public class ChannelOrchestrator {
                 StreamInfo info = gateway.fetchStreamInfo(videoId);
                 if (info != null) {
                     result.addValid(videoId, info);
+                    cacheValidated(ExtractionResultCache.Kind.STREAM, videoId, info);
                     logger.debug("Video {} exists on YouTube: {}", videoId, info.getName());
                 } else {
                     logger.warn("Video {} returned null info without exception", videoId);
@@ -900,6 +942,7 @@ public class ChannelOrchestrator {
                 logger.info("Video {} CONFIRMED not available (ContentNotAvailableException): {} ({})",
                         videoId, e.getMessage(), e.getClass().getSimpleName());
                 result.addNotFound(videoId);
+                evictUnavailable(ExtractionResultCache.Kind.STREAM, videoId);
             } catch (ExtractionException e) {
                 // Check if this is a rate limit error (detection only - recording is in gateway)
                 if (circuitBreaker != null && circuitBreaker.isRateLimitError(e)) {
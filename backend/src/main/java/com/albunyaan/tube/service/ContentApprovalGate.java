@@ -9,7 +9,10 @@ import com.albunyaan.tube.repository.PlaylistRepository;
 import com.albunyaan.tube.repository.VideoRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
@@ -79,6 +82,30 @@ public class ContentApprovalGate {
         };
     }
 
+    /**
+     * Batch counterpart of {@link #infoOf}: one chunked {@code whereIn} lookup for all of
+     * {@code youtubeIds} instead of one query each. Ids absent from the registry (and blank
+     * ids) are absent from the returned map.
+     */
+    public Map<String, ApprovalInfo> infosOf(YouTubeContentType type, Collection<String> youtubeIds)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        Map<String, ApprovalInfo> out = new HashMap<>();
+        List<String> ids = youtubeIds.stream().filter(id -> id != null && !id.isBlank()).distinct().toList();
+        if (ids.isEmpty()) {
+            return out;
+        }
+        switch (type) {
+            case CHANNEL  -> channels.findByYoutubeIds(ids).forEach((id, c) ->
+                    out.put(id, new ApprovalInfo(c.getStatus(), c.getVisibility(), c.getPersonalGrants())));
+            case PLAYLIST -> playlists.findByYoutubeIds(ids).forEach((id, p) ->
+                    out.put(id, new ApprovalInfo(p.getStatus(), p.getVisibility(), p.getPersonalGrants())));
+            case VIDEO    -> videos.findByYoutubeIds(ids).forEach((id, v) ->
+                    out.put(id, new ApprovalInfo(v.getStatus(), v.getVisibility(), v.getPersonalGrants())));
+            default       -> { }
+        }
+        return out;
+    }
+
     /**
      * Registry status + visibility + personal grants for one item. {@code visibility} is
      * null on legacy/public docs (treated as PUBLIC); {@code personalGrants} is null/empty
@@ -9,11 +9,14 @@ import com.albunyaan.tube.repository.ChannelRepository;
 import com.albunyaan.tube.repository.ContentReportRepository;
 import com.albunyaan.tube.repository.PlaylistRepository;
 import com.albunyaan.tube.repository.VideoRepository;
+import com.albunyaan.tube.service.sync.ArchivedIdIndex;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.google.cloud.Timestamp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -37,15 +40,30 @@ public class ContentReportService {
     private final PlaylistRepository playlistRepository;
     private final PublicContentCacheService publicContentCacheService;
     private final StreamIndexService streamIndexService;
+    private final ArchivedIdIndex archivedIdIndex;
 
     public ContentReportService(
             ContentReportRepository reportRepository,
-            @Qualifier("reportRateLimitCache") Cache<String, AtomicInteger> rateLimitCache,
+            Cache<String, AtomicInteger> rateLimitCache,
             VideoRepository videoRepository,
             ChannelRepository channelRepository,
             PlaylistRepository playlistRepository,
             PublicContentCacheService publicContentCacheService,
             StreamIndexService streamIndexService) {
+        this(reportRepository, rateLimitCache, videoRepository, channelRepository, playlistRepository,
+                publicContentCacheService, streamIndexService, null);
+    }
+
+    @Autowired
+    public ContentReportService(
+            ContentReportRepository reportRepository,
+            @Qualifier("reportRateLimitCache") Cache<String, AtomicInteger> rateLimitCache,
+            VideoRepository videoRepository,
+            ChannelRepository channelRepository,
+            PlaylistRepository playlistRepository,
+            PublicContentCacheService publicContentCacheService,
+            StreamIndexService streamIndexService,
+            @Nullable ArchivedIdIndex archivedIdIndex) {
         this.reportRepository = reportRepository;
         this.rateLimitCache = rateLimitCache;
         this.videoRepository = videoRepository;
@@ -53,6 +71,7 @@ public class ContentReportService {
         this.playlistRepository = playlistRepository;
         this.publicContentCacheService = publicContentCacheService;
         this.streamIndexService = streamIndexService;
+        this.archivedIdIndex = archivedIdIndex;
     }
 
     public ContentReport submitReport(
@@ -286,6 +305,7 @@ public class ContentReportService {
                     if (opt.isPresent()) {
                         opt.get().setValidationStatus(ValidationStatus.ARCHIVED);
                         videoRepository.save(opt.get());
+                        if (archivedIdIndex != null) archivedIdIndex.record(opt.get());
                         streamIndexService.markStreamArchived(opt.get().getYoutubeId());
                         archived = true;
                     } else {
@@ -297,6 +317,7 @@ public class ContentReportService {
                     if (opt.isPresent()) {
                         opt.get().setValidationStatus(ValidationStatus.ARCHIVED);
                         channelRepository.save(opt.get());
+                        if (archivedIdIndex != null) archivedIdIndex.record(opt.get());
                         streamIndexService.removeSource("CHANNEL", opt.get().getYoutubeId());
                         archived = true;
                     } else {
@@ -308,6 +329,7 @@ public class ContentReportService {
                     if (opt.isPresent()) {
                         opt.get().setValidationStatus(ValidationStatus.ARCHIVED);
                         playlistRepository.save(opt.get());
+                        if (archivedIdIndex != null) archivedIdIndex.record(opt.get());
                         streamIndexService.removeSource("PLAYLIST", opt.get().getYoutubeId());
                         archived = true;
                     } else {
@@ -5,6 +5,8 @@ import com.albunyaan.tube.dto.BatchValidationResult;
 import com.albunyaan.tube.dto.ChannelDetailsDto;
 import com.albunyaan.tube.dto.PlaylistDetailsDto;
 import com.albunyaan.tube.dto.StreamDetailsDto;
+import com.albunyaan.tube.dto.YouTubeContentType;
+import com.albunyaan.tube.model.ApprovalMetadata;
 import com.albunyaan.tube.model.Channel;
 import com.albunyaan.tube.model.Playlist;
 import com.albunyaan.tube.model.ValidationRun;
@@ -12,20 +14,32 @@ import com.albunyaan.tube.model.ValidationStatus;
 import com.albunyaan.tube.model.Video;
 import com.albunyaan.tube.repository.ChannelRepository;
 import com.albunyaan.tube.repository.PlaylistRepository;
+import com.albunyaan.tube.repository.ValidationQueueRepository.FailureReport;
 import com.albunyaan.tube.repository.ValidationRunRepository;
 import com.albunyaan.tube.repository.VideoRepository;
+import com.albunyaan.tube.service.sync.ArchivedIdIndex;
 import com.google.cloud.Timestamp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -48,7 +62,11 @@ public class ContentValidationService {
     private final ValidationProperties validationProperties;
     private final PublicContentCacheService publicContentCacheService;
     private final StreamIndexService streamIndexService;
+    private final ArchivedIdIndex archivedIdIndex;
+    private final YouTubeAvailabilityProbe availabilityProbe;
+    private final ValidationQueueService validationQueue;
 
+    /** Test seam: no sync archived-ID index to keep in step. */
     public ContentValidationService(
             ChannelRepository channelRepository,
             PlaylistRepository playlistRepository,
@@ -59,6 +77,42 @@ public class ContentValidationService {
             ValidationProperties validationProperties,
             PublicContentCacheService publicContentCacheService,
             StreamIndexService streamIndexService
+    ) {
+        this(channelRepository, playlistRepository, videoRepository, channelOrchestrator, auditLogService,
+                validationRunRepository, validationProperties, publicContentCacheService, streamIndexService, null);
+    }
+
+    public ContentValidationService(
+            ChannelRepository channelRepository,
+            PlaylistRepository playlistRepository,
+            VideoRepository videoRepository,
+            ChannelOrchestrator channelOrchestrator,
+            AuditLogService auditLogService,
+            ValidationRunRepository validationRunRepository,
+            ValidationProperties validationProperties,
+            PublicContentCacheService publicContentCacheService,
+            StreamIndexService streamIndexService,
+            @Nullable ArchivedIdIndex archivedIdIndex
+    ) {
+        this(channelRepository, playlistRepository, videoRepository, channelOrchestrator, auditLogService,
+                validationRunRepository, validationProperties, publicContentCacheService, streamIndexService,
+                archivedIdIndex, null, null);
+    }
+
+    @Autowired
+    public ContentValidationService(
+            ChannelRepository channelRepository,
+            PlaylistRepository playlistRepository,
+            VideoRepository videoRepository,
+            ChannelOrchestrator channelOrchestrator,
+            AuditLogService auditLogService,
+            ValidationRunRepository validationRunRepository,
+            ValidationProperties validationProperties,
+            PublicContentCacheService publicContentCacheService,
+            StreamIndexService streamIndexService,
+            @Nullable ArchivedIdIndex archivedIdIndex,
+            @Nullable YouTubeAvailabilityProbe availabilityProbe,
+            @Nullable ValidationQueueService validationQueue
     ) {
         this.channelRepository = channelRepository;
         this.playlistRepository = playlistRepository;
@@ -69,6 +123,9 @@ public class ContentValidationService {
         this.validationProperties = validationProperties;
         this.publicContentCacheService = publicContentCacheService;
         this.streamIndexService = streamIndexService;
+        this.archivedIdIndex = archivedIdIndex;
+        this.availabilityProbe = availabilityProbe;
+        this.validationQueue = validationQueue;
     }
 
     // ==================== Validation Triggers ====================
@@ -88,54 +145,19 @@ public class ContentValidationService {
         ValidationRun validationRun = new ValidationRun(triggerType, triggeredBy, triggeredByDisplayName);
 
         try {
-            // Use configurable default limit to prevent OOM/timeout/rate limiting
-            int limit = maxItems != null ? maxItems : validationProperties.getVideo().getMaxItemsPerRun();
-            int perTypeLimit = (int) Math.ceil(limit / 3.0);
-
-            // Calculate totals upfront for progress tracking
-            validationRun.setCurrentPhase("INITIALIZING");
-            List<Channel> channelsToValidate = getChannelsForValidation(perTypeLimit);
-            List<Playlist> playlistsToValidate = getPlaylistsForValidation(perTypeLimit);
-            List<Video> videosToValidate = getVideosForValidation(perTypeLimit);
-
-            validationRun.setTotalChannelsToCheck(channelsToValidate.size());
-            validationRun.setTotalPlaylistsToCheck(playlistsToValidate.size());
-            validationRun.setTotalVideosToCheck(videosToValidate.size());
-
-            // Save initial state with totals
-            validationRunRepository.save(validationRun);
-
-            logger.info("Validation run {} started - channels: {}, playlists: {}, videos: {} (total: {})",
-                    validationRun.getId(),
-                    channelsToValidate.size(),
-                    playlistsToValidate.size(),
-                    videosToValidate.size(),
-                    validationRun.getTotalToCheck());
-
-            // Validate channels
-            validationRun.setCurrentPhase("CHANNELS");
-            validationRunRepository.save(validationRun);
-            validateChannelsInternalWithItems(validationRun, triggeredByDisplayName, channelsToValidate);
-
-            // Validate playlists
-            validationRun.setCurrentPhase("PLAYLISTS");
+            // Save first: the run needs its ID to take over an interrupted run's checkpoint
             validationRunRepository.save(validationRun);
-            validatePlaylistsInternalWithItems(validationRun, triggeredByDisplayName, playlistsToValidate);
+            runFullValidation(validationRun, triggeredByDisplayName, maxItems);
 
-            // Validate videos
-            validationRun.setCurrentPhase("VIDEOS");
-            validationRunRepository.save(validationRun);
-            validateVideosInternalWithItems(validationRun, triggeredByDisplayName, videosToValidate);
-
-            validationRun.setCurrentPhase("COMPLETE");
-            validationRun.complete(ValidationRun.STATUS_COMPLETED);
-            validationRunRepository.save(validationRun);
-
-            logger.info("Full content validation completed - channels: {}/{} archived, playlists: {}/{} archived, videos: {}/{} archived",
+            logger.info("Full content validation {} - channels: {}/{} archived, playlists: {}/{} archived, videos: {}/{} archived",
+                    validationRun.getStatus(),
                     validationRun.getChannelsMarkedArchived(), validationRun.getChannelsChecked(),
                     validationRun.getPlaylistsMarkedArchived(), validationRun.getPlaylistsChecked(),
                     validationRun.getVideosMarkedArchived(), validationRun.getVideosChecked());
 
+        } catch (RunTakenOverException e) {
+            logger.warn("{}; stopping without saving", e.getMessage());
+            validationRun.setStatus(ValidationRun.STATUS_RESUMED);
         } catch (Exception e) {
             logger.error("Full content validation failed", e);
             validationRun.complete(ValidationRun.STATUS_FAILED);
@@ -191,55 +213,17 @@ public class ContentValidationService {
         }
 
         try {
-            // Use configurable default limit to prevent OOM/timeout/rate limiting
-            int limit = maxItems != null ? maxItems : validationProperties.getVideo().getMaxItemsPerRun();
-            int perTypeLimit = (int) Math.ceil(limit / 3.0);
-
-            // Calculate totals upfront for progress tracking
-            validationRun.setCurrentPhase("INITIALIZING");
-            List<Channel> channelsToValidate = getChannelsForValidation(perTypeLimit);
-            List<Playlist> playlistsToValidate = getPlaylistsForValidation(perTypeLimit);
-            List<Video> videosToValidate = getVideosForValidation(perTypeLimit);
-
-            validationRun.setTotalChannelsToCheck(channelsToValidate.size());
-            validationRun.setTotalPlaylistsToCheck(playlistsToValidate.size());
-            validationRun.setTotalVideosToCheck(videosToValidate.size());
-
-            // Save with totals
-            validationRunRepository.save(validationRun);
+            runFullValidation(validationRun, triggeredByDisplayName, maxItems);
 
-            logger.info("Validation run {} - channels: {}, playlists: {}, videos: {} (total: {})",
-                    runId,
-                    channelsToValidate.size(),
-                    playlistsToValidate.size(),
-                    videosToValidate.size(),
-                    validationRun.getTotalToCheck());
-
-            // Validate channels
-            validationRun.setCurrentPhase("CHANNELS");
-            validationRunRepository.save(validationRun);
-            validateChannelsInternalCore(validationRun, triggeredByDisplayName, channelsToValidate);
-
-            // Validate playlists
-            validationRun.setCurrentPhase("PLAYLISTS");
-            validationRunRepository.save(validationRun);
-            validatePlaylistsInternalCore(validationRun, triggeredByDisplayName, playlistsToValidate);
-
-            // Validate videos
-            validationRun.setCurrentPhase("VIDEOS");
-            validationRunRepository.save(validationRun);
-            validateVideosInternalCore(validationRun, triggeredByDisplayName, videosToValidate);
-
-            validationRun.setCurrentPhase("COMPLETE");
-            validationRun.complete(ValidationRun.STATUS_COMPLETED);
-            validationRunRepository.save(validationRun);
-
-            logger.info("Async validation completed - runId: {}, channels: {}/{} archived, playlists: {}/{} archived, videos: {}/{} archived",
-                    runId,
+            logger.info("Async validation {} - runId: {}, channels: {}/{} archived, playlists: {}/{} archived, videos: {}/{} archived",
+                    validationRun.getStatus(), runId,
                     validationRun.getChannelsMarkedArchived(), validationRun.getChannelsChecked(),
                     validationRun.getPlaylistsMarkedArchived(), validationRun.getPlaylistsChecked(),
                     validationRun.getVideosMarkedArchived(), validationRun.getVideosChecked());
 
+        } catch (RunTakenOverException e) {
+            logger.warn("{}; stopping without saving", e.getMessage());
+            validationRun.setStatus(ValidationRun.STATUS_RESUMED);
         } catch (Exception e) {
             logger.error("Async content validation failed - runId: {}", runId, e);
             validationRun.complete(ValidationRun.STATUS_FAILED);
@@ -371,45 +355,295 @@ public class ContentValidationService {
 
     // ==================== Internal Validation Methods ====================
 
+    private static final String PHASE_CHANNELS = "CHANNELS";
+    private static final String PHASE_PLAYLISTS = "PLAYLISTS";
+    private static final String PHASE_VIDEOS = "VIDEOS";
+    private static final List<String> FULL_RUN_PHASES = List.of(PHASE_CHANNELS, PHASE_PLAYLISTS, PHASE_VIDEOS);
+
     /**
-     * Internal method for channel validation with pre-fetched items (used by validateAllContent for progress tracking).
+     * Body of a full run: channels, then playlists, then videos. Each phase streams its items
+     * from Firestore stalest first, one page of {@code checkpoint.page-size} at a time; after
+     * each page the items are bulk-written and the run checkpoints its stream position and
+     * counters, so an interruption costs at most one page. The run first takes over the
+     * checkpoint of an interrupted run, if any, and continues where that one stopped.
+     * Leaves the run COMPLETED, or PAUSED if the circuit breaker stopped a page.
      */
-    private void validateChannelsInternalWithItems(ValidationRun run, String actorName, List<Channel> channelsToValidate)
+    private void runFullValidation(ValidationRun run, String actorName, Integer maxItems)
             throws ExecutionException, InterruptedException, TimeoutException {
-        validateChannelsInternalCore(run, actorName, channelsToValidate);
+        // Use configurable default limit to prevent OOM/timeout/rate limiting
+        int limit = maxItems != null ? maxItems : validationProperties.getVideo().getMaxItemsPerRun();
+        int perTypeLimit = (int) Math.ceil(limit / 3.0);
+
+        if (!resumeInterruptedRun(run)) {
+            run.setCurrentPhase("INITIALIZING");
+            run.setEligibleBefore(toTimestamp(Instant.now().minus(1, ChronoUnit.DAYS)));
+            // Upper bounds for progress tracking; each becomes exact when its stream ends
+            run.setTotalChannelsToCheck(perTypeLimit);
+            run.setTotalPlaylistsToCheck(perTypeLimit);
+            run.setTotalVideosToCheck(perTypeLimit);
+        }
+        validationRunRepository.save(run);
+        logger.info("Validation run {} - up to {} items per type, phase {}{}", run.getId(), perTypeLimit,
+                run.getCurrentPhase(), run.getResumeCount() > 0 ? " (resumed)" : "");
+
+        int first = Math.max(0, FULL_RUN_PHASES.indexOf(run.getCurrentPhase()));
+        for (String phase : FULL_RUN_PHASES.subList(first, FULL_RUN_PHASES.size())) {
+            if (!phase.equals(run.getCurrentPhase())) {
+                run.startPhase(phase);
+                saveIfStillRunning(run);
+            }
+            boolean finished = switch (phase) {
+                case PHASE_CHANNELS -> streamPhase(run, perTypeLimit, new PhaseStream<Channel>("Channel",
+                        List.of("APPROVED", "approved"),
+                        channelRepository::findByStatusOrderByLastValidatedAtAscAfter, this::deduplicateChannels,
+                        Channel::getId, Channel::getLastValidatedAt, Channel::getValidationStatus,
+                        page -> validateChannelsInternalCore(run, actorName, page), run::setTotalChannelsToCheck));
+                case PHASE_PLAYLISTS -> streamPhase(run, perTypeLimit, new PhaseStream<Playlist>("Playlist",
+                        List.of("approved", "APPROVED"),
+                        playlistRepository::findByStatusOrderByLastValidatedAtAscAfter, this::deduplicatePlaylists,
+                        Playlist::getId, Playlist::getLastValidatedAt, Playlist::getValidationStatus,
+                        page -> validatePlaylistsInternalCore(run, actorName, page), run::setTotalPlaylistsToCheck));
+                default -> streamPhase(run, perTypeLimit, new PhaseStream<Video>("Video",
+                        List.of("APPROVED", "approved"),
+                        videoRepository::findByStatusOrderByLastValidatedAtAscAfter, this::deduplicateVideos,
+                        Video::getId, Video::getLastValidatedAt, Video::getValidationStatus,
+                        page -> validateVideosInternalCore(run, actorName, page), run::setTotalVideosToCheck));
+            };
+            if (!finished) {
+                run.setStatus(ValidationRun.STATUS_PAUSED);
+                run.addDetail("pausedReason", "Circuit breaker open; the next full validation resumes from here");
+                checkpoint(run);
+                logger.warn("Validation run {} paused in phase {} (circuit breaker open)", run.getId(), phase);
+                return;
+            }
+        }
+
+        run.setCurrentPhase("COMPLETE");
+        run.complete(ValidationRun.STATUS_COMPLETED);
+        saveIfStillRunning(run);
+    }
+
+    /**
+     * Take over the most recent interrupted full run: one PAUSED, or RUNNING without a
+     * checkpoint for {@code checkpoint.stale-after-minutes} (its instance restarted or gave up).
+     * The claim is transactional, so only one new run continues it.
+     *
+     * @return whether {@code run} now carries an interrupted run's checkpoint
+     */
+    private boolean resumeInterruptedRun(ValidationRun run) {
+        try {
+            Timestamp staleBefore = toTimestamp(Instant.now().minus(
+                    validationProperties.getCheckpoint().getStaleAfterMinutes(), ChronoUnit.MINUTES));
+            List<ValidationRun> candidates = new ArrayList<>(
+                    validationRunRepository.findByStatus(ValidationRun.STATUS_PAUSED, 10));
+            candidates.addAll(validationRunRepository.findByStatus(ValidationRun.STATUS_RUNNING, 10));
+            ValidationRun interrupted = candidates.stream()
+                    .filter(candidate -> !candidate.getId().equals(run.getId()) && candidate.isResumable(staleBefore))
+                    .max(Comparator.comparing(ValidationRun::getStartedAt, Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .orElse(null);
+            if (interrupted == null) {
+                return false;
+            }
+            ValidationRun claimed = validationRunRepository
+                    .claimForResume(interrupted.getId(), run.getId(), staleBefore)
+                    .orElse(null);
+            if (claimed == null) {
+                return false;
+            }
+            run.resumeFrom(claimed);
+            logger.info("Validation run {} resumes run {} in phase {} after {} items",
+                    run.getId(), claimed.getId(), claimed.getCurrentPhase(), claimed.getPhaseScanned());
+            return true;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            logger.warn("Could not look up an interrupted validation run; starting from scratch: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /** How a full run reads and validates one content type. */
+    private record PhaseStream<T>(String label,
+                                  List<String> statuses,
+                                  PageQuery<T> query,
+                                  Function<List<T>, List<T>> deduplicate,
+                                  Function<T, String> id,
+                                  Function<T, Timestamp> lastValidatedAt,
+                                  Function<T, ValidationStatus> validationStatus,
+                                  PageValidation<T> validate,
+                                  IntConsumer total) {
+    }
+
+    @FunctionalInterface
+    private interface PageQuery<T> {
+        List<T> find(String status, Timestamp afterValidatedAt, String afterId, int limit)
+                throws ExecutionException, InterruptedException, TimeoutException;
+    }
+
+    @FunctionalInterface
+    private interface PageValidation<T> {
+        /** @return items skipped by the circuit breaker */
+        int validate(List<T> page) throws ExecutionException, InterruptedException, TimeoutException;
     }
 
     /**
-     * Internal method for playlist validation with pre-fetched items (used by validateAllContent for progress tracking).
+     * Validate the current phase page by page from the run's cursor, checkpointing after each
+     * page, until the per-type limit is reached or the stream runs out of due items.
+     *
+     * @return false if the circuit breaker skipped items of a page; the cursor then stays
+     *         before that page, so the run that resumes this one retries them
      */
-    private void validatePlaylistsInternalWithItems(ValidationRun run, String actorName, List<Playlist> playlistsToValidate)
+    private <T> boolean streamPhase(ValidationRun run, int limit, PhaseStream<T> stream)
             throws ExecutionException, InterruptedException, TimeoutException {
-        validatePlaylistsInternalCore(run, actorName, playlistsToValidate);
+        int pageSize = Math.max(1, validationProperties.getCheckpoint().getPageSize());
+        while (run.getPhaseScanned() < limit) {
+            int requested = Math.min(pageSize, limit - run.getPhaseScanned());
+            List<T> page = nextPage(run, stream, requested);
+            boolean exhausted = page.size() < requested;
+
+            // Everything past the first item validated after the cutoff was validated recently
+            // (possibly by this run), so the stream ends there
+            int due = 0;
+            while (due < page.size() && isDue(stream.lastValidatedAt().apply(page.get(due)), run.getEligibleBefore())) {
+                due++;
+            }
+            if (due < page.size()) {
+                page = page.subList(0, due);
+                exhausted = true;
+            }
+            if (page.isEmpty()) {
+                break;
+            }
+
+            // Read the position before validation moves lastValidatedAt
+            T last = page.get(page.size() - 1);
+            String lastId = stream.id().apply(last);
+            Timestamp lastValidatedAt = stream.lastValidatedAt().apply(last);
+
+            List<T> eligible = page.stream()
+                    .filter(item -> {
+                        ValidationStatus status = stream.validationStatus().apply(item);
+                        // Skip permanently archived items
+                        return status != ValidationStatus.ARCHIVED && status != ValidationStatus.UNAVAILABLE;
+                    })
+                    .collect(Collectors.toList());
+            int skipped = eligible.isEmpty() ? 0 : stream.validate().validate(eligible);
+            if (skipped > 0) {
+                run.setPhaseScanned(run.getPhaseScanned() + eligible.size() - skipped);
+                return false;
+            }
+            run.advanceCursor(lastId, lastValidatedAt, eligible.size());
+            checkpoint(run);
+            logger.debug("{} page checkpointed - run: {}, scanned: {}/{}", stream.label(), run.getId(),
+                    run.getPhaseScanned(), limit);
+            if (exhausted) {
+                break;
+            }
+        }
+        stream.total().accept(run.getPhaseScanned());
+        return true;
     }
 
     /**
-     * Internal method for video validation with pre-fetched items (used by validateAllContent for progress tracking).
+     * The next {@code size} items after the run's cursor, merged across the legacy status
+     * spellings (the second one may be absent) in stream order.
      */
-    private void validateVideosInternalWithItems(ValidationRun run, String actorName, List<Video> videosToValidate)
+    private <T> List<T> nextPage(ValidationRun run, PhaseStream<T> stream, int size)
             throws ExecutionException, InterruptedException, TimeoutException {
-        validateVideosInternalCore(run, actorName, videosToValidate);
+        List<T> merged = new ArrayList<>(stream.query().find(
+                stream.statuses().get(0), run.getCursorValidatedAt(), run.getCursorId(), size));
+        try {
+            merged.addAll(stream.query().find(
+                    stream.statuses().get(1), run.getCursorValidatedAt(), run.getCursorId(), size));
+        } catch (Exception e) {
+            logger.debug("{} status '{}' query failed (can be ignored if not present): {}",
+                    stream.label(), stream.statuses().get(1), e.getMessage());
+        }
+        return stream.deduplicate().apply(merged).stream()
+                .sorted(Comparator.comparing(stream.lastValidatedAt(), Comparator.nullsFirst(Comparator.<Timestamp>naturalOrder()))
+                        .thenComparing(stream.id(), Comparator.nullsFirst(Comparator.<String>naturalOrder())))
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isDue(Timestamp lastValidatedAt, Timestamp eligibleBefore) {
+        return lastValidatedAt == null || eligibleBefore == null || lastValidatedAt.compareTo(eligibleBefore) < 0;
+    }
+
+    private void checkpoint(ValidationRun run) throws ExecutionException, InterruptedException, TimeoutException {
+        run.setCheckpointedAt(Timestamp.now());
+        saveIfStillRunning(run);
+    }
+
+    /**
+     * Save a full run unless another run has claimed it (a claim can only follow a stale
+     * checkpoint, so this instance was stalled); the run then stops where it is.
+     */
+    private void saveIfStillRunning(ValidationRun run) throws ExecutionException, InterruptedException, TimeoutException {
+        if (!validationRunRepository.saveIfRunning(run)) {
+            throw new RunTakenOverException(run.getId());
+        }
+    }
+
+    /** A full run found its stored status changed by the run that took over its checkpoint. */
+    private static final class RunTakenOverException extends RuntimeException {
+        RunTakenOverException(String runId) {
+            super("Validation run " + runId + " was taken over by another run");
+        }
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return Timestamp.ofTimeSecondsAndNanos(instant.getEpochSecond(), instant.getNano());
     }
 
     private void validateChannelsInternal(ValidationRun run, String actorName, int limit)
             throws ExecutionException, InterruptedException, TimeoutException {
 
-        List<Channel> channelsToValidate = getChannelsForValidation(limit);
-        validateChannelsInternalCore(run, actorName, channelsToValidate);
+        RunBudget budget = runBudget(validationProperties.getChannel().getRequestBudgetPerRun(), limit);
+        int pullSize = probeEnabled()
+                ? Math.max(budget.extractions(), validationProperties.getChannel().getMaxProbeItemsPerRun())
+                : budget.extractions();
+        Timestamp runStart = Timestamp.now();
+        ValidationQueueService.Pull<Channel> pull = pullChannels(pullSize);
+        try {
+            List<Channel> candidates = pull.items();
+            if (!probeEnabled()) {
+                validateChannelsInternalCore(run, actorName, candidates);
+                return;
+            }
+            YouTubeAvailabilityProbe.Plan<Channel> plan = YouTubeAvailabilityProbe.plan(candidates,
+                    availabilityProbe.probeChannels(candidates, budget.probeRequests()),
+                    Channel::getYoutubeId, Channel::getName, budget.extractions());
+            confirmProbed(run, "Channels", plan.confirmed(), channel -> {
+                channel.setValidationStatus(ValidationStatus.VALID);
+                channel.setLastValidatedAt(Timestamp.now());
+            }, channelRepository::saveAll, Channel::getId, run::incrementChannelsChecked);
+            if (!plan.extract().isEmpty() || plan.confirmed().isEmpty()) {
+                validateChannelsInternalCore(run, actorName, plan.extract());
+            }
+        } finally {
+            if (queueEnabled()) {
+                validationQueue.release(pull, ContentValidationService::channelSignals, runStart);
+            }
+        }
     }
 
-    private void validateChannelsInternalCore(ValidationRun run, String actorName, List<Channel> channelsToValidate)
+    /**
+     * Validate a batch with one orchestrator call, then write every item whose status changed
+     * through one bulk write. Archive side effects (archived-ID index, stream index, audit log)
+     * run only for items whose write landed.
+     *
+     * @return number of items skipped because the circuit breaker opened; they are left untouched
+     */
+    private int validateChannelsInternalCore(ValidationRun run, String actorName, List<Channel> channelsToValidate)
             throws ExecutionException, InterruptedException, TimeoutException {
 
         logger.info("Found {} channels to validate", channelsToValidate.size());
 
         if (channelsToValidate.isEmpty()) {
             run.addDetail("channelMessage", "No channels found to validate");
-            return;
+            return 0;
         }
 
         List<String> youtubeIds = channelsToValidate.stream()
@@ -419,7 +653,8 @@ public class ContentValidationService {
         // Use the new method that properly distinguishes between "not found" and "error"
         BatchValidationResult<ChannelDetailsDto> validationResult =
                 channelOrchestrator.batchValidateChannelsDtoWithDetails(youtubeIds);
-        List<String> archivedChannelIds = new ArrayList<>();
+        List<Channel> updated = new ArrayList<>();
+        List<Channel> archived = new ArrayList<>();
         List<String> errorChannelIds = new ArrayList<>();
 
         int skippedCount = 0;
@@ -448,34 +683,21 @@ public class ContentValidationService {
                         refreshChannelMetadata(channel, dto);
                     }
 
-                    channelRepository.save(channel);
+                    updated.add(channel);
                     logger.debug("Channel validated as VALID - youtubeId: {}", youtubeId);
 
                 } else if (validationResult.isNotFound(youtubeId)) {
-                    // Channel DEFINITIVELY doesn't exist on YouTube - auto-archive
+                    // Channel DEFINITIVELY doesn't exist on YouTube - auto-archive once written
                     channel.setValidationStatus(ValidationStatus.ARCHIVED);
                     channel.setLastValidatedAt(Timestamp.now());
-                    channelRepository.save(channel);
-                    streamIndexService.removeSource("CHANNEL", channel.getYoutubeId());
-
-                    run.incrementChannelsArchived();
-                    archivedChannelIds.add(channel.getId());
-
-                    auditLogService.logSystem(
-                            "channel_auto_archived",
-                            "channel",
-                            channel.getId(),
-                            actorName != null ? actorName : "Content Validation"
-                    );
-
-                    logger.info("Channel auto-archived (confirmed not on YouTube) - youtubeId: {}, name: {}",
-                            youtubeId, channel.getName());
+                    updated.add(channel);
+                    archived.add(channel);
 
                 } else if (validationResult.isError(youtubeId)) {
                     // Transient error - DO NOT archive, mark as ERROR for retry later
                     channel.setValidationStatus(ValidationStatus.ERROR);
                     channel.setLastValidatedAt(Timestamp.now());
-                    channelRepository.save(channel);
+                    updated.add(channel);
 
                     run.incrementError();
                     errorChannelIds.add(channel.getId());
@@ -484,22 +706,43 @@ public class ContentValidationService {
                     logger.warn("Channel validation error (will retry later) - youtubeId: {}, error: {}",
                             youtubeId, errorMsg);
                 }
-
-                // Save progress periodically (every 10 items)
-                if (run.getChannelsChecked() % 10 == 0) {
-                    validationRunRepository.save(run);
-                }
             } catch (Exception e) {
                 run.incrementError();
                 logger.error("Error processing channel validation {}: {}", channel.getYoutubeId(), e.getMessage());
             }
         }
 
-        // Final save after channels phase
-        validationRunRepository.save(run);
+        Set<String> failedWrites = bulkSave(run, "Channels", updated, channelRepository::saveAll, Channel::getId);
+
+        List<String> archivedChannelIds = new ArrayList<>();
+        for (Channel channel : archived) {
+            if (failedWrites.contains(channel.getId())) {
+                continue;
+            }
+            try {
+                if (archivedIdIndex != null) archivedIdIndex.record(channel);
+                streamIndexService.removeSource("CHANNEL", channel.getYoutubeId());
+
+                run.incrementChannelsArchived();
+                archivedChannelIds.add(channel.getId());
+
+                auditLogService.logSystem(
+                        "channel_auto_archived",
+                        "channel",
+                        channel.getId(),
+                        actorName != null ? actorName : "Content Validation"
+                );
+
+                logger.info("Channel auto-archived (confirmed not on YouTube) - youtubeId: {}, name: {}",
+                        channel.getYoutubeId(), channel.getName());
+            } catch (Exception e) {
+                run.incrementError();
+                logger.error("Error processing channel archive {}: {}", channel.getYoutubeId(), e.getMessage());
+            }
+        }
 
         if (!archivedChannelIds.isEmpty()) {
-            run.addDetail("archivedChannelIds", archivedChannelIds);
+            appendDetail(run, "archivedChannelIds", archivedChannelIds);
             try {
                 publicContentCacheService.evictPublicContentCaches();
             } catch (Exception e) {
@@ -507,28 +750,57 @@ public class ContentValidationService {
             }
         }
         if (!errorChannelIds.isEmpty()) {
-            run.addDetail("errorChannelIds", errorChannelIds);
+            appendDetail(run, "errorChannelIds", errorChannelIds);
         }
         if (skippedCount > 0) {
-            run.addDetail("skippedChannelsCount", skippedCount);
+            addToCountDetail(run, "skippedChannelsCount", skippedCount);
         }
+        return skippedCount;
     }
 
     private void validatePlaylistsInternal(ValidationRun run, String actorName, int limit)
             throws ExecutionException, InterruptedException, TimeoutException {
 
-        List<Playlist> playlistsToValidate = getPlaylistsForValidation(limit);
-        validatePlaylistsInternalCore(run, actorName, playlistsToValidate);
+        RunBudget budget = runBudget(validationProperties.getPlaylist().getRequestBudgetPerRun(), limit);
+        int pullSize = probeEnabled()
+                ? Math.max(budget.extractions(), validationProperties.getPlaylist().getMaxProbeItemsPerRun())
+                : budget.extractions();
+        Timestamp runStart = Timestamp.now();
+        ValidationQueueService.Pull<Playlist> pull = pullPlaylists(pullSize);
+        try {
+            List<Playlist> candidates = pull.items();
+            if (!probeEnabled()) {
+                validatePlaylistsInternalCore(run, actorName, candidates);
+                return;
+            }
+            YouTubeAvailabilityProbe.Plan<Playlist> plan = YouTubeAvailabilityProbe.plan(candidates,
+                    availabilityProbe.probePlaylists(candidates, budget.probeRequests()),
+                    Playlist::getYoutubeId, Playlist::getTitle, budget.extractions());
+            confirmProbed(run, "Playlists", plan.confirmed(), playlist -> {
+                playlist.setValidationStatus(ValidationStatus.VALID);
+                playlist.setLastValidatedAt(Timestamp.now());
+            }, playlistRepository::saveAll, Playlist::getId, run::incrementPlaylistsChecked);
+            if (!plan.extract().isEmpty() || plan.confirmed().isEmpty()) {
+                validatePlaylistsInternalCore(run, actorName, plan.extract());
+            }
+        } finally {
+            if (queueEnabled()) {
+                validationQueue.release(pull, ContentValidationService::playlistSignals, runStart);
+            }
+        }
     }
 
-    private void validatePlaylistsInternalCore(ValidationRun run, String actorName, List<Playlist> playlistsToValidate)
+    /**
+     * Playlist counterpart of {@link #validateChannelsInternalCore}.
+     */
+    private int validatePlaylistsInternalCore(ValidationRun run, String actorName, List<Playlist> playlistsToValidate)
             throws ExecutionException, InterruptedException, TimeoutException {
 
         logger.info("Found {} playlists to validate", playlistsToValidate.size());
 
         if (playlistsToValidate.isEmpty()) {
             run.addDetail("playlistMessage", "No playlists found to validate");
-            return;
+            return 0;
         }
 
         List<String> youtubeIds = playlistsToValidate.stream()
@@ -538,7 +810,8 @@ public class ContentValidationService {
         // Use the new method that properly distinguishes between "not found" and "error"
         BatchValidationResult<PlaylistDetailsDto> validationResult =
                 channelOrchestrator.batchValidatePlaylistsDtoWithDetails(youtubeIds);
-        List<String> archivedPlaylistIds = new ArrayList<>();
+        List<Playlist> updated = new ArrayList<>();
+        List<Playlist> archived = new ArrayList<>();
         List<String> errorPlaylistIds = new ArrayList<>();
 
         int skippedCount = 0;
@@ -567,34 +840,21 @@ public class ContentValidationService {
                         refreshPlaylistMetadata(playlist, dto);
                     }
 
-                    playlistRepository.save(playlist);
+                    updated.add(playlist);
                     logger.debug("Playlist validated as VALID - youtubeId: {}", youtubeId);
 
                 } else if (validationResult.isNotFound(youtubeId)) {
-                    // Playlist DEFINITIVELY doesn't exist on YouTube - auto-archive
+                    // Playlist DEFINITIVELY doesn't exist on YouTube - auto-archive once written
                     playlist.setValidationStatus(ValidationStatus.ARCHIVED);
                     playlist.setLastValidatedAt(Timestamp.now());
-                    playlistRepository.save(playlist);
-                    streamIndexService.removeSource("PLAYLIST", playlist.getYoutubeId());
-
-                    run.incrementPlaylistsArchived();
-                    archivedPlaylistIds.add(playlist.getId());
-
-                    auditLogService.logSystem(
-                            "playlist_auto_archived",
-                            "playlist",
-                            playlist.getId(),
-                            actorName != null ? actorName : "Content Validation"
-                    );
-
-                    logger.info("Playlist auto-archived (confirmed not on YouTube) - youtubeId: {}, title: {}",
-                            youtubeId, playlist.getTitle());
+                    updated.add(playlist);
+                    archived.add(playlist);
 
                 } else if (validationResult.isError(youtubeId)) {
                     // Transient error - DO NOT archive, mark as ERROR for retry later
                     playlist.setValidationStatus(ValidationStatus.ERROR);
                     playlist.setLastValidatedAt(Timestamp.now());
-                    playlistRepository.save(playlist);
+                    updated.add(playlist);
 
                     run.incrementError();
                     errorPlaylistIds.add(playlist.getId());
@@ -603,22 +863,43 @@ public class ContentValidationService {
                     logger.warn("Playlist validation error (will retry later) - youtubeId: {}, error: {}",
                             youtubeId, errorMsg);
                 }
-
-                // Save progress periodically (every 10 items)
-                if (run.getPlaylistsChecked() % 10 == 0) {
-                    validationRunRepository.save(run);
-                }
             } catch (Exception e) {
                 run.incrementError();
                 logger.error("Error processing playlist validation {}: {}", playlist.getYoutubeId(), e.getMessage());
             }
         }
 
-        // Final save after playlists phase
-        validationRunRepository.save(run);
+        Set<String> failedWrites = bulkSave(run, "Playlists", updated, playlistRepository::saveAll, Playlist::getId);
+
+        List<String> archivedPlaylistIds = new ArrayList<>();
+        for (Playlist playlist : archived) {
+            if (failedWrites.contains(playlist.getId())) {
+                continue;
+            }
+            try {
+                if (archivedIdIndex != null) archivedIdIndex.record(playlist);
+                streamIndexService.removeSource("PLAYLIST", playlist.getYoutubeId());
+
+                run.incrementPlaylistsArchived();
+                archivedPlaylistIds.add(playlist.getId());
+
+                auditLogService.logSystem(
+                        "playlist_auto_archived",
+                        "playlist",
+                        playlist.getId(),
+                        actorName != null ? actorName : "Content Validation"
+                );
+
+                logger.info("Playlist auto-archived (confirmed not on YouTube) - youtubeId: {}, title: {}",
+                        playlist.getYoutubeId(), playlist.getTitle());
+            } catch (Exception e) {
+                run.incrementError();
+                logger.error("Error processing playlist archive {}: {}", playlist.getYoutubeId(), e.getMessage());
+            }
+        }
 
         if (!archivedPlaylistIds.isEmpty()) {
-            run.addDetail("archivedPlaylistIds", archivedPlaylistIds);
+            appendDetail(run, "archivedPlaylistIds", archivedPlaylistIds);
             try {
                 publicContentCacheService.evictPublicContentCaches();
             } catch (Exception e) {
@@ -626,28 +907,283 @@ public class ContentValidationService {
             }
         }
         if (!errorPlaylistIds.isEmpty()) {
-            run.addDetail("errorPlaylistIds", errorPlaylistIds);
+            appendDetail(run, "errorPlaylistIds", errorPlaylistIds);
         }
         if (skippedCount > 0) {
-            run.addDetail("skippedPlaylistsCount", skippedCount);
+            addToCountDetail(run, "skippedPlaylistsCount", skippedCount);
         }
+        return skippedCount;
     }
 
     private void validateVideosInternal(ValidationRun run, String actorName, int limit)
             throws ExecutionException, InterruptedException, TimeoutException {
 
-        List<Video> videosToValidate = getVideosForValidation(limit);
-        validateVideosInternalCore(run, actorName, videosToValidate);
+        RunBudget budget = runBudget(validationProperties.getVideo().getRequestBudgetPerRun(), limit);
+        int pullSize = probeEnabled()
+                ? Math.max(budget.extractions(), validationProperties.getVideo().getMaxProbeItemsPerRun())
+                : budget.extractions();
+        Timestamp runStart = Timestamp.now();
+        ValidationQueueService.Pull<Video> pull = pullVideos(pullSize);
+        try {
+            List<Video> candidates = pull.items();
+            if (!probeEnabled()) {
+                validateVideosInternalCore(run, actorName, candidates);
+                return;
+            }
+            YouTubeAvailabilityProbe.Plan<Video> plan = YouTubeAvailabilityProbe.plan(candidates,
+                    availabilityProbe.probeVideos(candidates, budget.probeRequests()),
+                    Video::getYoutubeId, Video::getTitle, budget.extractions());
+            confirmProbed(run, "Videos", plan.confirmed(), video -> {
+                video.setValidationStatus(ValidationStatus.VALID);
+                video.setLastValidatedAt(Timestamp.now());
+            }, videoRepository::saveAll, Video::getId, run::incrementVideosChecked);
+            if (!plan.extract().isEmpty() || plan.confirmed().isEmpty()) {
+                validateVideosInternalCore(run, actorName, plan.extract());
+            }
+        } finally {
+            if (queueEnabled()) {
+                validationQueue.release(pull, ContentValidationService::videoSignals, runStart);
+            }
+        }
+    }
+
+    private boolean probeEnabled() {
+        return availabilityProbe != null && availabilityProbe.isEnabled();
+    }
+
+    private boolean queueEnabled() {
+        return validationQueue != null && validationQueue.isEnabled();
     }
 
-    private void validateVideosInternalCore(ValidationRun run, String actorName, List<Video> videosToValidate)
+    /** Extraction slots and probe requests one run may spend out of its request budget. */
+    private record RunBudget(int extractions, int probeRequests) {
+    }
+
+    private RunBudget runBudget(int requestBudget, int maxExtractions) {
+        if (requestBudget <= 0) {
+            return new RunBudget(maxExtractions, Integer.MAX_VALUE);
+        }
+        int cost = Math.max(1, validationProperties.getQueue().getExtractionRequestCost());
+        int extractions = Math.min(maxExtractions, requestBudget / cost);
+        return new RunBudget(extractions, requestBudget - extractions * cost);
+    }
+
+    // ==================== Validation Queue ====================
+
+    private ValidationQueueService.Pull<Channel> pullChannels(int count)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        if (!queueEnabled()) {
+            return new ValidationQueueService.Pull<>(ValidationQueueService.ContentType.CHANNEL,
+                    getChannelsForValidation(count), null);
+        }
+        // Playback failures are only reported per video, so channels are scored without them
+        List<Channel> pool = new ArrayList<>(getChannelsForValidation(Math.max(count, validationQueue.getCandidateWindow())));
+        mergeExposed(pool, ValidationQueueService.ContentType.CHANNEL, Channel::getYoutubeId,
+                channelRepository::findByYoutubeIds,
+                c -> isDueCandidate(c.getStatus(), c.getValidationStatus(), c.getLastValidatedAt()));
+        return validationQueue.pull(ValidationQueueService.ContentType.CHANNEL, pool,
+                ContentValidationService::channelSignals, Map.of(), count);
+    }
+
+    private ValidationQueueService.Pull<Playlist> pullPlaylists(int count)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        if (!queueEnabled()) {
+            return new ValidationQueueService.Pull<>(ValidationQueueService.ContentType.PLAYLIST,
+                    getPlaylistsForValidation(count), null);
+        }
+        List<Playlist> pool = new ArrayList<>(getPlaylistsForValidation(Math.max(count, validationQueue.getCandidateWindow())));
+        mergeExposed(pool, ValidationQueueService.ContentType.PLAYLIST, Playlist::getYoutubeId,
+                playlistRepository::findByYoutubeIds,
+                p -> isDueCandidate(p.getStatus(), p.getValidationStatus(), p.getLastValidatedAt()));
+        return validationQueue.pull(ValidationQueueService.ContentType.PLAYLIST, pool,
+                ContentValidationService::playlistSignals, Map.of(), count);
+    }
+
+    /**
+     * Videos for one run: the stalest candidate window, the home feed and categorized videos
+     * due for validation, plus every approved video with a playback failure reported since its
+     * last validation (even if validated within the last day), leased in score order.
+     */
+    private ValidationQueueService.Pull<Video> pullVideos(int count)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        if (!queueEnabled()) {
+            return new ValidationQueueService.Pull<>(ValidationQueueService.ContentType.VIDEO,
+                    getVideosForValidation(count), null);
+        }
+        List<Video> pool = new ArrayList<>(getVideosForValidation(Math.max(count, validationQueue.getCandidateWindow())));
+        Map<String, FailureReport> failures =
+                validationQueue.recentFailures(ValidationQueueService.ContentType.VIDEO, validationQueue.getCandidateWindow());
+        Set<String> missing = new HashSet<>(failures.keySet());
+        pool.forEach(v -> missing.remove(v.getYoutubeId()));
+        if (!missing.isEmpty()) {
+            for (Video video : videoRepository.findByYoutubeIds(missing).values()) {
+                ValidationStatus status = video.getValidationStatus();
+                if ("APPROVED".equalsIgnoreCase(video.getStatus())
+                        && status != ValidationStatus.ARCHIVED && status != ValidationStatus.UNAVAILABLE
+                        && ValidationQueueService.isOpen(failures.get(video.getYoutubeId()), video.getLastValidatedAt())) {
+                    pool.add(video);
+                }
+            }
+        }
+        mergeExposed(pool, ValidationQueueService.ContentType.VIDEO, Video::getYoutubeId,
+                videoRepository::findByYoutubeIds,
+                v -> isDueCandidate(v.getStatus(), v.getValidationStatus(), v.getLastValidatedAt()));
+        return validationQueue.pull(ValidationQueueService.ContentType.VIDEO, pool,
+                ContentValidationService::videoSignals, failures, count);
+    }
+
+    @FunctionalInterface
+    private interface YoutubeIdLookup<T> {
+        Map<String, T> find(Collection<String> youtubeIds) throws ExecutionException, InterruptedException, TimeoutException;
+    }
+
+    /**
+     * Add the items users see (home feed, categories) that the stalest window missed, so
+     * exposure can lift them. They are re-read, since the catalog snapshot may lag, and kept
+     * only when {@code due}; a failed lookup leaves the pool as it is.
+     */
+    private <T> void mergeExposed(List<T> pool, ValidationQueueService.ContentType type,
+                                  Function<T, String> youtubeId, YoutubeIdLookup<T> lookup, Predicate<T> due) {
+        Set<String> missing = new HashSet<>(validationQueue.exposedIds(type, validationQueue.getCandidateWindow()));
+        pool.forEach(item -> missing.remove(youtubeId.apply(item)));
+        if (missing.isEmpty()) {
+            return;
+        }
+        try {
+            for (T item : lookup.find(missing).values()) {
+                if (due.test(item)) {
+                    pool.add(item);
+                }
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            logger.warn("Could not add home/category {} items to the validation pool: {}", type, e.getMessage());
+        }
+    }
+
+    /** Same eligibility as the stalest window: approved, not archived, not validated in the last day. */
+    private static boolean isDueCandidate(String status, ValidationStatus validationStatus, Timestamp lastValidatedAt) {
+        if (!"APPROVED".equalsIgnoreCase(status)
+                || validationStatus == ValidationStatus.ARCHIVED || validationStatus == ValidationStatus.UNAVAILABLE) {
+            return false;
+        }
+        return validationStatus == null || lastValidatedAt == null
+                || lastValidatedAt.compareTo(toTimestamp(Instant.now().minus(1, ChronoUnit.DAYS))) < 0;
+    }
+
+    static ValidationQueueService.Signals channelSignals(Channel channel) {
+        return new ValidationQueueService.Signals(channel.getYoutubeId(), channel.getLastValidatedAt(),
+                changedAt(channel.getApprovalMetadata(), channel.getCreatedAt()), channel.getSubscribers(),
+                hasCategories(channel.getCategoryIds()));
+    }
+
+    static ValidationQueueService.Signals playlistSignals(Playlist playlist) {
+        return new ValidationQueueService.Signals(playlist.getYoutubeId(), playlist.getLastValidatedAt(),
+                changedAt(playlist.getApprovalMetadata(), playlist.getCreatedAt()), null,
+                hasCategories(playlist.getCategoryIds()));
+    }
+
+    static ValidationQueueService.Signals videoSignals(Video video) {
+        return new ValidationQueueService.Signals(video.getYoutubeId(), video.getLastValidatedAt(),
+                changedAt(video.getApprovalMetadata(), video.getCreatedAt()), video.getViewCount(),
+                hasCategories(video.getCategoryIds()));
+    }
+
+    /** Last moderator review, else creation; updatedAt is touched by every validation write. */
+    private static Timestamp changedAt(ApprovalMetadata approval, Timestamp createdAt) {
+        return approval != null && approval.getReviewedAt() != null ? approval.getReviewedAt() : createdAt;
+    }
+
+    private static boolean hasCategories(List<String> categoryIds) {
+        return categoryIds != null && !categoryIds.isEmpty();
+    }
+
+    /**
+     * Mark items the availability probe found public and unchanged as VALID without a full
+     * extraction. Their cached metadata is left as is; it is refreshed whenever they land in
+     * a run's spare extraction slots.
+     */
+    private <T> void confirmProbed(ValidationRun run, String label, List<T> confirmed, Consumer<T> markValid,
+                                   BulkSave<T> save, Function<T, String> idOf, Runnable countChecked)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        if (confirmed.isEmpty()) {
+            return;
+        }
+        confirmed.forEach(markValid);
+        int count = confirmed.size() - bulkSave(run, label, confirmed, save, idOf).size();
+        for (int i = 0; i < count; i++) {
+            countChecked.run();
+        }
+        run.addDetail("probeConfirmed" + label + "Count", count);
+        validationRunRepository.save(run);
+        logger.info("{} confirmed by availability probe without extraction: {}", label, count);
+    }
+
+    @FunctionalInterface
+    private interface BulkSave<T> {
+        /** @return IDs whose write failed */
+        Set<String> saveAll(List<T> items) throws Exception;
+    }
+
+    /**
+     * Write a batch of validated items through the repository's bulk save. Every failed write
+     * counts as a run error; if the bulk write fails as a whole, all items do.
+     *
+     * @return IDs whose write failed
+     */
+    private <T> Set<String> bulkSave(ValidationRun run, String label, List<T> items, BulkSave<T> save,
+                                     Function<T, String> idOf) {
+        if (items.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> failed;
+        try {
+            failed = save.saveAll(items);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            logger.error("Failed to write {} validated {}: {}", items.size(), label, e.getMessage());
+            failed = new HashSet<>();
+            for (T item : items) {
+                failed.add(idOf.apply(item));
+            }
+        }
+        for (int i = 0; i < failed.size(); i++) {
+            run.incrementError();
+        }
+        return failed;
+    }
+
+    /** Append IDs to a list detail, keeping those recorded by earlier pages of the run. */
+    private static void appendDetail(ValidationRun run, String key, List<String> ids) {
+        List<Object> all = new ArrayList<>();
+        if (run.getDetails().get(key) instanceof List<?> previous) {
+            all.addAll(previous);
+        }
+        all.addAll(ids);
+        run.addDetail(key, all);
+    }
+
+    /** Add to a count detail, keeping the count of earlier pages of the run. */
+    private static void addToCountDetail(ValidationRun run, String key, int count) {
+        Object previous = run.getDetails().get(key);
+        run.addDetail(key, (previous instanceof Number n ? n.intValue() : 0) + count);
+    }
+
+    /**
+     * Video counterpart of {@link #validateChannelsInternalCore}.
+     */
+    private int validateVideosInternalCore(ValidationRun run, String actorName, List<Video> videosToValidate)
             throws ExecutionException, InterruptedException, TimeoutException {
 
         logger.info("Found {} videos to validate", videosToValidate.size());
 
         if (videosToValidate.isEmpty()) {
             run.addDetail("videoMessage", "No videos found to validate");
-            return;
+            return 0;
         }
 
         List<String> youtubeIds = videosToValidate.stream()
@@ -657,7 +1193,8 @@ public class ContentValidationService {
         // Use the new method that properly distinguishes between "not found" and "error"
         BatchValidationResult<StreamDetailsDto> validationResult =
                 channelOrchestrator.batchValidateVideosDtoWithDetails(youtubeIds);
-        List<String> archivedVideoIds = new ArrayList<>();
+        List<Video> updated = new ArrayList<>();
+        List<Video> archived = new ArrayList<>();
         List<String> errorVideoIds = new ArrayList<>();
 
         int skippedCount = 0;
@@ -686,34 +1223,21 @@ public class ContentValidationService {
                         refreshVideoMetadata(video, dto);
                     }
 
-                    videoRepository.save(video);
+                    updated.add(video);
                     logger.debug("Video validated as VALID - youtubeId: {}", youtubeId);
 
                 } else if (validationResult.isNotFound(youtubeId)) {
-                    // Video DEFINITIVELY doesn't exist on YouTube - auto-archive
+                    // Video DEFINITIVELY doesn't exist on YouTube - auto-archive once written
                     video.setValidationStatus(ValidationStatus.ARCHIVED);
                     video.setLastValidatedAt(Timestamp.now());
-                    videoRepository.save(video);
-                    streamIndexService.markStreamArchived(video.getYoutubeId());
-
-                    run.incrementVideosArchived();
-                    archivedVideoIds.add(video.getId());
-
-                    auditLogService.logSystem(
-                            "video_auto_archived",
-                            "video",
-                            video.getId(),
-                            actorName != null ? actorName : "Content Validation"
-                    );
-
-                    logger.info("Video auto-archived (confirmed not on YouTube) - youtubeId: {}, title: {}",
-                            youtubeId, video.getTitle());
+                    updated.add(video);
+                    archived.add(video);
 
                 } else if (validationResult.isError(youtubeId)) {
                     // Transient error - DO NOT archive, mark as ERROR for retry later
                     video.setValidationStatus(ValidationStatus.ERROR);
                     video.setLastValidatedAt(Timestamp.now());
-                    videoRepository.save(video);
+                    updated.add(video);
 
                     run.incrementError();
                     errorVideoIds.add(video.getId());
@@ -722,22 +1246,43 @@ public class ContentValidationService {
                     logger.warn("Video validation error (will retry later) - youtubeId: {}, error: {}",
                             youtubeId, errorMsg);
                 }
-
-                // Save progress periodically (every 10 items)
-                if (run.getVideosChecked() % 10 == 0) {
-                    validationRunRepository.save(run);
-                }
             } catch (Exception e) {
                 run.incrementError();
                 logger.error("Error processing video validation {}: {}", video.getYoutubeId(), e.getMessage());
             }
         }
 
-        // Final save after videos phase
-        validationRunRepository.save(run);
+        Set<String> failedWrites = bulkSave(run, "Videos", updated, videoRepository::saveAll, Video::getId);
+
+        List<String> archivedVideoIds = new ArrayList<>();
+        for (Video video : archived) {
+            if (failedWrites.contains(video.getId())) {
+                continue;
+            }
+            try {
+                if (archivedIdIndex != null) archivedIdIndex.record(video);
+                streamIndexService.markStreamArchived(video.getYoutubeId());
+
+                run.incrementVideosArchived();
+                archivedVideoIds.add(video.getId());
+
+                auditLogService.logSystem(
+                        "video_auto_archived",
+                        "video",
+                        video.getId(),
+                        actorName != null ? actorName : "Content Validation"
+                );
+
+                logger.info("Video auto-archived (confirmed not on YouTube) - youtubeId: {}, title: {}",
+                        video.getYoutubeId(), video.getTitle());
+            } catch (Exception e) {
+                run.incrementError();
+                logger.error("Error processing video archive {}: {}", video.getYoutubeId(), e.getMessage());
+            }
+        }
 
         if (!archivedVideoIds.isEmpty()) {
-            run.addDetail("archivedVideoIds", archivedVideoIds);
+            appendDetail(run, "archivedVideoIds", archivedVideoIds);
             try {
                 publicContentCacheService.evictPublicContentCaches();
             } catch (Exception e) {
@@ -745,11 +1290,12 @@ public class ContentValidationService {
             }
         }
         if (!errorVideoIds.isEmpty()) {
-            run.addDetail("errorVideoIds", errorVideoIds);
+            appendDetail(run, "errorVideoIds", errorVideoIds);
         }
         if (skippedCount > 0) {
-            run.addDetail("skippedVideosCount", skippedCount);
+            addToCountDetail(run, "skippedVideosCount", skippedCount);
         }
+        return skippedCount;
     }
 
     // ==================== Get Content for Validation ====================
@@ -1044,14 +1590,17 @@ public class ContentValidationService {
                 switch (contentType.toLowerCase()) {
                     case "channel":
                         channelRepository.deleteById(id);
+                        if (archivedIdIndex != null) archivedIdIndex.removed(YouTubeContentType.CHANNEL, id);
                         auditLogService.logSystem("channel_deleted", "channel", id, actorName);
                         break;
                     case "playlist":
                         playlistRepository.deleteById(id);
+                        if (archivedIdIndex != null) archivedIdIndex.removed(YouTubeContentType.PLAYLIST, id);
                         auditLogService.logSystem("playlist_deleted", "playlist", id, actorName);
                         break;
                     case "video":
                         videoRepository.deleteById(id);
+                        if (archivedIdIndex != null) archivedIdIndex.removed(YouTubeContentType.VIDEO, id);
                         auditLogService.logSystem("video_deleted", "video", id, actorName);
                         break;
                     default:
@@ -1085,6 +1634,7 @@ public class ContentValidationService {
                             channel.setValidationStatus(ValidationStatus.VALID);
                             channel.setLastValidatedAt(Timestamp.now());
                             channelRepository.save(channel);
+                            if (archivedIdIndex != null) archivedIdIndex.record(channel);
                             auditLogService.logSystem("channel_restored", "channel", id, actorName);
                             restored = true;
                         } else {
@@ -1097,6 +1647,7 @@ public class ContentValidationService {
                             playlist.setValidationStatus(ValidationStatus.VALID);
                             playlist.setLastValidatedAt(Timestamp.now());
                             playlistRepository.save(playlist);
+                            if (archivedIdIndex != null) archivedIdIndex.record(playlist);
                             auditLogService.logSystem("playlist_restored", "playlist", id, actorName);
                             restored = true;
                         } else {
@@ -1109,6 +1660,7 @@ public class ContentValidationService {
                             video.setValidationStatus(ValidationStatus.VALID);
                             video.setLastValidatedAt(Timestamp.now());
                             videoRepository.save(video);
+                            if (archivedIdIndex != null) archivedIdIndex.record(video);
                             auditLogService.logSystem("video_restored", "video", id, actorName);
                             restored = true;
                         } else {
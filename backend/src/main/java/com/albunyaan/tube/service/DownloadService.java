@@ -11,6 +11,8 @@ import com.albunyaan.tube.model.DownloadEvent;
 import com.albunyaan.tube.model.ValidationStatus;
 import com.albunyaan.tube.model.Video;
 import com.albunyaan.tube.repository.VideoRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.cloud.firestore.Firestore;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.stream.AudioStream;
@@ -18,12 +20,16 @@ import org.schabi.newpipe.extractor.stream.StreamInfo;
 import org.schabi.newpipe.extractor.stream.VideoStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class DownloadService {
@@ -32,17 +38,46 @@ public class DownloadService {
     // Quality threshold for requiring FFmpeg merging (above this = video-only + audio)
     private static final int QUALITY_MERGE_THRESHOLD = 480;
 
+    // Validation queue reports accepted per user/device per window from download-failed analytics
+    private static final int FAILURE_REPORTS_PER_WINDOW = 20;
+    private static final long FAILURE_REPORT_WINDOW_MINUTES = 60;
+    private static final String ANONYMOUS_USER = "anonymous";
+
     private final VideoRepository videoRepository;
     private final DownloadTokenService tokenService;
     private final YouTubeGateway youtubeGateway;
     private final Firestore firestore;
+    @Nullable
+    private final ExtractionResultCache extractionCache;
+    @Nullable
+    private final ValidationQueueService validationQueue;
+    private final Cache<String, AtomicInteger> failureReportLimit = Caffeine.newBuilder()
+            .expireAfterWrite(FAILURE_REPORT_WINDOW_MINUTES, TimeUnit.MINUTES)
+            .maximumSize(10_000)
+            .build();
 
     public DownloadService(VideoRepository videoRepository, DownloadTokenService tokenService,
                            YouTubeGateway youtubeGateway, Firestore firestore) {
+        this(videoRepository, tokenService, youtubeGateway, firestore, null);
+    }
+
+    public DownloadService(VideoRepository videoRepository, DownloadTokenService tokenService,
+                           YouTubeGateway youtubeGateway, Firestore firestore,
+                           @Nullable ExtractionResultCache extractionCache) {
+        this(videoRepository, tokenService, youtubeGateway, firestore, extractionCache, null);
+    }
+
+    @Autowired
+    public DownloadService(VideoRepository videoRepository, DownloadTokenService tokenService,
+                           YouTubeGateway youtubeGateway, Firestore firestore,
+                           @Nullable ExtractionResultCache extractionCache,
+                           @Nullable ValidationQueueService validationQueue) {
         this.videoRepository = videoRepository;
         this.tokenService = tokenService;
         this.youtubeGateway = youtubeGateway;
         this.firestore = firestore;
+        this.extractionCache = extractionCache;
+        this.validationQueue = validationQueue;
     }
 
     public DownloadPolicyDto checkDownloadPolicy(String videoId, String uid) throws ExecutionException, InterruptedException, java.util.concurrent.TimeoutException {
@@ -107,10 +142,14 @@ public class DownloadService {
             throw new ResourceNotFoundException("Video", videoId);
         }
 
-        // Fetch stream info from NewPipe
+        // Fetch stream info from NewPipe; cached entries never outlive the stream URLs' expire
         StreamInfo streamInfo;
-        try {
-            streamInfo = youtubeGateway.fetchStreamInfo(videoId);
+        try (YouTubeRequestScheduler.LaneScope ignored =
+                     YouTubeRequestScheduler.withLane(YouTubeRequestScheduler.Lane.DOWNLOAD)) {
+            streamInfo = extractionCache != null
+                    ? extractionCache.get(ExtractionResultCache.Kind.STREAM, videoId, StreamInfo.class,
+                            () -> youtubeGateway.fetchStreamInfo(videoId))
+                    : youtubeGateway.fetchStreamInfo(videoId);
         } catch (IOException | ExtractionException e) {
             logger.error("Failed to fetch stream info for video {}: {}", videoId, e.getMessage());
             throw new StreamExtractionException("Failed to fetch video streams: " + e.getMessage(), e);
@@ -342,10 +381,62 @@ public class DownloadService {
     }
 
     public void trackDownloadFailed(String videoId, String userId, String errorReason, String deviceType) {
+        trackDownloadFailed(videoId, userId, null, errorReason, deviceType);
+    }
+
+    /**
+     * Record a failed download and, for an approved video, report it to the validation queue.
+     * The endpoint is anonymous, so queue reports are capped per user (or per device when
+     * signed out) and IDs outside the approved catalog are ignored.
+     */
+    public void trackDownloadFailed(String videoId, String userId, @Nullable String deviceId,
+                                    String errorReason, String deviceType) {
         DownloadEvent event = new DownloadEvent(videoId, userId, "failed");
         event.setErrorReason(errorReason);
         event.setDeviceType(deviceType);
         firestore.collection("download_events").add(event);
+        // Client-side failures move the video up the validation queue
+        if (validationQueue != null && allowFailureReport(userId, deviceId) && isReportable(videoId)) {
+            validationQueue.reportPlaybackFailure(videoId);
+        }
+    }
+
+    private boolean allowFailureReport(String userId, @Nullable String deviceId) {
+        String reporter;
+        if (userId != null && !userId.isBlank() && !ANONYMOUS_USER.equals(userId)) {
+            reporter = "uid:" + userId;
+        } else if (deviceId != null && !deviceId.isBlank()) {
+            reporter = "device:" + deviceId;
+        } else {
+            reporter = ANONYMOUS_USER;
+        }
+        AtomicInteger count = failureReportLimit.get(reporter, k -> new AtomicInteger(0));
+        int prev = count.getAndUpdate(p -> p >= FAILURE_REPORTS_PER_WINDOW ? p : p + 1);
+        if (prev >= FAILURE_REPORTS_PER_WINDOW) {
+            logger.debug("Playback failure report dropped: limit reached for {}", reporter);
+            return false;
+        }
+        return true;
+    }
+
+    /** Only approved videos still in the catalog are worth revalidating. */
+    private boolean isReportable(String videoId) {
+        if (videoId == null || videoId.isBlank()) {
+            return false;
+        }
+        try {
+            Video video = videoRepository.findByYoutubeId(videoId).orElse(null);
+            return video != null
+                    && "APPROVED".equals(video.getStatus())
+                    && video.getValidationStatus() != ValidationStatus.ARCHIVED
+                    && video.getValidationStatus() != ValidationStatus.UNAVAILABLE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            logger.debug("Playback failure report dropped: lookup of {} failed: {}", videoId, e.getMessage());
+            return false;
+        }
     }
 }
 
@@ -0,0 +1,435 @@
+package com.albunyaan.tube.service;
+
+import com.albunyaan.tube.config.TieredCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.schabi.newpipe.extractor.Info;
+import org.schabi.newpipe.extractor.exceptions.ContentNotAvailableException;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.stream.Stream;
+import org.schabi.newpipe.extractor.stream.StreamInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Extraction-result cache for NewPipe {@code ChannelInfo}, {@code PlaylistInfo} and
+ * {@code StreamInfo}, shared by every caller that can live with a cached copy (details
+ * pages, download manifests). Validation keeps calling the gateway directly and only
+ * writes its results through {@link #put}.
+ *
+ * Each entry is fresh until its per-kind TTL, then stale until a hard limit:
+ * - channel / playlist metadata: fresh for {@code metadata-ttl-minutes}, stale for
+ *   {@code max-stale-hours} more;
+ * - streams: fresh for {@code app.newpipe.stream-cache-ttl-minutes}, but never past the
+ *   earliest {@code expire} of the stream URLs (less a safety margin), which is also the hard
+ *   limit — a manifest with dead URLs is worse than an error. Streams without an
+ *   {@code expire} get no stale window.
+ *
+ * Fresh entries are returned without touching YouTube. Stale entries are returned only
+ * instead of a call the circuit breaker blocks (or a failure that leaves it open); content
+ * that is confirmed gone is never masked.
+ *
+ * Entries live in a local Caffeine cache and, with the tiered cache enabled
+ * ({@code app.cache.tiered.enabled}), in Redis as gzipped Java serialization (the NewPipe
+ * Info types are Serializable) behind a class allow-list. Redis failures degrade to
+ * local-only for {@code app.cache.tiered.failure-backoff}; they never fail the caller.
+ */
+@Component
+public class ExtractionResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ExtractionResultCache.class);
+
+    static final byte FORMAT_VERSION = 1;
+    static final String KEY_PREFIX = "albunyaan:newpipe:";
+
+    /** Stream URLs are not handed out this close to their {@code expire}. */
+    static final long EXPIRY_MARGIN_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final Pattern EXPIRE_PARAM = Pattern.compile("[?&/]expire[=/](\\d{9,11})");
+
+    private static final ObjectInputFilter CLASS_FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=64;maxrefs=1000000;maxarray=1000000;"
+                    + "org.schabi.newpipe.**;java.lang.*;java.util.*;java.time.*;java.io.IOException;!*");
+
+    public enum Kind {
+        CHANNEL, PLAYLIST, STREAM;
+
+        final String tag = name().toLowerCase();
+    }
+
+    /** A NewPipe call that may be answered from the cache. */
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws IOException, ExtractionException;
+    }
+
+    record Entry(Info value, long freshUntil, long staleUntil) {
+        boolean isFresh(long now) {
+            return now < freshUntil;
+        }
+
+        boolean isUsable(long now) {
+            return now < staleUntil;
+        }
+    }
+
+    private final boolean enabled;
+    private final long metadataTtlMs;
+    private final long streamTtlMs;
+    private final long maxStaleMs;
+    private final long failureBackoffMs;
+    private final LongSupplier clock;
+    private final Cache<String, Entry> local;
+
+    @Nullable
+    private final YouTubeCircuitBreaker circuitBreaker;
+    @Nullable
+    private final RedisTemplate<String, byte[]> redis;
+    @Nullable
+    private final MeterRegistry meterRegistry;
+
+    private volatile long redisBypassUntil;
+
+    /** Local-only cache with a caller-supplied clock. */
+    ExtractionResultCache(Duration metadataTtl, Duration streamTtl, Duration maxStale, int maxEntries,
+                          @Nullable YouTubeCircuitBreaker circuitBreaker, LongSupplier clock) {
+        this(true, metadataTtl, streamTtl, maxStale, maxEntries, Duration.ofSeconds(30),
+                circuitBreaker, null, null, clock);
+    }
+
+    @Autowired
+    public ExtractionResultCache(
+            @Value("${app.newpipe.extraction-cache.enabled:true}") boolean enabled,
+            @Value("${app.newpipe.extraction-cache.metadata-ttl-minutes:360}") int metadataTtlMinutes,
+            @Value("${app.newpipe.stream-cache-ttl-minutes:30}") int streamTtlMinutes,
+            @Value("${app.newpipe.extraction-cache.max-stale-hours:72}") int maxStaleHours,
+            @Value("${app.newpipe.extraction-cache.max-entries:5000}") int maxEntries,
+            TieredCacheProperties tieredProperties,
+            ObjectProvider<RedisConnectionFactory> redisConnectionFactory,
+            @Nullable YouTubeCircuitBreaker circuitBreaker,
+            @Nullable MeterRegistry meterRegistry) {
+        this(enabled, Duration.ofMinutes(metadataTtlMinutes), Duration.ofMinutes(streamTtlMinutes),
+                Duration.ofHours(maxStaleHours), maxEntries, tieredProperties.getFailureBackoff(),
+                circuitBreaker,
+                tieredProperties.isEnabled() ? redisTemplate(redisConnectionFactory.getIfAvailable()) : null,
+                meterRegistry, System::currentTimeMillis);
+        log.info("NewPipe extraction cache: enabled={}, metadata TTL {}m, stream TTL {}m, max stale {}h, shared={}",
+                enabled, metadataTtlMinutes, streamTtlMinutes, maxStaleHours, redis != null);
+    }
+
+    private ExtractionResultCache(boolean enabled, Duration metadataTtl, Duration streamTtl, Duration maxStale,
+                                  int maxEntries, Duration failureBackoff,
+                                  @Nullable YouTubeCircuitBreaker circuitBreaker,
+                                  @Nullable RedisTemplate<String, byte[]> redis,
+                                  @Nullable MeterRegistry meterRegistry, LongSupplier clock) {
+        this.enabled = enabled;
+        this.metadataTtlMs = metadataTtl.toMillis();
+        this.streamTtlMs = streamTtl.toMillis();
+        this.maxStaleMs = maxStale.toMillis();
+        this.failureBackoffMs = failureBackoff.toMillis();
+        this.circuitBreaker = circuitBreaker;
+        this.redis = redis;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return remainingNanos(entry);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return remainingNanos(entry);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    @Nullable
+    private static RedisTemplate<String, byte[]> redisTemplate(@Nullable RedisConnectionFactory connectionFactory) {
+        if (connectionFactory == null) {
+            log.warn("app.cache.tiered.enabled is set but no RedisConnectionFactory is configured; "
+                    + "NewPipe extraction cache stays local");
+            return null;
+        }
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * Return the cached result for {@code id} while it is fresh, otherwise call {@code loader}
+     * and cache what it returns. While the circuit breaker is open, a stale entry is returned
+     * instead of calling (or after a failed call to) YouTube.
+     */
+    public <T extends Info> T get(Kind kind, String id, Class<T> type, Loader<T> loader)
+            throws IOException, ExtractionException {
+        if (!enabled || id == null) {
+            return loader.load();
+        }
+        long now = clock.getAsLong();
+        Entry cached = lookup(kind, id, now);
+        if (cached != null && cached.isFresh(now) && type.isInstance(cached.value())) {
+            return type.cast(cached.value());
+        }
+        Entry stale = cached != null && type.isInstance(cached.value()) ? cached : null;
+
+        if (stale != null && circuitBreaker != null && circuitBreaker.isOpen()) {
+            count(kind, "stale");
+            log.debug("Circuit breaker open; serving stale {} {}", kind.tag, id);
+            return type.cast(stale.value());
+        }
+
+        T result;
+        try {
+            result = loader.load();
+        } catch (IOException | ExtractionException e) {
+            if (stale != null && !(e instanceof ContentNotAvailableException) && breakerTripped()) {
+                count(kind, "stale");
+                log.info("Serving stale {} {} after failed extraction: {}", kind.tag, id, e.getMessage());
+                return type.cast(stale.value());
+            }
+            throw e;
+        }
+        put(kind, id, result);
+        return result;
+    }
+
+    /** Cache a result fetched outside {@link #get} (e.g. by validation). */
+    public void put(Kind kind, String id, @Nullable Info value) {
+        if (!enabled || id == null || value == null) return;
+        long now = clock.getAsLong();
+        Entry entry = entryFor(kind, value, now);
+        if (entry == null) return;
+        String key = key(kind, id);
+        local.put(key, entry);
+        store(kind, key, entry, now);
+    }
+
+    /** Drop a cached result, e.g. once the content is confirmed unavailable. */
+    public void evict(Kind kind, String id) {
+        String key = key(kind, id);
+        local.invalidate(key);
+        if (redis == null || !redisUsable()) return;
+        try {
+            redis.delete(key);
+        } catch (RuntimeException e) {
+            redisFailed(kind, e);
+        }
+    }
+
+    // ---- TTLs ----
+
+    @Nullable
+    Entry entryFor(Kind kind, Info value, long now) {
+        if (kind != Kind.STREAM) {
+            long freshUntil = now + metadataTtlMs;
+            return new Entry(value, freshUntil, freshUntil + maxStaleMs);
+        }
+        long freshUntil = now + streamTtlMs;
+        long urlsExpireAt = value instanceof StreamInfo info ? earliestUrlExpiry(info) : Long.MAX_VALUE;
+        if (urlsExpireAt == Long.MAX_VALUE) {
+            return new Entry(value, freshUntil, freshUntil);
+        }
+        long usableUntil = urlsExpireAt - EXPIRY_MARGIN_MS;
+        if (usableUntil <= now) {
+            return null;
+        }
+        return new Entry(value, Math.min(freshUntil, usableUntil), usableUntil);
+    }
+
+    /** Earliest {@code expire} (epoch millis) across the stream URLs, or Long.MAX_VALUE if none carry one. */
+    static long earliestUrlExpiry(StreamInfo info) {
+        long earliest = Long.MAX_VALUE;
+        earliest = Math.min(earliest, urlExpiry(info.getHlsUrl()));
+        earliest = Math.min(earliest, urlExpiry(info.getDashMpdUrl()));
+        earliest = Math.min(earliest, streamsExpiry(info.getVideoStreams()));
+        earliest = Math.min(earliest, streamsExpiry(info.getVideoOnlyStreams()));
+        earliest = Math.min(earliest, streamsExpiry(info.getAudioStreams()));
+        return earliest;
+    }
+
+    private static long streamsExpiry(@Nullable List<? extends Stream> streams) {
+        long earliest = Long.MAX_VALUE;
+        if (streams == null) return earliest;
+        for (Stream stream : streams) {
+            earliest = Math.min(earliest, urlExpiry(stream.getContent()));
+        }
+        return earliest;
+    }
+
+    static long urlExpiry(@Nullable String url) {
+        if (url == null || url.isEmpty()) return Long.MAX_VALUE;
+        Matcher m = EXPIRE_PARAM.matcher(url);
+        return m.find() ? TimeUnit.SECONDS.toMillis(Long.parseLong(m.group(1))) : Long.MAX_VALUE;
+    }
+
+    private long remainingNanos(Entry entry) {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, entry.staleUntil() - clock.getAsLong()));
+    }
+
+    // ---- tiers ----
+
+    /**
+     * The freshest usable entry from L1, then Redis (another node may have refreshed it).
+     * May return a stale entry; counts a miss unless the result is fresh.
+     */
+    @Nullable
+    private Entry lookup(Kind kind, String id, long now) {
+        String key = key(kind, id);
+        Entry entry = local.getIfPresent(key);
+        if (entry != null && !entry.isUsable(now)) entry = null;
+        if (entry != null && entry.isFresh(now)) {
+            count(kind, "hit");
+            return entry;
+        }
+        Entry remote = load(kind, key);
+        if (remote != null && remote.isUsable(now)
+                && (entry == null || remote.freshUntil() > entry.freshUntil())) {
+            local.put(key, remote);
+            entry = remote;
+        }
+        count(kind, entry != null && entry.isFresh(now) ? "remote_hit" : "miss");
+        return entry;
+    }
+
+    @Nullable
+    private Entry load(Kind kind, String key) {
+        if (redis == null || !redisUsable()) return null;
+        byte[] data;
+        try {
+            data = redis.opsForValue().get(key);
+        } catch (RuntimeException e) {
+            redisFailed(kind, e);
+            return null;
+        }
+        if (data == null) return null;
+        try {
+            return decode(data);
+        } catch (IOException | ClassNotFoundException e) {
+            // Another format version or NewPipe release during a rolling deploy; extract again.
+            log.debug("NewPipe extraction cache: undecodable entry {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(Kind kind, String key, Entry entry, long now) {
+        if (redis == null || !redisUsable()) return;
+        byte[] data;
+        try {
+            data = encode(entry);
+        } catch (IOException e) {
+            count(kind, "unencodable");
+            log.debug("NewPipe extraction cache: cannot encode {}: {}", key, e.getMessage());
+            return;
+        }
+        try {
+            redis.opsForValue().set(key, data, Duration.ofMillis(entry.staleUntil() - now));
+        } catch (RuntimeException e) {
+            redisFailed(kind, e);
+        }
+    }
+
+    /** Version byte, fresh/stale deadlines, then the gzipped Info. */
+    static byte[] encode(Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(entry.freshUntil());
+            out.writeLong(entry.staleUntil());
+            try (ObjectOutputStream objects = new ObjectOutputStream(new GZIPOutputStream(out))) {
+                objects.writeObject(entry.value());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static Entry decode(byte[] data) throws IOException, ClassNotFoundException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported extraction cache format version " + version);
+            }
+            long freshUntil = in.readLong();
+            long staleUntil = in.readLong();
+            try (ObjectInputStream objects = new ObjectInputStream(new GZIPInputStream(in))) {
+                objects.setObjectInputFilter(CLASS_FILTER);
+                Object value = objects.readObject();
+                if (!(value instanceof Info info)) {
+                    throw new IOException("Cached value is not a NewPipe Info");
+                }
+                return new Entry(info, freshUntil, staleUntil);
+            }
+        }
+    }
+
+    private static String key(Kind kind, String id) {
+        return KEY_PREFIX + kind.tag + ":" + id;
+    }
+
+    private boolean breakerTripped() {
+        return circuitBreaker != null && circuitBreaker.getCurrentState() != YouTubeCircuitBreaker.State.CLOSED;
+    }
+
+    private boolean redisUsable() {
+        return clock.getAsLong() >= redisBypassUntil;
+    }
+
+    private void redisFailed(Kind kind, RuntimeException e) {
+        count(kind, "error");
+        boolean firstInWindow = redisUsable();
+        redisBypassUntil = clock.getAsLong() + failureBackoffMs;
+        if (firstInWindow) {
+            log.warn("NewPipe extraction cache: Redis unavailable, local-only for {}ms: {}",
+                    failureBackoffMs, e.getMessage());
+        }
+    }
+
+    private void count(Kind kind, String result) {
+        if (meterRegistry == null) return;
+        Counter.builder("newpipe.extraction.cache")
+                .tag("kind", kind.tag)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -11,9 +11,12 @@ import com.albunyaan.tube.repository.CategoryRepository;
 import com.albunyaan.tube.repository.ChannelRepository;
 import com.albunyaan.tube.repository.PlaylistRepository;
 import com.albunyaan.tube.repository.VideoRepository;
+import com.albunyaan.tube.service.sync.ArchivedIdIndex;
 import com.google.cloud.Timestamp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -44,6 +47,7 @@ public class ImportExportService {
     private final VideoRepository videoRepository;
     private final AuditLogService auditLogService;
     private final VideoValidationService videoValidationService;
+    private final ArchivedIdIndex archivedIdIndex;
 
     public ImportExportService(
             CategoryRepository categoryRepository,
@@ -52,6 +56,20 @@ public class ImportExportService {
             VideoRepository videoRepository,
             AuditLogService auditLogService,
             VideoValidationService videoValidationService
+    ) {
+        this(categoryRepository, channelRepository, playlistRepository, videoRepository,
+                auditLogService, videoValidationService, null);
+    }
+
+    @Autowired
+    public ImportExportService(
+            CategoryRepository categoryRepository,
+            ChannelRepository channelRepository,
+            PlaylistRepository playlistRepository,
+            VideoRepository videoRepository,
+            AuditLogService auditLogService,
+            VideoValidationService videoValidationService,
+            @Nullable ArchivedIdIndex archivedIdIndex
     ) {
         this.categoryRepository = categoryRepository;
         this.channelRepository = channelRepository;
@@ -59,6 +77,7 @@ public class ImportExportService {
         this.videoRepository = videoRepository;
         this.auditLogService = auditLogService;
         this.videoValidationService = videoValidationService;
+        this.archivedIdIndex = archivedIdIndex;
     }
 
     /**
@@ -187,6 +206,8 @@ public class ImportExportService {
                     channel.setUpdatedAt(com.google.cloud.Timestamp.now());
 
                     channelRepository.save(channel);
+                    // The imported document carries its own validationStatus
+                    if (archivedIdIndex != null) archivedIdIndex.record(channel);
                     counts.incrementChannelsImported();
                 } catch (Exception e) {
                     logger.error("Failed to import channel {}: {}", channel.getId(), e.getMessage());
@@ -219,6 +240,7 @@ public class ImportExportService {
                     playlist.setUpdatedAt(com.google.cloud.Timestamp.now());
 
                     playlistRepository.save(playlist);
+                    if (archivedIdIndex != null) archivedIdIndex.record(playlist);
                     counts.incrementPlaylistsImported();
                 } catch (Exception e) {
                     logger.error("Failed to import playlist {}: {}", playlist.getId(), e.getMessage());
@@ -255,6 +277,7 @@ public class ImportExportService {
                     video.setUpdatedAt(com.google.cloud.Timestamp.now());
 
                     videoRepository.save(video);
+                    if (archivedIdIndex != null) archivedIdIndex.record(video);
                     counts.incrementVideosImported();
                     importedVideos.add(video);
                 } catch (Exception e) {
@@ -1,22 +1,51 @@
 package com.albunyaan.tube.service;
 
 import com.albunyaan.tube.config.CacheConfig;
+import com.albunyaan.tube.config.cache.DependencyAwareCache;
+import com.albunyaan.tube.service.catalog.PublicCatalogSnapshotService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
 /**
  * Service for evicting public content caches.
  *
  * Called after any content mutation (approve, reject, delete, reorder, add, category change)
  * to ensure the Android app sees changes immediately instead of waiting for the 1-hour TTL.
+ * Also invalidates the in-memory public catalog snapshot so browse reads fall back to
+ * Firestore until the snapshot has been rebuilt.
+ *
+ * Prefer {@link #evictForChange} when the mutation is known: it drops only the cached pages
+ * that declared a dependency on the changed kind and categories (see {@link PublicContentChange}),
+ * so e.g. reordering one category leaves every other category's pages warm.
  */
 @Service
 public class PublicContentCacheService {
 
     private static final Logger log = LoggerFactory.getLogger(PublicContentCacheService.class);
 
+    private static final List<String> PUBLIC_CACHES = List.of(
+            CacheConfig.CACHE_PUBLIC_CONTENT,
+            CacheConfig.CACHE_PUBLIC_CONTENT_SEARCH,
+            CacheConfig.CACHE_CATEGORY_TREE);
+
+    private final CacheManager cacheManager;
+    private final PublicCatalogSnapshotService catalogSnapshotService;
+
+    public PublicContentCacheService(CacheManager cacheManager,
+                                     @Nullable PublicCatalogSnapshotService catalogSnapshotService) {
+        this.cacheManager = cacheManager;
+        this.catalogSnapshotService = catalogSnapshotService;
+    }
+
     /**
      * Evict all public-facing content caches.
      *
@@ -27,6 +56,8 @@ public class PublicContentCacheService {
      * - newpipe-search-results: moderator YouTube-search responses (the
      *   {@code alreadyKnown} annotation is baked into the cached value, so
      *   any registry mutation can leave it stale).
+     *
+     * and marks the public catalog snapshot stale.
      */
     @CacheEvict(value = {
             CacheConfig.CACHE_PUBLIC_CONTENT,
@@ -35,10 +66,50 @@ public class PublicContentCacheService {
             CacheConfig.CACHE_NEWPIPE_SEARCH_RESULTS
     }, allEntries = true)
     public void evictPublicContentCaches() {
+        if (catalogSnapshotService != null) {
+            catalogSnapshotService.markStale();
+        }
         log.debug("Evicted public content caches: {}, {}, {}, {}",
                 CacheConfig.CACHE_PUBLIC_CONTENT,
                 CacheConfig.CACHE_PUBLIC_CONTENT_SEARCH,
                 CacheConfig.CACHE_CATEGORY_TREE,
                 CacheConfig.CACHE_NEWPIPE_SEARCH_RESULTS);
     }
+
+    /**
+     * Evict only the public cache entries that depend on the given change.
+     *
+     * Caches that cannot track dependencies are cleared as a whole. The moderator search
+     * cache is cleared for channel/playlist/video changes only, since category edits do not
+     * affect its {@code alreadyKnown} annotation. The catalog snapshot is always marked stale.
+     */
+    public void evictForChange(PublicContentChange change) {
+        evictForChanges(List.of(change));
+    }
+
+    public void evictForChanges(Collection<PublicContentChange> changes) {
+        if (changes.isEmpty()) return;
+        // Stale first: a request landing between eviction and markStale() would otherwise
+        // re-populate the evicted entries from the pre-change snapshot.
+        if (catalogSnapshotService != null) {
+            catalogSnapshotService.markStale();
+        }
+        boolean contentChanged = false;
+        for (PublicContentChange change : new LinkedHashSet<>(changes)) {
+            for (String name : PUBLIC_CACHES) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache instanceof DependencyAwareCache aware) {
+                    aware.evictDependents(change.kind().name(), change.categoryIds());
+                } else if (cache != null) {
+                    cache.clear();
+                }
+            }
+            contentChanged |= change.kind().isContent();
+        }
+        if (contentChanged) {
+            Cache newpipe = cacheManager.getCache(CacheConfig.CACHE_NEWPIPE_SEARCH_RESULTS);
+            if (newpipe != null) newpipe.clear();
+        }
+        log.debug("Evicted public cache entries depending on {}", changes);
+    }
 }
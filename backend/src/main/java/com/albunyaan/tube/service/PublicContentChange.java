@@ -0,0 +1,89 @@
+package com.albunyaan.tube.service;
+
+import com.albunyaan.tube.config.cache.CacheDependencies;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A mutation of public content, used to invalidate only the cached pages that depend on it.
+ *
+ * Cached public reads declare what they were built from via {@link #dependsOn} (kind + category
+ * scope); {@link PublicContentCacheService#evictForChange} drops only the matching entries.
+ *
+ * @param kind        what changed
+ * @param id          ID of the changed item or category (informational)
+ * @param categoryIds categories the change affects (old and new for moves), or null if unknown
+ */
+public record PublicContentChange(Kind kind, String id, @Nullable Set<String> categoryIds) {
+
+    public enum Kind {
+        CHANNEL,
+        PLAYLIST,
+        VIDEO,
+        /** Category metadata, hierarchy or display order. */
+        CATEGORY,
+        /** Admin sort order of content within a category. */
+        ORDER;
+
+        boolean isContent() {
+            return this == CHANNEL || this == PLAYLIST || this == VIDEO;
+        }
+    }
+
+    public PublicContentChange {
+        categoryIds = categoryIds != null ? Set.copyOf(categoryIds) : null;
+    }
+
+    /**
+     * Change to a channel, playlist or video.
+     *
+     * @param type "channel"/"playlist"/"video" in any case (plural accepted)
+     */
+    public static PublicContentChange content(String type, String id, @Nullable Collection<String> categoryIds) {
+        return new PublicContentChange(contentKind(type), id, categoryIds != null ? Set.copyOf(categoryIds) : null);
+    }
+
+    /** Sort order of content within one category changed. */
+    public static PublicContentChange order(String categoryId) {
+        return new PublicContentChange(Kind.ORDER, categoryId, Set.of(categoryId));
+    }
+
+    /** Category created, edited, moved, reordered or deleted; every page depends on the tree. */
+    public static PublicContentChange category(String categoryId) {
+        return new PublicContentChange(Kind.CATEGORY, categoryId, null);
+    }
+
+    static Kind contentKind(String type) {
+        String normalized = type.toUpperCase(Locale.ROOT);
+        if (normalized.endsWith("S")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        Kind kind = Kind.valueOf(normalized);
+        if (!kind.isContent()) {
+            throw new IllegalArgumentException("Not a content type: " + type);
+        }
+        return kind;
+    }
+
+    /**
+     * Declare that the cached value being computed depends on {@code kind} within the given
+     * categories (null = any category). No-op outside a cache computation.
+     */
+    public static void dependsOn(Kind kind, @Nullable Collection<String> categoryIds) {
+        if (categoryIds == null) {
+            CacheDependencies.declare(kind.name(), (String) null);
+        } else {
+            CacheDependencies.declare(kind.name(), categoryIds);
+        }
+    }
+
+    /** Shorthand for channels, playlists and videos within the given categories. */
+    public static void dependsOnContent(@Nullable Collection<String> categoryIds) {
+        dependsOn(Kind.CHANNEL, categoryIds);
+        dependsOn(Kind.PLAYLIST, categoryIds);
+        dependsOn(Kind.VIDEO, categoryIds);
+    }
+}
@@ -21,9 +21,20 @@ import com.albunyaan.tube.repository.PlaylistRepository;
 import com.albunyaan.tube.repository.SearchableStreamRepository;
 import com.albunyaan.tube.repository.VideoRepository;
 import com.albunyaan.tube.repository.CategoryRepository;
+import com.albunyaan.tube.service.catalog.CategoryKeysetMerge;
+import com.albunyaan.tube.service.catalog.FirestoreCatalogReader;
+import com.albunyaan.tube.service.catalog.HomeFeedProjector;
+import com.albunyaan.tube.service.catalog.PublicCatalogReader;
+import com.albunyaan.tube.service.catalog.PublicCatalogSnapshot;
+import com.albunyaan.tube.service.catalog.PublicCatalogSnapshotService;
+import com.albunyaan.tube.service.search.PublicSearchIndexService;
+import com.albunyaan.tube.util.CursorUtils;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -33,6 +44,7 @@ import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -43,6 +55,8 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -60,33 +74,83 @@ public class PublicContentService {
     // search results for legacy documents missing the nameLower field.
     private static final int LEGACY_SEARCH_SCAN_LIMIT = 500;
 
+    // Opaque cursor IDs of the multi-category keyset pages (see CategoryKeysetMerge).
+    private static final String MERGE_CURSOR_ID = "merge";
+    private static final String CATEGORY_CURSOR_ID = "category";
+
+    // A filtered keyset page reads at most this many times its limit before returning short.
+    private static final int MERGE_SCAN_FACTOR = 10;
+
     private final ChannelRepository channelRepository;
     private final PlaylistRepository playlistRepository;
     private final VideoRepository videoRepository;
-    private final CategoryRepository categoryRepository;
-    private final CategoryContentOrderRepository orderRepository;
     private final Executor contentExecutor;
     private final SearchableStreamRepository searchableStreamRepository;
     private final SearchTokenizer searchTokenizer;
+    private final PublicCatalogReader firestoreCatalog;
+    private final PublicCatalogSnapshotService catalogSnapshotService;
+    private final PublicSearchIndexService searchIndex;
+    private final HomeFeedProjector homeFeedProjector;
 
+    /**
+     * Test seam: no catalog snapshot, search index or home projection; every read goes to Firestore.
+     */
     public PublicContentService(
             ChannelRepository channelRepository,
             PlaylistRepository playlistRepository,
             VideoRepository videoRepository,
             CategoryRepository categoryRepository,
             CategoryContentOrderRepository orderRepository,
-            @org.springframework.beans.factory.annotation.Qualifier("publicContentExecutor") Executor contentExecutor,
+            Executor contentExecutor,
             SearchableStreamRepository searchableStreamRepository,
             SearchTokenizer searchTokenizer
+    ) {
+        this(channelRepository, playlistRepository, videoRepository, categoryRepository, orderRepository,
+                contentExecutor, searchableStreamRepository, searchTokenizer, null, null, null);
+    }
+
+    @Autowired
+    public PublicContentService(
+            ChannelRepository channelRepository,
+            PlaylistRepository playlistRepository,
+            VideoRepository videoRepository,
+            CategoryRepository categoryRepository,
+            CategoryContentOrderRepository orderRepository,
+            @org.springframework.beans.factory.annotation.Qualifier("publicContentExecutor") Executor contentExecutor,
+            SearchableStreamRepository searchableStreamRepository,
+            SearchTokenizer searchTokenizer,
+            @Nullable PublicCatalogSnapshotService catalogSnapshotService,
+            @Nullable PublicSearchIndexService searchIndex,
+            @Nullable HomeFeedProjector homeFeedProjector
     ) {
         this.channelRepository = channelRepository;
         this.playlistRepository = playlistRepository;
         this.videoRepository = videoRepository;
-        this.categoryRepository = categoryRepository;
-        this.orderRepository = orderRepository;
         this.contentExecutor = contentExecutor;
         this.searchableStreamRepository = searchableStreamRepository;
         this.searchTokenizer = searchTokenizer;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.searchIndex = searchIndex;
+        this.homeFeedProjector = homeFeedProjector;
+        this.firestoreCatalog = new FirestoreCatalogReader(
+                channelRepository, playlistRepository, videoRepository, categoryRepository, orderRepository);
+    }
+
+    /** Bound once constructed; the snapshot service holds its first build until all singletons are ready. */
+    @PostConstruct
+    public void bindHomeFeedProjector() {
+        if (homeFeedProjector != null) {
+            homeFeedProjector.bind((catalog, categoryIds, limit) -> getCategoryContentItems(catalog, categoryIds, limit));
+        }
+    }
+
+    /**
+     * Reader for public browse queries: the in-memory catalog snapshot when a fresh one
+     * is published, otherwise Firestore (startup, or a mutation is pending rebuild).
+     */
+    private PublicCatalogReader catalog() {
+        PublicCatalogSnapshot snapshot = catalogSnapshotService != null ? catalogSnapshotService.current() : null;
+        return snapshot != null ? snapshot : firestoreCatalog;
     }
 
     /**
@@ -104,7 +168,8 @@ public class PublicContentService {
      */
     @Cacheable(value = CacheConfig.CACHE_PUBLIC_CONTENT,
                key = "(#type == null || #type.isBlank() ? 'HOME' : #type).toUpperCase(T(java.util.Locale).ROOT) + '-' + T(com.albunyaan.tube.service.PublicContentService).cacheCursorKey(#type, #cursor) + '-' + #limit + '-' + #category + '-' + #length + '-' + #date + '-' + #sort + '-q' + (#q == null ? '' : #q)",
-               condition = "#q == null || #q.isBlank()")
+               condition = "#q == null || #q.isBlank()",
+               sync = true)
     public CursorPageDto<ContentItemDto> getContent(
             String type, String cursor, int limit,
             String category, String length, String date, String sort, String q
@@ -122,6 +187,7 @@ public class PublicContentService {
         if (category != null && !category.isBlank()) {
             allCategoryIds = resolveAllCategoryIds(category);
         }
+        declareContentPageDependencies(type, allCategoryIds);
 
         TextFilter textFilter = new TextFilter(q);
 
@@ -150,17 +216,9 @@ public class PublicContentService {
             default:
                 List<ContentItemDto> items;
                 if (allCategoryIds != null) {
-                    // Category specified: use admin-defined sort order with offset pagination.
-                    // Over-fetch by 1 to reliably detect whether a next page exists,
-                    // avoiding phantom cursors when total items are an exact multiple of limit.
-                    int offset = decodeCursorOffset(cursor);
-                    items = getCategoryContentItems(allCategoryIds, limit + 1, offset);
-                    boolean hasNext = items.size() > limit;
-                    if (hasNext) {
-                        items = items.subList(0, limit);
-                    }
-                    String nc = hasNext ? encodeCursor(offset + limit) : null;
-                    return new CursorPageDto<>(items, nc);
+                    // Category specified: admin-defined sort order, then the remaining
+                    // content, resumed from a keyset cursor so deep pages stay cheap.
+                    return getCategoryContentPage(allCategoryIds, limit, cursor);
                 } else {
                     // No category filter: mix content types with default sorting.
                     // getMixedContent does not support offset/cursor, so no next page.
@@ -170,6 +228,21 @@ public class PublicContentService {
         }
     }
 
+    /**
+     * Cache dependencies of a getContent page: the listed content kinds and the admin sort
+     * order within the filtered categories (any category when unfiltered), plus the category tree.
+     */
+    private static void declareContentPageDependencies(String type, List<String> categoryIds) {
+        switch (type.toUpperCase(Locale.ROOT)) {
+            case "CHANNELS" -> PublicContentChange.dependsOn(PublicContentChange.Kind.CHANNEL, categoryIds);
+            case "PLAYLISTS" -> PublicContentChange.dependsOn(PublicContentChange.Kind.PLAYLIST, categoryIds);
+            case "VIDEOS" -> PublicContentChange.dependsOn(PublicContentChange.Kind.VIDEO, categoryIds);
+            default -> PublicContentChange.dependsOnContent(categoryIds);
+        }
+        PublicContentChange.dependsOn(PublicContentChange.Kind.ORDER, categoryIds);
+        PublicContentChange.dependsOn(PublicContentChange.Kind.CATEGORY, null);
+    }
+
     private List<ContentItemDto> getMixedContent(int limit, String category, List<String> allCategoryIds)
             throws ExecutionException, InterruptedException, TimeoutException {
         List<ContentItemDto> mixed = new ArrayList<>();
@@ -193,11 +266,11 @@ public class PublicContentService {
         // Use repository methods with limits for better performance
         if (allCategoryIds != null && allCategoryIds.size() > 1) {
             // Parent category with subcategories: aggregate across all
-            channels = channelRepository.findByCategoryIds(allCategoryIds, limit * 2);
+            channels = catalog().findChannelsByCategoryIds(allCategoryIds, limit * 2);
         } else if (category != null && !category.isBlank()) {
-            channels = channelRepository.findByCategoryOrderBySubscribersDesc(category, limit * 2);
+            channels = catalog().findChannelsByCategory(category, limit * 2);
         } else {
-            channels = channelRepository.findAllByOrderBySubscribersDesc(limit * 2);
+            channels = catalog().findAllChannels(limit * 2);
         }
 
         return channels.stream()
@@ -210,26 +283,20 @@ public class PublicContentService {
 
     /**
      * Get channels with real cursor-based pagination.
-     * When allCategoryIds has multiple entries (parent + children), falls back to
-     * non-cursor aggregation since cursor pagination across multiple categories is complex.
+     * When allCategoryIds has multiple entries (parent + children), the per-category
+     * pages are merged by subscribers under a composite cursor.
      */
     private CursorPageDto<ContentItemDto> getChannelsWithCursor(int limit, String category,
                                                                  List<String> allCategoryIds, String cursor)
             throws ExecutionException, InterruptedException, TimeoutException {
 
-        // Multi-category aggregation: no cursor support (getChannels lacks offset)
         if (allCategoryIds != null && allCategoryIds.size() > 1) {
-            List<ContentItemDto> items = getChannels(limit, category, allCategoryIds);
-            return new CursorPageDto<>(items, null);
+            return mergedPage(CategoryKeysetMerge.channels(catalog(), allCategoryIds, decodeMergeState(cursor), limit),
+                    limit, c -> isApproved(c) && isAvailable(c), this::toDto);
         }
 
-        ChannelRepository.PaginatedResult<Channel> result;
-
-        if (category != null && !category.isBlank()) {
-            result = channelRepository.findApprovedByCategoryAndSubscribersDescWithCursor(category, limit, cursor);
-        } else {
-            result = channelRepository.findApprovedBySubscribersDescWithCursor(limit, cursor);
-        }
+        ChannelRepository.PaginatedResult<Channel> result = catalog().findChannelPage(
+                category != null && !category.isBlank() ? category : null, limit, cursor);
 
         // Finding 3 (review fix): cursor feeds query status=APPROVED but must also exclude
         // PERSONAL-visibility items — isApproved adds the visibility gate (isAvailable alone doesn't).
@@ -248,11 +315,11 @@ public class PublicContentService {
 
         // Use repository methods with limits for better performance
         if (allCategoryIds != null && allCategoryIds.size() > 1) {
-            playlists = playlistRepository.findByCategoryIds(allCategoryIds, limit * 2);
+            playlists = catalog().findPlaylistsByCategoryIds(allCategoryIds, limit * 2);
         } else if (category != null && !category.isBlank()) {
-            playlists = playlistRepository.findByCategoryOrderByItemCountDesc(category, limit * 2);
+            playlists = catalog().findPlaylistsByCategory(category, limit * 2);
         } else {
-            playlists = playlistRepository.findAllByOrderByItemCountDesc(limit * 2);
+            playlists = catalog().findAllPlaylists(limit * 2);
         }
 
         return playlists.stream()
@@ -265,25 +332,19 @@ public class PublicContentService {
 
     /**
      * Get playlists with real cursor-based pagination.
-     * When allCategoryIds has multiple entries, falls back to non-cursor aggregation.
+     * When allCategoryIds has multiple entries, the per-category pages are merged by item count.
      */
     private CursorPageDto<ContentItemDto> getPlaylistsWithCursor(int limit, String category,
                                                                   List<String> allCategoryIds, String cursor)
             throws ExecutionException, InterruptedException, TimeoutException {
 
-        // Multi-category aggregation: no cursor support (getPlaylists lacks offset)
         if (allCategoryIds != null && allCategoryIds.size() > 1) {
-            List<ContentItemDto> items = getPlaylists(limit, category, allCategoryIds);
-            return new CursorPageDto<>(items, null);
+            return mergedPage(CategoryKeysetMerge.playlists(catalog(), allCategoryIds, decodeMergeState(cursor), limit),
+                    limit, p -> isApproved(p) && isAvailable(p), this::toDto);
         }
 
-        PlaylistRepository.PaginatedResult<Playlist> result;
-
-        if (category != null && !category.isBlank()) {
-            result = playlistRepository.findApprovedByCategoryAndItemCountDescWithCursor(category, limit, cursor);
-        } else {
-            result = playlistRepository.findApprovedByItemCountDescWithCursor(limit, cursor);
-        }
+        PlaylistRepository.PaginatedResult<Playlist> result = catalog().findPlaylistPage(
+                category != null && !category.isBlank() ? category : null, limit, cursor);
 
         // Finding 3 (review fix): cursor feeds query status=APPROVED but must also exclude
         // PERSONAL-visibility items — isApproved adds the visibility gate (isAvailable alone doesn't).
@@ -298,32 +359,28 @@ public class PublicContentService {
 
     /**
      * Get videos with real cursor-based pagination.
-     * When allCategoryIds has multiple entries, falls back to non-cursor aggregation.
+     * When allCategoryIds has multiple entries, the per-category pages are merged by upload date.
+     * Length/date filters are applied while walking the same keyset; a sort other than NEWEST
+     * cannot follow the uploadedAt keyset and pages by offset over a bounded window instead.
      */
     private CursorPageDto<ContentItemDto> getVideosWithCursor(int limit, String category,
                                                               List<String> allCategoryIds, String cursor,
                                                               String length, String date, String sort)
             throws ExecutionException, InterruptedException, TimeoutException {
 
-        // Multi-category aggregation: no cursor support (getVideos lacks offset)
-        if (allCategoryIds != null && allCategoryIds.size() > 1) {
-            List<ContentItemDto> items = getVideos(limit, category, allCategoryIds, length, date, sort);
-            return new CursorPageDto<>(items, null);
-        }
-
-        // For default case (no filters, newest first), use efficient cursor pagination
         boolean hasFilters = (length != null && !length.isBlank()) ||
-                            (date != null && !date.isBlank()) ||
-                            (sort != null && !sort.isBlank() && !"NEWEST".equalsIgnoreCase(sort));
+                            (date != null && !date.isBlank());
+        boolean newestFirst = sort == null || sort.isBlank() || "NEWEST".equalsIgnoreCase(sort);
 
-        if (!hasFilters) {
-            VideoRepository.PaginatedResult<Video> result;
+        if (!newestFirst) {
+            return offsetPage(getVideos(MAX_SEARCH_FETCH, category, allCategoryIds, length, date, sort), cursor, limit);
+        }
 
-            if (category != null && !category.isBlank()) {
-                result = videoRepository.findApprovedByCategoryAndUploadedAtDescWithCursor(category, limit, cursor);
-            } else {
-                result = videoRepository.findApprovedByUploadedAtDescWithCursor(limit, cursor);
-            }
+        boolean multiCategory = allCategoryIds != null && allCategoryIds.size() > 1;
+        if (!hasFilters && !multiCategory) {
+            // Single category (or whole catalog), newest first: the repository cursor page as is
+            VideoRepository.PaginatedResult<Video> result = catalog().findVideoPage(
+                    category != null && !category.isBlank() ? category : null, limit, cursor);
 
             // Finding 3 (review fix): cursor feeds query status=APPROVED but must also exclude
             // PERSONAL-visibility items — isApproved adds the visibility gate (isAvailable alone doesn't).
@@ -336,10 +393,57 @@ public class PublicContentService {
             return new CursorPageDto<>(items, result.getNextCursor());
         }
 
-        // Fall back to legacy approach when filters are applied
-        List<ContentItemDto> items = getVideos(limit, category, allCategoryIds, length, date, sort);
-        String nextCursor = items.size() >= limit ? encodeCursor(limit) : null;
-        return new CursorPageDto<>(items, nextCursor);
+        List<String> scopes = multiCategory ? allCategoryIds
+                : List.of(category != null && !category.isBlank() ? category : CategoryKeysetMerge.ALL_CATEGORIES);
+        return mergedPage(CategoryKeysetMerge.videos(catalog(), scopes, decodeMergeState(cursor), limit),
+                limit,
+                v -> isApproved(v) && isAvailable(v) && matchesLengthFilter(v, length) && matchesDateFilter(v, date),
+                this::toDto);
+    }
+
+    /**
+     * One page of a keyset merge: up to {@code limit} accepted items, reading at most
+     * {@link #MERGE_SCAN_FACTOR} × limit items so a sparse filter returns a short page
+     * instead of walking the whole catalog. The cursor resumes after the last item read.
+     */
+    private <T> CursorPageDto<ContentItemDto> mergedPage(CategoryKeysetMerge<T> merge, int limit,
+                                                         Predicate<T> accept, Function<T, ContentItemDto> toDto)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        int budget = Math.max(1, limit) * MERGE_SCAN_FACTOR;
+        List<ContentItemDto> items = new ArrayList<>();
+        while (items.size() < limit && merge.consumed() < budget) {
+            T item = merge.next();
+            if (item == null) {
+                return new CursorPageDto<>(items, null);
+            }
+            if (accept.test(item)) {
+                items.add(toDto.apply(item));
+            }
+        }
+
+        // Read ahead to the next accepted item so an exact multiple of limit does not emit a
+        // phantom cursor; a budget-truncated page always gets one.
+        Map<String, Object> state = merge.state();
+        boolean hasNext = merge.consumed() >= budget;
+        int lookahead = merge.consumed() + budget;
+        while (!hasNext && merge.consumed() < lookahead) {
+            T item = merge.next();
+            if (item == null) break;
+            hasNext = accept.test(item) || merge.consumed() >= lookahead;
+        }
+        return new CursorPageDto<>(items, hasNext ? encodeMergeCursor(state) : null);
+    }
+
+    private static String encodeMergeCursor(Map<String, Object> state) {
+        CursorUtils.CursorData data = new CursorUtils.CursorData(MERGE_CURSOR_ID);
+        data.setFields(state);
+        return CursorUtils.encode(data);
+    }
+
+    /** Per-category state of a merge cursor; null (start over) for anything else. */
+    private static Map<String, Object> decodeMergeState(String cursor) {
+        CursorUtils.CursorData data = CursorUtils.decode(cursor);
+        return data != null && MERGE_CURSOR_ID.equals(data.getId()) ? data.getFields() : null;
     }
 
     private List<ContentItemDto> getVideos(int limit, String category, List<String> allCategoryIds,
@@ -350,11 +454,11 @@ public class PublicContentService {
         // Fetch more than needed to account for filters
         int fetchLimit = limit * 3; // 3x buffer for filters
         if (allCategoryIds != null && allCategoryIds.size() > 1) {
-            videos = videoRepository.findByCategoryIds(allCategoryIds, fetchLimit);
+            videos = catalog().findVideosByCategoryIds(allCategoryIds, fetchLimit);
         } else if (category != null && !category.isBlank()) {
-            videos = videoRepository.findByCategoryOrderByUploadedAtDesc(category, fetchLimit);
+            videos = catalog().findVideosByCategory(category, fetchLimit);
         } else {
-            videos = videoRepository.findAllByOrderByUploadedAtDesc(fetchLimit);
+            videos = catalog().findAllVideos(fetchLimit);
         }
 
         // Apply filters
@@ -401,24 +505,18 @@ public class PublicContentService {
                 .collect(Collectors.toList());
     }
 
-    @Cacheable(value = CacheConfig.CACHE_PUBLIC_CONTENT, key = "'active-categories'")
+    @Cacheable(value = CacheConfig.CACHE_PUBLIC_CONTENT, key = "'active-categories'", sync = true)
     public List<CategoryDto> getCategories() throws ExecutionException, InterruptedException, TimeoutException {
-        // Collect all categoryIds that have at least one approved content item
-        Set<String> activeCategoryIds = new HashSet<>();
+        PublicContentChange.dependsOnContent(null);
+        PublicContentChange.dependsOn(PublicContentChange.Kind.CATEGORY, null);
+        PublicCatalogReader catalog = catalog();
 
-        for (Channel ch : channelRepository.findByStatus("APPROVED")) {
-            if (isPublicVisibility(ch.getVisibility()) && ch.getCategoryIds() != null) activeCategoryIds.addAll(ch.getCategoryIds());
-        }
-        for (Playlist pl : playlistRepository.findByStatus("APPROVED")) {
-            if (isPublicVisibility(pl.getVisibility()) && pl.getCategoryIds() != null) activeCategoryIds.addAll(pl.getCategoryIds());
-        }
-        for (Video v : videoRepository.findByStatus("APPROVED")) {
-            if (isPublicVisibility(v.getVisibility()) && v.getCategoryIds() != null) activeCategoryIds.addAll(v.getCategoryIds());
-        }
+        // Collect all categoryIds that have at least one approved content item
+        Set<String> activeCategoryIds = catalog.findActiveCategoryIds();
 
         // Expand to include ancestor categories so parent categories remain navigable
         // even when only their children have direct approved content
-        List<Category> allCategories = categoryRepository.findAll();
+        List<Category> allCategories = catalog.findAllCategories();
         Map<String, Category> categoryById = allCategories.stream()
                 .collect(Collectors.toMap(Category::getId, c -> c, (a, b) -> a));
 
@@ -452,13 +550,23 @@ public class PublicContentService {
      * @return Paginated home feed
      */
     @Cacheable(value = CacheConfig.CACHE_PUBLIC_CONTENT,
-               key = "'home-' + T(com.albunyaan.tube.service.PublicContentService).normalizeCursor(#cursor) + '-' + #categoryLimit + '-' + #contentLimit + '-' + #category")
+               key = "'home-' + T(com.albunyaan.tube.service.PublicContentService).normalizeCursor(#cursor) + '-' + #categoryLimit + '-' + #contentLimit + '-' + #category",
+               sync = true)
     public CursorPageDto<HomeCategoryDto> getHomeFeed(String cursor, int categoryLimit, int contentLimit, String category)
             throws ExecutionException, InterruptedException, TimeoutException {
 
+        // Sections depend on the tree; each scanned section adds its own category IDs below.
+        PublicContentChange.dependsOn(PublicContentChange.Kind.CATEGORY, null);
+
+        // Precomputed sections for the current snapshot, if any; categories come from the same
+        // snapshot so the section list and the section payloads agree.
+        HomeFeedProjector.Projection projection =
+                homeFeedProjector != null ? homeFeedProjector.current(contentLimit) : null;
+        PublicCatalogReader catalog = projection != null ? projection.catalog() : catalog();
+
         // Fetch all categories to build parent→children map.
         // Categories are admin-managed and typically < 50, so findAll() is bounded.
-        List<Category> allCategories = new ArrayList<>(categoryRepository.findAll());
+        List<Category> allCategories = new ArrayList<>(catalog.findAllCategories());
 
         // Build parent → children mapping for subcategory aggregation
         Map<String, List<String>> childrenMap = new HashMap<>();
@@ -580,11 +688,19 @@ public class PublicContentService {
                 if (children != null) {
                     allIds.addAll(children);
                 }
-
-                CompletableFuture<List<ContentItemDto>> itemsFuture =
-                        asyncSupply(() -> getCategoryContentItems(allIds, contentLimit, 0));
-                CompletableFuture<Long> countFuture =
-                        asyncSupply(() -> orderRepository.countByCategoryIds(allIds));
+                PublicContentChange.dependsOnContent(allIds);
+                PublicContentChange.dependsOn(PublicContentChange.Kind.ORDER, allIds);
+
+                HomeFeedProjector.Section section = projection != null ? projection.section(cat.getId()) : null;
+                CompletableFuture<List<ContentItemDto>> itemsFuture;
+                CompletableFuture<Long> countFuture;
+                if (section != null) {
+                    itemsFuture = CompletableFuture.completedFuture(section.items(contentLimit));
+                    countFuture = CompletableFuture.completedFuture(section.totalCount());
+                } else {
+                    itemsFuture = asyncSupply(() -> getCategoryContentItems(catalog, allIds, contentLimit));
+                    countFuture = asyncSupply(() -> catalog.countOrderEntries(allIds));
+                }
                 futures.add(new CategoryFuture(cat, allIds, itemsFuture, countFuture));
             }
 
@@ -662,7 +778,7 @@ public class PublicContentService {
         List<String> allIds = new ArrayList<>();
         allIds.add(categoryId);
 
-        List<Category> children = categoryRepository.findByParentId(categoryId);
+        List<Category> children = catalog().findChildCategories(categoryId);
         for (Category child : children) {
             allIds.add(child.getId());
         }
@@ -670,38 +786,64 @@ public class PublicContentService {
     }
 
     /**
-     * Get content items for one or more categories (parent + subcategories),
+     * One "See All" page of a category (parent + subcategories): admin-defined sort order first,
+     * then approved content missing from the order rows. Resumes from a keyset cursor through
+     * {@link CategoryContentStream}, so each page costs one window of reads however deep it is.
+     * Like {@link #mergedPage}, the fallback phases read at most {@link #MERGE_SCAN_FACTOR} ×
+     * limit items per page; a category of mostly filtered items gets a short page and a cursor.
+     */
+    private CursorPageDto<ContentItemDto> getCategoryContentPage(List<String> categoryIds, int limit, String cursor)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        CursorUtils.CursorData cursorData = CursorUtils.decode(cursor);
+        Map<String, Object> state = cursorData != null && CATEGORY_CURSOR_ID.equals(cursorData.getId())
+                ? cursorData.getFields() : null;
+        int budget = Math.max(1, limit) * MERGE_SCAN_FACTOR;
+        CategoryContentStream stream = new CategoryContentStream(catalog(), categoryIds, limit, state, budget);
+
+        List<ContentItemDto> items = new ArrayList<>();
+        CursorUtils.CursorData next = new CursorUtils.CursorData(CATEGORY_CURSOR_ID);
+        while (items.size() < limit) {
+            ContentItemDto item = stream.next();
+            if (item == null) {
+                if (!stream.budgetSpent()) {
+                    return new CursorPageDto<>(items, null);
+                }
+                next.setFields(stream.state());
+                return new CursorPageDto<>(items, CursorUtils.encode(next));
+            }
+            items.add(item);
+        }
+
+        // Read one item ahead (on a fresh budget) so an exact multiple of limit does not emit a
+        // phantom cursor; a lookahead cut short by the budget still gets one.
+        next.setFields(stream.state());
+        stream.addScanBudget(budget);
+        boolean hasNext = stream.next() != null || stream.budgetSpent();
+        return new CursorPageDto<>(items, hasNext ? CursorUtils.encode(next) : null);
+    }
+
+    /**
+     * First {@code limit} content items for one or more categories (parent + subcategories),
      * using admin-defined sort order if available, falling back to default sort.
+     * Serves home feed sections; deeper pages go through {@link #getCategoryContentPage}.
      *
+     * @param catalog Catalog to read; the home feed projector passes the snapshot being published
      * @param categoryIds List of category IDs (parent first, then children)
      * @param limit Max items to return
-     * @param offset Number of valid items to skip (for pagination)
      */
-    private List<ContentItemDto> getCategoryContentItems(List<String> categoryIds, int limit, int offset)
+    private List<ContentItemDto> getCategoryContentItems(PublicCatalogReader catalog, List<String> categoryIds,
+                                                         int limit)
             throws ExecutionException, InterruptedException, TimeoutException {
 
-        // Build subcategory name map when serving a parent category with children.
-        Map<String, String> subcatNameMap = null;
-        if (categoryIds.size() > 1) {
-            String parentId = categoryIds.get(0);
-            try {
-                List<Category> children = categoryRepository.findByParentId(parentId);
-                subcatNameMap = new HashMap<>();
-                for (Category child : children) {
-                    subcatNameMap.put(child.getId(), child.getName());
-                }
-            } catch (Exception e) {
-                log.warn("Could not fetch subcategories for {}: {}", parentId, e.getMessage());
-            }
-        }
+        Map<String, String> subcatNameMap = subcategoryNames(catalog, categoryIds);
 
-        int totalNeeded = offset + limit;
+        int totalNeeded = limit;
         List<ContentItemDto> orderedItems = new ArrayList<>();
         Set<String> seenContentKeys = new HashSet<>();
 
         // Prefer the parent category's explicit order when present. Child-category sort rows
         // should not override a parent's aggregate order on public "See All" and home screens.
-        List<CategoryContentOrder> orderEntries = getEffectiveOrderEntries(categoryIds);
+        List<CategoryContentOrder> orderEntries = getEffectiveOrderEntries(catalog, categoryIds);
         if (!orderEntries.isEmpty()) {
             List<String> channelIds = new ArrayList<>();
             List<String> playlistIds = new ArrayList<>();
@@ -716,9 +858,9 @@ public class PublicContentService {
                 }
             }
 
-            Map<String, Channel> channelMap = channelRepository.findAllByIds(channelIds);
-            Map<String, Playlist> playlistMap = playlistRepository.findAllByIds(playlistIds);
-            Map<String, Video> videoMap = videoRepository.findAllByIds(videoIds);
+            Map<String, Channel> channelMap = catalog.findChannelsByIds(channelIds);
+            Map<String, Playlist> playlistMap = catalog.findPlaylistsByIds(playlistIds);
+            Map<String, Video> videoMap = catalog.findVideosByIds(videoIds);
 
             for (CategoryContentOrder entry : orderEntries) {
                 if (orderedItems.size() >= totalNeeded) break;
@@ -743,6 +885,7 @@ public class PublicContentService {
         int missingItemsNeeded = Math.max(0, totalNeeded - orderedItems.size());
         if (missingItemsNeeded > 0) {
             orderedItems.addAll(getFallbackCategoryContentItems(
+                    catalog,
                     categoryIds,
                     missingItemsNeeded,
                     subcatNameMap,
@@ -750,14 +893,223 @@ public class PublicContentService {
             ));
         }
 
-        if (offset >= orderedItems.size()) {
-            return new ArrayList<>();
+        return orderedItems.size() > limit ? new ArrayList<>(orderedItems.subList(0, limit)) : orderedItems;
+    }
+
+    /**
+     * Subcategory ID → name when serving a parent category with children, used to label items
+     * with the subcategory they come from; null for a single category.
+     */
+    private Map<String, String> subcategoryNames(PublicCatalogReader catalog, List<String> categoryIds) {
+        if (categoryIds.size() <= 1) {
+            return null;
+        }
+        String parentId = categoryIds.get(0);
+        try {
+            Map<String, String> subcatNameMap = new HashMap<>();
+            for (Category child : catalog.findChildCategories(parentId)) {
+                subcatNameMap.put(child.getId(), child.getName());
+            }
+            return subcatNameMap;
+        } catch (Exception e) {
+            log.warn("Could not fetch subcategories for {}: {}", parentId, e.getMessage());
+            return null;
         }
-        int end = Math.min(offset + limit, orderedItems.size());
-        return new ArrayList<>(orderedItems.subList(offset, end));
     }
 
-    private List<CategoryContentOrder> getEffectiveOrderEntries(List<String> categoryIds)
+    /**
+     * Resumable walk over a category's public content in the order of
+     * {@link #getCategoryContentItems}: the effective order entries, looked up one window at a
+     * time, then channels, playlists and videos missing from those entries, each a
+     * {@link CategoryKeysetMerge} across the category IDs. {@link #state()} is the resume point
+     * after the last item returned, or after the last item read once the scan budget is spent.
+     */
+    private final class CategoryContentStream {
+
+        private static final int PHASE_ORDER = 0;
+        private static final int PHASE_CHANNELS = 1;
+        private static final int PHASE_PLAYLISTS = 2;
+        private static final int PHASE_VIDEOS = 3;
+        private static final int PHASE_DONE = 4;
+
+        private final PublicCatalogReader catalog;
+        private final List<String> categoryIds;
+        private final int windowSize;
+        private final Map<String, String> subcatNameMap;
+        private final List<CategoryContentOrder> orderEntries;
+        private final Map<String, Integer> firstOrderIndex = new HashMap<>();
+        /** Fallback items this stream may still read before {@link #next()} gives up. */
+        private int scanBudget;
+
+        private int phase = PHASE_ORDER;
+        private int orderIndex;
+        private int windowEnd;
+        private Map<String, Channel> channelMap = Map.of();
+        private Map<String, Playlist> playlistMap = Map.of();
+        private Map<String, Video> videoMap = Map.of();
+        private Map<String, Object> mergeState;
+        private CategoryKeysetMerge<?> merge;
+
+        @SuppressWarnings("unchecked")
+        CategoryContentStream(PublicCatalogReader catalog, List<String> categoryIds, int windowSize,
+                              @Nullable Map<String, Object> state, int scanBudget)
+                throws ExecutionException, InterruptedException, TimeoutException {
+            this.catalog = catalog;
+            this.categoryIds = categoryIds;
+            this.windowSize = Math.max(1, windowSize);
+            this.scanBudget = scanBudget;
+            this.subcatNameMap = subcategoryNames(catalog, categoryIds);
+            this.orderEntries = getEffectiveOrderEntries(catalog, categoryIds);
+            for (int i = 0; i < orderEntries.size(); i++) {
+                CategoryContentOrder entry = orderEntries.get(i);
+                firstOrderIndex.putIfAbsent(toContentKey(entry.getContentType(), entry.getContentId()), i);
+            }
+            if (state != null) {
+                if (state.get("phase") instanceof Number value) {
+                    phase = Math.min(PHASE_DONE, Math.max(PHASE_ORDER, value.intValue()));
+                }
+                if (state.get("order") instanceof Number value) {
+                    orderIndex = Math.max(0, value.intValue());
+                }
+                if (state.get("merge") instanceof Map<?, ?> value) {
+                    mergeState = (Map<String, Object>) value;
+                }
+            }
+            windowEnd = orderIndex;
+        }
+
+        /**
+         * Next item to serve, or null once every phase is exhausted or the scan budget is spent
+         * (see {@link #budgetSpent()}).
+         */
+        ContentItemDto next() throws ExecutionException, InterruptedException, TimeoutException {
+            while (phase != PHASE_DONE) {
+                ContentItemDto dto = phase == PHASE_ORDER ? nextOrdered() : nextFallback();
+                if (dto != null) {
+                    return dto;
+                }
+                if (budgetSpent()) {
+                    return null;
+                }
+                phase++;
+                mergeState = null;
+                merge = null;
+            }
+            return null;
+        }
+
+        /** Whether the last {@link #next()} stopped on the scan budget rather than the end. */
+        boolean budgetSpent() {
+            return scanBudget <= 0;
+        }
+
+        void addScanBudget(int items) {
+            scanBudget += items;
+        }
+
+        Map<String, Object> state() {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("phase", phase);
+            if (phase == PHASE_ORDER) {
+                state.put("order", orderIndex);
+            } else if (merge != null) {
+                state.put("merge", merge.state());
+            } else if (mergeState != null) {
+                state.put("merge", mergeState);
+            }
+            return state;
+        }
+
+        private ContentItemDto nextOrdered() throws ExecutionException, InterruptedException, TimeoutException {
+            while (orderIndex < orderEntries.size()) {
+                if (orderIndex >= windowEnd) {
+                    loadOrderWindow();
+                }
+                int index = orderIndex++;
+                CategoryContentOrder entry = orderEntries.get(index);
+                if (firstOrderIndex.get(toContentKey(entry.getContentType(), entry.getContentId())) != index) {
+                    continue;
+                }
+                ContentItemDto dto = resolveFromBatchMaps(entry, channelMap, playlistMap, videoMap);
+                if (dto != null) {
+                    enrichSubcategoryName(dto, entry, channelMap, playlistMap, videoMap, subcatNameMap);
+                    return dto;
+                }
+            }
+            return null;
+        }
+
+        /** Batch-load the content behind the next window of order entries. */
+        private void loadOrderWindow() throws ExecutionException, InterruptedException, TimeoutException {
+            windowEnd = Math.min(orderEntries.size(), orderIndex + windowSize);
+            List<String> channelIds = new ArrayList<>();
+            List<String> playlistIds = new ArrayList<>();
+            List<String> videoIds = new ArrayList<>();
+            for (CategoryContentOrder entry : orderEntries.subList(orderIndex, windowEnd)) {
+                switch (entry.getContentType()) {
+                    case "channel": channelIds.add(entry.getContentId()); break;
+                    case "playlist": playlistIds.add(entry.getContentId()); break;
+                    case "video": videoIds.add(entry.getContentId()); break;
+                    default: break;
+                }
+            }
+            channelMap = channelIds.isEmpty() ? Map.of() : nonNull(catalog.findChannelsByIds(channelIds));
+            playlistMap = playlistIds.isEmpty() ? Map.of() : nonNull(catalog.findPlaylistsByIds(playlistIds));
+            videoMap = videoIds.isEmpty() ? Map.of() : nonNull(catalog.findVideosByIds(videoIds));
+        }
+
+        private ContentItemDto nextFallback() throws ExecutionException, InterruptedException, TimeoutException {
+            if (merge == null) {
+                merge = switch (phase) {
+                    case PHASE_CHANNELS -> CategoryKeysetMerge.channels(catalog, categoryIds, mergeState, windowSize);
+                    case PHASE_PLAYLISTS -> CategoryKeysetMerge.playlists(catalog, categoryIds, mergeState, windowSize);
+                    default -> CategoryKeysetMerge.videos(catalog, categoryIds, mergeState, windowSize);
+                };
+            }
+            Object item;
+            while (scanBudget > 0 && (item = merge.next()) != null) {
+                scanBudget--;
+                ContentItemDto dto = fallbackDto(item);
+                if (dto != null) {
+                    return dto;
+                }
+            }
+            return null;
+        }
+
+        /** DTO for approved content that the order entries did not already list; null otherwise. */
+        private ContentItemDto fallbackDto(Object item) {
+            ContentItemDto dto;
+            List<String> contentCategoryIds;
+            if (item instanceof Channel channel) {
+                if (!isApproved(channel) || !isAvailable(channel) || isOrdered("channel", channel.getId())) return null;
+                dto = toDto(channel);
+                contentCategoryIds = channel.getCategoryIds();
+            } else if (item instanceof Playlist playlist) {
+                if (!isApproved(playlist) || !isAvailable(playlist) || isOrdered("playlist", playlist.getId())) return null;
+                dto = toDto(playlist);
+                contentCategoryIds = playlist.getCategoryIds();
+            } else if (item instanceof Video video) {
+                if (!isApproved(video) || !isAvailable(video) || isOrdered("video", video.getId())) return null;
+                dto = toDto(video);
+                contentCategoryIds = video.getCategoryIds();
+            } else {
+                return null;
+            }
+            enrichSubcategoryName(dto, contentCategoryIds, subcatNameMap);
+            return dto;
+        }
+
+        private boolean isOrdered(String contentType, String contentId) {
+            return firstOrderIndex.containsKey(toContentKey(contentType, contentId));
+        }
+
+        private <V> Map<String, V> nonNull(Map<String, V> map) {
+            return map != null ? map : Map.of();
+        }
+    }
+
+    private List<CategoryContentOrder> getEffectiveOrderEntries(PublicCatalogReader catalog, List<String> categoryIds)
             throws ExecutionException, InterruptedException, TimeoutException {
         if (categoryIds == null || categoryIds.isEmpty()) {
             return List.of();
@@ -765,18 +1117,19 @@ public class PublicContentService {
 
         if (categoryIds.size() > 1) {
             List<CategoryContentOrder> parentEntries =
-                    orderRepository.findByCategoryIdOrderByPosition(categoryIds.get(0));
+                    catalog.findOrderEntries(categoryIds.get(0));
             if (parentEntries != null && !parentEntries.isEmpty()) {
                 return parentEntries;
             }
         }
 
         List<CategoryContentOrder> mergedEntries =
-                orderRepository.findByCategoryIdsOrderByPosition(categoryIds);
+                catalog.findOrderEntries(categoryIds);
         return mergedEntries != null ? mergedEntries : List.of();
     }
 
     private List<ContentItemDto> getFallbackCategoryContentItems(
+            PublicCatalogReader catalog,
             List<String> categoryIds,
             int needed,
             Map<String, String> subcatNameMap,
@@ -789,7 +1142,7 @@ public class PublicContentService {
         List<ContentItemDto> items = new ArrayList<>();
         int fetchLimit = Math.max(needed, 1);
 
-        List<Channel> channels = channelRepository.findByCategoryIds(categoryIds, fetchLimit);
+        List<Channel> channels = catalog.findChannelsByCategoryIds(categoryIds, fetchLimit);
         if (channels == null) {
             channels = List.of();
         }
@@ -809,7 +1162,7 @@ public class PublicContentService {
             }
         }
 
-        List<Playlist> playlists = playlistRepository.findByCategoryIds(categoryIds, fetchLimit);
+        List<Playlist> playlists = catalog.findPlaylistsByCategoryIds(categoryIds, fetchLimit);
         if (playlists == null) {
             playlists = List.of();
         }
@@ -829,7 +1182,7 @@ public class PublicContentService {
             }
         }
 
-        List<Video> videos = videoRepository.findByCategoryIds(categoryIds, fetchLimit);
+        List<Video> videos = catalog.findVideosByCategoryIds(categoryIds, fetchLimit);
         if (videos == null) {
             videos = List.of();
         }
@@ -1038,11 +1391,14 @@ public class PublicContentService {
      */
     @Cacheable(value = CacheConfig.CACHE_PUBLIC_CONTENT_SEARCH,
                key = "#query == null ? '' : #query.trim().toLowerCase(T(java.util.Locale).ROOT) + '-' + #type + '-' + #limit",
-               condition = "#query != null && #query.trim().length() >= 2")
+               condition = "#query != null && #query.trim().length() >= 2",
+               sync = true)
     public List<ContentItemDto> search(String query, String type, int limit) throws ExecutionException, InterruptedException, TimeoutException {
         if (query == null || query.trim().isEmpty()) {
             return new ArrayList<>();
         }
+        PublicContentChange.dependsOnContent(null);
+        PublicContentChange.dependsOn(PublicContentChange.Kind.CATEGORY, null);
         // Normalize query for matching
         String normalizedQuery = query.trim().toLowerCase(Locale.ROOT);
 
@@ -1168,6 +1524,17 @@ public class PublicContentService {
 
     private List<ContentItemDto> searchChannelsByText(String normalizedQuery, int limit, int fetchLimit)
             throws ExecutionException, InterruptedException, TimeoutException {
+        // In-memory inverted index (ranked, prefix + multi-word AND); Firestore path below
+        // only runs while the index is not ready (startup, pending catalog rebuild).
+        List<Channel> indexed = searchIndex != null ? searchIndex.searchChannels(normalizedQuery, limit) : null;
+        if (indexed != null) {
+            return indexed.stream()
+                    .filter(this::isApproved)
+                    .filter(this::isAvailable)
+                    .map(this::toDto)
+                    .collect(Collectors.toList());
+        }
+
         // Use nameLower field for true case-insensitive prefix search
         // normalizedQuery is already lowercase, nameLower is auto-maintained by setName()
         List<Channel> channels = new ArrayList<>(channelRepository.searchByNameLower(normalizedQuery, fetchLimit));
@@ -1243,6 +1610,15 @@ public class PublicContentService {
 
     private List<ContentItemDto> searchPlaylistsByText(String normalizedQuery, int limit, int fetchLimit)
             throws ExecutionException, InterruptedException, TimeoutException {
+        List<Playlist> indexed = searchIndex != null ? searchIndex.searchPlaylists(normalizedQuery, limit) : null;
+        if (indexed != null) {
+            return indexed.stream()
+                    .filter(this::isApproved)
+                    .filter(this::isAvailable)
+                    .map(this::toDto)
+                    .collect(Collectors.toList());
+        }
+
         // Use titleLower field for true case-insensitive prefix search
         // normalizedQuery is already lowercase, titleLower is auto-maintained by setTitle()
         List<Playlist> playlists = new ArrayList<>(playlistRepository.searchByTitleLower(normalizedQuery, fetchLimit));
@@ -1289,6 +1665,15 @@ public class PublicContentService {
 
     private List<ContentItemDto> searchVideosByText(String normalizedQuery, int limit, int fetchLimit)
             throws ExecutionException, InterruptedException, TimeoutException {
+        List<Video> indexed = searchIndex != null ? searchIndex.searchVideos(normalizedQuery, limit) : null;
+        if (indexed != null) {
+            return indexed.stream()
+                    .filter(this::isApproved)
+                    .filter(this::isAvailable)
+                    .map(this::toDto)
+                    .collect(Collectors.toList());
+        }
+
         // Use titleLower field for true case-insensitive prefix search
         // normalizedQuery is already lowercase, titleLower is auto-maintained by setTitle()
         List<Video> videos = new ArrayList<>(videoRepository.searchByTitleLower(normalizedQuery, fetchLimit));
@@ -1628,28 +2013,42 @@ public class PublicContentService {
 
     /**
      * Type-aware cache key for cursors. HOME uses numeric offset cursors that should be
-     * normalized to prevent cache pollution. CHANNELS/PLAYLISTS/VIDEOS use opaque Firestore
-     * cursors (JSON/Base64) that must be preserved as-is; normalizing them would collapse
-     * different pages into the same cache entry.
+     * normalized to prevent cache pollution. CHANNELS/PLAYLISTS/VIDEOS, and HOME pages of a
+     * category, use opaque keyset cursors (JSON/Base64) that must be preserved as-is;
+     * normalizing them would collapse different pages into the same cache entry.
      *
      * Must be public+static so Spring SpEL can reference it in @Cacheable key expressions.
      */
     public static String cacheCursorKey(String type, String cursor) {
         if (cursor == null || cursor.isEmpty()) return "0";
         String resolvedType = (type == null || type.isBlank()) ? "HOME" : type.toUpperCase(Locale.ROOT);
-        if ("HOME".equals(resolvedType)) {
+        if ("HOME".equals(resolvedType) && !isKeysetCursor(cursor)) {
             return normalizeCursor(cursor);
         }
-        // Opaque cursor for CHANNELS/PLAYLISTS/VIDEOS — return as-is
+        // Opaque keyset cursor — return as-is
         return cursor;
     }
 
+    /** True for {@link CursorUtils} cursors (URL-safe Base64 JSON), as opposed to numeric offsets. */
+    private static boolean isKeysetCursor(String cursor) {
+        try {
+            byte[] decoded = Base64.getUrlDecoder().decode(cursor);
+            return decoded.length > 0 && decoded[0] == '{';
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     // TODO: replace with Firestore full-text index (Algolia/extensions) before collection exceeds ~500 items
     private static final int MAX_SEARCH_FETCH = 1000;
 
     private CursorPageDto<ContentItemDto> searchWithOffsetPagination(
             List<ContentItemDto> allItems, TextFilter filter, String cursor, int limit) {
-        List<ContentItemDto> filtered = filter.apply(allItems);
+        return offsetPage(filter.apply(allItems), cursor, limit);
+    }
+
+    /** Offset pagination over an already bounded, fully ordered list. */
+    private CursorPageDto<ContentItemDto> offsetPage(List<ContentItemDto> filtered, String cursor, int limit) {
         int offset = decodeCursorOffset(cursor);
         int from = Math.min(offset, filtered.size());
         int to = Math.min(offset + limit, filtered.size());
@@ -1740,29 +2139,11 @@ public class PublicContentService {
 
     private List<ContentItemDto> searchStreams(String normalizedQuery, int limit)
             throws ExecutionException, InterruptedException, TimeoutException {
-        List<String> queryTokens = searchTokenizer.tokenize(normalizedQuery, null);
-        if (queryTokens.isEmpty()) return java.util.Collections.emptyList();
-
-        String primaryToken = queryTokens.get(0);
-        List<SearchableStream> candidates =
-                searchableStreamRepository.searchByToken(primaryToken, limit * 4);
-
-        if (queryTokens.size() > 1) {
-            List<String> rest = queryTokens.subList(1, queryTokens.size());
-            candidates = candidates.stream()
-                    .filter(s -> {
-                        Set<String> tSet = new HashSet<>(s.getSearchTokens());
-                        return rest.stream().allMatch(tSet::contains);
-                    })
-                    .collect(java.util.stream.Collectors.toList());
-        }
-
-        candidates.sort((a, b) -> scoreStream(b, normalizedQuery) - scoreStream(a, normalizedQuery));
-
         // Overfetch to absorb filtering, then batch-check Video documents for archive status.
-        List<SearchableStream> top = candidates.stream()
-                .limit(limit * 2L)
-                .collect(java.util.stream.Collectors.toList());
+        List<SearchableStream> top = searchIndex != null ? searchIndex.searchStreams(normalizedQuery, limit * 2) : null;
+        if (top == null) {
+            top = searchStreamsInFirestore(normalizedQuery, limit);
+        }
 
         if (top.isEmpty()) return java.util.Collections.emptyList();
 
@@ -1784,6 +2165,35 @@ public class PublicContentService {
                 .collect(java.util.stream.Collectors.toList());
     }
 
+    /**
+     * Firestore fallback for stream search while the in-memory index is still loading.
+     * Matches unstemmed terms: stored docs may predate stemming and carry no stems.
+     */
+    private List<SearchableStream> searchStreamsInFirestore(String normalizedQuery, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        List<String> queryTokens = searchTokenizer.exactQueryTerms(normalizedQuery);
+        if (queryTokens.isEmpty()) return java.util.Collections.emptyList();
+
+        String primaryToken = queryTokens.get(0);
+        List<SearchableStream> candidates =
+                searchableStreamRepository.searchByToken(primaryToken, limit * 4);
+
+        if (queryTokens.size() > 1) {
+            List<String> rest = queryTokens.subList(1, queryTokens.size());
+            // A query has a handful of words and a title a few dozen tokens: scanning the
+            // list beats building a HashSet per candidate.
+            candidates = candidates.stream()
+                    .filter(s -> s.getSearchTokens().containsAll(rest))
+                    .collect(java.util.stream.Collectors.toList());
+        }
+
+        candidates.sort((a, b) -> scoreStream(b, normalizedQuery) - scoreStream(a, normalizedQuery));
+
+        return candidates.stream()
+                .limit(limit * 2L)
+                .collect(java.util.stream.Collectors.toList());
+    }
+
     private int scoreStream(SearchableStream s, String query) {
         String norm = s.getTitleNorm() != null ? s.getTitleNorm() : "";
         if (norm.equals(query)) return 10;
@@ -1,50 +1,305 @@
 package com.albunyaan.tube.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import java.util.*;
 
+/**
+ * Search token generation for indexing and queries.
+ *
+ * Single pass per input, driven by two precomputed tables over U+0000–U+06FF: which chars
+ * split words (whitespace, ASCII punctuation, Arabic comma/semicolon/question mark and
+ * guillemets) and what each char folds to (tashkeel stripped, alef variants → ا,
+ * teh marbuta → ه). Word chars are lowercased and folded into per-thread scratch buffers,
+ * so the only allocations are the token strings themselves.
+ *
+ * With {@code app.search.tokenizer.stemming=true}, indexing also emits a light stem of each
+ * word (common Arabic clitics and English inflections stripped) and query terms are stemmed,
+ * so "prayers" finds "prayer" and "والصلاة" finds "صلاة".
+ */
 @Component
 public class SearchTokenizer {
 
+    private static final int TABLE_SIZE = 0x0700;
+    /** Marks a char removed by normalization in {@link #FOLD}. */
+    private static final char STRIP = '\uFFFF';
+    private static final boolean[] SEPARATOR = new boolean[TABLE_SIZE];
+    private static final char[] FOLD = new char[TABLE_SIZE];
+    private static final int MIN_STEM_LENGTH = 3;
+
+    static {
+        for (char c : " \t\n\u000B\f\r".toCharArray()) SEPARATOR[c] = true;
+        for (char c = '!'; c <= '~'; c++) {
+            if (!Character.isLetterOrDigit(c)) SEPARATOR[c] = true;
+        }
+        for (char c : "\u060C\u061B\u061F\u00BB\u00AB".toCharArray()) SEPARATOR[c] = true;
+
+        for (char c = 0; c < TABLE_SIZE; c++) FOLD[c] = c;
+        for (char c = '\u064B'; c <= '\u065F'; c++) FOLD[c] = STRIP;
+        for (char c : "\u0623\u0625\u0622\u0671".toCharArray()) FOLD[c] = '\u0627';
+        FOLD['\u0629'] = '\u0647';
+    }
+
+    /** Arabic proclitics, longest first; stripped only when enough of the word remains. */
+    private static final String[] AR_PREFIXES = {"وال", "بال", "كال", "فال", "لل", "ال"};
+    /** Arabic suffixes, longest first. Teh marbuta is already folded to heh. */
+    private static final String[] AR_SUFFIXES = {"ها", "ان", "ات", "ون", "ين", "يه", "ه", "ي"};
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final boolean stemming;
+
+    public SearchTokenizer() {
+        this(false);
+    }
+
+    @Autowired
+    public SearchTokenizer(@Value("${app.search.tokenizer.stemming:false}") boolean stemming) {
+        this.stemming = stemming;
+    }
+
     /**
      * Normalize Arabic text for consistent search token generation.
      * - Strips tashkeel (diacritics): U+064B–U+065F
      * - Normalizes alef variants (أ إ آ ٱ) → ا
      * - Normalizes teh marbuta (ة) → heh (ه)
+     * Returns {@code text} itself when nothing changes.
      */
     public String normalizeArabic(String text) {
         if (text == null) return "";
-        // Strip tashkeel and other diacritics
-        String r = text.replaceAll("[\\u064B-\\u065F]", "");
-        // Normalize alef variants
-        r = r.replaceAll("[\\u0623\\u0625\\u0622\\u0671]", "ا");
-        // Normalize teh marbuta → heh
-        r = r.replaceAll("ة", "ه");
-        return r;
+        int len = text.length();
+        int i = 0;
+        while (i < len && fold(text.charAt(i)) == text.charAt(i)) i++;
+        if (i == len) return text;
+
+        char[] out = SCRATCH.get().norm(len);
+        text.getChars(0, i, out, 0);
+        int n = i;
+        for (; i < len; i++) {
+            char f = fold(text.charAt(i));
+            if (f != STRIP) out[n++] = f;
+        }
+        return new String(out, 0, n);
     }
 
     /**
      * Tokenize a stream title (and optionally channel name) into search tokens.
      * Each word produces up to two tokens: the original lowercase form and, if it
-     * contains Arabic characters, its normalized form.
+     * contains Arabic characters, its normalized form (plus its stem in stemming mode).
      */
     public List<String> tokenize(String title, String channelName) {
         Set<String> tokens = new LinkedHashSet<>();
-        if (title != null) addWordTokens(tokens, title);
-        if (channelName != null) addWordTokens(tokens, channelName);
+        if (title != null) addWordTokens(tokens::add, title, 3, false, stemming);
+        if (channelName != null) addWordTokens(tokens::add, channelName, 3, false, stemming);
         return new ArrayList<>(tokens);
     }
 
-    private void addWordTokens(Set<String> tokens, String text) {
-        // Split on whitespace, punctuation, and common Arabic punctuation
-        for (String word : text.split("[\\s\\p{Punct}\\u060C\\u061B\\u061F\\u00BB\\u00AB]+")) {
-            if (word.length() < 3) continue;
-            String lower = word.toLowerCase(Locale.ROOT);
-            tokens.add(lower);
-            String normalized = normalizeArabic(lower);
-            if (!normalized.equals(lower) && !normalized.isEmpty()) {
-                tokens.add(normalized);
+    /**
+     * Term frequencies of {@code text} for ranking, over the same tokens as
+     * {@link #tokenize}: a word repeated in the text counts once per occurrence, while a
+     * word's lowercase, normalized and stemmed forms each count that occurrence once rather
+     * than adding up to several.
+     */
+    public TermCounts termCounts(String text) {
+        if (text == null) return TermCounts.EMPTY;
+        CountingSink sink = new CountingSink();
+        addWordTokens(sink, text, 3, false, stemming);
+        return new TermCounts(sink.counts, sink.words);
+    }
+
+    /**
+     * Per-document term frequencies from {@link #termCounts}; {@code words} is the number of
+     * indexed words, the document length for ranking.
+     */
+    public record TermCounts(Map<String, Integer> frequencies, int words) {
+        public static final TermCounts EMPTY = new TermCounts(Map.of(), 0);
+    }
+
+    /**
+     * Split a search query into index lookup terms, one per word, in query order.
+     * Each term is lowercase and Arabic-normalized (tokenize() indexes that form for every
+     * word). Two-character words are kept because the in-memory index matches them as
+     * prefixes; single characters are dropped.
+     */
+    public List<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (query == null) return new ArrayList<>();
+        addWordTokens(terms::add, query, 2, true, stemming);
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * Query terms as stored {@code searchTokens} match them: one normalized, unstemmed term
+     * per word of at least three characters. Every indexed word carries that form whatever
+     * the tokenizer settings were when it was written, so exact-token lookups (the Firestore
+     * fallback) keep matching documents indexed before stemming was turned on.
+     */
+    public List<String> exactQueryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (query == null) return new ArrayList<>();
+        addWordTokens(terms::add, query, 3, true, false);
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * One pass over {@code text}: each run of non-separator chars of at least
+     * {@code minLength} is lowercased and folded in the scratch buffers. Index mode adds the
+     * lowercase form and, when it differs and isn't empty, the folded form; query mode adds
+     * only the folded form, if it is still {@code minLength} long. With {@code stem}, index
+     * mode also adds the stem and query mode adds the stem in place of the folded form.
+     * Index mode ends each word with {@link TokenSink#endWord()}.
+     */
+    private void addWordTokens(TokenSink tokens, String text, int minLength, boolean query, boolean stem) {
+        int len = text.length();
+        Scratch scratch = SCRATCH.get();
+        char[] lower = scratch.lower(len);
+        char[] norm = scratch.norm(len);
+        int start = 0;
+        while (start < len) {
+            while (start < len && isSeparator(text.charAt(start))) start++;
+            int end = start;
+            int n = 0;
+            boolean folded = false;
+            while (end < len) {
+                char c = text.charAt(end);
+                if (isSeparator(c)) break;
+                char l = toLower(c);
+                lower[end - start] = l;
+                char f = fold(l);
+                if (f != l) folded = true;
+                if (f != STRIP) norm[n++] = f;
+                end++;
+            }
+            int wordLength = end - start;
+            if (wordLength >= minLength) {
+                if (query) {
+                    if (n >= minLength) {
+                        String term = new String(norm, 0, n);
+                        tokens.add(stem ? stemOrSelf(term) : term);
+                    }
+                } else {
+                    String lowerWord = new String(lower, 0, wordLength);
+                    tokens.add(lowerWord);
+                    String normalized = folded ? new String(norm, 0, n) : lowerWord;
+                    if (folded && n > 0) tokens.add(normalized);
+                    if (stem && n > 0) {
+                        String stemmed = stem(normalized);
+                        if (stemmed != null) tokens.add(stemmed);
+                    }
+                    tokens.endWord();
+                }
+            }
+            start = end;
+        }
+    }
+
+    /** Receives the tokens of {@link #addWordTokens}. */
+    private interface TokenSink {
+        void add(String token);
+
+        default void endWord() { }
+    }
+
+    /** Counts each distinct form of a word once per occurrence of the word. */
+    private static final class CountingSink implements TokenSink {
+        private final Map<String, Integer> counts = new HashMap<>();
+        private final List<String> forms = new ArrayList<>(3);
+        private int words;
+
+        @Override
+        public void add(String token) {
+            if (!forms.contains(token)) forms.add(token);
+        }
+
+        @Override
+        public void endWord() {
+            words++;
+            for (String form : forms) counts.merge(form, 1, Integer::sum);
+            forms.clear();
+        }
+    }
+
+    private String stemOrSelf(String term) {
+        String stem = stem(term);
+        return stem != null ? stem : term;
+    }
+
+    /** Light stem of a lowercase, normalized word, or null when nothing is stripped. */
+    static String stem(String word) {
+        if (word.isEmpty()) return null;
+        return isArabic(word.charAt(0)) ? stemArabic(word) : stemEnglish(word);
+    }
+
+    private static String stemArabic(String word) {
+        int from = 0;
+        int to = word.length();
+        for (String prefix : AR_PREFIXES) {
+            if (word.startsWith(prefix) && to - prefix.length() >= MIN_STEM_LENGTH) {
+                from = prefix.length();
+                break;
             }
         }
+        if (from == 0 && word.charAt(0) == '\u0648' && to - 1 > MIN_STEM_LENGTH) from = 1;
+        for (String suffix : AR_SUFFIXES) {
+            if (word.endsWith(suffix) && to - suffix.length() - from >= MIN_STEM_LENGTH) {
+                to -= suffix.length();
+                break;
+            }
+        }
+        return from == 0 && to == word.length() ? null : word.substring(from, to);
+    }
+
+    private static String stemEnglish(String word) {
+        int len = word.length();
+        if (word.endsWith("'s")) return len - 2 >= MIN_STEM_LENGTH ? word.substring(0, len - 2) : null;
+        if (word.endsWith("ies") && len - 3 >= MIN_STEM_LENGTH - 1) return word.substring(0, len - 3) + "y";
+        if (word.endsWith("sses") || word.endsWith("shes") || word.endsWith("ches") || word.endsWith("xes")) {
+            return word.substring(0, len - 2);
+        }
+        if (word.endsWith("ing") && len - 3 >= MIN_STEM_LENGTH) return word.substring(0, len - 3);
+        if (word.endsWith("ed") && len - 2 >= MIN_STEM_LENGTH) return word.substring(0, len - 2);
+        if (word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us") && len - 1 >= MIN_STEM_LENGTH) {
+            return word.substring(0, len - 1);
+        }
+        return null;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c < TABLE_SIZE && SEPARATOR[c];
+    }
+
+    private static char fold(char c) {
+        return c < TABLE_SIZE ? FOLD[c] : c;
+    }
+
+    private static boolean isArabic(char c) {
+        return c >= '\u0600' && c < TABLE_SIZE;
+    }
+
+    /**
+     * ASCII fast path; {@link Character#toLowerCase(char)} otherwise, which matches
+     * {@code toLowerCase(Locale.ROOT)} except for the few chars whose lowercase is two chars
+     * (U+0130) or context-dependent (final sigma).
+     */
+    private static char toLower(char c) {
+        if (c < 0x80) return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+        return Character.toLowerCase(c);
+    }
+
+    /** Per-thread buffers, grown to the longest input seen. */
+    private static final class Scratch {
+        private char[] lower = new char[128];
+        private char[] norm = new char[128];
+
+        char[] lower(int length) {
+            if (lower.length < length) lower = new char[Math.max(length, lower.length * 2)];
+            return lower;
+        }
+
+        char[] norm(int length) {
+            if (norm.length < length) norm = new char[Math.max(length, norm.length * 2)];
+            return norm;
+        }
     }
 }
@@ -125,7 +125,7 @@ public class SortOrderService {
         }
         categoryRepository.batchSave(remaining);
 
-        cacheService.evictPublicContentCaches();
+        cacheService.evictForChange(PublicContentChange.category(categoryId));
         log.info("Reordered category {} to position {}", categoryId, clampedPosition);
 
         return getCategorySortOrder();
@@ -200,7 +200,7 @@ public class SortOrderService {
         // Batch save all updated entries
         orderRepository.batchSave(remaining);
 
-        cacheService.evictPublicContentCaches();
+        cacheService.evictForChange(PublicContentChange.order(categoryId));
         log.info("Reordered {} {} to position {} in category {}",
                 contentType, contentId, clampedPosition, categoryId);
 
@@ -316,7 +316,12 @@ public class SortOrderService {
             throw e;
         }
 
-        cacheService.evictPublicContentCaches();
+        List<PublicContentChange> changes = new ArrayList<>();
+        changes.add(PublicContentChange.order(categoryId));
+        for (String[] item : items) {
+            changes.add(PublicContentChange.content(item[1], item[0], Set.of(categoryId)));
+        }
+        cacheService.evictForChanges(changes);
         return getContentSortOrder(categoryId);
     }
 
@@ -422,7 +427,9 @@ public class SortOrderService {
         // Then remove sort-order entry — if this fails, categoryId is already removed
         // which is the safer partial state (orphan sort-order row vs stale categoryId)
         removeContentFromCategory(categoryId, contentId, contentType);
-        cacheService.evictPublicContentCaches();
+        cacheService.evictForChanges(List.of(
+                PublicContentChange.content(contentType, contentId, Set.of(categoryId)),
+                PublicContentChange.order(categoryId)));
         return getContentSortOrder(categoryId);
     }
 
@@ -573,7 +580,7 @@ public class SortOrderService {
         if (existing.isEmpty()) {
             if (!defaultEntries.isEmpty()) {
                 orderRepository.batchSave(defaultEntries);
-                cacheService.evictPublicContentCaches();
+                cacheService.evictForChange(PublicContentChange.order(categoryId));
                 log.info("Initialized missing sort order for category {} with {} items", categoryId, defaultEntries.size());
             }
             return defaultEntries;
@@ -630,7 +637,7 @@ public class SortOrderService {
             if (!normalized.isEmpty()) {
                 orderRepository.batchSave(normalized);
             }
-            cacheService.evictPublicContentCaches();
+            cacheService.evictForChange(PublicContentChange.order(categoryId));
             log.info("Synchronized sort order for category {} (stored={}, normalized={}, newEntries={})",
                     categoryId, existing.size(), normalized.size(), newEntriesAdded);
         }
@@ -7,10 +7,16 @@ import com.albunyaan.tube.model.SearchableStream;
 import com.albunyaan.tube.repository.ChannelRepository;
 import com.albunyaan.tube.repository.PlaylistRepository;
 import com.albunyaan.tube.repository.SearchableStreamRepository;
+import com.albunyaan.tube.service.search.PublicSearchIndexService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.regex.Pattern;
 
@@ -20,20 +26,32 @@ public class StreamIndexService {
     private static final Logger log = LoggerFactory.getLogger(StreamIndexService.class);
     private static final Pattern CHANNEL_ID_PATTERN = Pattern.compile("^UC[A-Za-z0-9_-]{22}$");
     private static final Set<String> VALID_STREAM_TYPES = Set.of("VIDEO", "SHORT", "LIVESTREAM", "LIVE", "PAST_LIVE");
+    private static final int REMOVE_PAGE_SIZE = 500;
 
     private final SearchableStreamRepository streamRepository;
     private final ChannelRepository channelRepository;
     private final PlaylistRepository playlistRepository;
     private final SearchTokenizer tokenizer;
+    private final PublicSearchIndexService searchIndex;
 
     public StreamIndexService(SearchableStreamRepository streamRepository,
                                ChannelRepository channelRepository,
                                PlaylistRepository playlistRepository,
                                SearchTokenizer tokenizer) {
+        this(streamRepository, channelRepository, playlistRepository, tokenizer, null);
+    }
+
+    @Autowired
+    public StreamIndexService(SearchableStreamRepository streamRepository,
+                               ChannelRepository channelRepository,
+                               PlaylistRepository playlistRepository,
+                               SearchTokenizer tokenizer,
+                               @Nullable PublicSearchIndexService searchIndex) {
         this.streamRepository = streamRepository;
         this.channelRepository = channelRepository;
         this.playlistRepository = playlistRepository;
         this.tokenizer = tokenizer;
+        this.searchIndex = searchIndex;
     }
 
     /** Finding 3: PERSONAL-visibility sources must not be indexed into public search. */
@@ -60,10 +78,13 @@ public class StreamIndexService {
             Set<String> excludedLive = new HashSet<>(excluded.getLiveStreams());
             String sourceKey = "channel:" + channelYoutubeId;
 
+            List<SearchableStream> page = new ArrayList<>(items.size());
             for (StreamItemDto item : items) {
                 if (isChannelExcluded(item.getId(), item.getStreamType(), excludedVideos, excludedShorts, excludedLive)) continue;
-                upsert(item, channelYoutubeId, channel.getName(), sourceKey);
+                SearchableStream stream = toStream(item, channelYoutubeId, channel.getName(), sourceKey);
+                if (stream != null) page.add(stream);
             }
+            ingest(page, sourceKey);
         } catch (Exception e) {
             log.warn("indexFromChannel failed for {}: {}", channelYoutubeId, e.getMessage());
         }
@@ -84,6 +105,7 @@ public class StreamIndexService {
             Set<String> excluded = rawExcluded != null ? new HashSet<>(rawExcluded) : Collections.emptySet();
             String sourceKey = "playlist:" + playlistYoutubeId;
 
+            List<SearchableStream> page = new ArrayList<>(items.size());
             for (StreamItemDto item : items) {
                 if (excluded.contains(item.getId())) continue;
                 String rawChannelId = item.getChannelId();
@@ -99,8 +121,10 @@ public class StreamIndexService {
                 }
                 String uploaderName = item.getUploaderName();
                 if (uploaderName != null && uploaderName.length() > 200) uploaderName = uploaderName.substring(0, 200);
-                upsert(item, channelId, uploaderName, sourceKey);
+                SearchableStream stream = toStream(item, channelId, uploaderName, sourceKey);
+                if (stream != null) page.add(stream);
             }
+            ingest(page, sourceKey);
         } catch (Exception e) {
             log.warn("indexFromPlaylist failed for {}: {}", playlistYoutubeId, e.getMessage());
         }
@@ -112,15 +136,15 @@ public class StreamIndexService {
     public void removeSource(String sourceType, String sourceYoutubeId) {
         String sourceKey = sourceType.toLowerCase() + ":" + sourceYoutubeId;
         try {
-            List<SearchableStream> batch;
+            List<String> batch;
             int removed = 0;
             do {
-                batch = streamRepository.findBySourceKey(sourceKey, 500);
-                for (SearchableStream stream : batch) {
-                    streamRepository.removeSource(stream.getStreamId(), sourceKey);
-                    removed++;
+                batch = streamRepository.removeSourcePage(sourceKey, REMOVE_PAGE_SIZE);
+                if (searchIndex != null) {
+                    for (String streamId : batch) searchIndex.onStreamSourceRemoved(streamId, sourceKey);
                 }
-            } while (batch.size() == 500);
+                removed += batch.size();
+            } while (batch.size() == REMOVE_PAGE_SIZE);
             log.info("Removed search index source {} ({} streams)", sourceKey, removed);
         } catch (Exception e) {
             log.warn("removeSource failed for {}: {}", sourceKey, e.getMessage());
@@ -136,39 +160,126 @@ public class StreamIndexService {
     public void markStreamArchived(String streamId) {
         try {
             streamRepository.markInvisible(streamId);
+            if (searchIndex != null) searchIndex.onStreamArchived(streamId);
             log.info("Stream {} marked invisible (archived)", streamId);
         } catch (Exception e) {
             log.warn("markStreamArchived failed for {}: {}", streamId, e.getMessage());
         }
     }
 
-    private void upsert(StreamItemDto item, String channelId, String channelName, String sourceKey) {
+    /**
+     * Writes one page of streams from {@code sourceKey}: the page's existing documents are
+     * read in one batch, and only streams that are new, invisible or whose
+     * {@link #contentHash} changed are written, through one bulk write. Re-scrolling a
+     * channel tab whose streams haven't changed costs reads only.
+     */
+    private void ingest(List<SearchableStream> page, String sourceKey) {
+        if (page.isEmpty()) return;
+        Map<String, SearchableStream> byId = new LinkedHashMap<>();
+        for (SearchableStream stream : page) byId.put(stream.getStreamId(), stream);
+
+        Map<String, SearchableStream> existing;
+        try {
+            existing = streamRepository.findByIds(byId.keySet());
+        } catch (Exception e) {
+            // Writing everything is still correct, just costlier
+            log.warn("Existing-stream lookup failed for {}, writing the whole page: {}", sourceKey, e.getMessage());
+            existing = Map.of();
+        }
+
+        List<SearchableStream> changed = new ArrayList<>(byId.size());
+        for (SearchableStream stream : byId.values()) {
+            SearchableStream current = existing.get(stream.getStreamId());
+            Set<String> sourceKeys = new TreeSet<>();
+            if (current != null && current.getSourceKeys() != null) sourceKeys.addAll(current.getSourceKeys());
+            sourceKeys.add(sourceKey);
+            stream.setContentHash(contentHash(stream, sourceKeys));
+            if (current != null && current.isVisible() && current.getSourceKeys() != null
+                    && current.getSourceKeys().contains(sourceKey)
+                    && stream.getContentHash().equals(current.getContentHash())) {
+                continue;
+            }
+            changed.add(stream);
+        }
+        if (changed.isEmpty()) return;
+
         try {
-            if (item.getId() == null || item.getName() == null) {
-                log.warn("Skipping stream with null id or name (sourceKey={})", sourceKey);
-                return;
+            Set<String> written = new HashSet<>(streamRepository.upsertAll(changed, sourceKey));
+            if (searchIndex != null) {
+                for (SearchableStream stream : changed) {
+                    if (written.contains(stream.getStreamId())) searchIndex.onStreamUpserted(stream, sourceKey);
+                }
             }
-            String titleNorm = tokenizer.normalizeArabic(item.getName().toLowerCase(Locale.ROOT));
-            List<String> tokens = tokenizer.tokenize(item.getName(), channelName);
-
-            SearchableStream stream = new SearchableStream();
-            stream.setStreamId(item.getId());
-            stream.setTitle(item.getName());
-            stream.setTitleNorm(titleNorm);
-            stream.setThumbnailUrl(item.getThumbnailUrl());
-            stream.setChannelId(channelId);
-            stream.setChannelName(channelName);
-            String streamType = item.getStreamType();
-            stream.setStreamType(streamType != null && VALID_STREAM_TYPES.contains(streamType.toUpperCase()) ? streamType : null);
-            stream.setDurationSeconds(item.getDuration());
-            stream.setViewCount(item.getViewCount());
-            stream.setSearchTokens(tokens);
-            stream.setVisible(true);
-
-            streamRepository.upsert(stream, sourceKey);
+            log.debug("Indexed {} of {} streams from {}", written.size(), byId.size(), sourceKey);
         } catch (Exception e) {
-            log.warn("Failed to upsert stream {}: {}", item.getId(), e.getMessage());
+            log.warn("Failed to upsert {} streams from {}: {}", changed.size(), sourceKey, e.getMessage());
+        }
+    }
+
+    private SearchableStream toStream(StreamItemDto item, String channelId, String channelName, String sourceKey) {
+        if (item.getId() == null || item.getName() == null) {
+            log.warn("Skipping stream with null id or name (sourceKey={})", sourceKey);
+            return null;
+        }
+        String titleNorm = tokenizer.normalizeArabic(item.getName().toLowerCase(Locale.ROOT));
+        List<String> tokens = tokenizer.tokenize(item.getName(), channelName);
+
+        SearchableStream stream = new SearchableStream();
+        stream.setStreamId(item.getId());
+        stream.setTitle(item.getName());
+        stream.setTitleNorm(titleNorm);
+        stream.setThumbnailUrl(item.getThumbnailUrl());
+        stream.setChannelId(channelId);
+        stream.setChannelName(channelName);
+        String streamType = item.getStreamType();
+        stream.setStreamType(streamType != null && VALID_STREAM_TYPES.contains(streamType.toUpperCase()) ? streamType : null);
+        stream.setDurationSeconds(item.getDuration());
+        stream.setViewCount(item.getViewCount());
+        stream.setSearchTokens(tokens);
+        stream.setVisible(true);
+        return stream;
+    }
+
+    /**
+     * Hash of what a write would change: the displayed fields, the view count rounded to
+     * two significant digits (so a ticking counter doesn't force a rewrite on every scroll),
+     * the search fields and the resulting sourceKeys. The search fields are the tokenizer's
+     * output, so a tokenizer change (stemming, new folding tables) rewrites the streams it
+     * affects the next time they are scrolled.
+     */
+    static String contentHash(SearchableStream stream, Set<String> sortedSourceKeys) {
+        StringBuilder sb = new StringBuilder()
+                .append(stream.getTitle()).append('\0')
+                .append(stream.getThumbnailUrl()).append('\0')
+                .append(viewBucket(stream.getViewCount())).append('\0')
+                .append(stream.getChannelId()).append('\0')
+                .append(stream.getChannelName()).append('\0')
+                .append(stream.getStreamType()).append('\0')
+                .append(stream.getDurationSeconds()).append('\0')
+                .append(stream.getTitleNorm());
+        if (stream.getSearchTokens() != null) {
+            for (String token : stream.getSearchTokens()) sb.append('\0').append(token);
+        }
+        // Separates the token list from the source keys
+        sb.append('\0').append('\0');
+        for (String key : sortedSourceKeys) sb.append('\0').append(key);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static long viewBucket(Long viewCount) {
+        if (viewCount == null || viewCount < 0) return -1L;
+        long v = viewCount;
+        long scale = 1L;
+        while (v >= 100L) {
+            v /= 10L;
+            scale *= 10L;
         }
+        return v * scale;
     }
 
     private boolean isChannelExcluded(String streamId, String streamType,
@@ -320,7 +320,8 @@ public class TagEnrichmentService {
     // ─────────────────────────────────────────────────────────────────────────
 
     private List<String> fetchVideoTags(String youtubeId) {
-        try {
+        try (YouTubeRequestScheduler.LaneScope ignored =
+                     YouTubeRequestScheduler.withLane(YouTubeRequestScheduler.Lane.BACKGROUND)) {
             StreamInfo info = youTubeGateway.fetchStreamInfo(youtubeId);
             if (info != null && info.getTags() != null) {
                 log.debug("Fetched {} YouTube tags for video {}", info.getTags().size(), youtubeId);
@@ -333,7 +334,8 @@ public class TagEnrichmentService {
     }
 
     private List<String> fetchChannelTags(String youtubeId) {
-        try {
+        try (YouTubeRequestScheduler.LaneScope ignored =
+                     YouTubeRequestScheduler.withLane(YouTubeRequestScheduler.Lane.BACKGROUND)) {
             ChannelInfo info = youTubeGateway.fetchChannelInfo(youtubeId);
             if (info != null && info.getTags() != null) {
                 log.debug("Fetched {} YouTube tags for channel {}", info.getTags().size(), youtubeId);
@@ -0,0 +1,298 @@
+package com.albunyaan.tube.service;
+
+import com.albunyaan.tube.config.ValidationProperties;
+import com.albunyaan.tube.repository.ValidationQueueRepository;
+import com.albunyaan.tube.repository.ValidationQueueRepository.FailureReport;
+import com.albunyaan.tube.model.Channel;
+import com.albunyaan.tube.model.Playlist;
+import com.albunyaan.tube.model.Video;
+import com.albunyaan.tube.service.catalog.HomeFeedProjector;
+import com.albunyaan.tube.service.catalog.PublicCatalogSnapshot;
+import com.google.cloud.Timestamp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides which items a validation run looks at, replacing plain oldest-lastValidatedAt-first.
+ *
+ * Each run scores a candidate pool (the stalest {@code candidate-window} items, the items on
+ * the home feed or in a category, and anything with a client playback failure reported since
+ * its last validation) and leases the best
+ * ones in {@link ValidationQueueRepository}, so a manual run and a scheduled one, or two
+ * instances, never validate the same item at once. The score adds up:
+ * <ul>
+ *   <li>staleness: one point per day since last validation, capped at 30 (never validated = 30);</li>
+ *   <li>exposure: +20 on the home feed, +5 when in any category, and 2 × log10(1 + views or
+ *       subscribers);</li>
+ *   <li>playback failures reported since the last validation: +15, plus 5 per report up to 5;</li>
+ *   <li>recent change: up to +10 for an item edited or approved in the last 14 days, fading
+ *       linearly.</li>
+ * </ul>
+ * A broken video in the home feed that users are failing to play therefore goes first, ahead
+ * of a month-old item nobody opens.
+ */
+@Service
+public class ValidationQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationQueueService.class);
+
+    static final double MAX_STALENESS_DAYS = 30;
+    static final double HOME_BONUS = 20;
+    static final double CATEGORY_BONUS = 5;
+    static final double POPULARITY_WEIGHT = 2;
+    static final double FAILURE_BONUS = 15;
+    static final double FAILURE_PER_REPORT = 5;
+    static final int MAX_COUNTED_REPORTS = 5;
+    static final double CHANGE_BONUS = 10;
+    static final double CHANGE_WINDOW_DAYS = 14;
+    private static final double DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    public enum ContentType { VIDEO, CHANNEL, PLAYLIST }
+
+    /**
+     * Scoring inputs of one candidate. {@code changedAt} is when the item was approved or
+     * edited by a moderator, not {@code updatedAt}: every validation write moves that one.
+     */
+    public record Signals(String youtubeId,
+                         @Nullable Timestamp lastValidatedAt,
+                         @Nullable Timestamp changedAt,
+                         @Nullable Long popularity,
+                         boolean categorized) {
+    }
+
+    /** Items leased for one run, best first; hand back to {@link #release}. */
+    public record Pull<T>(ContentType type, List<T> items, String holder) {
+    }
+
+    private final ValidationQueueRepository repository;
+    private final ValidationProperties validationProperties;
+    @Nullable
+    private final HomeFeedProjector homeFeedProjector;
+    private final LongSupplier clock;
+    private final String instanceId;
+    private final AtomicLong pulls = new AtomicLong();
+
+    /** Test seam: fixed clock. */
+    ValidationQueueService(ValidationQueueRepository repository,
+                           ValidationProperties validationProperties,
+                           @Nullable HomeFeedProjector homeFeedProjector,
+                           LongSupplier clock) {
+        this.repository = repository;
+        this.validationProperties = validationProperties;
+        this.homeFeedProjector = homeFeedProjector;
+        this.clock = clock;
+        this.instanceId = resolveInstanceId();
+    }
+
+    @Autowired
+    public ValidationQueueService(ValidationQueueRepository repository,
+                                  ValidationProperties validationProperties,
+                                  @Nullable HomeFeedProjector homeFeedProjector) {
+        this(repository, validationProperties, homeFeedProjector, System::currentTimeMillis);
+    }
+
+    public boolean isEnabled() {
+        return validationProperties.getQueue().isEnabled();
+    }
+
+    /** Candidate pool size besides reported items. */
+    public int getCandidateWindow() {
+        return validationProperties.getQueue().getCandidateWindow();
+    }
+
+    // ==================== Signals ====================
+
+    /** Record a client playback failure (download-failed analytics) against a video. */
+    public void reportPlaybackFailure(String youtubeId) {
+        if (!isEnabled() || youtubeId == null || youtubeId.isBlank()) {
+            return;
+        }
+        try {
+            repository.recordFailure(ContentType.VIDEO.name(), youtubeId);
+        } catch (Exception e) {
+            logger.debug("Failed to queue playback failure for {}: {}", youtubeId, e.getMessage());
+        }
+    }
+
+    /** Failure reports of {@code type} inside the failure window, by YouTube ID. Empty on error. */
+    public Map<String, FailureReport> recentFailures(ContentType type, int limit) {
+        long since = clock.getAsLong() - TimeUnit.DAYS.toMillis(validationProperties.getQueue().getFailureWindowDays());
+        try {
+            Map<String, FailureReport> reports = new LinkedHashMap<>();
+            for (FailureReport report : repository.findFailuresSince(type.name(), Timestamp.ofTimeMicroseconds(
+                    TimeUnit.MILLISECONDS.toMicros(since)), limit)) {
+                if (report.youtubeId() != null) {
+                    reports.put(report.youtubeId(), report);
+                }
+            }
+            return reports;
+        } catch (Exception e) {
+            logger.warn("Failed to read {} playback failure reports; scoring without them: {}", type, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * YouTube IDs of {@code type} items users see: every home feed item, then categorized
+     * items of the latest catalog snapshot, stalest first, up to {@code limit} in total.
+     * Meant to be merged into the candidate pool so exposure can lift items outside the
+     * stalest window; the snapshot's lastValidatedAt may lag, so callers re-read the items.
+     */
+    public Set<String> exposedIds(ContentType type, int limit) {
+        if (homeFeedProjector == null || limit <= 0) {
+            return Set.of();
+        }
+        Set<String> ids = new LinkedHashSet<>(homeFeedProjector.featuredIds(type.name()));
+        PublicCatalogSnapshot catalog = homeFeedProjector.latestCatalog();
+        if (catalog == null || ids.size() >= limit) {
+            return ids;
+        }
+        List<String> categories = new ArrayList<>(catalog.findActiveCategoryIds());
+        switch (type) {
+            case CHANNEL -> addStalest(ids, catalog.findChannelsByCategoryIds(categories, Integer.MAX_VALUE),
+                    Channel::getYoutubeId, Channel::getLastValidatedAt, limit);
+            case PLAYLIST -> addStalest(ids, catalog.findPlaylistsByCategoryIds(categories, Integer.MAX_VALUE),
+                    Playlist::getYoutubeId, Playlist::getLastValidatedAt, limit);
+            case VIDEO -> addStalest(ids, catalog.findVideosByCategoryIds(categories, Integer.MAX_VALUE),
+                    Video::getYoutubeId, Video::getLastValidatedAt, limit);
+        }
+        return ids;
+    }
+
+    private static <T> void addStalest(Set<String> ids, List<T> items, Function<T, String> id,
+                                       Function<T, Timestamp> lastValidatedAt, int limit) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(lastValidatedAt, Comparator.nullsFirst(Comparator.naturalOrder())));
+        for (T item : sorted) {
+            if (ids.size() >= limit) {
+                return;
+            }
+            if (id.apply(item) != null) {
+                ids.add(id.apply(item));
+            }
+        }
+    }
+
+    /** Whether {@code report} came in after the item was last validated, so it still needs an answer. */
+    public static boolean isOpen(@Nullable FailureReport report, @Nullable Timestamp lastValidatedAt) {
+        return report != null && report.lastFailureAt() != null
+                && (lastValidatedAt == null || report.lastFailureAt().compareTo(lastValidatedAt) > 0);
+    }
+
+    // ==================== Pull / release ====================
+
+    /**
+     * Score {@code candidates}, then lease the best {@code limit} of them, skipping any leased
+     * by another run.
+     */
+    public <T> Pull<T> pull(ContentType type, List<T> candidates, Function<T, Signals> signals,
+                            Map<String, FailureReport> failures, int limit) {
+        long now = clock.getAsLong();
+        Set<String> featured = homeFeedProjector != null ? homeFeedProjector.featuredIds() : Set.of();
+        Map<String, T> byId = new LinkedHashMap<>();
+        Map<String, Double> scores = new HashMap<>();
+        for (T item : candidates) {
+            Signals s = signals.apply(item);
+            if (s.youtubeId() == null || byId.putIfAbsent(s.youtubeId(), item) != null) {
+                continue;
+            }
+            scores.put(s.youtubeId(), score(s, failures.get(s.youtubeId()), featured.contains(s.youtubeId()), now));
+        }
+        List<String> ranked = new ArrayList<>(byId.keySet());
+        ranked.sort(Comparator.comparingDouble((String id) -> scores.get(id)).reversed());
+
+        String holder = instanceId + "#" + pulls.incrementAndGet();
+        long ttlMillis = TimeUnit.MINUTES.toMillis(validationProperties.getQueue().getLeaseMinutes());
+        List<T> leased = new ArrayList<>();
+        int next = 0;
+        while (leased.size() < limit && next < ranked.size()) {
+            List<String> batch = ranked.subList(next, Math.min(ranked.size(), next + (limit - leased.size())));
+            next += batch.size();
+            for (String id : repository.tryLease(type.name(), batch, scores, holder, ttlMillis)) {
+                leased.add(byId.get(id));
+            }
+        }
+        logger.info("Validation queue: leased {} of {} {} candidates (top score {})", leased.size(), ranked.size(),
+                type, ranked.isEmpty() ? "-" : String.format("%.1f", scores.get(ranked.get(0))));
+        return new Pull<>(type, leased, holder);
+    }
+
+    /**
+     * Release a run's leases. Items validated by the run (lastValidatedAt moved past
+     * {@code runStart}) also have their failure reports cleared.
+     */
+    public <T> void release(Pull<T> pull, Function<T, Signals> signals, Timestamp runStart) {
+        if (pull.items().isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>();
+        Set<String> validated = new HashSet<>();
+        for (T item : pull.items()) {
+            Signals s = signals.apply(item);
+            ids.add(s.youtubeId());
+            if (s.lastValidatedAt() != null && s.lastValidatedAt().compareTo(runStart) >= 0) {
+                validated.add(s.youtubeId());
+            }
+        }
+        repository.release(pull.type().name(), ids, validated);
+    }
+
+    // ==================== Scoring ====================
+
+    static double score(Signals s, @Nullable FailureReport failure, boolean onHome, long nowMillis) {
+        double score = s.lastValidatedAt() == null
+                ? MAX_STALENESS_DAYS
+                : Math.min(MAX_STALENESS_DAYS, Math.max(0, (nowMillis - millis(s.lastValidatedAt())) / DAY_MILLIS));
+        if (onHome) {
+            score += HOME_BONUS;
+        }
+        if (s.categorized()) {
+            score += CATEGORY_BONUS;
+        }
+        if (s.popularity() != null && s.popularity() > 0) {
+            score += POPULARITY_WEIGHT * Math.log10(1 + s.popularity());
+        }
+        if (isOpen(failure, s.lastValidatedAt())) {
+            score += FAILURE_BONUS + FAILURE_PER_REPORT * Math.min(MAX_COUNTED_REPORTS, failure.failureCount());
+        }
+        if (s.changedAt() != null) {
+            double daysSinceChange = Math.max(0, (nowMillis - millis(s.changedAt())) / DAY_MILLIS);
+            score += CHANGE_BONUS * Math.max(0, 1 - daysSinceChange / CHANGE_WINDOW_DAYS);
+        }
+        return score;
+    }
+
+    private static long millis(Timestamp timestamp) {
+        return timestamp.getSeconds() * 1000 + timestamp.getNanos() / 1_000_000;
+    }
+
+    private static String resolveInstanceId() {
+        try {
+            String hostname = InetAddress.getLocalHost().getHostName();
+            String pid = ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
+            return hostname + "-" + pid;
+        } catch (Exception e) {
+            // Same fallback as the schedulers' lock holder IDs
+            return "instance-" + java.util.UUID.randomUUID().toString().substring(0, 8);
+        }
+    }
+}
@@ -9,9 +9,12 @@ import com.albunyaan.tube.model.ValidationStatus;
 import com.albunyaan.tube.model.Video;
 import com.albunyaan.tube.repository.ValidationRunRepository;
 import com.albunyaan.tube.repository.VideoRepository;
+import com.albunyaan.tube.service.sync.ArchivedIdIndex;
 import com.google.cloud.Timestamp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -40,19 +43,34 @@ public class VideoValidationService {
     private final AuditLogService auditLogService;
     private final ValidationRunRepository validationRunRepository;
     private final ValidationProperties validationProperties;
+    private final ArchivedIdIndex archivedIdIndex;
 
+    /** Test seam: no sync archived-ID index to keep in step. */
     public VideoValidationService(
             VideoRepository videoRepository,
             ChannelOrchestrator channelOrchestrator,
             AuditLogService auditLogService,
             ValidationRunRepository validationRunRepository,
             ValidationProperties validationProperties
+    ) {
+        this(videoRepository, channelOrchestrator, auditLogService, validationRunRepository, validationProperties, null);
+    }
+
+    @Autowired
+    public VideoValidationService(
+            VideoRepository videoRepository,
+            ChannelOrchestrator channelOrchestrator,
+            AuditLogService auditLogService,
+            ValidationRunRepository validationRunRepository,
+            ValidationProperties validationProperties,
+            @Nullable ArchivedIdIndex archivedIdIndex
     ) {
         this.videoRepository = videoRepository;
         this.channelOrchestrator = channelOrchestrator;
         this.auditLogService = auditLogService;
         this.validationRunRepository = validationRunRepository;
         this.validationProperties = validationProperties;
+        this.archivedIdIndex = archivedIdIndex;
     }
 
     /**
@@ -129,6 +147,7 @@ public class VideoValidationService {
                         video.setValidationStatus(ValidationStatus.VALID);
                         video.setLastValidatedAt(Timestamp.now());
                         videoRepository.save(video);
+                        if (archivedIdIndex != null) archivedIdIndex.record(video);
                         logger.debug("Video {} is valid", youtubeId);
                     } else if (validationResult.isNotFound(youtubeId)) {
                         // Video definitively not available on YouTube - mark as UNAVAILABLE (legacy).
@@ -136,6 +155,7 @@ public class VideoValidationService {
                         video.setValidationStatus(ValidationStatus.UNAVAILABLE);
                         video.setLastValidatedAt(Timestamp.now());
                         videoRepository.save(video);
+                        if (archivedIdIndex != null) archivedIdIndex.record(video);
 
                         unavailableCount++;
                         unavailableVideoIds.add(video.getId());
@@ -155,6 +175,7 @@ public class VideoValidationService {
                         video.setValidationStatus(ValidationStatus.ERROR);
                         video.setLastValidatedAt(Timestamp.now());
                         videoRepository.save(video);
+                        if (archivedIdIndex != null) archivedIdIndex.record(video);
 
                         errorCount++;
                         errorVideoIds.add(video.getId());
@@ -165,6 +186,7 @@ public class VideoValidationService {
                         video.setValidationStatus(ValidationStatus.ERROR);
                         video.setLastValidatedAt(Timestamp.now());
                         videoRepository.save(video);
+                        if (archivedIdIndex != null) archivedIdIndex.record(video);
 
                         errorCount++;
                         errorVideoIds.add(video.getId());
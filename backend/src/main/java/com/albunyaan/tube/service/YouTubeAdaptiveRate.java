@@ -0,0 +1,274 @@
+package com.albunyaan.tube.service;
+
+import com.albunyaan.tube.config.ValidationProperties;
+import com.albunyaan.tube.repository.SystemSettingsRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD controller for the spacing of outbound YouTube requests, sitting between the fixed
+ * throttle delay and the {@link YouTubeCircuitBreaker}.
+ *
+ * The delay starts at {@code throttle.delay-between-items-ms} and moves within
+ * [{@code min-delay-ms}, {@code max-delay-ms}]:
+ * <ul>
+ *   <li>each successful response faster than {@code slow-response-ms} shortens it by
+ *       {@code decrease-step-ms} (additive increase of the rate);</li>
+ *   <li>a 429/reCAPTCHA, or a successful response slower than {@code slow-response-ms},
+ *       multiplies it by {@code backoff-factor} (multiplicative decrease). Signals arriving
+ *       within one delay of the last back-off belong to the same episode and are ignored, so a
+ *       handful of in-flight requests failing together back off once.</li>
+ * </ul>
+ * The circuit breaker still opens after its own threshold; this controller slows down well
+ * before that and speeds up again on good days.
+ *
+ * The learned delay is kept in {@code system_settings/youtube_adaptive_rate} (at most every
+ * {@code persist-interval-seconds}, immediately after a back-off) and restored on startup.
+ * Writes run on a background thread and coalesce to the latest delay, so the request thread
+ * that reported the signal never waits for Firestore.
+ *
+ * Metrics: {@code youtube.throttle.delay} (ms) and {@code youtube.throttle.rate} (requests/min).
+ */
+@Component
+public class YouTubeAdaptiveRate {
+
+    private static final Logger logger = LoggerFactory.getLogger(YouTubeAdaptiveRate.class);
+    private static final String SETTINGS_KEY = "youtube_adaptive_rate";
+
+    private final ValidationProperties validationProperties;
+    @Nullable
+    private final SystemSettingsRepository systemSettingsRepository;
+    private final LongSupplier clock;
+
+    private final Object lock = new Object();
+    /** Guarded by {@link #lock} for writes; read without it. */
+    private volatile double delayMs;
+    private long lastBackoffAt;
+    private long lastPersistedAt;
+    private double persistedDelayMs = -1;
+
+    /** Runs the settings writes; the pending write is replaced by newer ones until it runs. */
+    private final Executor publisher;
+    private final AtomicReference<Map<String, Object>> pendingWrite = new AtomicReference<>();
+
+    /** Test seam: fixed clock and publisher. */
+    YouTubeAdaptiveRate(ValidationProperties validationProperties,
+                        @Nullable SystemSettingsRepository systemSettingsRepository,
+                        @Nullable MeterRegistry meterRegistry,
+                        LongSupplier clock,
+                        Executor publisher) {
+        this.validationProperties = validationProperties;
+        this.systemSettingsRepository = systemSettingsRepository;
+        this.clock = clock;
+        this.publisher = publisher;
+        this.delayMs = clamp(validationProperties.getYoutube().getThrottle().getDelayBetweenItemsMs());
+        if (meterRegistry != null) {
+            Gauge.builder("youtube.throttle.delay", this, YouTubeAdaptiveRate::getDelayMs)
+                    .description("Current spacing between YouTube requests")
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("youtube.throttle.rate", this, YouTubeAdaptiveRate::getRequestsPerMinute)
+                    .description("Current YouTube request rate allowed by the throttle")
+                    .baseUnit("requests/min")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Autowired
+    public YouTubeAdaptiveRate(ValidationProperties validationProperties,
+                               @Nullable SystemSettingsRepository systemSettingsRepository,
+                               @Nullable MeterRegistry meterRegistry) {
+        this(validationProperties, systemSettingsRepository, meterRegistry, System::currentTimeMillis,
+                newPublisher());
+    }
+
+    private static ExecutorService newPublisher() {
+        // One thread, created on the first write; the queue holds at most one coalesced write
+        return new ThreadPoolExecutor(0, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "yt-adaptive-rate-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Restore the delay learned before the last restart.
+     */
+    @PostConstruct
+    public void loadPersistedState() {
+        if (systemSettingsRepository == null || !isEnabled()) {
+            return;
+        }
+        try {
+            Optional<Map<String, Object>> data = systemSettingsRepository.load(SETTINGS_KEY);
+            Number saved = data.map(d -> (Number) d.get("delayMs")).orElse(null);
+            if (saved != null) {
+                synchronized (lock) {
+                    delayMs = clamp(saved.doubleValue());
+                    persistedDelayMs = delayMs;
+                }
+                logger.info("Adaptive YouTube throttle restored - delay: {}ms", Math.round(delayMs));
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to load adaptive throttle state: {} - starting from the configured delay",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Save the latest delay and wait for the queued write.
+     */
+    @PreDestroy
+    public void shutdown() {
+        persist(true);
+        if (publisher instanceof ExecutorService service) {
+            service.shutdown();
+            try {
+                if (!service.awaitTermination(5, TimeUnit.SECONDS)) {
+                    service.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                service.shutdownNow();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return validationProperties.getYoutube().getThrottle().getAdaptive().isEnabled();
+    }
+
+    /**
+     * Current spacing between requests: the learned delay, or the fixed
+     * {@code delay-between-items-ms} when adaptive throttling is disabled.
+     */
+    public long getDelayMs() {
+        if (!isEnabled()) {
+            return validationProperties.getYoutube().getThrottle().getDelayBetweenItemsMs();
+        }
+        return Math.round(delayMs);
+    }
+
+    /** Requests per minute the current delay allows. */
+    public double getRequestsPerMinute() {
+        return TimeUnit.MINUTES.toMillis(1) / (double) Math.max(1, getDelayMs());
+    }
+
+    // ==================== Signals ====================
+
+    /**
+     * A YouTube call succeeded after {@code latencyMs}: speed up, or back off if it was slow.
+     */
+    public void onSuccess(long latencyMs) {
+        if (!isEnabled()) {
+            return;
+        }
+        ValidationProperties.YouTube.Throttle.Adaptive config = adaptiveConfig();
+        if (latencyMs > config.getSlowResponseMs()) {
+            backOff("slow response (" + latencyMs + "ms)");
+            return;
+        }
+        synchronized (lock) {
+            delayMs = clamp(delayMs - config.getDecreaseStepMs());
+        }
+        persist(false);
+    }
+
+    /**
+     * A YouTube call was rate limited (429, reCAPTCHA, sign-in/bot check): back off.
+     */
+    public void onRateLimited() {
+        if (!isEnabled()) {
+            return;
+        }
+        backOff("rate limited");
+    }
+
+    private void backOff(String reason) {
+        ValidationProperties.YouTube.Throttle.Adaptive config = adaptiveConfig();
+        long now = clock.getAsLong();
+        double before;
+        synchronized (lock) {
+            before = delayMs;
+            if (lastBackoffAt > 0 && now - lastBackoffAt < before) {
+                return; // Same episode as the last back-off
+            }
+            lastBackoffAt = now;
+            delayMs = clamp(before * Math.max(1, config.getBackoffFactor()));
+        }
+        logger.info("Adaptive YouTube throttle backing off ({}): {}ms -> {}ms", reason,
+                Math.round(before), Math.round(delayMs));
+        persist(true);
+    }
+
+    // ==================== Persistence ====================
+
+    private void persist(boolean force) {
+        if (systemSettingsRepository == null || !isEnabled()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        double delay;
+        synchronized (lock) {
+            delay = delayMs;
+            boolean due = now - lastPersistedAt >= TimeUnit.SECONDS.toMillis(adaptiveConfig().getPersistIntervalSeconds());
+            if (Math.round(delay) == Math.round(persistedDelayMs) || !(force || due)) {
+                return;
+            }
+            lastPersistedAt = now;
+            persistedDelayMs = delay;
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("delayMs", Math.round(delay));
+        data.put("updatedAtEpoch", now);
+        if (pendingWrite.getAndSet(data) == null) {
+            try {
+                publisher.execute(this::publish);
+            } catch (Exception e) {
+                pendingWrite.set(null);
+                logger.warn("Adaptive throttle publisher unavailable: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void publish() {
+        Map<String, Object> data = pendingWrite.getAndSet(null);
+        if (data == null) {
+            return;
+        }
+        try {
+            systemSettingsRepository.save(SETTINGS_KEY, data);
+        } catch (Exception e) {
+            logger.warn("Failed to save adaptive throttle state: {}", e.getMessage());
+        }
+    }
+
+    private double clamp(double delay) {
+        ValidationProperties.YouTube.Throttle.Adaptive config = adaptiveConfig();
+        long min = Math.max(0, config.getMinDelayMs());
+        long max = Math.max(min, config.getMaxDelayMs());
+        return Math.min(max, Math.max(min, delay));
+    }
+
+    private ValidationProperties.YouTube.Throttle.Adaptive adaptiveConfig() {
+        return validationProperties.getYoutube().getThrottle().getAdaptive();
+    }
+}
@@ -0,0 +1,444 @@
+package com.albunyaan.tube.service;
+
+import com.albunyaan.tube.config.ValidationProperties;
+import com.albunyaan.tube.model.Channel;
+import com.albunyaan.tube.model.Playlist;
+import com.albunyaan.tube.model.Video;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cheap availability check for approved content, run by the validation schedulers before
+ * any NewPipe extraction.
+ *
+ * <p>A full extraction costs several YouTube requests plus the throttle spacing, so the
+ * schedulers could only re-check a few dozen items a day. This tier instead asks the public
+ * oEmbed endpoint (one small JSON request per video or playlist) and the channel RSS feed
+ * ({@code /feeds/videos.xml}, which lists a channel's latest uploads, so one feed confirms
+ * several videos at once). Neither goes through NewPipe or the request scheduler's bucket.
+ *
+ * <p>A probe never archives anything. It only sorts items into:
+ * <ul>
+ *   <li>AVAILABLE — public and reachable, with the title YouTube reports;</li>
+ *   <li>SUSPECT — oEmbed/feed says missing, private or not embeddable; the full extraction
+ *       decides;</li>
+ *   <li>UNKNOWN — not probed (rate limited, breaker open, network error).</li>
+ * </ul>
+ * {@link #plan} then picks which items still need a full extraction.
+ *
+ * <p>An HTTP 429 stops the rest of the batch (left UNKNOWN) without touching the circuit
+ * breaker, which guards the extraction endpoints. Metric: {@code youtube.probe{kind, result}}.
+ */
+@Service
+public class YouTubeAvailabilityProbe {
+
+    private static final Logger logger = LoggerFactory.getLogger(YouTubeAvailabilityProbe.class);
+    private static final String OEMBED_BASE = "https://www.youtube.com/oembed";
+    private static final String FEED_BASE = "https://www.youtube.com/feeds/videos.xml";
+    private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+    private static final String YT_NS = "http://www.youtube.com/xml/schemas/2015";
+
+    public enum Availability {
+        AVAILABLE, SUSPECT, UNKNOWN;
+
+        final String tag = name().toLowerCase();
+    }
+
+    public record Result(Availability availability, @Nullable String title) {
+        static final Result UNKNOWN = new Result(Availability.UNKNOWN, null);
+        static final Result SUSPECT = new Result(Availability.SUSPECT, null);
+    }
+
+    /** Items that still need a full extraction, and the probe-confirmed rest. */
+    public record Plan<T>(List<T> extract, List<T> confirmed) {
+    }
+
+    /** Minimal HTTP seam so the classification can be tested without the network. */
+    @FunctionalInterface
+    interface Http {
+        Reply get(String url) throws IOException;
+    }
+
+    record Reply(int code, @Nullable String body) {
+    }
+
+    /** Parsed channel feed: channel title and the titles of the listed videos by ID. */
+    record ChannelFeed(@Nullable String title, Map<String, String> videoTitles) {
+    }
+
+    private final Http http;
+    private final ValidationProperties validationProperties;
+    @Nullable
+    private final YouTubeCircuitBreaker circuitBreaker;
+    @Nullable
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Test seam: injectable transport. */
+    YouTubeAvailabilityProbe(Http http,
+                             ValidationProperties validationProperties,
+                             @Nullable YouTubeCircuitBreaker circuitBreaker,
+                             @Nullable MeterRegistry meterRegistry) {
+        this.http = http;
+        this.validationProperties = validationProperties;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Autowired
+    public YouTubeAvailabilityProbe(
+            @Value("${app.newpipe.http.user-agent:Mozilla/5.0 (Windows NT 10.0; rv:127.0) Gecko/20100101 Firefox/127.0}")
+            String userAgent,
+            ValidationProperties validationProperties,
+            @Nullable YouTubeCircuitBreaker circuitBreaker,
+            @Nullable MeterRegistry meterRegistry) {
+        this(okHttp(userAgent), validationProperties, circuitBreaker, meterRegistry);
+    }
+
+    private static Http okHttp(String userAgent) {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .connectTimeout(5, TimeUnit.SECONDS)
+                .readTimeout(5, TimeUnit.SECONDS)
+                .callTimeout(8, TimeUnit.SECONDS)
+                .followRedirects(false) // a consent/login redirect is not an answer
+                .build();
+        return url -> {
+            Request request = new Request.Builder()
+                    .url(url)
+                    .header("User-Agent", userAgent)
+                    .get()
+                    .build();
+            try (Response response = client.newCall(request).execute()) {
+                return new Reply(response.code(), response.body() != null ? response.body().string() : null);
+            }
+        };
+    }
+
+    /** Whether the schedulers should probe before extracting. */
+    public boolean isEnabled() {
+        return validationProperties.getYoutube().getProbe().isEnabled();
+    }
+
+    // ==================== Batch probes ====================
+
+    /**
+     * Probe videos by YouTube ID. Channels with at least two candidates are checked through
+     * their feed first; whatever the feeds do not list falls back to oEmbed.
+     */
+    public Map<String, Result> probeVideos(List<Video> videos) {
+        return probeVideos(videos, Integer.MAX_VALUE);
+    }
+
+    /** As {@link #probeVideos(List)}, sending at most {@code maxRequests} requests. */
+    public Map<String, Result> probeVideos(List<Video> videos, int maxRequests) {
+        Batch batch = new Batch("video", maxRequests);
+        Map<String, List<Video>> byChannel = new LinkedHashMap<>();
+        for (Video video : videos) {
+            String channelId = video.getChannelId();
+            if (channelId != null && channelId.startsWith("UC")) {
+                byChannel.computeIfAbsent(channelId, k -> new ArrayList<>()).add(video);
+            }
+        }
+        for (Map.Entry<String, List<Video>> group : byChannel.entrySet()) {
+            if (group.getValue().size() < 2 || batch.stopped) {
+                continue;
+            }
+            Reply reply = batch.call(FEED_BASE + "?channel_id=" + encode(group.getKey()));
+            if (reply == null || reply.code() != 200) {
+                continue; // the per-video oEmbed below still decides
+            }
+            ChannelFeed feed = parseFeed(reply.body());
+            if (feed == null) {
+                continue;
+            }
+            for (Video video : group.getValue()) {
+                String title = feed.videoTitles().get(video.getYoutubeId());
+                if (title != null) {
+                    batch.results.put(video.getYoutubeId(), new Result(Availability.AVAILABLE, title));
+                }
+            }
+        }
+        for (Video video : videos) {
+            if (!batch.results.containsKey(video.getYoutubeId())) {
+                batch.results.put(video.getYoutubeId(),
+                        batch.oEmbed("https://www.youtube.com/watch?v=" + video.getYoutubeId()));
+            }
+        }
+        return batch.finish();
+    }
+
+    /** Probe channels through their RSS feed: 200 with a parsable feed is AVAILABLE. */
+    public Map<String, Result> probeChannels(List<Channel> channels) {
+        return probeChannels(channels, Integer.MAX_VALUE);
+    }
+
+    /** As {@link #probeChannels(List)}, sending at most {@code maxRequests} requests. */
+    public Map<String, Result> probeChannels(List<Channel> channels, int maxRequests) {
+        Batch batch = new Batch("channel", maxRequests);
+        for (Channel channel : channels) {
+            Reply reply = batch.call(FEED_BASE + "?channel_id=" + encode(channel.getYoutubeId()));
+            Result result;
+            if (reply == null) {
+                result = Result.UNKNOWN;
+            } else if (reply.code() == 200) {
+                ChannelFeed feed = parseFeed(reply.body());
+                result = feed != null ? new Result(Availability.AVAILABLE, feed.title()) : Result.UNKNOWN;
+            } else {
+                result = classify(reply.code());
+            }
+            batch.results.put(channel.getYoutubeId(), result);
+        }
+        return batch.finish();
+    }
+
+    /** Probe playlists through oEmbed. */
+    public Map<String, Result> probePlaylists(List<Playlist> playlists) {
+        return probePlaylists(playlists, Integer.MAX_VALUE);
+    }
+
+    /** As {@link #probePlaylists(List)}, sending at most {@code maxRequests} requests. */
+    public Map<String, Result> probePlaylists(List<Playlist> playlists, int maxRequests) {
+        Batch batch = new Batch("playlist", maxRequests);
+        for (Playlist playlist : playlists) {
+            batch.results.put(playlist.getYoutubeId(),
+                    batch.oEmbed("https://www.youtube.com/playlist?list=" + playlist.getYoutubeId()));
+        }
+        return batch.finish();
+    }
+
+    // ==================== Planning ====================
+
+    /**
+     * Split probed candidates into those needing a full extraction and those the probe
+     * confirmed. Extraction slots go, up to {@code extractLimit}, to SUSPECT items and
+     * AVAILABLE items whose title changed, then to UNKNOWN ones, and any left over to the
+     * first confirmed items in candidate (priority) order so their cached metadata (view
+     * counts, subscribers) still gets refreshed. Flagged or unknown items that miss the cut are in neither list and stay due
+     * for the next run.
+     */
+    public static <T> Plan<T> plan(List<T> candidates, Map<String, Result> results,
+                                   Function<T, String> youtubeId, Function<T, String> storedTitle,
+                                   int extractLimit) {
+        List<T> flagged = new ArrayList<>();
+        List<T> unknown = new ArrayList<>();
+        List<T> available = new ArrayList<>();
+        for (T item : candidates) {
+            Result result = results.getOrDefault(youtubeId.apply(item), Result.UNKNOWN);
+            switch (result.availability()) {
+                case SUSPECT -> flagged.add(item);
+                case UNKNOWN -> unknown.add(item);
+                case AVAILABLE -> (titleChanged(storedTitle.apply(item), result.title()) ? flagged : available)
+                        .add(item);
+            }
+        }
+        List<T> extract = new ArrayList<>(Math.min(candidates.size(), Math.max(0, extractLimit)));
+        for (List<T> tier : List.of(flagged, unknown, available)) {
+            for (T item : tier) {
+                if (extract.size() >= extractLimit) break;
+                extract.add(item);
+            }
+        }
+        int refreshed = Math.max(0, extract.size() - flagged.size() - unknown.size());
+        return new Plan<>(extract, available.subList(refreshed, available.size()));
+    }
+
+    private static boolean titleChanged(@Nullable String stored, @Nullable String probed) {
+        if (stored == null || probed == null) {
+            return false;
+        }
+        return !stored.strip().equals(probed.strip());
+    }
+
+    // ==================== Parsing ====================
+
+    /** 401/403: private or not embeddable; 400/404: gone or bad ID. Anything else is not an answer. */
+    static Result classify(int code) {
+        return switch (code) {
+            case 400, 401, 403, 404 -> Result.SUSPECT;
+            default -> Result.UNKNOWN;
+        };
+    }
+
+    /** Parse a channel Atom feed; null if the body is not one. */
+    @Nullable
+    static ChannelFeed parseFeed(@Nullable String xml) {
+        if (xml == null || xml.isBlank()) {
+            return null;
+        }
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setExpandEntityReferences(false);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            builder.setErrorHandler(null); // failures surface as exceptions, not stderr noise
+            Document document = builder.parse(new InputSource(new StringReader(xml)));
+            Element root = document.getDocumentElement();
+            if (!"feed".equals(root.getLocalName()) || !ATOM_NS.equals(root.getNamespaceURI())) {
+                return null;
+            }
+            String title = null;
+            Map<String, String> videoTitles = new HashMap<>();
+            for (Node node = root.getFirstChild(); node != null; node = node.getNextSibling()) {
+                if (!(node instanceof Element element) || !ATOM_NS.equals(element.getNamespaceURI())) {
+                    continue;
+                }
+                if ("title".equals(element.getLocalName())) {
+                    title = element.getTextContent();
+                } else if ("entry".equals(element.getLocalName())) {
+                    String videoId = childText(element, YT_NS, "videoId");
+                    if (videoId != null) {
+                        videoTitles.put(videoId.strip(), Objects.requireNonNullElse(childText(element, ATOM_NS, "title"), ""));
+                    }
+                }
+            }
+            return new ChannelFeed(title, videoTitles);
+        } catch (Exception e) {
+            logger.debug("Unparsable channel feed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Nullable
+    private static String childText(Element parent, String namespace, String localName) {
+        NodeList children = parent.getElementsByTagNameNS(namespace, localName);
+        return children.getLength() > 0 ? children.item(0).getTextContent() : null;
+    }
+
+    @Nullable
+    private String parseTitle(@Nullable String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            JsonNode root = objectMapper.readTree(json);
+            return root.path("title").asText(null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    // ==================== Batch state ====================
+
+    /** One probe pass: pacing, request cap, stop-on-429 and per-kind result counts. */
+    private final class Batch {
+        private final String kind;
+        private final int maxRequests;
+        private final Map<String, Result> results = new LinkedHashMap<>();
+        private final long delayMs = validationProperties.getYoutube().getProbe().getDelayMs();
+        private boolean stopped;
+        private boolean first = true;
+        private int requests;
+
+        Batch(String kind, int maxRequests) {
+            this.kind = kind;
+            this.maxRequests = maxRequests;
+            if (circuitBreaker != null && circuitBreaker.getCurrentState() == YouTubeCircuitBreaker.State.OPEN) {
+                logger.info("Skipping {} availability probe: circuit breaker is open", kind);
+                stopped = true;
+            }
+        }
+
+        /** Null when the batch is stopped or the request failed at transport level. */
+        @Nullable
+        Reply call(String url) {
+            if (stopped) {
+                return null;
+            }
+            if (requests >= maxRequests) {
+                logger.debug("{} availability probe reached its budget of {} requests", kind, maxRequests);
+                stopped = true;
+                return null;
+            }
+            if (!first && delayMs > 0) {
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    stopped = true;
+                    return null;
+                }
+            }
+            first = false;
+            requests++;
+            try {
+                Reply reply = http.get(url);
+                if (reply.code() == 429) {
+                    logger.warn("YouTube rate-limited the {} availability probe after {} requests; rest of batch left for extraction",
+                            kind, requests);
+                    stopped = true;
+                    return null;
+                }
+                return reply;
+            } catch (IOException e) {
+                logger.debug("{} availability probe request failed: {}", kind, e.getMessage());
+                return null;
+            }
+        }
+
+        Result oEmbed(String pageUrl) {
+            Reply reply = call(OEMBED_BASE + "?url=" + encode(pageUrl) + "&format=json");
+            if (reply == null) {
+                return Result.UNKNOWN;
+            }
+            if (reply.code() == 200) {
+                return new Result(Availability.AVAILABLE, parseTitle(reply.body()));
+            }
+            return classify(reply.code());
+        }
+
+        Map<String, Result> finish() {
+            Map<Availability, Integer> counts = new HashMap<>();
+            for (Result result : results.values()) {
+                counts.merge(result.availability(), 1, Integer::sum);
+            }
+            if (meterRegistry != null) {
+                counts.forEach((availability, count) -> meterRegistry
+                        .counter("youtube.probe", "kind", kind, "result", availability.tag)
+                        .increment(count));
+            }
+            logger.info("{} availability probe: {} items in {} requests - available={}, suspect={}, unknown={}",
+                    kind, results.size(), requests,
+                    counts.getOrDefault(Availability.AVAILABLE, 0),
+                    counts.getOrDefault(Availability.SUSPECT, 0),
+                    counts.getOrDefault(Availability.UNKNOWN, 0));
+            return results;
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.albunyaan.tube.service;
 
 import com.albunyaan.tube.config.ValidationProperties;
 import com.albunyaan.tube.repository.SystemSettingsRepository;
+import com.google.cloud.firestore.ListenerRegistration;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.lang.Nullable;
@@ -15,8 +17,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -68,7 +74,20 @@ import java.util.concurrent.atomic.AtomicReference;
  * }
  * }</pre>
  *
- * Thread-safe: All state is managed with atomic operations.
+ * <h3>Concurrency</h3>
+ *
+ * {@link #isOpen()}, {@link #allowProbe()} and {@link #recordSuccess()} run before or after every
+ * extraction (admin previews, downloads, validation runs), so they take no locks and do no I/O:
+ * <ul>
+ *   <li>All breaker state is one immutable {@link Snapshot} behind a single
+ *       {@link AtomicReference}; a check is one volatile read, and every transition is a
+ *       compare-and-set of a whole new snapshot, so readers never see half an update.</li>
+ *   <li>The rolling error window is an {@link ErrorWindow}: a ring of time-bucketed counters
+ *       updated with CAS.</li>
+ *   <li>Firestore is never read on the request path. Transitions are handed to a background
+ *       publisher (coalesced, optimistic-locked writes), and other instances' writes arrive
+ *       through a snapshot listener on the settings document instead of being polled.</li>
+ * </ul>
  */
 @Service
 public class YouTubeCircuitBreaker {
@@ -76,6 +95,8 @@ public class YouTubeCircuitBreaker {
     private static final Logger logger = LoggerFactory.getLogger(YouTubeCircuitBreaker.class);
     private static final String SETTINGS_KEY = "youtube_circuit_breaker";
     private static final int MAX_OPTIMISTIC_LOCK_RETRIES = 3;
+    /** Delay before re-publishing after a failed write, or re-listening after a listener error. */
+    private static final long PERSISTENCE_RETRY_MS = 5000;
 
     /**
      * Circuit breaker states.
@@ -97,53 +118,107 @@ public class YouTubeCircuitBreaker {
         2880   // Level 4: 48 hours (cap)
     };
 
+    /**
+     * Everything the breaker knows at one instant. Never mutated; transitions publish a
+     * new instance. Times are epoch millis, 0 when unset.
+     */
+    record Snapshot(State state,
+                    boolean probeInProgress,
+                    long openedAtMs,
+                    long cooldownUntilMs,
+                    int backoffLevel,
+                    long lastErrorAtMs,
+                    @Nullable String lastErrorType,
+                    @Nullable String lastErrorMessage,
+                    int totalRateLimitErrors,
+                    int totalCircuitOpens) {
+
+        static final Snapshot INITIAL = new Snapshot(State.CLOSED, false, 0, 0, 0, 0, null, null, 0, 0);
+
+        Snapshot withState(State newState) {
+            return new Snapshot(newState, probeInProgress, openedAtMs, cooldownUntilMs, backoffLevel,
+                    lastErrorAtMs, lastErrorType, lastErrorMessage, totalRateLimitErrors, totalCircuitOpens);
+        }
+
+        Snapshot withProbe(boolean probe) {
+            return new Snapshot(state, probe, openedAtMs, cooldownUntilMs, backoffLevel,
+                    lastErrorAtMs, lastErrorType, lastErrorMessage, totalRateLimitErrors, totalCircuitOpens);
+        }
+
+        Snapshot withError(long atMs, String type, String message) {
+            return new Snapshot(state, probeInProgress, openedAtMs, cooldownUntilMs, backoffLevel,
+                    atMs, type, message, totalRateLimitErrors + 1, totalCircuitOpens);
+        }
+
+        /** OPEN at {@code level} until {@code untilMs}; the probe permit is released. */
+        Snapshot opened(int level, long nowMs, long untilMs, boolean countOpen) {
+            return new Snapshot(State.OPEN, false, nowMs, untilMs, level, lastErrorAtMs, lastErrorType,
+                    lastErrorMessage, totalRateLimitErrors, totalCircuitOpens + (countOpen ? 1 : 0));
+        }
+
+        /** CLOSED; backoff level and openedAt are kept (the level decays, openedAt is diagnostic). */
+        Snapshot closed() {
+            return new Snapshot(State.CLOSED, false, openedAtMs, 0, backoffLevel,
+                    lastErrorAtMs, lastErrorType, lastErrorMessage, totalRateLimitErrors, totalCircuitOpens);
+        }
+
+        Snapshot decayed(long nowMs) {
+            return new Snapshot(state, probeInProgress, openedAtMs, cooldownUntilMs, Math.max(0, backoffLevel - 1),
+                    nowMs, lastErrorType, lastErrorMessage, totalRateLimitErrors, totalCircuitOpens);
+        }
+    }
+
     private final ValidationProperties validationProperties;
 
     @Nullable
     private final SystemSettingsRepository systemSettingsRepository;
 
     // Circuit breaker state (in-memory, synced with Firestore)
-    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
-    private final AtomicReference<Instant> openedAt = new AtomicReference<>(null);
-    private final AtomicReference<Instant> cooldownUntil = new AtomicReference<>(null);
-    private final AtomicInteger backoffLevel = new AtomicInteger(0);
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.INITIAL);
+    /** Version of the persisted document this instance last wrote or adopted (optimistic locking). */
     private final AtomicLong version = new AtomicLong(0);
 
-    // HALF_OPEN probe tracking: ensures only one request proceeds as probe
-    private final AtomicReference<Boolean> probeInProgress = new AtomicReference<>(false);
-
-    // Rolling window error tracking (timestamps stored in Firestore for multi-instance)
-    private final List<Instant> recentErrors = new ArrayList<>();
-    private final Object errorListLock = new Object();
-
-    // Error details for diagnostics
-    private final AtomicReference<String> lastErrorMessage = new AtomicReference<>(null);
-    private final AtomicReference<String> lastErrorType = new AtomicReference<>(null);
-    private final AtomicReference<Instant> lastErrorAt = new AtomicReference<>(null);
-
-    // Metrics counters
-    private final AtomicInteger totalRateLimitErrors = new AtomicInteger(0);
-    private final AtomicInteger totalCircuitOpens = new AtomicInteger(0);
+    // Rolling window error tracking (bucket times stored in Firestore for multi-instance)
+    private final ErrorWindow errorWindow;
 
     // Flag to track if we're in fail-safe mode (persistence unavailable)
-    private final AtomicReference<Boolean> persistenceAvailable = new AtomicReference<>(true);
+    private volatile boolean persistenceAvailable = true;
 
-    // Time-based cache for Firestore refresh to reduce I/O overhead
-    private final AtomicLong lastRefreshTimeMs = new AtomicLong(0);
-    private static final long REFRESH_INTERVAL_MS = 5000; // 5 seconds
+    // Background persistence: publisher thread, pending flag, and the settings listener
+    @Nullable
+    private final ScheduledExecutorService publisher;
+    private final AtomicBoolean publishPending = new AtomicBoolean(false);
+    private final Object persistLock = new Object();
+    private final AtomicReference<ListenerRegistration> listener = new AtomicReference<>();
+    private volatile boolean shutDown;
 
     public YouTubeCircuitBreaker(
             ValidationProperties validationProperties,
             @Nullable SystemSettingsRepository systemSettingsRepository) {
         this.validationProperties = validationProperties;
         this.systemSettingsRepository = systemSettingsRepository;
+        this.errorWindow = new ErrorWindow(TimeUnit.MINUTES.toMillis(
+                validationProperties.getYoutube().getCircuitBreaker().getRollingWindow().getWindowMinutes()));
+        if (systemSettingsRepository != null) {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "yt-circuit-breaker-publisher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // On shutdown, run queued writes but drop pending retries
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            this.publisher = executor;
+        } else {
+            this.publisher = null;
+        }
         logger.info("YouTubeCircuitBreaker initialized - enabled: {}, persistence: {}",
                 validationProperties.getYoutube().getCircuitBreaker().isEnabled(),
                 systemSettingsRepository != null ? "enabled" : "disabled");
     }
 
     /**
-     * Load persisted state on startup.
+     * Load persisted state on startup, then follow the settings document for writes by
+     * other instances.
      */
     @PostConstruct
     public void loadPersistedState() {
@@ -155,65 +230,93 @@ public class YouTubeCircuitBreaker {
         try {
             Optional<Map<String, Object>> data = systemSettingsRepository.load(SETTINGS_KEY);
             if (data.isPresent()) {
-                Map<String, Object> stateData = data.get();
-                loadStateFromMap(stateData);
+                loadStateFromMap(data.get());
 
                 // Handle stale OPEN state: if cooldown expired, transition to HALF_OPEN
-                if (state.get() == State.OPEN) {
-                    Instant until = cooldownUntil.get();
-                    if (until != null && Instant.now().isAfter(until)) {
-                        logger.info("Stale OPEN state detected on startup - transitioning to HALF_OPEN");
-                        state.set(State.HALF_OPEN);
-                        persistState();
+                Snapshot current = snapshot.get();
+                if (current.state() == State.OPEN && current.cooldownUntilMs() > 0
+                        && System.currentTimeMillis() > current.cooldownUntilMs()) {
+                    logger.info("Stale OPEN state detected on startup - transitioning to HALF_OPEN");
+                    if (snapshot.compareAndSet(current, current.withState(State.HALF_OPEN))) {
+                        requestPublish();
                     }
                 }
 
                 logger.info("Circuit breaker state loaded - state: {}, backoffLevel: {}, version: {}",
-                        state.get(), backoffLevel.get(), version.get());
+                        snapshot.get().state(), snapshot.get().backoffLevel(), version.get());
             } else {
                 logger.debug("No persisted circuit breaker state found - starting fresh (CLOSED)");
             }
         } catch (Exception e) {
             logger.warn("Failed to load circuit breaker state: {} - starting fresh (CLOSED)", e.getMessage());
         }
+        listen();
+    }
+
+    /**
+     * Stop following the settings document and flush a pending write.
+     */
+    @PreDestroy
+    public void shutdown() {
+        shutDown = true;
+        ListenerRegistration registration = listener.getAndSet(null);
+        if (registration != null) {
+            registration.remove();
+        }
+        if (publisher != null) {
+            publisher.shutdown();
+            try {
+                if (!publisher.awaitTermination(5, TimeUnit.SECONDS)) {
+                    publisher.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                publisher.shutdownNow();
+            }
+        }
     }
 
     /**
-     * Load state from a map (used by loadPersistedState and tests).
+     * Replace the state with a persisted document (startup, listener, version conflict).
+     * The local probe permit survives only if the circuit is still HALF_OPEN.
      */
     private void loadStateFromMap(Map<String, Object> stateData) {
+        Snapshot current = snapshot.get();
+
         // Load state enum
+        State loadedState = current.state();
         String stateStr = (String) stateData.get("state");
         if (stateStr != null) {
             try {
-                state.set(State.valueOf(stateStr));
+                loadedState = State.valueOf(stateStr);
             } catch (IllegalArgumentException e) {
                 logger.warn("Invalid state value '{}' - defaulting to CLOSED", stateStr);
-                state.set(State.CLOSED);
+                loadedState = State.CLOSED;
             }
         }
 
-        // Load timestamps
-        Number openedAtEpoch = (Number) stateData.get("openedAtEpoch");
-        if (openedAtEpoch != null) {
-            openedAt.set(Instant.ofEpochMilli(openedAtEpoch.longValue()));
-        }
-
-        Number cooldownUntilEpoch = (Number) stateData.get("cooldownUntilEpoch");
-        if (cooldownUntilEpoch != null) {
-            cooldownUntil.set(Instant.ofEpochMilli(cooldownUntilEpoch.longValue()));
-        }
-
-        Number lastErrorAtEpoch = (Number) stateData.get("lastErrorAtEpoch");
-        if (lastErrorAtEpoch != null) {
-            lastErrorAt.set(Instant.ofEpochMilli(lastErrorAtEpoch.longValue()));
-        }
-
         // Load backoff level
         Number level = (Number) stateData.get("backoffLevel");
-        if (level != null) {
-            backoffLevel.set(Math.min(level.intValue(), COOLDOWN_BY_LEVEL.length - 1));
-        }
+        int loadedLevel = level != null
+                ? Math.min(level.intValue(), COOLDOWN_BY_LEVEL.length - 1)
+                : current.backoffLevel();
+
+        String errorType = (String) stateData.get("lastErrorType");
+        String errorMessage = (String) stateData.get("lastErrorMessage");
+        Number totalErrors = (Number) stateData.get("totalRateLimitErrors");
+        Number totalOpens = (Number) stateData.get("totalCircuitOpens");
+
+        snapshot.set(new Snapshot(
+                loadedState,
+                loadedState == State.HALF_OPEN && current.probeInProgress(),
+                epochOr((Number) stateData.get("openedAtEpoch"), current.openedAtMs()),
+                epochOr((Number) stateData.get("cooldownUntilEpoch"), current.cooldownUntilMs()),
+                loadedLevel,
+                epochOr((Number) stateData.get("lastErrorAtEpoch"), current.lastErrorAtMs()),
+                errorType != null ? errorType : current.lastErrorType(),
+                errorMessage != null ? errorMessage : current.lastErrorMessage(),
+                totalErrors != null ? totalErrors.intValue() : current.totalRateLimitErrors(),
+                totalOpens != null ? totalOpens.intValue() : current.totalCircuitOpens()));
 
         // Load version for optimistic locking
         Number ver = (Number) stateData.get("version");
@@ -221,47 +324,46 @@ public class YouTubeCircuitBreaker {
             version.set(ver.longValue());
         }
 
-        // Load error details
-        String errorType = (String) stateData.get("lastErrorType");
-        if (errorType != null) {
-            lastErrorType.set(errorType);
+        // Load rolling window errors for multi-instance coordination
+        @SuppressWarnings("unchecked")
+        List<Number> errorEpochs = (List<Number>) stateData.get("recentErrorEpochs");
+        if (errorEpochs != null) {
+            errorWindow.replace(errorEpochs, System.currentTimeMillis());
         }
+    }
 
-        String errorMessage = (String) stateData.get("lastErrorMessage");
-        if (errorMessage != null) {
-            lastErrorMessage.set(errorMessage);
-        }
+    private static long epochOr(@Nullable Number epoch, long fallback) {
+        return epoch != null ? epoch.longValue() : fallback;
+    }
 
-        // Load metrics
-        Number totalErrors = (Number) stateData.get("totalRateLimitErrors");
-        if (totalErrors != null) {
-            totalRateLimitErrors.set(totalErrors.intValue());
-        }
+    // ==================== Persistence ====================
 
-        Number totalOpens = (Number) stateData.get("totalCircuitOpens");
-        if (totalOpens != null) {
-            totalCircuitOpens.set(totalOpens.intValue());
+    /**
+     * Queue a write of the current state. Bursts of transitions coalesce into one write of
+     * the latest snapshot; the caller never waits for Firestore.
+     */
+    private void requestPublish() {
+        if (publisher == null || shutDown) {
+            return;
+        }
+        if (publishPending.compareAndSet(false, true)) {
+            try {
+                publisher.execute(this::publish);
+            } catch (Exception e) {
+                publishPending.set(false);
+                logger.warn("Circuit breaker publisher unavailable: {}", e.getMessage());
+            }
         }
+    }
 
-        // Load rolling window errors for multi-instance coordination
-        @SuppressWarnings("unchecked")
-        List<Number> errorEpochs = (List<Number>) stateData.get("recentErrorEpochs");
-        if (errorEpochs != null) {
-            int windowMinutes = validationProperties.getYoutube().getCircuitBreaker()
-                    .getRollingWindow().getWindowMinutes();
-            Instant windowStart = Instant.now().minusSeconds(windowMinutes * 60L);
-
-            synchronized (errorListLock) {
-                recentErrors.clear();
-                for (Number epoch : errorEpochs) {
-                    if (epoch != null) {
-                        Instant errorTime = Instant.ofEpochMilli(epoch.longValue());
-                        // Only include errors within the window
-                        if (errorTime.isAfter(windowStart)) {
-                            recentErrors.add(errorTime);
-                        }
-                    }
-                }
+    private void publish() {
+        publishPending.set(false);
+        if (!persistState() && !shutDown) {
+            // Keep failing safe (isOpen() = true) until a write or listener event gets through
+            try {
+                publisher.schedule(this::requestPublish, PERSISTENCE_RETRY_MS, TimeUnit.MILLISECONDS);
+            } catch (Exception ignored) {
+                // Shutting down
             }
         }
     }
@@ -276,80 +378,71 @@ public class YouTubeCircuitBreaker {
             return true; // No persistence configured, consider it success
         }
 
-        String correlationId = newCorrelationId();
-        for (int attempt = 0; attempt < MAX_OPTIMISTIC_LOCK_RETRIES; attempt++) {
-            try {
-                long currentVersion = version.get();
-                long newVersion = currentVersion + 1;
-
-                Map<String, Object> stateData = new HashMap<>();
-                stateData.put("state", state.get().name());
-
-                Instant opened = openedAt.get();
-                stateData.put("openedAtEpoch", opened != null ? opened.toEpochMilli() : null);
-
-                Instant until = cooldownUntil.get();
-                stateData.put("cooldownUntilEpoch", until != null ? until.toEpochMilli() : null);
-
-                Instant lastErr = lastErrorAt.get();
-                stateData.put("lastErrorAtEpoch", lastErr != null ? lastErr.toEpochMilli() : null);
-
-                stateData.put("backoffLevel", backoffLevel.get());
-                stateData.put("version", newVersion);
-                stateData.put("lastErrorType", lastErrorType.get());
-                stateData.put("lastErrorMessage", lastErrorMessage.get());
-                stateData.put("totalRateLimitErrors", totalRateLimitErrors.get());
-                stateData.put("totalCircuitOpens", totalCircuitOpens.get());
-                stateData.put("lastUpdated", Instant.now().toEpochMilli());
-
-                // Persist rolling window errors for multi-instance coordination
-                synchronized (errorListLock) {
-                    List<Long> errorEpochs = new ArrayList<>();
-                    for (Instant errorTime : recentErrors) {
-                        errorEpochs.add(errorTime.toEpochMilli());
+        synchronized (persistLock) {
+            String correlationId = newCorrelationId();
+            for (int attempt = 0; attempt < MAX_OPTIMISTIC_LOCK_RETRIES; attempt++) {
+                try {
+                    long currentVersion = version.get();
+                    long newVersion = currentVersion + 1;
+                    Snapshot current = snapshot.get();
+
+                    Map<String, Object> stateData = new HashMap<>();
+                    stateData.put("state", current.state().name());
+                    stateData.put("openedAtEpoch", current.openedAtMs() > 0 ? current.openedAtMs() : null);
+                    stateData.put("cooldownUntilEpoch", current.cooldownUntilMs() > 0 ? current.cooldownUntilMs() : null);
+                    stateData.put("lastErrorAtEpoch", current.lastErrorAtMs() > 0 ? current.lastErrorAtMs() : null);
+                    stateData.put("backoffLevel", current.backoffLevel());
+                    stateData.put("version", newVersion);
+                    stateData.put("lastErrorType", current.lastErrorType());
+                    stateData.put("lastErrorMessage", current.lastErrorMessage());
+                    stateData.put("totalRateLimitErrors", current.totalRateLimitErrors());
+                    stateData.put("totalCircuitOpens", current.totalCircuitOpens());
+                    stateData.put("lastUpdated", Instant.now().toEpochMilli());
+
+                    // Persist rolling window errors for multi-instance coordination
+                    stateData.put("recentErrorEpochs", errorWindow.epochs(System.currentTimeMillis()));
+
+                    // Use version-checked save for optimistic locking
+                    // Pass currentVersion (or -1 if version is 0, meaning new document)
+                    boolean success = systemSettingsRepository.saveWithVersionCheck(
+                            SETTINGS_KEY, stateData, currentVersion == 0 ? -1 : currentVersion);
+
+                    if (success) {
+                        version.set(newVersion);
+                        persistenceAvailable = true;
+                        logger.debug("Circuit breaker state persisted - state: {}, version: {}",
+                                current.state(), newVersion);
+                        return true;
                     }
-                    stateData.put("recentErrorEpochs", errorEpochs);
-                }
-
-                // Use version-checked save for optimistic locking
-                // Pass currentVersion (or -1 if version is 0, meaning new document)
-                boolean success = systemSettingsRepository.saveWithVersionCheck(
-                        SETTINGS_KEY, stateData, currentVersion == 0 ? -1 : currentVersion);
-
-                if (success) {
-                    version.set(newVersion);
-                    persistenceAvailable.set(true);
-                    logger.debug("Circuit breaker state persisted - state: {}, version: {}", state.get(), newVersion);
-                    return true;
-                }
 
-                // Version conflict - reload and retry
-                logger.debug("Version conflict on persist attempt {}, reloading state", attempt + 1);
-                refreshStateFromFirestore();
-
-            } catch (Exception e) {
-                logger.error("Persist attempt {} failed (will retry if possible). correlationId={}, error={}",
-                        attempt + 1, correlationId, e.getMessage());
-                if (attempt < MAX_OPTIMISTIC_LOCK_RETRIES - 1) {
-                    // Reload state before retry
-                    try {
-                        refreshStateFromFirestore();
-                    } catch (Exception refreshEx) {
-                        logger.error("Failed to refresh state before retry. correlationId={}, error={}",
-                                correlationId, refreshEx.getMessage());
+                    // Version conflict - reload and retry
+                    logger.debug("Version conflict on persist attempt {}, reloading state", attempt + 1);
+                    refreshStateFromFirestore();
+
+                } catch (Exception e) {
+                    logger.error("Persist attempt {} failed (will retry if possible). correlationId={}, error={}",
+                            attempt + 1, correlationId, e.getMessage());
+                    if (attempt < MAX_OPTIMISTIC_LOCK_RETRIES - 1) {
+                        // Reload state before retry
+                        try {
+                            refreshStateFromFirestore();
+                        } catch (Exception refreshEx) {
+                            logger.error("Failed to refresh state before retry. correlationId={}, error={}",
+                                    correlationId, refreshEx.getMessage());
+                        }
                     }
                 }
             }
-        }
 
-        logger.error("Failed to persist circuit breaker state after {} attempts. correlationId={}",
-                MAX_OPTIMISTIC_LOCK_RETRIES, correlationId);
-        persistenceAvailable.set(false);
-        return false;
+            logger.error("Failed to persist circuit breaker state after {} attempts. correlationId={}",
+                    MAX_OPTIMISTIC_LOCK_RETRIES, correlationId);
+            persistenceAvailable = false;
+            return false;
+        }
     }
 
     /**
-     * Refresh state from Firestore (for multi-instance coordination).
+     * Refresh state from Firestore after a version conflict.
      * Uses loadOrThrow to properly detect persistence failures.
      */
     private void refreshStateFromFirestore() {
@@ -364,14 +457,67 @@ public class YouTubeCircuitBreaker {
             if (data.isPresent()) {
                 loadStateFromMap(data.get());
             }
-            persistenceAvailable.set(true);
+            persistenceAvailable = true;
         } catch (Exception e) {
             logger.error("Failed to refresh circuit breaker state (persistence unavailable). correlationId={}, error={}",
                     correlationId, e.getMessage());
-            persistenceAvailable.set(false);
+            persistenceAvailable = false;
         }
     }
 
+    /**
+     * Follow the settings document. Newer versions (written by other instances) replace the
+     * local state; echoes of this instance's own writes are ignored. A listener error puts
+     * the breaker in fail-safe mode until listening resumes.
+     */
+    private void listen() {
+        if (systemSettingsRepository == null || shutDown) {
+            return;
+        }
+        try {
+            ListenerRegistration previous = listener.getAndSet(
+                    systemSettingsRepository.listen(SETTINGS_KEY, this::onRemoteState, this::onListenerError));
+            if (previous != null) {
+                previous.remove();
+            }
+        } catch (Exception e) {
+            onListenerError(e);
+        }
+    }
+
+    private void onRemoteState(Map<String, Object> data) {
+        persistenceAvailable = true;
+        Number remoteVersion = (Number) data.get("version");
+        if (remoteVersion == null || remoteVersion.longValue() <= version.get()) {
+            return;
+        }
+        synchronized (persistLock) {
+            if (remoteVersion.longValue() > version.get()) {
+                State before = snapshot.get().state();
+                loadStateFromMap(data);
+                if (before != snapshot.get().state()) {
+                    logger.info("Circuit breaker state updated by another instance: {} -> {} (version {})",
+                            before, snapshot.get().state(), remoteVersion);
+                }
+            }
+        }
+    }
+
+    private void onListenerError(Exception e) {
+        persistenceAvailable = false;
+        logger.error("Circuit breaker settings listener failed (persistence unavailable). correlationId={}, error={}",
+                newCorrelationId(), e.getMessage());
+        if (publisher != null && !shutDown) {
+            try {
+                publisher.schedule(this::listen, PERSISTENCE_RETRY_MS, TimeUnit.MILLISECONDS);
+            } catch (Exception ignored) {
+                // Shutting down
+            }
+        }
+    }
+
+    // ==================== State checks (hot path) ====================
+
     /**
      * Check if the circuit is currently open (requests should not be made).
      *
@@ -391,46 +537,36 @@ public class YouTubeCircuitBreaker {
             return false;
         }
 
-        // Refresh state from Firestore periodically for multi-instance coordination
-        // Use time-based caching to reduce I/O overhead on the critical path
-        long now = System.currentTimeMillis();
-        long lastRefresh = lastRefreshTimeMs.get();
-        if (now - lastRefresh > REFRESH_INTERVAL_MS) {
-            if (lastRefreshTimeMs.compareAndSet(lastRefresh, now)) {
-                refreshStateFromFirestore();
-            }
-        }
-
         // FAIL-SAFE: If persistence failed, default to OPEN
-        if (!persistenceAvailable.get() && systemSettingsRepository != null) {
+        if (!persistenceAvailable && systemSettingsRepository != null) {
             logger.error("Circuit breaker persistence unavailable - defaulting to OPEN (safe mode). correlationId={}",
                     newCorrelationId());
             return true;
         }
 
-        State currentState = state.get();
+        Snapshot current = snapshot.get();
 
-        switch (currentState) {
+        switch (current.state()) {
             case CLOSED:
                 return false;
 
             case OPEN:
                 // Check if cooldown has expired
-                Instant until = cooldownUntil.get();
-                if (until == null || Instant.now().isAfter(until)) {
-                    // Transition to HALF_OPEN
+                if (current.cooldownUntilMs() > 0 && System.currentTimeMillis() <= current.cooldownUntilMs()) {
+                    return true;
+                }
+                // Transition to HALF_OPEN; only the thread that wins the CAS logs and publishes
+                if (snapshot.compareAndSet(current, current.withState(State.HALF_OPEN))) {
                     logger.info("Circuit breaker cooldown expired - transitioning to HALF_OPEN");
-                    state.set(State.HALF_OPEN);
-                    persistState();
-                    return false; // Allow the probe request
+                    requestPublish();
                 }
-                return true;
+                return snapshot.get().probeInProgress(); // Allow the probe request
 
             case HALF_OPEN:
                 // In HALF_OPEN, requests are allowed but ONLY one may proceed as the probe.
                 // IMPORTANT: Do NOT acquire the probe permit here; callers must call allowProbe()
                 // immediately before the outbound YouTube request.
-                return probeInProgress.get();
+                return current.probeInProgress();
 
             default:
                 return true;
@@ -458,14 +594,21 @@ public class YouTubeCircuitBreaker {
      * @return true if caller may proceed with the request (CLOSED state or acquired probe permit in HALF_OPEN)
      */
     public boolean allowProbe() {
-        State currentState = state.get();
-        if (currentState == State.OPEN) {
-            return false; // Explicitly block if circuit is OPEN
-        }
-        if (currentState != State.HALF_OPEN) {
-            return true; // CLOSED state - allow
+        while (true) {
+            Snapshot current = snapshot.get();
+            if (current.state() == State.OPEN) {
+                return false; // Explicitly block if circuit is OPEN
+            }
+            if (current.state() != State.HALF_OPEN) {
+                return true; // CLOSED state - allow
+            }
+            if (current.probeInProgress()) {
+                return false;
+            }
+            if (snapshot.compareAndSet(current, current.withProbe(true))) {
+                return true;
+            }
         }
-        return probeInProgress.compareAndSet(false, true);
     }
 
     /**
@@ -475,7 +618,8 @@ public class YouTubeCircuitBreaker {
      * @return true if this is a probe request
      */
     public boolean isProbeRequest() {
-        return state.get() == State.HALF_OPEN && probeInProgress.get();
+        Snapshot current = snapshot.get();
+        return current.state() == State.HALF_OPEN && current.probeInProgress();
     }
 
     /**
@@ -493,15 +637,15 @@ public class YouTubeCircuitBreaker {
      * @return milliseconds until circuit closes, or 0 if already closed
      */
     public long getRemainingCooldownMs() {
-        Instant until = cooldownUntil.get();
-        if (until == null) {
+        long until = snapshot.get().cooldownUntilMs();
+        if (until == 0) {
             return 0;
         }
-
-        long remaining = until.toEpochMilli() - Instant.now().toEpochMilli();
-        return Math.max(0, remaining);
+        return Math.max(0, until - System.currentTimeMillis());
     }
 
+    // ==================== Recording ====================
+
     /**
      * Record a rate limit error and potentially open the circuit.
      *
@@ -513,61 +657,57 @@ public class YouTubeCircuitBreaker {
             return;
         }
 
-        totalRateLimitErrors.incrementAndGet();
-        lastErrorMessage.set(truncate(exception.getMessage(), 500));
-        lastErrorType.set(exception.getClass().getSimpleName());
-        lastErrorAt.set(Instant.now());
+        long now = System.currentTimeMillis();
+        String errorType = exception.getClass().getSimpleName();
+        String errorMessage = truncate(exception.getMessage(), 500);
 
         logger.error("YouTube rate limit error detected: {} - {}",
                 exception.getClass().getSimpleName(), exception.getMessage());
 
-        // Handle based on current state
-        State currentState = state.get();
-
-        if (currentState == State.HALF_OPEN) {
-            // Probe failed - reopen with increased backoff
-            reopenWithIncreasedBackoff();
-            return;
-        }
-
-        // Add to rolling window
-        addErrorToRollingWindow();
-
-        // Check rolling window threshold
-        if (shouldOpenCircuit()) {
-            openCircuit();
-        }
-
-        persistState();
-    }
-
-    /**
-     * Add error to rolling window and clean old entries.
-     */
-    private void addErrorToRollingWindow() {
-        int windowMinutes = validationProperties.getYoutube().getCircuitBreaker()
-                .getRollingWindow().getWindowMinutes();
-        Instant windowStart = Instant.now().minusSeconds(windowMinutes * 60L);
-
-        synchronized (errorListLock) {
-            // Add new error
-            recentErrors.add(Instant.now());
-
-            // Remove errors outside the window
-            recentErrors.removeIf(t -> t.isBefore(windowStart));
+        // Handle based on current state: a failed HALF_OPEN probe reopens with increased backoff;
+        // otherwise the error goes into the rolling window and may open the circuit.
+        int windowCount = -1;
+        while (true) {
+            Snapshot current = snapshot.get();
+            Snapshot withError = current.withError(now, errorType, errorMessage);
+            Snapshot next;
+            boolean reopened = false;
+            if (current.state() == State.HALF_OPEN) {
+                int level = Math.min(current.backoffLevel() + 1, COOLDOWN_BY_LEVEL.length - 1);
+                next = withError.opened(level, now, cooldownUntil(now, level), true);
+                reopened = true;
+            } else {
+                if (windowCount < 0) {
+                    windowCount = errorWindow.add(now);
+                }
+                int threshold = validationProperties.getYoutube().getCircuitBreaker()
+                        .getRollingWindow().getErrorThreshold();
+                next = windowCount >= threshold
+                        ? withError.opened(current.backoffLevel(), now, cooldownUntil(now, current.backoffLevel()), true)
+                        : withError;
+            }
+            if (!snapshot.compareAndSet(current, next)) {
+                continue;
+            }
+            if (reopened) {
+                logger.error("CIRCUIT BREAKER REOPENED - HALF_OPEN probe failed! " +
+                             "State: OPEN, Backoff level increased to: {}, Cooldown: {} minutes (until {}). " +
+                             "Last error: {} - {}",
+                        next.backoffLevel(), getCooldownMinutesForLevel(next.backoffLevel()),
+                        Instant.ofEpochMilli(next.cooldownUntilMs()), errorType, errorMessage);
+            } else if (next.state() == State.OPEN) {
+                // Clear rolling window after opening
+                errorWindow.clear();
+                logger.error("CIRCUIT BREAKER OPENED - YouTube rate limiting detected! " +
+                             "State: OPEN, Backoff level: {}, Cooldown: {} minutes (until {}). " +
+                             "Last error: {} - {}",
+                        next.backoffLevel(), getCooldownMinutesForLevel(next.backoffLevel()),
+                        Instant.ofEpochMilli(next.cooldownUntilMs()), errorType, errorMessage);
+            }
+            break;
         }
-    }
-
-    /**
-     * Check if rolling window threshold is exceeded.
-     */
-    private boolean shouldOpenCircuit() {
-        int threshold = validationProperties.getYoutube().getCircuitBreaker()
-                .getRollingWindow().getErrorThreshold();
 
-        synchronized (errorListLock) {
-            return recentErrors.size() >= threshold;
-        }
+        requestPublish();
     }
 
     /**
@@ -575,26 +715,28 @@ public class YouTubeCircuitBreaker {
      * Resets error state and potentially closes circuit from HALF_OPEN.
      */
     public void recordSuccess() {
-        State currentState = state.get();
+        Snapshot current = snapshot.get();
 
-        if (currentState == State.HALF_OPEN) {
+        if (current.state() == State.HALF_OPEN) {
             // Probe succeeded - close the circuit and reset probe flag
-            logger.info("Circuit breaker probe succeeded - transitioning to CLOSED");
-            probeInProgress.set(false);
-            closeCircuit();
+            if (snapshot.compareAndSet(current, current.closed())) {
+                logger.info("Circuit breaker probe succeeded - transitioning to CLOSED");
+                errorWindow.clear();
+                logger.info("Circuit breaker CLOSED - validation requests will resume. Backoff level: {}",
+                        current.backoffLevel());
+                requestPublish();
+            }
             return;
         }
 
-        if (currentState == State.CLOSED) {
+        if (current.state() == State.CLOSED && current.backoffLevel() > 0 && current.lastErrorAtMs() > 0) {
             // Check for backoff decay (decrement level after sustained success)
-            checkBackoffDecay();
+            checkBackoffDecay(current);
         }
 
         // Clear rolling window on success - a successful request indicates YouTube is responding normally,
         // so we reset the error window. This prevents stale errors from triggering the breaker later.
-        synchronized (errorListLock) {
-            recentErrors.clear();
-        }
+        errorWindow.clear();
     }
 
     /**
@@ -609,146 +751,63 @@ public class YouTubeCircuitBreaker {
      * @param exception The exception that caused the probe to fail
      */
     public void recordProbeFailure(Exception exception) {
-        // Validate probe ownership: only the thread that acquired the probe permit should call this.
-        // Use compareAndSet to atomically clear the probe flag and verify ownership.
-        if (!probeInProgress.compareAndSet(true, false)) {
-            logger.debug("recordProbeFailure called but probe not in progress - ignoring");
-            return;
-        }
-
-        // Use compareAndSet for atomic state transition to prevent overwriting a concurrent
-        // CLOSED transition (e.g., if recordSuccess() was called by another path).
-        if (!state.compareAndSet(State.HALF_OPEN, State.OPEN)) {
-            logger.debug("recordProbeFailure: state changed from HALF_OPEN - skipping probe failure handling");
-            return;
-        }
-
-        // Log the failure
-        logger.warn("Circuit breaker probe failed with non-rate-limit error: {} - {}. " +
-                    "Reopening circuit at current backoff level (not increasing).",
-                exception.getClass().getSimpleName(), exception.getMessage());
-
-        // Reopen circuit at CURRENT backoff level (don't increment - it's not a rate limit)
-        int level = backoffLevel.get();
-        int cooldownMinutes = getCooldownMinutesForLevel(level);
-
-        Instant now = Instant.now();
-        Instant until = now.plusSeconds(cooldownMinutes * 60L);
+        while (true) {
+            Snapshot current = snapshot.get();
+            // Validate probe ownership: only the thread that acquired the probe permit should call this.
+            if (!current.probeInProgress()) {
+                logger.debug("recordProbeFailure called but probe not in progress - ignoring");
+                return;
+            }
 
-        openedAt.set(now);
-        cooldownUntil.set(until);
-        // Don't increment totalCircuitOpens - this is a continuation, not a new open
+            if (current.state() != State.HALF_OPEN) {
+                // State changed (e.g. closed by another path) - just release the permit
+                if (snapshot.compareAndSet(current, current.withProbe(false))) {
+                    logger.debug("recordProbeFailure: state changed from HALF_OPEN - skipping probe failure handling");
+                    return;
+                }
+                continue;
+            }
 
-        logger.info("Circuit breaker reopened after probe failure. State: OPEN, Backoff level: {}, " +
-                    "Cooldown: {} minutes (until {})",
-                level, cooldownMinutes, until);
+            // Reopen circuit at CURRENT backoff level (don't increment - it's not a rate limit)
+            // Don't increment totalCircuitOpens - this is a continuation, not a new open
+            long now = System.currentTimeMillis();
+            int level = current.backoffLevel();
+            Snapshot next = current.opened(level, now, cooldownUntil(now, level), false);
+            if (!snapshot.compareAndSet(current, next)) {
+                continue;
+            }
 
-        persistState();
+            // Log the failure
+            logger.warn("Circuit breaker probe failed with non-rate-limit error: {} - {}. " +
+                        "Reopening circuit at current backoff level (not increasing).",
+                    exception.getClass().getSimpleName(), exception.getMessage());
+            logger.info("Circuit breaker reopened after probe failure. State: OPEN, Backoff level: {}, " +
+                        "Cooldown: {} minutes (until {})",
+                    level, getCooldownMinutesForLevel(level), Instant.ofEpochMilli(next.cooldownUntilMs()));
+            requestPublish();
+            return;
+        }
     }
 
     /**
      * Check if backoff level should decay (decrement after 48h of success).
      */
-    private void checkBackoffDecay() {
+    private void checkBackoffDecay(Snapshot current) {
         int decayHours = validationProperties.getYoutube().getCircuitBreaker().getBackoffDecayHours();
-        Instant lastError = lastErrorAt.get();
-
-        if (lastError == null) {
+        long now = System.currentTimeMillis();
+        if (now - current.lastErrorAtMs() < TimeUnit.HOURS.toMillis(decayHours)) {
             return;
         }
-
-        Instant decayThreshold = Instant.now().minusSeconds(decayHours * 3600L);
-        if (lastError.isBefore(decayThreshold)) {
-            // Use updateAndGet with bounds check to prevent race condition where
-            // two threads could both decrement resulting in a negative value
-            int newLevel = backoffLevel.updateAndGet(level -> Math.max(0, level - 1));
-            if (newLevel >= 0) {
-                logger.info("Backoff level decayed to {} (no errors for {}+ hours)", newLevel, decayHours);
-                lastErrorAt.set(Instant.now()); // Reset decay timer
-                persistState();
-            }
+        // Reset decay timer along with the decrement; a lost CAS means another thread decayed
+        Snapshot next = current.decayed(now);
+        if (snapshot.compareAndSet(current, next)) {
+            logger.info("Backoff level decayed to {} (no errors for {}+ hours)", next.backoffLevel(), decayHours);
+            requestPublish();
         }
     }
 
-    /**
-     * Open the circuit with current backoff level.
-     */
-    private void openCircuit() {
-        int level = backoffLevel.get();
-        int cooldownMinutes = getCooldownMinutesForLevel(level);
-
-        Instant now = Instant.now();
-        Instant until = now.plusSeconds(cooldownMinutes * 60L);
-
-        state.set(State.OPEN);
-        openedAt.set(now);
-        cooldownUntil.set(until);
-        totalCircuitOpens.incrementAndGet();
-
-        // Clear rolling window after opening
-        synchronized (errorListLock) {
-            recentErrors.clear();
-        }
-
-        logger.error("CIRCUIT BREAKER OPENED - YouTube rate limiting detected! " +
-                     "State: OPEN, Backoff level: {}, Cooldown: {} minutes (until {}). " +
-                     "Last error: {} - {}",
-                level, cooldownMinutes, until,
-                lastErrorType.get(), lastErrorMessage.get());
-
-        persistState();
-    }
-
-    /**
-     * Reopen circuit after failed HALF_OPEN probe with increased backoff.
-     */
-    private void reopenWithIncreasedBackoff() {
-        // Increment backoff level (capped at max)
-        int newLevel = Math.min(backoffLevel.incrementAndGet(), COOLDOWN_BY_LEVEL.length - 1);
-        backoffLevel.set(newLevel);
-
-        int cooldownMinutes = getCooldownMinutesForLevel(newLevel);
-        Instant now = Instant.now();
-        Instant until = now.plusSeconds(cooldownMinutes * 60L);
-
-        // Set state to OPEN first to prevent new probe acquisition before clearing probe flag
-        // This ordering prevents a race where another thread could acquire probe between
-        // clearing probeInProgress and setting state to OPEN
-        state.set(State.OPEN);
-        openedAt.set(now);
-        cooldownUntil.set(until);
-        totalCircuitOpens.incrementAndGet();
-
-        // Now clear probe flag - state is already OPEN so no new probes can be acquired
-        probeInProgress.compareAndSet(true, false);
-
-        logger.error("CIRCUIT BREAKER REOPENED - HALF_OPEN probe failed! " +
-                     "State: OPEN, Backoff level increased to: {}, Cooldown: {} minutes (until {}). " +
-                     "Last error: {} - {}",
-                newLevel, cooldownMinutes, until,
-                lastErrorType.get(), lastErrorMessage.get());
-
-        persistState();
-    }
-
-    /**
-     * Close the circuit (successful recovery).
-     */
-    private void closeCircuit() {
-        state.set(State.CLOSED);
-        cooldownUntil.set(null);
-        // Don't reset backoffLevel - it decays naturally after sustained success
-        // Don't reset openedAt - useful for diagnostics
-
-        // Clear rolling window
-        synchronized (errorListLock) {
-            recentErrors.clear();
-        }
-
-        logger.info("Circuit breaker CLOSED - validation requests will resume. Backoff level: {}",
-                backoffLevel.get());
-
-        persistState();
+    private long cooldownUntil(long nowMs, int level) {
+        return nowMs + TimeUnit.MINUTES.toMillis(getCooldownMinutesForLevel(level));
     }
 
     /**
@@ -855,24 +914,19 @@ public class YouTubeCircuitBreaker {
                lowerMessage.contains("429");
     }
 
+
     /**
      * Manually reset the circuit breaker (for admin intervention).
+     * Unlike other transitions, the write is made before returning.
      *
      * @return true if reset was durably persisted (or no persistence configured), false if persistence failed
      */
     public boolean reset() {
         logger.info("Circuit breaker manually reset");
-        state.set(State.CLOSED);
-        openedAt.set(null);
-        cooldownUntil.set(null);
-        backoffLevel.set(0);
-        lastErrorMessage.set(null);
-        lastErrorType.set(null);
-        lastErrorAt.set(null);
-
-        synchronized (errorListLock) {
-            recentErrors.clear();
-        }
+        // Totals are kept: they count the lifetime of the breaker, not the current episode
+        snapshot.updateAndGet(current -> new Snapshot(State.CLOSED, false, 0, 0, 0, 0, null, null,
+                current.totalRateLimitErrors(), current.totalCircuitOpens()));
+        errorWindow.clear();
 
         boolean persisted = persistState();
         if (!persisted) {
@@ -886,7 +940,12 @@ public class YouTubeCircuitBreaker {
      * DO NOT use in production code.
      */
     void setStateForTesting(State newState) {
-        state.set(newState);
+        snapshot.updateAndGet(current -> current.withState(newState));
+    }
+
+    /** Errors currently counted in the rolling window (tests and benchmarks). */
+    int rollingWindowErrorCount() {
+        return errorWindow.count(System.currentTimeMillis());
     }
 
     // ==================== Status / Metrics ====================
@@ -896,18 +955,8 @@ public class YouTubeCircuitBreaker {
      * Note: calls isOpen() which may trigger OPEN→HALF_OPEN transitions as a side effect.
      */
     public CircuitBreakerStatus getStatus() {
-        return new CircuitBreakerStatus(
-                isOpen(),
-                state.get(),
-                getRemainingCooldownMs(),
-                openedAt.get(),
-                cooldownUntil.get(),
-                backoffLevel.get(),
-                lastErrorType.get(),
-                lastErrorMessage.get(),
-                totalRateLimitErrors.get(),
-                totalCircuitOpens.get()
-        );
+        boolean open = isOpen();
+        return toStatus(open, snapshot.get());
     }
 
     /**
@@ -917,27 +966,31 @@ public class YouTubeCircuitBreaker {
      * monitoring endpoints.
      */
     public CircuitBreakerStatus getStatusSnapshot() {
-        State currentState = state.get();
+        Snapshot current = snapshot.get();
         boolean effectivelyOpen;
-        if (currentState == State.OPEN) {
+        if (current.state() == State.OPEN) {
             // Check if cooldown has expired — if so, report as not-open
             // (the next isOpen() call will transition to HALF_OPEN)
-            Instant until = cooldownUntil.get();
-            effectivelyOpen = until != null && Instant.now().isBefore(until);
+            effectivelyOpen = current.cooldownUntilMs() > 0 && System.currentTimeMillis() < current.cooldownUntilMs();
         } else {
-            effectivelyOpen = currentState == State.HALF_OPEN && probeInProgress.get();
+            effectivelyOpen = current.state() == State.HALF_OPEN && current.probeInProgress();
         }
+        return toStatus(effectivelyOpen, current);
+    }
+
+    private static CircuitBreakerStatus toStatus(boolean open, Snapshot current) {
+        long until = current.cooldownUntilMs();
         return new CircuitBreakerStatus(
-                effectivelyOpen,
-                currentState,
-                getRemainingCooldownMs(),
-                openedAt.get(),
-                cooldownUntil.get(),
-                backoffLevel.get(),
-                lastErrorType.get(),
-                lastErrorMessage.get(),
-                totalRateLimitErrors.get(),
-                totalCircuitOpens.get()
+                open,
+                current.state(),
+                until > 0 ? Math.max(0, until - System.currentTimeMillis()) : 0,
+                current.openedAtMs() > 0 ? Instant.ofEpochMilli(current.openedAtMs()) : null,
+                until > 0 ? Instant.ofEpochMilli(until) : null,
+                current.backoffLevel(),
+                current.lastErrorType(),
+                current.lastErrorMessage(),
+                current.totalRateLimitErrors(),
+                current.totalCircuitOpens()
         );
     }
 
@@ -945,7 +998,113 @@ public class YouTubeCircuitBreaker {
      * Get current state for logging/diagnostics.
      */
     public State getCurrentState() {
-        return state.get();
+        return snapshot.get().state();
+    }
+
+    /**
+     * Rolling error window as a ring of {@link #BUCKETS} time buckets, each one
+     * {@code window / BUCKETS} wide. A slot packs the bucket number (high bits) and its
+     * error count (low {@link #COUNT_BITS} bits) into one long, so recording an error is a
+     * CAS on one slot: bump the count if the slot already holds the current bucket,
+     * otherwise claim it for the current bucket with a count of one. Counting sums the slots
+     * whose bucket falls inside the window; the window edge is therefore rounded to a bucket.
+     */
+    static final class ErrorWindow {
+
+        static final int BUCKETS = 60;
+        private static final int COUNT_BITS = 20;
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+        /** Cap on bucket times written to Firestore; far above any useful threshold. */
+        private static final int MAX_PERSISTED_EPOCHS = 1000;
+
+        private final long bucketMillis;
+        private final AtomicLongArray slots = new AtomicLongArray(BUCKETS);
+        /** Set after an error is recorded, so {@link #clear} on every success is one volatile read. */
+        private volatile boolean dirty;
+
+        ErrorWindow(long windowMillis) {
+            this.bucketMillis = Math.max(1, (windowMillis + BUCKETS - 1) / BUCKETS);
+        }
+
+        /**
+         * Record one error at {@code nowMs}.
+         *
+         * @return errors in the window, this one included
+         */
+        int add(long nowMs) {
+            long bucket = nowMs / bucketMillis;
+            int slot = (int) (bucket % BUCKETS);
+            while (true) {
+                long value = slots.get(slot);
+                long next;
+                if ((value >>> COUNT_BITS) == bucket) {
+                    next = (value & COUNT_MASK) == COUNT_MASK ? value : value + 1;
+                } else {
+                    next = (bucket << COUNT_BITS) | 1;
+                }
+                if (slots.compareAndSet(slot, value, next)) {
+                    break;
+                }
+            }
+            dirty = true;
+            return count(nowMs);
+        }
+
+        int count(long nowMs) {
+            long current = nowMs / bucketMillis;
+            int total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                long value = slots.get(i);
+                long bucket = value >>> COUNT_BITS;
+                if (value != 0 && bucket > current - BUCKETS && bucket <= current) {
+                    total += (int) (value & COUNT_MASK);
+                }
+            }
+            return total;
+        }
+
+        void clear() {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            for (int i = 0; i < BUCKETS; i++) {
+                if (slots.get(i) != 0) {
+                    slots.set(i, 0);
+                }
+            }
+        }
+
+        /** Errors in the window as epoch millis (each at the start of its bucket), for persistence. */
+        List<Long> epochs(long nowMs) {
+            long current = nowMs / bucketMillis;
+            List<Long> epochs = new ArrayList<>();
+            for (int i = 0; i < BUCKETS && epochs.size() < MAX_PERSISTED_EPOCHS; i++) {
+                long value = slots.get(i);
+                long bucket = value >>> COUNT_BITS;
+                if (value != 0 && bucket > current - BUCKETS && bucket <= current) {
+                    long count = Math.min(value & COUNT_MASK, MAX_PERSISTED_EPOCHS - epochs.size());
+                    for (long n = 0; n < count; n++) {
+                        epochs.add(bucket * bucketMillis);
+                    }
+                }
+            }
+            return epochs;
+        }
+
+        /** Replace the window with persisted error times; those outside the window are dropped. */
+        void replace(List<Number> errorEpochs, long nowMs) {
+            dirty = true;
+            for (int i = 0; i < BUCKETS; i++) {
+                slots.set(i, 0);
+            }
+            long windowStart = nowMs - bucketMillis * BUCKETS;
+            for (Number epoch : errorEpochs) {
+                if (epoch != null && epoch.longValue() > windowStart && epoch.longValue() <= nowMs) {
+                    add(epoch.longValue());
+                }
+            }
+        }
     }
 
     /**
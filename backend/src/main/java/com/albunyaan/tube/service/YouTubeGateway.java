@@ -1,5 +1,6 @@
 package com.albunyaan.tube.service;
 
+import com.albunyaan.tube.config.MetricsConfig;
 import com.albunyaan.tube.dto.YouTubeContentType;
 import com.albunyaan.tube.dto.registry.PreviewErrorCode;
 import com.albunyaan.tube.dto.registry.PreviewMetadata;
@@ -40,12 +41,14 @@ import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 
 /**
@@ -59,6 +62,9 @@ import java.util.regex.Pattern;
  * - Provides direct access to NewPipe objects (ChannelInfo, PlaylistInfo, etc.)
  * - Handles pagination encoding/decoding
  * - Manages the executor service for batch operations
+ * - Coalesces concurrent info fetches for the same ID into one extraction
+ * - Admits outbound requests by priority lane (see {@link YouTubeRequestScheduler})
+ * - Reports response latency and rate limiting to {@link YouTubeAdaptiveRate}
  *
  * Does NOT:
  * - Apply caching (handled by orchestrators)
@@ -84,12 +90,65 @@ public class YouTubeGateway {
     @Nullable
     private final YouTubeCircuitBreaker circuitBreaker;
 
+    @Nullable
+    private final MetricsConfig.ApplicationMetrics metrics;
+
+    @Nullable
+    private final YouTubeRequestScheduler scheduler;
+
+    @Nullable
+    private final YouTubeAdaptiveRate adaptiveRate;
+
+    /** In-flight info extractions by "endpoint:id"; concurrent callers share the leader's result. */
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    /** The flight the current thread is leading, so its admission follows the flight's lane. */
+    private static final ThreadLocal<Flight> LEADING = new ThreadLocal<>();
+
+    /**
+     * One shared extraction: its result, and the highest-priority lane among the callers
+     * waiting on it. The leader queues for admission in that lane, so an INTERACTIVE caller
+     * joining a BACKGROUND extraction lifts it out of the background queue.
+     */
+    private static final class Flight {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        final AtomicReference<YouTubeRequestScheduler.Lane> lane;
+
+        Flight(YouTubeRequestScheduler.Lane lane) {
+            this.lane = new AtomicReference<>(lane);
+        }
+
+        /** Raise the lane to {@code candidate} if it has higher priority; true when raised. */
+        boolean raiseTo(YouTubeRequestScheduler.Lane candidate) {
+            YouTubeRequestScheduler.Lane previous = lane.getAndAccumulate(candidate,
+                    (current, joining) -> joining.ordinal() < current.ordinal() ? joining : current);
+            return candidate.ordinal() < previous.ordinal();
+        }
+    }
+
+    /** An extraction that can be shared through {@link #singleFlight}. */
+    @FunctionalInterface
+    interface Extraction<T> {
+        T run() throws IOException, ExtractionException;
+    }
+
+    public YouTubeGateway(
+            StreamingService youtubeService,
+            int poolSize,
+            @Nullable YouTubeThrottler throttler,
+            @Nullable YouTubeCircuitBreaker circuitBreaker) {
+        this(youtubeService, poolSize, throttler, circuitBreaker, null, null, null);
+    }
+
     @Autowired
     public YouTubeGateway(
             @Qualifier("newPipeYouTubeService") StreamingService youtubeService,
             @Value("${app.newpipe.executor.pool-size:3}") int poolSize,
             @Nullable YouTubeThrottler throttler,
-            @Nullable YouTubeCircuitBreaker circuitBreaker) {
+            @Nullable YouTubeCircuitBreaker circuitBreaker,
+            @Nullable MetricsConfig.ApplicationMetrics metrics,
+            @Nullable YouTubeRequestScheduler scheduler,
+            @Nullable YouTubeAdaptiveRate adaptiveRate) {
         this.youtube = youtubeService;
         this.executorService = Executors.newFixedThreadPool(poolSize);
         this.channelLinkHandlerFactory = YoutubeChannelLinkHandlerFactory.getInstance();
@@ -97,9 +156,13 @@ public class YouTubeGateway {
         this.streamLinkHandlerFactory = YoutubeStreamLinkHandlerFactory.getInstance();
         this.throttler = throttler;
         this.circuitBreaker = circuitBreaker;
+        this.metrics = metrics;
+        this.scheduler = scheduler;
+        this.adaptiveRate = adaptiveRate;
 
-        logger.info("YouTubeGateway initialized with NewPipeExtractor (executor pool size: {}, throttler: {}, circuitBreaker: {})",
-                poolSize, throttler != null ? "enabled" : "disabled", circuitBreaker != null ? "enabled" : "disabled");
+        logger.info("YouTubeGateway initialized with NewPipeExtractor (executor pool size: {}, throttler: {}, circuitBreaker: {}, scheduler: {})",
+                poolSize, throttler != null ? "enabled" : "disabled", circuitBreaker != null ? "enabled" : "disabled",
+                scheduler != null ? "enabled" : "disabled");
         logger.info("Service: {}, ID: {}", youtube.getServiceInfo().getName(), youtube.getServiceId());
     }
 
@@ -132,10 +195,22 @@ public class YouTubeGateway {
     // ==================== Rate Limiting Helpers ====================
 
     /**
-     * Apply throttling before making a YouTube request.
-     * Should be called before each external request.
+     * Wait for admission before making a YouTube request: the caller's lane in the
+     * {@link YouTubeRequestScheduler} (the flight's lane when leading a {@link #singleFlight}),
+     * or the plain throttle delay without one.
+     * Should be called before each external request, and before {@link #checkCircuitBreaker()}
+     * so a HALF_OPEN probe permit is never held while queued.
      */
-    private void applyThrottling() {
+    private void applyThrottling() throws IOException {
+        if (scheduler != null) {
+            Flight flight = LEADING.get();
+            if (flight != null) {
+                scheduler.acquire(flight.lane::get);
+            } else {
+                scheduler.acquire(YouTubeRequestScheduler.currentLane());
+            }
+            return;
+        }
         if (throttler != null && throttler.isEnabled()) {
             throttler.throttle();
         }
@@ -191,9 +266,13 @@ public class YouTubeGateway {
     }
 
     /**
-     * Record a successful YouTube request.
+     * Record a successful YouTube request; its latency feeds the adaptive throttle.
      */
-    private void recordSuccess() {
+    private void recordSuccess(String endpoint, long startNanos) {
+        recordCall(endpoint, true, startNanos);
+        if (adaptiveRate != null) {
+            adaptiveRate.onSuccess(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
         if (circuitBreaker != null) {
             circuitBreaker.recordSuccess();
         }
@@ -204,15 +283,23 @@ public class YouTubeGateway {
      * If this is a probe request (HALF_OPEN state), ensures the probe permit is cleared
      * even for non-rate-limit errors to prevent the circuit from getting stuck.
      */
-    private void recordError(Exception e) {
+    private void recordError(String endpoint, long startNanos, Exception e) {
+        recordCall(endpoint, false, startNanos);
         if (circuitBreaker == null) {
             return;
         }
+        if (adaptiveRate != null && circuitBreaker.isRateLimitError(e)) {
+            adaptiveRate.onRateLimited();
+        }
 
         if (circuitBreaker.isRateLimitError(e)) {
             // Rate limit error - record it (will increase backoff if in HALF_OPEN)
             circuitBreaker.recordRateLimitError(e);
             logger.warn("Rate limit error detected, circuit breaker recording: {}", e.getMessage());
+            if (scheduler != null) {
+                // Queued background work is cancelled if this opened the circuit
+                scheduler.onCircuitStateChanged();
+            }
         } else if (circuitBreaker.isProbeRequest()) {
             // Non-rate-limit error during probe - must clear probe permit to avoid stuck state
             circuitBreaker.recordProbeFailure(e);
@@ -221,6 +308,16 @@ public class YouTubeGateway {
         // For non-rate-limit errors outside of probe: no action needed
     }
 
+    /**
+     * Record call latency as {@code youtube.api.call.duration}; time spent throttled is excluded.
+     */
+    private void recordCall(String endpoint, boolean success, long startNanos) {
+        if (metrics != null) {
+            metrics.recordYoutubeApiCall(endpoint, success,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+    }
+
     /**
      * Execute an operation with probe timeout if this is a probe request.
      * Probe requests (during HALF_OPEN state) use a shorter timeout to quickly
@@ -266,6 +363,73 @@ public class YouTubeGateway {
         }
     }
 
+    /**
+     * Run {@code extraction} unless the same (endpoint, id) is already being extracted, in which
+     * case wait for that call and return its result or rethrow its exception. Only the leader
+     * passes the circuit breaker and throttler, so followers add neither YouTube requests nor
+     * breaker probes. A follower whose lane outranks the flight's raises it, so the leader's
+     * admission never waits at a lower priority than a caller blocked on it.
+     * Counted as {@code youtube.api.singleflight{result=leader|coalesced}}.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T singleFlight(String endpoint, @Nullable String id, Extraction<T> extraction)
+            throws IOException, ExtractionException {
+        if (id == null) {
+            return extraction.run();
+        }
+        String key = endpoint + ":" + id;
+        YouTubeRequestScheduler.Lane lane = YouTubeRequestScheduler.currentLane();
+        Flight mine = new Flight(lane);
+        Flight leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            if (leader.raiseTo(lane) && scheduler != null) {
+                scheduler.onLaneRaised();
+            }
+            recordSingleFlight(endpoint, true);
+            return (T) awaitShared(leader.result);
+        }
+        recordSingleFlight(endpoint, false);
+        Flight outer = LEADING.get();
+        LEADING.set(mine);
+        try {
+            T result = extraction.run();
+            mine.result.complete(result);
+            return result;
+        } catch (IOException | ExtractionException | RuntimeException | Error e) {
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+            if (outer == null) {
+                LEADING.remove();
+            } else {
+                LEADING.set(outer);
+            }
+        }
+    }
+
+    private static Object awaitShared(CompletableFuture<Object> leader) throws IOException, ExtractionException {
+        try {
+            return leader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for in-flight YouTube request", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof ExtractionException ex) throw ex;
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IOException("In-flight YouTube request failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private void recordSingleFlight(String endpoint, boolean coalesced) {
+        if (metrics != null) {
+            metrics.recordYoutubeSingleFlight(endpoint, coalesced);
+        }
+    }
+
     // ==================== Search Operations ====================
 
     /**
@@ -296,11 +460,12 @@ public class YouTubeGateway {
     public void fetchSearchPage(SearchExtractor extractor) throws IOException, ExtractionException {
         applyThrottling();
 
+        long start = System.nanoTime();
         try {
             extractor.fetchPage();
-            recordSuccess();
+            recordSuccess("search", start);
         } catch (IOException | ExtractionException e) {
-            recordError(e);
+            recordError("search", start, e);
             throw e;
         }
     }
@@ -315,12 +480,13 @@ public class YouTubeGateway {
             throws IOException, ExtractionException {
         applyThrottling();
 
+        long start = System.nanoTime();
         try {
             ListExtractor.InfoItemsPage<InfoItem> result = extractor.getPage(page);
-            recordSuccess();
+            recordSuccess("search.page", start);
             return result;
         } catch (IOException | ExtractionException e) {
-            recordError(e);
+            recordError("search.page", start, e);
             throw e;
         }
     }
@@ -329,23 +495,26 @@ public class YouTubeGateway {
 
     /**
      * Fetch channel info by channel ID.
-     * Applies throttling and circuit breaker protection.
+     * Applies throttling and circuit breaker protection; concurrent calls for the same ID share one extraction.
      */
     public ChannelInfo fetchChannelInfo(String channelId) throws IOException, ExtractionException {
-        checkCircuitBreaker();
-        applyThrottling();
+        return singleFlight("channel.info", channelId, () -> {
+            applyThrottling();
+            checkCircuitBreaker();
 
-        try {
-            // Use /channel/ format directly instead of link handler factory
-            // The factory incorrectly generates /c/ URLs which return 404
-            String url = buildChannelUrl(channelId);
-            ChannelInfo result = ChannelInfo.getInfo(youtube, url);
-            recordSuccess();
-            return result;
-        } catch (IOException | ExtractionException e) {
-            recordError(e);
-            throw e;
-        }
+            long start = System.nanoTime();
+            try {
+                // Use /channel/ format directly instead of link handler factory
+                // The factory incorrectly generates /c/ URLs which return 404
+                String url = buildChannelUrl(channelId);
+                ChannelInfo result = ChannelInfo.getInfo(youtube, url);
+                recordSuccess("channel.info", start);
+                return result;
+            } catch (IOException | ExtractionException e) {
+                recordError("channel.info", start, e);
+                throw e;
+            }
+        });
     }
 
     /**
@@ -430,14 +599,15 @@ public class YouTubeGateway {
      * This should be used instead of calling extractor.fetchPage() directly.
      */
     public void fetchTabPage(ChannelTabExtractor extractor) throws IOException, ExtractionException {
-        checkCircuitBreaker();
         applyThrottling();
+        checkCircuitBreaker();
 
+        long start = System.nanoTime();
         try {
             extractor.fetchPage();
-            recordSuccess();
+            recordSuccess("channel.tab", start);
         } catch (IOException | ExtractionException e) {
-            recordError(e);
+            recordError("channel.tab", start, e);
             throw e;
         }
     }
@@ -448,15 +618,16 @@ public class YouTubeGateway {
      */
     public ListExtractor.InfoItemsPage<InfoItem> getTabPage(ChannelTabExtractor extractor, Page page)
             throws IOException, ExtractionException {
-        checkCircuitBreaker();
         applyThrottling();
+        checkCircuitBreaker();
 
+        long start = System.nanoTime();
         try {
             ListExtractor.InfoItemsPage<InfoItem> result = extractor.getPage(page);
-            recordSuccess();
+            recordSuccess("channel.tab.page", start);
             return result;
         } catch (IOException | ExtractionException e) {
-            recordError(e);
+            recordError("channel.tab.page", start, e);
             throw e;
         }
     }
@@ -465,21 +636,24 @@ public class YouTubeGateway {
 
     /**
      * Fetch playlist info by playlist ID.
-     * Applies throttling and circuit breaker protection.
+     * Applies throttling and circuit breaker protection; concurrent calls for the same ID share one extraction.
      */
     public PlaylistInfo fetchPlaylistInfo(String playlistId) throws IOException, ExtractionException {
-        checkCircuitBreaker();
-        applyThrottling();
+        return singleFlight("playlist.info", playlistId, () -> {
+            applyThrottling();
+            checkCircuitBreaker();
 
-        try {
-            String url = playlistLinkHandlerFactory.getUrl(playlistId);
-            PlaylistInfo result = PlaylistInfo.getInfo(youtube, url);
-            recordSuccess();
-            return result;
-        } catch (IOException | ExtractionException e) {
-            recordError(e);
-            throw e;
-        }
+            long start = System.nanoTime();
+            try {
+                String url = playlistLinkHandlerFactory.getUrl(playlistId);
+                PlaylistInfo result = PlaylistInfo.getInfo(youtube, url);
+                recordSuccess("playlist.info", start);
+                return result;
+            } catch (IOException | ExtractionException e) {
+                recordError("playlist.info", start, e);
+                throw e;
+            }
+        });
     }
 
     /**
@@ -495,16 +669,17 @@ public class YouTubeGateway {
      */
     public ListExtractor.InfoItemsPage<StreamInfoItem> getPlaylistMoreItems(String playlistId, Page page)
             throws IOException, ExtractionException {
-        checkCircuitBreaker();
         applyThrottling();
+        checkCircuitBreaker();
 
+        long start = System.nanoTime();
         try {
             String url = playlistLinkHandlerFactory.getUrl(playlistId);
             ListExtractor.InfoItemsPage<StreamInfoItem> result = PlaylistInfo.getMoreItems(youtube, url, page);
-            recordSuccess();
+            recordSuccess("playlist.page", start);
             return result;
         } catch (IOException | ExtractionException e) {
-            recordError(e);
+            recordError("playlist.page", start, e);
             throw e;
         }
     }
@@ -513,22 +688,26 @@ public class YouTubeGateway {
 
     /**
      * Fetch stream info by video ID.
-     * Applies throttling, circuit breaker protection, and probe timeout (for HALF_OPEN probes).
+     * Applies throttling, circuit breaker protection, and probe timeout (for HALF_OPEN probes);
+     * concurrent calls for the same ID share one extraction.
      */
     public StreamInfo fetchStreamInfo(String videoId) throws IOException, ExtractionException {
-        checkCircuitBreaker();
-        applyThrottling();
+        return singleFlight("stream.info", videoId, () -> {
+            applyThrottling();
+            checkCircuitBreaker();
 
-        try {
-            String url = streamLinkHandlerFactory.getUrl(videoId);
-            // Use probe timeout wrapper for probe requests
-            StreamInfo result = executeWithProbeTimeout(() -> StreamInfo.getInfo(youtube, url));
-            recordSuccess();
-            return result;
-        } catch (IOException | ExtractionException e) {
-            recordError(e);
-            throw e;
-        }
+            long start = System.nanoTime();
+            try {
+                String url = streamLinkHandlerFactory.getUrl(videoId);
+                // Use probe timeout wrapper for probe requests
+                StreamInfo result = executeWithProbeTimeout(() -> StreamInfo.getInfo(youtube, url));
+                recordSuccess("stream.info", start);
+                return result;
+            } catch (IOException | ExtractionException e) {
+                recordError("stream.info", start, e);
+                throw e;
+            }
+        });
     }
 
     /**
@@ -638,7 +817,7 @@ public class YouTubeGateway {
      * Run an async operation using the shared executor
      */
     public CompletableFuture<Void> runAsync(Runnable runnable) {
-        return CompletableFuture.runAsync(runnable, executorService);
+        return CompletableFuture.runAsync(YouTubeRequestScheduler.inCurrentLane(runnable), executorService);
     }
 
     // -------------------------------------------------------------------------
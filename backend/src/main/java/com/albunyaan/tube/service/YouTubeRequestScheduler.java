@@ -0,0 +1,301 @@
+package com.albunyaan.tube.service;
+
+import com.albunyaan.tube.config.ValidationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Priority-aware admission for outbound YouTube requests, replacing the single
+ * first-come throttle lock in front of {@link YouTubeGateway}.
+ *
+ * Requests wait in one FIFO per {@link Lane}; a request may go only when every
+ * higher-priority lane is empty. Admission is paced by a token bucket refilled at one token
+ * per {@code delay-between-items-ms} (the old throttle spacing; the learned delay of
+ * {@link YouTubeAdaptiveRate} when that is enabled), with each request also paying a random
+ * share of {@code jitter-ms}. The bucket holds up to {@code burst} tokens, and
+ * the last {@code interactive-reserve} of them can only be spent by INTERACTIVE requests, so an
+ * admin preview never waits behind a validation run's pacing.
+ *
+ * Queued BACKGROUND requests are cancelled (IOException) while the circuit breaker is open
+ * instead of holding their place until the cooldown ends.
+ *
+ * The lane comes from the calling thread: {@link #withLane} when set, otherwise INTERACTIVE on
+ * HTTP request threads and BACKGROUND everywhere else (schedulers, async jobs).
+ *
+ * Metrics per lane: {@code youtube.scheduler.queue.depth}, {@code youtube.scheduler.wait},
+ * {@code youtube.scheduler.cancelled}.
+ */
+@Component
+public class YouTubeRequestScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(YouTubeRequestScheduler.class);
+
+    /** Highest priority first. */
+    public enum Lane {
+        INTERACTIVE, DOWNLOAD, BULK, BACKGROUND;
+
+        final String tag = name().toLowerCase();
+    }
+
+    /** Restores the previous lane of the thread on close. */
+    public interface LaneScope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /** Longest a queued request sleeps before re-checking the breaker when nothing signals it. */
+    private static final long MAX_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final ThreadLocal<Lane> LANE = new ThreadLocal<>();
+
+    private final ValidationProperties validationProperties;
+    @Nullable
+    private final YouTubeCircuitBreaker circuitBreaker;
+    @Nullable
+    private final YouTubeAdaptiveRate adaptiveRate;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Map<Lane, ArrayDeque<Object>> queues = new EnumMap<>(Lane.class);
+    private final Map<Lane, AtomicInteger> depth = new EnumMap<>(Lane.class);
+    private final Map<Lane, Timer> waitTimers = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> cancelled = new EnumMap<>(Lane.class);
+
+    /**
+     * Guarded by {@link #lock}. NaN until the first refill fills the bucket, so the first
+     * requests after startup go at once. May go negative: a jittered cost larger than the
+     * balance is carried as debt that later requests wait off.
+     */
+    private double tokens = Double.NaN;
+    private long lastRefillNanos = System.nanoTime();
+
+    public YouTubeRequestScheduler(ValidationProperties validationProperties,
+                                   @Nullable YouTubeCircuitBreaker circuitBreaker,
+                                   @Nullable MeterRegistry meterRegistry) {
+        this(validationProperties, circuitBreaker, meterRegistry, null);
+    }
+
+    @Autowired
+    public YouTubeRequestScheduler(ValidationProperties validationProperties,
+                                   @Nullable YouTubeCircuitBreaker circuitBreaker,
+                                   @Nullable MeterRegistry meterRegistry,
+                                   @Nullable YouTubeAdaptiveRate adaptiveRate) {
+        this.validationProperties = validationProperties;
+        this.circuitBreaker = circuitBreaker;
+        this.adaptiveRate = adaptiveRate;
+        for (Lane lane : Lane.values()) {
+            queues.put(lane, new ArrayDeque<>());
+            AtomicInteger queued = new AtomicInteger();
+            depth.put(lane, queued);
+            if (meterRegistry != null) {
+                Gauge.builder("youtube.scheduler.queue.depth", queued, AtomicInteger::get)
+                        .tag("lane", lane.tag)
+                        .register(meterRegistry);
+                waitTimers.put(lane, Timer.builder("youtube.scheduler.wait")
+                        .description("Time a YouTube request waited for admission")
+                        .tag("lane", lane.tag)
+                        .register(meterRegistry));
+                cancelled.put(lane, Counter.builder("youtube.scheduler.cancelled")
+                        .tag("lane", lane.tag)
+                        .register(meterRegistry));
+            }
+        }
+        ValidationProperties.YouTube.Throttle config = validationProperties.getYoutube().getThrottle();
+        logger.info("YouTubeRequestScheduler initialized - enabled: {}, delay: {}ms, jitter: {}ms, burst: {}, interactive reserve: {}, adaptive: {}",
+                config.isEnabled(), config.getDelayBetweenItemsMs(), config.getJitterMs(),
+                config.getBurst(), config.getInteractiveReserve(), adaptiveRate != null && adaptiveRate.isEnabled());
+    }
+
+    // ==================== Lanes ====================
+
+    /** Lane of the calling thread. */
+    public static Lane currentLane() {
+        Lane lane = LANE.get();
+        if (lane != null) {
+            return lane;
+        }
+        return RequestContextHolder.getRequestAttributes() != null ? Lane.INTERACTIVE : Lane.BACKGROUND;
+    }
+
+    /** Run the YouTube calls of this thread in {@code lane} until the scope is closed. */
+    public static LaneScope withLane(Lane lane) {
+        Lane previous = LANE.get();
+        LANE.set(lane);
+        return () -> {
+            if (previous == null) {
+                LANE.remove();
+            } else {
+                LANE.set(previous);
+            }
+        };
+    }
+
+    /** Wrap {@code task} so it runs in the submitting thread's lane on another thread. */
+    public static Runnable inCurrentLane(Runnable task) {
+        Lane lane = currentLane();
+        return () -> {
+            try (LaneScope ignored = withLane(lane)) {
+                task.run();
+            }
+        };
+    }
+
+    // ==================== Admission ====================
+
+    /**
+     * Wait for {@code lane}'s turn and a token.
+     *
+     * @throws IOException if the wait is interrupted, or the circuit breaker opens while a
+     *                     BACKGROUND request is queued
+     */
+    public void acquire(Lane lane) throws IOException {
+        acquire(() -> lane);
+    }
+
+    /**
+     * Like {@link #acquire(Lane)}, but re-reads the lane while queued: when it changes the
+     * request moves to the back of the new lane's queue. Used by callers whose priority can
+     * rise while they wait, e.g. a shared extraction an INTERACTIVE caller has just joined;
+     * call {@link #onLaneRaised()} after raising it so the move happens at once.
+     */
+    public void acquire(Supplier<Lane> laneOf) throws IOException {
+        ValidationProperties.YouTube.Throttle config = validationProperties.getYoutube().getThrottle();
+        if (!config.isEnabled()) {
+            return;
+        }
+        long delayMs = Math.max(1, adaptiveRate != null ? adaptiveRate.getDelayMs() : config.getDelayBetweenItemsMs());
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(delayMs);
+        int reserve = Math.max(0, config.getInteractiveReserve());
+        int capacity = Math.max(Math.max(1, config.getBurst()), reserve + 1);
+
+        Object ticket = new Object();
+        long start = System.nanoTime();
+        Lane lane = laneOf.get();
+        lock.lock();
+        try {
+            queues.get(lane).addLast(ticket);
+            depth.get(lane).incrementAndGet();
+            try {
+                while (true) {
+                    Lane wanted = laneOf.get();
+                    if (wanted != lane) {
+                        queues.get(lane).remove(ticket);
+                        depth.get(lane).decrementAndGet();
+                        lane = wanted;
+                        queues.get(lane).addLast(ticket);
+                        depth.get(lane).incrementAndGet();
+                    }
+                    if (lane == Lane.BACKGROUND && breakerOpen()) {
+                        Counter counter = cancelled.get(lane);
+                        if (counter != null) counter.increment();
+                        throw new IOException("YouTube circuit breaker is open; queued background request cancelled");
+                    }
+                    double needed = lane == Lane.INTERACTIVE ? 1 : 1 + reserve;
+                    refill(intervalNanos, capacity);
+                    boolean next = isNext(lane, ticket);
+                    if (next && tokens >= needed) {
+                        tokens -= cost(config.getJitterMs(), delayMs);
+                        break;
+                    }
+                    long parkNanos = next
+                            ? Math.min(MAX_PARK_NANOS, (long) Math.ceil((needed - tokens) * intervalNanos))
+                            : MAX_PARK_NANOS;
+                    changed.awaitNanos(Math.max(1, parkNanos));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting to call YouTube", e);
+            } finally {
+                queues.get(lane).remove(ticket);
+                depth.get(lane).decrementAndGet();
+                // The next head (possibly in another lane) may be able to go now
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        Timer timer = waitTimers.get(lane);
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Wake queued requests so they re-check the circuit breaker, e.g. right after it opens. */
+    public void onCircuitStateChanged() {
+        wakeQueued();
+    }
+
+    /** Wake queued requests so one acquired with a lane supplier moves to its raised lane. */
+    public void onLaneRaised() {
+        wakeQueued();
+    }
+
+    private void wakeQueued() {
+        lock.lock();
+        try {
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Number of requests queued in {@code lane}. */
+    public int queueDepth(Lane lane) {
+        return depth.get(lane).get();
+    }
+
+    private boolean isNext(Lane lane, Object ticket) {
+        for (Lane higher : Lane.values()) {
+            if (higher == lane) {
+                return queues.get(lane).peekFirst() == ticket;
+            }
+            if (!queues.get(higher).isEmpty()) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void refill(long intervalNanos, int capacity) {
+        long now = System.nanoTime();
+        if (Double.isNaN(tokens)) {
+            tokens = capacity;
+        } else {
+            tokens = Math.min(capacity, tokens + (double) (now - lastRefillNanos) / intervalNanos);
+        }
+        lastRefillNanos = now;
+    }
+
+    /** One token plus a random share of the jitter, so spacing matches delay + jitter on average. */
+    private static double cost(long jitter, long delayMs) {
+        if (jitter <= 0) {
+            return 1;
+        }
+        return 1 + ThreadLocalRandom.current().nextLong(jitter) / (double) delayMs;
+    }
+
+    private boolean breakerOpen() {
+        return circuitBreaker != null
+                && circuitBreaker.getCurrentState() == YouTubeCircuitBreaker.State.OPEN
+                && circuitBreaker.getRemainingCooldownMs() > 0;
+    }
+}
@@ -3,6 +3,8 @@ package com.albunyaan.tube.service;
 import com.albunyaan.tube.config.ValidationProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.util.concurrent.ThreadLocalRandom;
@@ -12,7 +14,8 @@ import java.util.concurrent.locks.ReentrantLock;
  * Throttler for YouTube API requests.
  *
  * Ensures requests are spaced out to avoid triggering YouTube's rate limiting.
- * Uses a simple delay-based approach with jitter.
+ * Uses a simple delay-based approach with jitter; the delay is the one learned by
+ * {@link YouTubeAdaptiveRate} when that is enabled.
  *
  * Thread-safe: Uses a lock to serialize throttled requests.
  */
@@ -22,12 +25,20 @@ public class YouTubeThrottler {
     private static final Logger logger = LoggerFactory.getLogger(YouTubeThrottler.class);
 
     private final ValidationProperties validationProperties;
+    @Nullable
+    private final YouTubeAdaptiveRate adaptiveRate;
     private final ReentrantLock throttleLock = new ReentrantLock();
 
     private volatile long lastRequestTime = 0;
 
     public YouTubeThrottler(ValidationProperties validationProperties) {
+        this(validationProperties, null);
+    }
+
+    @Autowired
+    public YouTubeThrottler(ValidationProperties validationProperties, @Nullable YouTubeAdaptiveRate adaptiveRate) {
         this.validationProperties = validationProperties;
+        this.adaptiveRate = adaptiveRate;
         logger.info("YouTubeThrottler initialized - enabled: {}, delay: {}ms, jitter: {}ms",
                 validationProperties.getYoutube().getThrottle().isEnabled(),
                 validationProperties.getYoutube().getThrottle().getDelayBetweenItemsMs(),
@@ -44,7 +55,7 @@ public class YouTubeThrottler {
         }
 
         ValidationProperties.YouTube.Throttle config = validationProperties.getYoutube().getThrottle();
-        long baseDelay = config.getDelayBetweenItemsMs();
+        long baseDelay = getDelayMs();
         long jitter = config.getJitterMs();
 
         // Calculate total delay with jitter
@@ -85,9 +96,12 @@ public class YouTubeThrottler {
     }
 
     /**
-     * Get the configured delay between requests.
+     * Get the current delay between requests (adaptive when enabled, else configured).
      */
     public long getDelayMs() {
+        if (adaptiveRate != null) {
+            return adaptiveRate.getDelayMs();
+        }
         return validationProperties.getYoutube().getThrottle().getDelayBetweenItemsMs();
     }
 
@@ -0,0 +1,191 @@
+package com.albunyaan.tube.service.catalog;
+
+import com.albunyaan.tube.model.Channel;
+import com.albunyaan.tube.model.Playlist;
+import com.albunyaan.tube.model.Video;
+import com.albunyaan.tube.util.CursorUtils;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * K-way merge of per-category keyset pages into one stream in catalog order.
+ *
+ * Each category is read through its own cursor page ({@code find*Page}), so resuming deep
+ * into a parent category costs one window per child instead of re-reading every earlier
+ * item. The resume point is the last consumed item of each category, kept as a
+ * {@link CursorUtils} keyset cursor in {@link #state()}; callers embed that map in their own
+ * opaque cursor and hand it back to resume.
+ *
+ * Items filed under several of the merged categories have the same sort key in each, so
+ * they surface together and are returned once. Not thread-safe; one instance per request.
+ */
+public final class CategoryKeysetMerge<T> {
+
+    /** Scope that reads the whole catalog instead of one category. */
+    public static final String ALL_CATEGORIES = "*";
+
+    /** State value of a category that has no items left. */
+    private static final String EXHAUSTED = "";
+
+    /**
+     * One page of a single category, as returned by the catalog reader. Pages must follow the
+     * merge's comparator exactly, ties included (document ID ascending), or an item filed
+     * under two categories can surface once per category on different pages.
+     */
+    public record Window<T>(List<T> items, boolean hasNext) { }
+
+    @FunctionalInterface
+    public interface WindowSource<T> {
+        Window<T> fetch(@Nullable String category, int limit, @Nullable String cursor)
+                throws ExecutionException, InterruptedException, TimeoutException;
+    }
+
+    private final List<String> scopes;
+    private final int windowSize;
+    private final WindowSource<T> source;
+    private final Function<T, String> idOf;
+    private final Function<T, String> cursorOf;
+
+    private final Map<String, String> cursors = new LinkedHashMap<>();
+    private final Map<String, ArrayDeque<T>> buffers = new HashMap<>();
+    private final Map<String, Boolean> hasMore = new HashMap<>();
+    private final Set<String> returned = new HashSet<>();
+    private final PriorityQueue<String> heads;
+    private boolean started;
+    private int consumed;
+
+    public CategoryKeysetMerge(List<String> scopes, @Nullable Map<String, Object> state, int windowSize,
+                               WindowSource<T> source, Comparator<T> order,
+                               Function<T, String> idOf, Function<T, String> cursorOf) {
+        this.scopes = List.copyOf(new LinkedHashSet<>(scopes));
+        this.windowSize = Math.max(1, windowSize);
+        this.source = source;
+        this.idOf = idOf;
+        this.cursorOf = cursorOf;
+        this.heads = new PriorityQueue<>((a, b) -> order.compare(buffers.get(a).peekFirst(), buffers.get(b).peekFirst()));
+        if (state != null) {
+            for (String scope : this.scopes) {
+                Object cursor = state.get(scope);
+                if (cursor instanceof String value) {
+                    cursors.put(scope, value);
+                }
+            }
+        }
+    }
+
+    public static CategoryKeysetMerge<Channel> channels(PublicCatalogReader catalog, List<String> scopes,
+                                                        @Nullable Map<String, Object> state, int windowSize) {
+        return new CategoryKeysetMerge<>(scopes, state, windowSize, (category, limit, cursor) -> {
+            var page = catalog.findChannelPage(category, limit, cursor);
+            return new Window<>(page.getItems(), page.hasNext());
+        }, PublicCatalogSnapshot.CHANNEL_ORDER, Channel::getId,
+                c -> keysetCursor(c.getId(), "subscribers", c.getSubscribers()));
+    }
+
+    public static CategoryKeysetMerge<Playlist> playlists(PublicCatalogReader catalog, List<String> scopes,
+                                                          @Nullable Map<String, Object> state, int windowSize) {
+        return new CategoryKeysetMerge<>(scopes, state, windowSize, (category, limit, cursor) -> {
+            var page = catalog.findPlaylistPage(category, limit, cursor);
+            return new Window<>(page.getItems(), page.hasNext());
+        }, PublicCatalogSnapshot.PLAYLIST_ORDER, Playlist::getId,
+                p -> keysetCursor(p.getId(), "itemCount", p.getItemCount()));
+    }
+
+    public static CategoryKeysetMerge<Video> videos(PublicCatalogReader catalog, List<String> scopes,
+                                                    @Nullable Map<String, Object> state, int windowSize) {
+        return new CategoryKeysetMerge<>(scopes, state, windowSize, (category, limit, cursor) -> {
+            var page = catalog.findVideoPage(category, limit, cursor);
+            return new Window<>(page.getItems(), page.hasNext());
+        }, PublicCatalogSnapshot.VIDEO_ORDER, Video::getId,
+                v -> keysetCursor(v.getId(), "uploadedAt", v.getUploadedAt()));
+    }
+
+    /**
+     * Next item in merged order, or null once every category is exhausted. The item counts as
+     * consumed: {@link #state()} resumes after it whether or not the caller serves it.
+     */
+    @Nullable
+    public T next() throws ExecutionException, InterruptedException, TimeoutException {
+        if (!started) {
+            started = true;
+            for (String scope : scopes) {
+                if (!EXHAUSTED.equals(cursors.get(scope))) {
+                    fill(scope);
+                }
+            }
+        }
+        while (!heads.isEmpty()) {
+            T item = take(heads.poll());
+            String id = idOf.apply(item);
+            // The same document listed under another merged category sorts right here too
+            while (!heads.isEmpty() && id != null && id.equals(idOf.apply(buffers.get(heads.peek()).peekFirst()))) {
+                take(heads.poll());
+            }
+            if (id == null || returned.add(id)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /** Items consumed so far, including duplicates and items the caller skipped. */
+    public int consumed() {
+        return consumed;
+    }
+
+    /** Resume point after the last consumed item: category → keyset cursor ("" once exhausted). */
+    public Map<String, Object> state() {
+        return new LinkedHashMap<>(cursors);
+    }
+
+    private T take(String scope) throws ExecutionException, InterruptedException, TimeoutException {
+        ArrayDeque<T> buffer = buffers.get(scope);
+        T item = buffer.pollFirst();
+        consumed++;
+        cursors.put(scope, cursorOf.apply(item));
+        if (buffer.isEmpty()) {
+            if (Boolean.TRUE.equals(hasMore.get(scope))) {
+                fill(scope);
+            } else {
+                cursors.put(scope, EXHAUSTED);
+            }
+        } else {
+            heads.add(scope);
+        }
+        return item;
+    }
+
+    private void fill(String scope) throws ExecutionException, InterruptedException, TimeoutException {
+        String category = ALL_CATEGORIES.equals(scope) ? null : scope;
+        Window<T> window = source.fetch(category, windowSize, cursors.get(scope));
+        List<T> items = window != null && window.items() != null ? window.items() : List.of();
+        if (items.isEmpty()) {
+            cursors.put(scope, EXHAUSTED);
+            return;
+        }
+        buffers.put(scope, new ArrayDeque<>(items));
+        hasMore.put(scope, window.hasNext());
+        heads.add(scope);
+    }
+
+    private static String keysetCursor(String id, String field, @Nullable Object value) {
+        CursorUtils.CursorData data = new CursorUtils.CursorData(id);
+        if (value != null) {
+            data.withField(field, value);
+        }
+        return CursorUtils.encode(data);
+    }
+}
@@ -0,0 +1,186 @@
+package com.albunyaan.tube.service.catalog;
+
+import com.albunyaan.tube.model.Category;
+import com.albunyaan.tube.model.CategoryContentOrder;
+import com.albunyaan.tube.model.Channel;
+import com.albunyaan.tube.model.Playlist;
+import com.albunyaan.tube.model.Video;
+import com.albunyaan.tube.repository.CategoryContentOrderRepository;
+import com.albunyaan.tube.repository.CategoryRepository;
+import com.albunyaan.tube.repository.ChannelRepository;
+import com.albunyaan.tube.repository.PlaylistRepository;
+import com.albunyaan.tube.repository.VideoRepository;
+import com.albunyaan.tube.service.VisibilityPolicy;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link PublicCatalogReader} that goes straight to Firestore.
+ *
+ * Used whenever no fresh {@link PublicCatalogSnapshot} is available (startup,
+ * right after a mutation while the snapshot rebuilds, or snapshot disabled).
+ */
+public class FirestoreCatalogReader implements PublicCatalogReader {
+
+    private final ChannelRepository channelRepository;
+    private final PlaylistRepository playlistRepository;
+    private final VideoRepository videoRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryContentOrderRepository orderRepository;
+
+    public FirestoreCatalogReader(ChannelRepository channelRepository,
+                                  PlaylistRepository playlistRepository,
+                                  VideoRepository videoRepository,
+                                  CategoryRepository categoryRepository,
+                                  CategoryContentOrderRepository orderRepository) {
+        this.channelRepository = channelRepository;
+        this.playlistRepository = playlistRepository;
+        this.videoRepository = videoRepository;
+        this.categoryRepository = categoryRepository;
+        this.orderRepository = orderRepository;
+    }
+
+    @Override
+    public List<Category> findAllCategories() throws ExecutionException, InterruptedException, TimeoutException {
+        return categoryRepository.findAll();
+    }
+
+    @Override
+    public List<Category> findChildCategories(String parentId) throws ExecutionException, InterruptedException, TimeoutException {
+        return categoryRepository.findByParentId(parentId);
+    }
+
+    @Override
+    public Set<String> findActiveCategoryIds() throws ExecutionException, InterruptedException, TimeoutException {
+        Set<String> activeCategoryIds = new HashSet<>();
+        for (Channel ch : channelRepository.findByStatus("APPROVED")) {
+            if (VisibilityPolicy.isPublic(ch.getVisibility()) && ch.getCategoryIds() != null) activeCategoryIds.addAll(ch.getCategoryIds());
+        }
+        for (Playlist pl : playlistRepository.findByStatus("APPROVED")) {
+            if (VisibilityPolicy.isPublic(pl.getVisibility()) && pl.getCategoryIds() != null) activeCategoryIds.addAll(pl.getCategoryIds());
+        }
+        for (Video v : videoRepository.findByStatus("APPROVED")) {
+            if (VisibilityPolicy.isPublic(v.getVisibility()) && v.getCategoryIds() != null) activeCategoryIds.addAll(v.getCategoryIds());
+        }
+        return activeCategoryIds;
+    }
+
+    @Override
+    public List<Channel> findChannelsByCategoryIds(List<String> categoryIds, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return channelRepository.findByCategoryIds(categoryIds, limit);
+    }
+
+    @Override
+    public List<Channel> findChannelsByCategory(String category, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return channelRepository.findByCategoryOrderBySubscribersDesc(category, limit);
+    }
+
+    @Override
+    public List<Channel> findAllChannels(int limit) throws ExecutionException, InterruptedException, TimeoutException {
+        return channelRepository.findAllByOrderBySubscribersDesc(limit);
+    }
+
+    @Override
+    public ChannelRepository.PaginatedResult<Channel> findChannelPage(String category, int limit, String cursor)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        if (category != null) {
+            return channelRepository.findApprovedByCategoryAndSubscribersDescWithCursor(category, limit, cursor);
+        }
+        return channelRepository.findApprovedBySubscribersDescWithCursor(limit, cursor);
+    }
+
+    @Override
+    public Map<String, Channel> findChannelsByIds(List<String> ids)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return channelRepository.findAllByIds(ids);
+    }
+
+    @Override
+    public List<Playlist> findPlaylistsByCategoryIds(List<String> categoryIds, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return playlistRepository.findByCategoryIds(categoryIds, limit);
+    }
+
+    @Override
+    public List<Playlist> findPlaylistsByCategory(String category, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return playlistRepository.findByCategoryOrderByItemCountDesc(category, limit);
+    }
+
+    @Override
+    public List<Playlist> findAllPlaylists(int limit) throws ExecutionException, InterruptedException, TimeoutException {
+        return playlistRepository.findAllByOrderByItemCountDesc(limit);
+    }
+
+    @Override
+    public PlaylistRepository.PaginatedResult<Playlist> findPlaylistPage(String category, int limit, String cursor)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        if (category != null) {
+            return playlistRepository.findApprovedByCategoryAndItemCountDescWithCursor(category, limit, cursor);
+        }
+        return playlistRepository.findApprovedByItemCountDescWithCursor(limit, cursor);
+    }
+
+    @Override
+    public Map<String, Playlist> findPlaylistsByIds(List<String> ids)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return playlistRepository.findAllByIds(ids);
+    }
+
+    @Override
+    public List<Video> findVideosByCategoryIds(List<String> categoryIds, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return videoRepository.findByCategoryIds(categoryIds, limit);
+    }
+
+    @Override
+    public List<Video> findVideosByCategory(String category, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return videoRepository.findByCategoryOrderByUploadedAtDesc(category, limit);
+    }
+
+    @Override
+    public List<Video> findAllVideos(int limit) throws ExecutionException, InterruptedException, TimeoutException {
+        return videoRepository.findAllByOrderByUploadedAtDesc(limit);
+    }
+
+    @Override
+    public VideoRepository.PaginatedResult<Video> findVideoPage(String category, int limit, String cursor)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        if (category != null) {
+            return videoRepository.findApprovedByCategoryAndUploadedAtDescWithCursor(category, limit, cursor);
+        }
+        return videoRepository.findApprovedByUploadedAtDescWithCursor(limit, cursor);
+    }
+
+    @Override
+    public Map<String, Video> findVideosByIds(List<String> ids)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return videoRepository.findAllByIds(ids);
+    }
+
+    @Override
+    public List<CategoryContentOrder> findOrderEntries(String categoryId)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return orderRepository.findByCategoryIdOrderByPosition(categoryId);
+    }
+
+    @Override
+    public List<CategoryContentOrder> findOrderEntries(List<String> categoryIds)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return orderRepository.findByCategoryIdsOrderByPosition(categoryIds);
+    }
+
+    @Override
+    public long countOrderEntries(List<String> categoryIds)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return orderRepository.countByCategoryIds(categoryIds);
+    }
+}
@@ -0,0 +1,151 @@
+package com.albunyaan.tube.service.catalog;
+
+import com.albunyaan.tube.dto.ContentItemDto;
+import com.albunyaan.tube.model.Category;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Precomputed home feed sections, one per category, derived from each {@link PublicCatalogSnapshot}.
+ *
+ * A section holds the first {@code max-items} items of the category (itself plus its direct
+ * subcategories, in admin sort order) and its total content count, i.e. exactly what the home
+ * feed would compute per request. Sections are rebuilt on the snapshot rebuild thread before
+ * the snapshot is published, so they refresh on every content/order mutation (through
+ * {@code markStale()}) and on the snapshot's periodic reconcile.
+ *
+ * {@link #current(int)} only hands out a projection while the snapshot it was built from is
+ * still current; otherwise the home feed computes sections the usual way.
+ *
+ * Item resolution lives in {@code PublicContentService}, which binds it with {@link #bind}.
+ */
+@Service
+public class HomeFeedProjector {
+
+    private static final Logger log = LoggerFactory.getLogger(HomeFeedProjector.class);
+
+    /** Resolves the ordered items of one home section from a given catalog. */
+    @FunctionalInterface
+    public interface SectionLoader {
+        List<ContentItemDto> load(PublicCatalogReader catalog, List<String> categoryIds, int limit) throws Exception;
+    }
+
+    /** Ready-to-serve section payload. */
+    public record Section(List<ContentItemDto> items, long totalCount) {
+        public List<ContentItemDto> items(int limit) {
+            return new ArrayList<>(items.subList(0, Math.min(limit, items.size())));
+        }
+    }
+
+    /** Sections for every category of one snapshot. */
+    public record Projection(PublicCatalogSnapshot catalog, Map<String, Section> sections) {
+        @Nullable
+        public Section section(String categoryId) {
+            return sections.get(categoryId);
+        }
+    }
+
+    private final PublicCatalogSnapshotService catalogSnapshotService;
+    private final boolean enabled;
+    private final int maxItems;
+    private volatile SectionLoader loader;
+    private volatile Projection projection;
+
+    public HomeFeedProjector(
+            @Nullable PublicCatalogSnapshotService catalogSnapshotService,
+            @Value("${app.public-catalog.home-projection.enabled:true}") boolean enabled,
+            @Value("${app.public-catalog.home-projection.max-items:20}") int maxItems) {
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.enabled = enabled;
+        this.maxItems = maxItems;
+    }
+
+    @PostConstruct
+    void init() {
+        if (enabled && catalogSnapshotService != null) {
+            catalogSnapshotService.addPublishListener(this::project);
+        }
+    }
+
+    public void bind(SectionLoader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Build sections from a snapshot about to be published. A failing category is left out
+     * and computed per request instead.
+     */
+    void project(PublicCatalogSnapshot snapshot) {
+        SectionLoader sectionLoader = loader;
+        if (sectionLoader == null) return;
+        long startNanos = System.nanoTime();
+        Map<String, Section> sections = new HashMap<>();
+        for (Category category : snapshot.findAllCategories()) {
+            List<String> categoryIds = new ArrayList<>();
+            categoryIds.add(category.getId());
+            snapshot.findChildCategories(category.getId()).forEach(child -> categoryIds.add(child.getId()));
+            try {
+                List<ContentItemDto> items = sectionLoader.load(snapshot, categoryIds, maxItems);
+                sections.put(category.getId(),
+                        new Section(List.copyOf(items), snapshot.countOrderEntries(categoryIds)));
+            } catch (Exception e) {
+                log.warn("Home section projection failed for category {}: {}", category.getId(), e.getMessage());
+            }
+        }
+        projection = new Projection(snapshot, Map.copyOf(sections));
+        log.debug("Projected {} home sections from snapshot v{} in {} ms", sections.size(), snapshot.getVersion(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * @return the projection for the current snapshot, or null if there is none or it cannot
+     *         serve {@code contentLimit} items per section
+     */
+    @Nullable
+    public Projection current(int contentLimit) {
+        if (!enabled || catalogSnapshotService == null || contentLimit > maxItems) return null;
+        PublicCatalogSnapshot snapshot = catalogSnapshotService.current();
+        Projection p = projection;
+        return snapshot != null && p != null && p.catalog() == snapshot ? p : null;
+    }
+
+    /**
+     * IDs of every item shown in a home section of the latest projection, current or not.
+     * A hint for prioritising background work, not for serving.
+     */
+    public Set<String> featuredIds() {
+        return featuredIds(null);
+    }
+
+    /** {@link #featuredIds()} limited to items of {@code type} (CHANNEL, PLAYLIST, VIDEO); null for all. */
+    public Set<String> featuredIds(@Nullable String type) {
+        Projection p = projection;
+        if (p == null) return Set.of();
+        Set<String> ids = new HashSet<>();
+        for (Section section : p.sections().values()) {
+            for (ContentItemDto item : section.items()) {
+                if (item.getId() != null && (type == null || type.equals(item.getType()))) ids.add(item.getId());
+            }
+        }
+        return ids;
+    }
+
+    /** Catalog the latest projection was built from, current or not; null before the first one. */
+    @Nullable
+    public PublicCatalogSnapshot latestCatalog() {
+        Projection p = projection;
+        return p != null ? p.catalog() : null;
+    }
+}
@@ -0,0 +1,103 @@
+package com.albunyaan.tube.service.catalog;
+
+import com.albunyaan.tube.model.Category;
+import com.albunyaan.tube.model.CategoryContentOrder;
+import com.albunyaan.tube.model.Channel;
+import com.albunyaan.tube.model.Playlist;
+import com.albunyaan.tube.model.Video;
+import com.albunyaan.tube.repository.ChannelRepository;
+import com.albunyaan.tube.repository.PlaylistRepository;
+import com.albunyaan.tube.repository.VideoRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Read surface used by the public browse endpoints (home, content, categories).
+ *
+ * Two implementations exist: {@link FirestoreCatalogReader} issues the original
+ * repository queries, {@link PublicCatalogSnapshot} answers from memory. The
+ * method contracts mirror the repository methods they replace so
+ * {@code PublicContentService} applies the same approval / visibility /
+ * availability filters regardless of which reader served the data.
+ *
+ * A {@code null} category on the page methods means "all categories".
+ */
+public interface PublicCatalogReader {
+
+    // ---- categories ----
+
+    /** All categories sorted by displayOrder then name (see CategoryRepository.findAll). */
+    List<Category> findAllCategories() throws ExecutionException, InterruptedException, TimeoutException;
+
+    /** Direct children of a category, sorted by displayOrder then name. */
+    List<Category> findChildCategories(String parentId) throws ExecutionException, InterruptedException, TimeoutException;
+
+    /** Category IDs referenced by at least one APPROVED, PUBLIC channel, playlist or video. */
+    Set<String> findActiveCategoryIds() throws ExecutionException, InterruptedException, TimeoutException;
+
+    // ---- channels ----
+
+    List<Channel> findChannelsByCategoryIds(List<String> categoryIds, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException;
+
+    List<Channel> findChannelsByCategory(String category, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException;
+
+    List<Channel> findAllChannels(int limit) throws ExecutionException, InterruptedException, TimeoutException;
+
+    ChannelRepository.PaginatedResult<Channel> findChannelPage(String category, int limit, String cursor)
+            throws ExecutionException, InterruptedException, TimeoutException;
+
+    Map<String, Channel> findChannelsByIds(List<String> ids)
+            throws ExecutionException, InterruptedException, TimeoutException;
+
+    // ---- playlists ----
+
+    List<Playlist> findPlaylistsByCategoryIds(List<String> categoryIds, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException;
+
+    List<Playlist> findPlaylistsByCategory(String category, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException;
+
+    List<Playlist> findAllPlaylists(int limit) throws ExecutionException, InterruptedException, TimeoutException;
+
+    PlaylistRepository.PaginatedResult<Playlist> findPlaylistPage(String category, int limit, String cursor)
+            throws ExecutionException, InterruptedException, TimeoutException;
+
+    Map<String, Playlist> findPlaylistsByIds(List<String> ids)
+            throws ExecutionException, InterruptedException, TimeoutException;
+
+    // ---- videos ----
+
+    List<Video> findVideosByCategoryIds(List<String> categoryIds, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException;
+
+    List<Video> findVideosByCategory(String category, int limit)
+            throws ExecutionException, InterruptedException, TimeoutException;
+
+    List<Video> findAllVideos(int limit) throws ExecutionException, InterruptedException, TimeoutException;
+
+    VideoRepository.PaginatedResult<Video> findVideoPage(String category, int limit, String cursor)
+            throws ExecutionException, InterruptedException, TimeoutException;
+
+    Map<String, Video> findVideosByIds(List<String> ids)
+            throws ExecutionException, InterruptedException, TimeoutException;
+
+    // ---- category_content_order ----
+
+    /** Order rows for one category, sorted by position ASC. */
+    List<CategoryContentOrder> findOrderEntries(String categoryId)
+            throws ExecutionException, InterruptedException, TimeoutException;
+
+    /** Order rows for several categories, deduped by type:id at the lowest position. */
+    List<CategoryContentOrder> findOrderEntries(List<String> categoryIds)
+            throws ExecutionException, InterruptedException, TimeoutException;
+
+    /** Unique type:id count across the given categories. */
+    long countOrderEntries(List<String> categoryIds)
+            throws ExecutionException, InterruptedException, TimeoutException;
+}
@@ -0,0 +1,558 @@
+package com.albunyaan.tube.service.catalog;
+
+import com.albunyaan.tube.model.Category;
+import com.albunyaan.tube.model.CategoryContentOrder;
+import com.albunyaan.tube.model.Channel;
+import com.albunyaan.tube.model.Playlist;
+import com.albunyaan.tube.model.ValidationStatus;
+import com.albunyaan.tube.model.Video;
+import com.albunyaan.tube.repository.ChannelRepository;
+import com.albunyaan.tube.repository.PlaylistRepository;
+import com.albunyaan.tube.repository.VideoRepository;
+import com.albunyaan.tube.service.VisibilityPolicy;
+import com.albunyaan.tube.util.CursorUtils;
+import com.google.cloud.Timestamp;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable, versioned in-memory projection of the public catalog.
+ *
+ * Holds every category, the parent → children tree, all category_content_order rows
+ * and compact copies of the channels, playlists and videos the public API may serve
+ * (APPROVED, PUBLIC visibility, not UNAVAILABLE/ARCHIVED). Per-category lists are
+ * pre-sorted in the same order as the Firestore queries they replace, so browse
+ * methods answer with list slicing and map lookups only.
+ *
+ * Cursors are produced with {@link CursorUtils} from the same ordering fields the
+ * repositories use (subscribers / itemCount / uploadedAt), and decoded by document
+ * ID. A cursor issued by Firestore therefore continues correctly against a snapshot
+ * and vice versa. When the cursor's document has left the catalog or moved since the
+ * cursor was issued, paging seeks to the cursor's (sort field, id) position instead,
+ * mirroring Firestore's startAfter semantics.
+ *
+ * Instances are built by {@link PublicCatalogSnapshotService} and never mutated
+ * after construction. Returned model objects are shared between requests and must
+ * be treated as read-only.
+ */
+public final class PublicCatalogSnapshot implements PublicCatalogReader {
+
+    static final Comparator<Channel> CHANNEL_ORDER =
+            Comparator.comparing(Channel::getSubscribers, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(Channel::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    static final Comparator<Playlist> PLAYLIST_ORDER =
+            Comparator.comparing(Playlist::getItemCount, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(Playlist::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    static final Comparator<Video> VIDEO_ORDER =
+            Comparator.comparing(Video::getUploadedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(Video::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final Paging<Channel> CHANNEL_PAGING = new Paging<>(CHANNEL_ORDER, Channel::getId,
+            "subscribers", Channel::getSubscribers, cursor -> {
+                Channel probe = new Channel();
+                probe.setId(cursor.getId());
+                probe.setSubscribers(cursor.getFieldAsLong("subscribers"));
+                return probe;
+            });
+
+    private static final Paging<Playlist> PLAYLIST_PAGING = new Paging<>(PLAYLIST_ORDER, Playlist::getId,
+            "itemCount", Playlist::getItemCount, cursor -> {
+                Playlist probe = new Playlist();
+                probe.setId(cursor.getId());
+                Long itemCount = cursor.getFieldAsLong("itemCount");
+                probe.setItemCount(itemCount != null ? itemCount.intValue() : null);
+                return probe;
+            });
+
+    private static final Paging<Video> VIDEO_PAGING = new Paging<>(VIDEO_ORDER, Video::getId,
+            "uploadedAt", Video::getUploadedAt, cursor -> {
+                Video probe = new Video();
+                probe.setId(cursor.getId());
+                probe.setUploadedAt(cursor.getFieldAsTimestamp("uploadedAt"));
+                return probe;
+            });
+
+    private static final Comparator<CategoryContentOrder> POSITION_ORDER =
+            Comparator.comparing(CategoryContentOrder::getPosition, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final long version;
+    private final long generation;
+    private final Instant builtAt;
+
+    private final List<Category> categories;
+    private final Map<String, List<Category>> childrenByParent;
+    private final Set<String> activeCategoryIds;
+
+    private final SortedView<Channel> channels;
+    private final Map<String, SortedView<Channel>> channelsByCategory;
+    private final SortedView<Playlist> playlists;
+    private final Map<String, SortedView<Playlist>> playlistsByCategory;
+    private final SortedView<Video> videos;
+    private final Map<String, SortedView<Video>> videosByCategory;
+
+    private final Map<String, List<CategoryContentOrder>> orderByCategory;
+
+    private PublicCatalogSnapshot(long version, long generation, Instant builtAt,
+                                  List<Category> categories,
+                                  Set<String> activeCategoryIds,
+                                  List<Channel> channels,
+                                  List<Playlist> playlists,
+                                  List<Video> videos,
+                                  List<CategoryContentOrder> orderRows) {
+        this.version = version;
+        this.generation = generation;
+        this.builtAt = builtAt;
+        this.categories = List.copyOf(categories);
+        this.activeCategoryIds = Set.copyOf(activeCategoryIds);
+
+        Map<String, List<Category>> children = new HashMap<>();
+        for (Category cat : this.categories) {
+            if (cat.getParentCategoryId() != null) {
+                children.computeIfAbsent(cat.getParentCategoryId(), k -> new ArrayList<>()).add(cat);
+            }
+        }
+        this.childrenByParent = freeze(children);
+
+        this.channels = new SortedView<>(channels, CHANNEL_ORDER, Channel::getId);
+        this.channelsByCategory = groupByCategory(this.channels, Channel::getCategoryIds, Channel::getId);
+        this.playlists = new SortedView<>(playlists, PLAYLIST_ORDER, Playlist::getId);
+        this.playlistsByCategory = groupByCategory(this.playlists, Playlist::getCategoryIds, Playlist::getId);
+        this.videos = new SortedView<>(videos, VIDEO_ORDER, Video::getId);
+        this.videosByCategory = groupByCategory(this.videos, Video::getCategoryIds, Video::getId);
+
+        Map<String, List<CategoryContentOrder>> orders = new HashMap<>();
+        for (CategoryContentOrder row : orderRows) {
+            if (row.getCategoryId() != null) {
+                orders.computeIfAbsent(row.getCategoryId(), k -> new ArrayList<>()).add(row);
+            }
+        }
+        orders.values().forEach(list -> list.sort(POSITION_ORDER));
+        this.orderByCategory = freeze(orders);
+    }
+
+    /**
+     * Build a snapshot from raw repository reads.
+     *
+     * @param approvedChannels result of {@code findByStatus("APPROVED")}; filtered here
+     * @param approvedPlaylists result of {@code findByStatus("APPROVED")}; filtered here
+     * @param approvedVideos result of {@code findByStatus("APPROVED")}; filtered here
+     */
+    public static PublicCatalogSnapshot build(long version, long generation,
+                                              List<Category> categories,
+                                              List<Channel> approvedChannels,
+                                              List<Playlist> approvedPlaylists,
+                                              List<Video> approvedVideos,
+                                              List<CategoryContentOrder> orderRows) {
+        // Active categories follow getCategories() semantics: approved + public, availability ignored.
+        Set<String> active = new HashSet<>();
+        List<Channel> servedChannels = new ArrayList<>();
+        for (Channel ch : approvedChannels) {
+            if (!"APPROVED".equals(ch.getStatus()) || !VisibilityPolicy.isPublic(ch.getVisibility())) continue;
+            if (ch.getCategoryIds() != null) active.addAll(ch.getCategoryIds());
+            if (isAvailable(ch.getValidationStatus())) servedChannels.add(project(ch));
+        }
+        List<Playlist> servedPlaylists = new ArrayList<>();
+        for (Playlist pl : approvedPlaylists) {
+            if (!"APPROVED".equals(pl.getStatus()) || !VisibilityPolicy.isPublic(pl.getVisibility())) continue;
+            if (pl.getCategoryIds() != null) active.addAll(pl.getCategoryIds());
+            if (isAvailable(pl.getValidationStatus())) servedPlaylists.add(project(pl));
+        }
+        List<Video> servedVideos = new ArrayList<>();
+        for (Video v : approvedVideos) {
+            if (!"APPROVED".equals(v.getStatus()) || !VisibilityPolicy.isPublic(v.getVisibility())) continue;
+            if (v.getCategoryIds() != null) active.addAll(v.getCategoryIds());
+            if (isAvailable(v.getValidationStatus())) servedVideos.add(project(v));
+        }
+
+        return new PublicCatalogSnapshot(version, generation, Instant.now(), categories, active,
+                servedChannels, servedPlaylists, servedVideos, orderRows);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /** Invalidation generation this snapshot was built for (see PublicCatalogSnapshotService). */
+    long getGeneration() {
+        return generation;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    public int size() {
+        return channels.items.size() + playlists.items.size() + videos.items.size();
+    }
+
+    // ---- categories ----
+
+    @Override
+    public List<Category> findAllCategories() {
+        return categories;
+    }
+
+    @Override
+    public List<Category> findChildCategories(String parentId) {
+        return childrenByParent.getOrDefault(parentId, List.of());
+    }
+
+    @Override
+    public Set<String> findActiveCategoryIds() {
+        return activeCategoryIds;
+    }
+
+    // ---- channels ----
+
+    @Override
+    public List<Channel> findChannelsByCategoryIds(List<String> categoryIds, int limit) {
+        return mergeByCategory(channelsByCategory, categoryIds, limit, CHANNEL_ORDER, Channel::getId);
+    }
+
+    @Override
+    public List<Channel> findChannelsByCategory(String category, int limit) {
+        return head(channelsByCategory.get(category), limit);
+    }
+
+    @Override
+    public List<Channel> findAllChannels(int limit) {
+        return head(channels, limit);
+    }
+
+    @Override
+    public ChannelRepository.PaginatedResult<Channel> findChannelPage(String category, int limit, String cursor) {
+        SortedView<Channel> view = category != null ? channelsByCategory.get(category) : channels;
+        if (view == null || limit <= 0) return new ChannelRepository.PaginatedResult<>(List.of(), null, false);
+        int start = resumeIndex(view, cursor, CHANNEL_PAGING);
+        int end = Math.min(start + limit, view.items.size());
+        List<Channel> page = start >= end ? List.of() : view.items.subList(start, end);
+        boolean hasNext = end < view.items.size();
+        String nextCursor = hasNext ? encodeCursor(page, CHANNEL_PAGING) : null;
+        return new ChannelRepository.PaginatedResult<>(page, nextCursor, hasNext);
+    }
+
+    @Override
+    public Map<String, Channel> findChannelsByIds(List<String> ids) {
+        return lookup(channels, ids);
+    }
+
+    // ---- playlists ----
+
+    @Override
+    public List<Playlist> findPlaylistsByCategoryIds(List<String> categoryIds, int limit) {
+        return mergeByCategory(playlistsByCategory, categoryIds, limit, PLAYLIST_ORDER, Playlist::getId);
+    }
+
+    @Override
+    public List<Playlist> findPlaylistsByCategory(String category, int limit) {
+        return head(playlistsByCategory.get(category), limit);
+    }
+
+    @Override
+    public List<Playlist> findAllPlaylists(int limit) {
+        return head(playlists, limit);
+    }
+
+    @Override
+    public PlaylistRepository.PaginatedResult<Playlist> findPlaylistPage(String category, int limit, String cursor) {
+        SortedView<Playlist> view = category != null ? playlistsByCategory.get(category) : playlists;
+        if (view == null || limit <= 0) return new PlaylistRepository.PaginatedResult<>(List.of(), null, false);
+        int start = resumeIndex(view, cursor, PLAYLIST_PAGING);
+        int end = Math.min(start + limit, view.items.size());
+        List<Playlist> page = start >= end ? List.of() : view.items.subList(start, end);
+        boolean hasNext = end < view.items.size();
+        String nextCursor = hasNext ? encodeCursor(page, PLAYLIST_PAGING) : null;
+        return new PlaylistRepository.PaginatedResult<>(page, nextCursor, hasNext);
+    }
+
+    @Override
+    public Map<String, Playlist> findPlaylistsByIds(List<String> ids) {
+        return lookup(playlists, ids);
+    }
+
+    // ---- videos ----
+
+    @Override
+    public List<Video> findVideosByCategoryIds(List<String> categoryIds, int limit) {
+        return mergeByCategory(videosByCategory, categoryIds, limit, VIDEO_ORDER, Video::getId);
+    }
+
+    @Override
+    public List<Video> findVideosByCategory(String category, int limit) {
+        return head(videosByCategory.get(category), limit);
+    }
+
+    @Override
+    public List<Video> findAllVideos(int limit) {
+        return head(videos, limit);
+    }
+
+    @Override
+    public VideoRepository.PaginatedResult<Video> findVideoPage(String category, int limit, String cursor) {
+        SortedView<Video> view = category != null ? videosByCategory.get(category) : videos;
+        if (view == null || limit <= 0) return new VideoRepository.PaginatedResult<>(List.of(), null, false);
+        int start = resumeIndex(view, cursor, VIDEO_PAGING);
+        int end = Math.min(start + limit, view.items.size());
+        List<Video> page = start >= end ? List.of() : view.items.subList(start, end);
+        boolean hasNext = end < view.items.size();
+        String nextCursor = hasNext ? encodeCursor(page, VIDEO_PAGING) : null;
+        return new VideoRepository.PaginatedResult<>(page, nextCursor, hasNext);
+    }
+
+    @Override
+    public Map<String, Video> findVideosByIds(List<String> ids) {
+        return lookup(videos, ids);
+    }
+
+    // ---- category_content_order ----
+
+    @Override
+    public List<CategoryContentOrder> findOrderEntries(String categoryId) {
+        return orderByCategory.getOrDefault(categoryId, List.of());
+    }
+
+    @Override
+    public List<CategoryContentOrder> findOrderEntries(List<String> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) return List.of();
+
+        // Same merge rule as CategoryContentOrderRepository.findByCategoryIdsOrderByPosition
+        Map<String, CategoryContentOrder> deduped = new LinkedHashMap<>();
+        for (String catId : categoryIds) {
+            for (CategoryContentOrder entry : findOrderEntries(catId)) {
+                String key = entry.getContentType() + ":" + entry.getContentId();
+                deduped.merge(key, entry, (existing, candidate) ->
+                        POSITION_ORDER.compare(candidate, existing) < 0 ? candidate : existing);
+            }
+        }
+        List<CategoryContentOrder> merged = new ArrayList<>(deduped.values());
+        merged.sort(POSITION_ORDER);
+        return merged;
+    }
+
+    @Override
+    public long countOrderEntries(List<String> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) return 0;
+        if (categoryIds.size() == 1) return findOrderEntries(categoryIds.get(0)).size();
+
+        Set<String> uniqueKeys = new HashSet<>();
+        for (String catId : categoryIds) {
+            for (CategoryContentOrder entry : findOrderEntries(catId)) {
+                uniqueKeys.add(entry.getContentType() + ":" + entry.getContentId());
+            }
+        }
+        return uniqueKeys.size();
+    }
+
+    // ---- internals ----
+
+    /**
+     * A pre-sorted list plus an id → index map so cursor resumption is O(1).
+     */
+    /** Global order, cursor field and probe factory used to page one entity type. */
+    private record Paging<T>(Comparator<T> order, Function<T, String> idOf, String field,
+                             Function<T, Object> valueOf,
+                             Function<CursorUtils.CursorData, T> probeOf) {
+    }
+
+    private static final class SortedView<T> {
+        private final List<T> items;
+        private final Map<String, Integer> indexById;
+        private final Map<String, T> byId;
+
+        SortedView(Collection<T> source, Comparator<T> order, Function<T, String> idOf) {
+            List<T> sorted = new ArrayList<>(source);
+            sorted.sort(order);
+            this.items = Collections.unmodifiableList(sorted);
+            Map<String, Integer> index = new HashMap<>(sorted.size() * 2);
+            Map<String, T> ids = new HashMap<>(sorted.size() * 2);
+            for (int i = 0; i < sorted.size(); i++) {
+                String id = idOf.apply(sorted.get(i));
+                if (id != null) {
+                    index.putIfAbsent(id, i);
+                    ids.putIfAbsent(id, sorted.get(i));
+                }
+            }
+            this.indexById = index;
+            this.byId = ids;
+        }
+    }
+
+    private static <T> Map<String, SortedView<T>> groupByCategory(SortedView<T> all,
+                                                                  Function<T, List<String>> categoriesOf,
+                                                                  Function<T, String> idOf) {
+        Map<String, List<T>> grouped = new HashMap<>();
+        for (T item : all.items) {
+            List<String> catIds = categoriesOf.apply(item);
+            if (catIds == null) continue;
+            for (String catId : new HashSet<>(catIds)) {
+                grouped.computeIfAbsent(catId, k -> new ArrayList<>()).add(item);
+            }
+        }
+        Map<String, SortedView<T>> views = new HashMap<>(grouped.size() * 2);
+        // Source lists are already in global order, so the identity comparator keeps them sorted.
+        grouped.forEach((catId, list) -> views.put(catId, new SortedView<>(list, (a, b) -> 0, idOf)));
+        return Collections.unmodifiableMap(views);
+    }
+
+    private static <T> List<T> head(SortedView<T> view, int limit) {
+        if (view == null || limit <= 0) return List.of();
+        return view.items.subList(0, Math.min(limit, view.items.size()));
+    }
+
+    /**
+     * Index of the first item after the cursor. An exact hit on an item whose sort value
+     * still matches the cursor resumes right after it; otherwise the cursor's (field, id)
+     * pair is located by binary search under the global order. Category views hold their
+     * items in global order too, so the same search applies to them.
+     */
+    private static <T> int resumeIndex(SortedView<T> view, String cursor, Paging<T> paging) {
+        CursorUtils.CursorData cursorData = CursorUtils.decode(cursor);
+        if (cursorData == null || cursorData.getId() == null) return 0;
+        Long cursorValue = cursorData.getFieldAsLong(paging.field());
+        Integer index = view.indexById.get(cursorData.getId());
+        if (index != null && (cursorValue == null
+                || cursorValue.equals(asCursorLong(paging.valueOf().apply(view.items.get(index)))))) {
+            return index + 1;
+        }
+        // Id-only cursor whose document is gone: there is no position to seek to.
+        if (cursorValue == null) return 0;
+
+        T probe = paging.probeOf().apply(cursorData);
+        int low = 0;
+        int high = view.items.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (paging.order().compare(view.items.get(mid), probe) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static Long asCursorLong(Object value) {
+        if (value instanceof Timestamp timestamp) return timestamp.toDate().getTime();
+        if (value instanceof Number number) return number.longValue();
+        return null;
+    }
+
+    private static <T> String encodeCursor(List<T> page, Paging<T> paging) {
+        T last = page.get(page.size() - 1);
+        CursorUtils.CursorData data = new CursorUtils.CursorData(paging.idOf().apply(last));
+        Object value = paging.valueOf().apply(last);
+        if (value != null) {
+            data.withField(paging.field(), value);
+        }
+        return CursorUtils.encode(data);
+    }
+
+    private static <T> List<T> mergeByCategory(Map<String, SortedView<T>> byCategory, List<String> categoryIds,
+                                               int limit, Comparator<T> order, Function<T, String> idOf) {
+        if (categoryIds == null || categoryIds.isEmpty() || limit <= 0) return List.of();
+        LinkedHashMap<String, T> deduped = new LinkedHashMap<>();
+        for (String catId : categoryIds) {
+            SortedView<T> view = byCategory.get(catId);
+            if (view == null) continue;
+            for (T item : view.items) {
+                deduped.putIfAbsent(idOf.apply(item), item);
+            }
+        }
+        List<T> merged = new ArrayList<>(deduped.values());
+        merged.sort(order);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    private static <T> Map<String, T> lookup(SortedView<T> view, List<String> ids) {
+        if (ids == null || ids.isEmpty()) return Map.of();
+        Map<String, T> result = new HashMap<>();
+        for (String id : ids) {
+            T item = view.byId.get(id);
+            if (item != null) result.put(id, item);
+        }
+        return result;
+    }
+
+    private static <V> Map<String, List<V>> freeze(Map<String, List<V>> source) {
+        Map<String, List<V>> frozen = new HashMap<>(source.size() * 2);
+        source.forEach((k, v) -> frozen.put(k, Collections.unmodifiableList(v)));
+        return Collections.unmodifiableMap(frozen);
+    }
+
+    private static boolean isAvailable(ValidationStatus status) {
+        return status != ValidationStatus.UNAVAILABLE && status != ValidationStatus.ARCHIVED;
+    }
+
+    // ---- compact projections: only the fields public DTO mapping and filtering read,
+    //      plus lastValidatedAt for picking exposed items to validate ----
+
+    static Channel project(Channel source) {
+        Channel c = new Channel();
+        c.setId(source.getId());
+        c.setYoutubeId(source.getYoutubeId());
+        c.setName(source.getName());
+        c.setDescription(source.getDescription());
+        c.setThumbnailUrl(source.getThumbnailUrl());
+        c.setSubscribers(source.getSubscribers());
+        c.setVideoCount(source.getVideoCount());
+        c.setKeywords(source.getKeywords());
+        c.setCategoryIds(source.getCategoryIds());
+        c.setCategory(source.getCategory());
+        c.setStatus(source.getStatus());
+        c.setVisibility(source.getVisibility());
+        c.setValidationStatus(source.getValidationStatus());
+        c.setLastValidatedAt(source.getLastValidatedAt());
+        return c;
+    }
+
+    static Playlist project(Playlist source) {
+        Playlist p = new Playlist();
+        p.setId(source.getId());
+        p.setYoutubeId(source.getYoutubeId());
+        p.setTitle(source.getTitle());
+        p.setDescription(source.getDescription());
+        p.setThumbnailUrl(source.getThumbnailUrl());
+        p.setItemCount(source.getItemCount());
+        p.setKeywords(source.getKeywords());
+        p.setCategoryIds(source.getCategoryIds());
+        p.setStatus(source.getStatus());
+        p.setVisibility(source.getVisibility());
+        p.setValidationStatus(source.getValidationStatus());
+        p.setLastValidatedAt(source.getLastValidatedAt());
+        return p;
+    }
+
+    static Video project(Video source) {
+        Video v = new Video();
+        v.setId(source.getId());
+        v.setYoutubeId(source.getYoutubeId());
+        v.setTitle(source.getTitle());
+        v.setDescription(source.getDescription());
+        v.setThumbnailUrl(source.getThumbnailUrl());
+        v.setDurationSeconds(source.getDurationSeconds());
+        v.setViewCount(source.getViewCount());
+        v.setUploadedAt(source.getUploadedAt());
+        v.setChannelId(source.getChannelId());
+        v.setChannelTitle(source.getChannelTitle());
+        v.setKeywords(source.getKeywords());
+        v.setCategoryIds(source.getCategoryIds());
+        v.setStatus(source.getStatus());
+        v.setVisibility(source.getVisibility());
+        v.setValidationStatus(source.getValidationStatus());
+        v.setLastValidatedAt(source.getLastValidatedAt());
+        return v;
+    }
+}
@@ -0,0 +1,214 @@
+package com.albunyaan.tube.service.catalog;
+
+import com.albunyaan.tube.model.Category;
+import com.albunyaan.tube.model.CategoryContentOrder;
+import com.albunyaan.tube.model.Channel;
+import com.albunyaan.tube.model.Playlist;
+import com.albunyaan.tube.model.Video;
+import com.albunyaan.tube.repository.CategoryContentOrderRepository;
+import com.albunyaan.tube.repository.CategoryRepository;
+import com.albunyaan.tube.repository.ChannelRepository;
+import com.albunyaan.tube.repository.PlaylistRepository;
+import com.albunyaan.tube.repository.VideoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Owns the current {@link PublicCatalogSnapshot} and keeps it in step with Firestore.
+ *
+ * Freshness model:
+ * - Every mutation point already calls {@code PublicContentCacheService.evictPublicContentCaches()}
+ *   or {@code evictForChange(...)}, both of which call {@link #markStale()}. That bumps an invalidation generation and
+ *   schedules a debounced rebuild.
+ * - {@link #current()} only hands out a snapshot built for the current generation. While a
+ *   rebuild is pending, public reads fall back to Firestore, so moderation actions
+ *   (reject, archive, visibility change) are never masked by an older snapshot.
+ * - A rebuild that raced with a newer mutation is discarded rather than published.
+ * - A periodic reconcile rebuild picks up writes that bypass the eviction hook.
+ *
+ * Rebuilds run on a single dedicated thread; bursts of mutations (bulk approve, reorder)
+ * coalesce into one rebuild.
+ */
+@Service
+public class PublicCatalogSnapshotService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicCatalogSnapshotService.class);
+
+    private final ChannelRepository channelRepository;
+    private final PlaylistRepository playlistRepository;
+    private final VideoRepository videoRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryContentOrderRepository orderRepository;
+    private final boolean enabled;
+    private final long debounceMs;
+
+    private final AtomicReference<PublicCatalogSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean(false);
+    private final ScheduledExecutorService rebuildExecutor;
+    private final List<Consumer<PublicCatalogSnapshot>> publishListeners = new CopyOnWriteArrayList<>();
+
+    public PublicCatalogSnapshotService(
+            ChannelRepository channelRepository,
+            PlaylistRepository playlistRepository,
+            VideoRepository videoRepository,
+            CategoryRepository categoryRepository,
+            CategoryContentOrderRepository orderRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.public-catalog.snapshot.enabled:true}") boolean enabled,
+            @Value("${app.public-catalog.snapshot.rebuild-debounce-ms:2000}") long debounceMs) {
+        this.channelRepository = channelRepository;
+        this.playlistRepository = playlistRepository;
+        this.videoRepository = videoRepository;
+        this.categoryRepository = categoryRepository;
+        this.orderRepository = orderRepository;
+        this.enabled = enabled;
+        this.debounceMs = Math.max(0, debounceMs);
+        this.rebuildExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "public-catalog-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+
+        meterRegistry.gauge("public.catalog.snapshot.version", snapshot,
+                ref -> ref.get() != null ? ref.get().getVersion() : 0);
+        meterRegistry.gauge("public.catalog.snapshot.items", snapshot,
+                ref -> ref.get() != null ? ref.get().size() : 0);
+        meterRegistry.gauge("public.catalog.snapshot.age.seconds", snapshot,
+                ref -> ref.get() != null
+                        ? Duration.between(ref.get().getBuiltAt(), Instant.now()).toSeconds()
+                        : -1);
+    }
+
+    /**
+     * First build once every singleton is initialised, so publish listeners and the loaders
+     * they depend on (bound in their owners' {@code @PostConstruct}) see the first snapshot.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            // Build in the background; until it lands, reads go to Firestore.
+            scheduleRebuild(0);
+        } else {
+            log.info("Public catalog snapshot disabled; public browse reads go to Firestore");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * @return the snapshot for the current invalidation generation, or null if none is
+     *         available (disabled, not built yet, or a mutation is pending rebuild)
+     */
+    public PublicCatalogSnapshot current() {
+        if (!enabled) return null;
+        PublicCatalogSnapshot s = snapshot.get();
+        return s != null && s.getGeneration() == generation.get() ? s : null;
+    }
+
+    /**
+     * Register a callback run on the rebuild thread for every snapshot, just before it becomes
+     * visible through {@link #current()}. Used to keep derived structures (search index) in step.
+     */
+    public void addPublishListener(Consumer<PublicCatalogSnapshot> listener) {
+        publishListeners.add(listener);
+    }
+
+    /**
+     * Invalidate the current snapshot and schedule a rebuild.
+     * Reads fall back to Firestore until the rebuild publishes.
+     */
+    public void markStale() {
+        if (!enabled) return;
+        generation.incrementAndGet();
+        scheduleRebuild(debounceMs);
+    }
+
+    /**
+     * Periodic safety net for writes that do not go through the cache eviction hook
+     * (console edits, scripts). Does not invalidate the current snapshot.
+     */
+    @Scheduled(fixedDelayString = "${app.public-catalog.snapshot.reconcile-interval-ms:900000}",
+               initialDelayString = "${app.public-catalog.snapshot.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        if (enabled) {
+            scheduleRebuild(0);
+        }
+    }
+
+    private void scheduleRebuild(long delayMs) {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            try {
+                rebuildExecutor.schedule(this::rebuildNow, delayMs, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                rebuildScheduled.set(false);
+                log.warn("Could not schedule public catalog snapshot rebuild: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Load the public catalog from Firestore and publish it if no mutation raced the build.
+     * Package-private for tests; production calls go through the rebuild executor.
+     */
+    void rebuildNow() {
+        // Clear the flag first so a mutation arriving mid-build schedules a follow-up rebuild.
+        rebuildScheduled.set(false);
+        long buildGeneration = generation.get();
+        long startNanos = System.nanoTime();
+        try {
+            List<Category> categories = categoryRepository.findAll();
+            List<Channel> channels = channelRepository.findByStatus("APPROVED");
+            List<Playlist> playlists = playlistRepository.findByStatus("APPROVED");
+            List<Video> videos = videoRepository.findByStatus("APPROVED");
+            List<CategoryContentOrder> orderRows = orderRepository.findAll();
+
+            PublicCatalogSnapshot built = PublicCatalogSnapshot.build(
+                    versionSequence.incrementAndGet(), buildGeneration,
+                    categories, channels, playlists, videos, orderRows);
+
+            if (generation.get() != buildGeneration) {
+                log.debug("Discarding public catalog snapshot v{}: invalidated during build", built.getVersion());
+                return;
+            }
+            for (Consumer<PublicCatalogSnapshot> listener : publishListeners) {
+                try {
+                    listener.accept(built);
+                } catch (RuntimeException e) {
+                    log.warn("Public catalog snapshot listener failed for v{}: {}", built.getVersion(), e.getMessage());
+                }
+            }
+            snapshot.set(built);
+            log.info("Published public catalog snapshot v{} ({} items, {} categories) in {} ms",
+                    built.getVersion(), built.size(), categories.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Reads keep falling back to Firestore; the next mutation or reconcile retries.
+            log.warn("Public catalog snapshot rebuild failed: {}", e.getMessage());
+        }
+    }
+}
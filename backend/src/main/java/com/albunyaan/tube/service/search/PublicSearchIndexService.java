@@ -0,0 +1,305 @@
+package com.albunyaan.tube.service.search;
+
+import com.albunyaan.tube.model.Channel;
+import com.albunyaan.tube.model.Playlist;
+import com.albunyaan.tube.model.SearchableStream;
+import com.albunyaan.tube.model.Video;
+import com.albunyaan.tube.repository.SearchableStreamRepository;
+import com.albunyaan.tube.service.SearchTokenizer;
+import com.albunyaan.tube.service.catalog.PublicCatalogSnapshot;
+import com.albunyaan.tube.service.catalog.PublicCatalogSnapshotService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process inverted index backing public text search.
+ *
+ * Two parts with different freshness sources:
+ * - Channels, playlists and videos are re-indexed from each {@link PublicCatalogSnapshot}
+ *   before it is published, so approvals, rejections and archive/visibility changes reach
+ *   search through the same path as browse. While no current snapshot exists, the content
+ *   part reports "not ready" and callers use the Firestore query path.
+ * - {@code searchable_streams} is loaded once at startup (and periodically reconciled), then
+ *   maintained incrementally by {@code StreamIndexService} upsert / removeSource / archive.
+ *
+ * Search methods return {@code null} when the relevant part is not ready; an empty list
+ * means "ready, no matches".
+ */
+@Service
+public class PublicSearchIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicSearchIndexService.class);
+    private static final int STREAM_LOAD_PAGE_SIZE = 1000;
+
+    private record ContentIndex(long snapshotVersion,
+                                TermIndex<Channel> channels,
+                                TermIndex<Playlist> playlists,
+                                TermIndex<Video> videos) {}
+
+    private final SearchTokenizer tokenizer;
+    private final SearchableStreamRepository streamRepository;
+    private final PublicCatalogSnapshotService catalogSnapshotService;
+    private final boolean enabled;
+
+    private volatile ContentIndex content;
+
+    private final ReentrantReadWriteLock streamLock = new ReentrantReadWriteLock();
+    private TermIndex<SearchableStream> streams = new TermIndex<>();
+    private volatile boolean streamsReady;
+    /** Incremental stream updates made while a reload is in flight, replayed onto the new index. */
+    private List<Consumer<TermIndex<SearchableStream>>> pendingReplay;
+    private final AtomicBoolean reloadInFlight = new AtomicBoolean(false);
+    private final ExecutorService loader;
+
+    public PublicSearchIndexService(
+            SearchTokenizer tokenizer,
+            SearchableStreamRepository streamRepository,
+            @Nullable PublicCatalogSnapshotService catalogSnapshotService,
+            @Value("${app.public-search.index.enabled:true}") boolean enabled) {
+        this.tokenizer = tokenizer;
+        this.streamRepository = streamRepository;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.enabled = enabled;
+        this.loader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "public-search-index");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            log.info("Public search index disabled; search reads go to Firestore");
+            return;
+        }
+        if (catalogSnapshotService != null) {
+            catalogSnapshotService.addPublishListener(this::indexCatalog);
+        }
+        reloadStreamsAsync();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        loader.shutdownNow();
+    }
+
+    // ---- content (channels / playlists / videos) ----
+
+    /**
+     * Re-index channels, playlists and videos from a snapshot about to be published.
+     */
+    void indexCatalog(PublicCatalogSnapshot snapshot) {
+        TermIndex<Channel> channels = new TermIndex<>();
+        for (Channel c : snapshot.findAllChannels(Integer.MAX_VALUE)) {
+            channels.put(c.getId(), c, tokenizer.termCounts(c.getName()), keywordTerms(c.getKeywords()),
+                    c.getSubscribers() != null ? c.getSubscribers() : 0);
+        }
+        TermIndex<Playlist> playlists = new TermIndex<>();
+        for (Playlist p : snapshot.findAllPlaylists(Integer.MAX_VALUE)) {
+            playlists.put(p.getId(), p, tokenizer.termCounts(p.getTitle()), keywordTerms(p.getKeywords()),
+                    p.getItemCount() != null ? p.getItemCount() : 0);
+        }
+        TermIndex<Video> videos = new TermIndex<>();
+        for (Video v : snapshot.findAllVideos(Integer.MAX_VALUE)) {
+            videos.put(v.getId(), v, tokenizer.termCounts(v.getTitle()), keywordTerms(v.getKeywords()),
+                    v.getViewCount() != null ? v.getViewCount() : 0);
+        }
+        content = new ContentIndex(snapshot.getVersion(), channels, playlists, videos);
+        log.debug("Indexed catalog snapshot v{} for search: {} channels, {} playlists, {} videos",
+                snapshot.getVersion(), channels.size(), playlists.size(), videos.size());
+    }
+
+    private ContentIndex currentContent() {
+        if (!enabled || catalogSnapshotService == null) return null;
+        PublicCatalogSnapshot snapshot = catalogSnapshotService.current();
+        ContentIndex index = content;
+        // Only trust the content index while the snapshot it was built from is still current.
+        return snapshot != null && index != null && index.snapshotVersion() == snapshot.getVersion() ? index : null;
+    }
+
+    public List<Channel> searchChannels(String query, int limit) {
+        ContentIndex index = currentContent();
+        return index != null ? index.channels().search(tokenizer.queryTerms(query), limit) : null;
+    }
+
+    public List<Playlist> searchPlaylists(String query, int limit) {
+        ContentIndex index = currentContent();
+        return index != null ? index.playlists().search(tokenizer.queryTerms(query), limit) : null;
+    }
+
+    public List<Video> searchVideos(String query, int limit) {
+        ContentIndex index = currentContent();
+        return index != null ? index.videos().search(tokenizer.queryTerms(query), limit) : null;
+    }
+
+    // ---- searchable_streams ----
+
+    public List<SearchableStream> searchStreams(String query, int limit) {
+        if (!enabled || !streamsReady) return null;
+        List<String> words = tokenizer.queryTerms(query);
+        streamLock.readLock().lock();
+        try {
+            return streams.search(words, limit);
+        } finally {
+            streamLock.readLock().unlock();
+        }
+    }
+
+    /** Mirror of SearchableStreamRepository.upsert: visible again, sourceKey accumulated. */
+    public void onStreamUpserted(SearchableStream stream, String sourceKey) {
+        if (!enabled || stream.getStreamId() == null) return;
+        applyStreamUpdate(index -> putStream(index, stream, sourceKey));
+    }
+
+    /** Mirror of SearchableStreamRepository.removeSource: invisible once no sources remain. */
+    public void onStreamSourceRemoved(String streamId, String sourceKey) {
+        if (!enabled || streamId == null) return;
+        applyStreamUpdate(index -> removeStreamSource(index, streamId, sourceKey));
+    }
+
+    /** Mirror of SearchableStreamRepository.markInvisible. */
+    public void onStreamArchived(String streamId) {
+        if (!enabled || streamId == null) return;
+        applyStreamUpdate(index -> index.remove(streamId));
+    }
+
+    private void applyStreamUpdate(Consumer<TermIndex<SearchableStream>> update) {
+        streamLock.writeLock().lock();
+        try {
+            update.accept(streams);
+            if (pendingReplay != null) {
+                pendingReplay.add(update);
+            }
+        } finally {
+            streamLock.writeLock().unlock();
+        }
+    }
+
+    private void putStream(TermIndex<SearchableStream> index, SearchableStream stream, String sourceKey) {
+        SearchableStream existing = index.lookup(stream.getStreamId());
+        Set<String> sourceKeys = new LinkedHashSet<>();
+        if (existing != null) sourceKeys.addAll(existing.getSourceKeys());
+        if (stream.getSourceKeys() != null) sourceKeys.addAll(stream.getSourceKeys());
+        if (sourceKey != null) sourceKeys.add(sourceKey);
+
+        SearchableStream compact = compact(stream);
+        compact.setSourceKeys(new ArrayList<>(sourceKeys));
+        index.put(compact.getStreamId(), compact,
+                tokenizer.termCounts(compact.getTitle()),
+                tokenizer.termCounts(compact.getChannelName()),
+                compact.getViewCount() != null ? compact.getViewCount() : 0);
+    }
+
+    private void removeStreamSource(TermIndex<SearchableStream> index, String streamId, String sourceKey) {
+        SearchableStream existing = index.lookup(streamId);
+        if (existing == null) return;
+        List<String> remaining = new ArrayList<>(existing.getSourceKeys());
+        remaining.remove(sourceKey);
+        if (remaining.isEmpty()) {
+            index.remove(streamId);
+        } else {
+            existing.setSourceKeys(remaining);
+        }
+    }
+
+    /**
+     * Reload the stream index from Firestore. Runs at startup and on the reconcile schedule
+     * so nodes converge on updates made by other instances.
+     */
+    @Scheduled(fixedDelayString = "${app.public-search.index.stream-reload-interval-ms:3600000}",
+               initialDelayString = "${app.public-search.index.stream-reload-interval-ms:3600000}")
+    public void reloadStreamsAsync() {
+        if (!enabled) return;
+        if (reloadInFlight.compareAndSet(false, true)) {
+            try {
+                loader.submit(this::reloadStreams);
+            } catch (RuntimeException e) {
+                reloadInFlight.set(false);
+                log.warn("Could not schedule search index stream reload: {}", e.getMessage());
+            }
+        }
+    }
+
+    void reloadStreams() {
+        streamLock.writeLock().lock();
+        try {
+            pendingReplay = new ArrayList<>();
+        } finally {
+            streamLock.writeLock().unlock();
+        }
+        TermIndex<SearchableStream> fresh = new TermIndex<>();
+        boolean loaded = false;
+        try {
+            String startAfter = null;
+            List<SearchableStream> page;
+            do {
+                page = streamRepository.findVisiblePage(startAfter, STREAM_LOAD_PAGE_SIZE);
+                for (SearchableStream s : page) {
+                    putStream(fresh, s, null);
+                }
+                startAfter = page.isEmpty() ? null : page.get(page.size() - 1).getStreamId();
+            } while (page.size() == STREAM_LOAD_PAGE_SIZE);
+            loaded = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Search index stream reload failed; keeping previous index: {}", e.getMessage());
+        } finally {
+            streamLock.writeLock().lock();
+            try {
+                if (loaded) {
+                    pendingReplay.forEach(update -> update.accept(fresh));
+                    streams = fresh;
+                    streamsReady = true;
+                    log.info("Loaded {} searchable streams into search index ({} terms)",
+                            fresh.size(), fresh.termCount());
+                }
+                pendingReplay = null;
+            } finally {
+                streamLock.writeLock().unlock();
+            }
+            reloadInFlight.set(false);
+        }
+    }
+
+    // ---- helpers ----
+
+    private SearchTokenizer.TermCounts keywordTerms(List<String> keywords) {
+        if (keywords == null || keywords.isEmpty()) return SearchTokenizer.TermCounts.EMPTY;
+        // Separators split words the same way inside and between keywords
+        return tokenizer.termCounts(String.join(" ", keywords));
+    }
+
+    /** Only the fields search ranking and streamToDto read. */
+    private static SearchableStream compact(SearchableStream source) {
+        SearchableStream s = new SearchableStream();
+        s.setStreamId(source.getStreamId());
+        s.setTitle(source.getTitle());
+        s.setTitleNorm(source.getTitleNorm());
+        s.setThumbnailUrl(source.getThumbnailUrl());
+        s.setChannelId(source.getChannelId());
+        s.setChannelName(source.getChannelName());
+        s.setStreamType(source.getStreamType());
+        s.setDurationSeconds(source.getDurationSeconds());
+        s.setViewCount(source.getViewCount());
+        s.setVisible(true);
+        return s;
+    }
+}
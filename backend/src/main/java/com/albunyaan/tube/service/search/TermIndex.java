@@ -0,0 +1,226 @@
+package com.albunyaan.tube.service.search;
+
+import com.albunyaan.tube.service.SearchTokenizer.TermCounts;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over one document type.
+ *
+ * - Term dictionary is a sorted map, so a query word also matches every indexed term it
+ *   prefixes ("isl" → "islam", "islamic"). A short prefix expanding to more than
+ *   {@link #MAX_PREFIX_EXPANSIONS} terms is not expanded; it is checked against the terms of
+ *   the candidates the other words found instead, so results stay complete.
+ * - Multi-word queries are AND: a document must match every query word (exactly or by prefix).
+ * - Ranking is BM25 summed over query words, with per-document term frequencies and the word
+ *   count as document length; prefix matches are discounted, and primary-field (title/name)
+ *   occurrences weigh more than secondary ones (keywords, channel name).
+ *
+ * Not thread-safe; callers either build once and publish, or guard with a lock.
+ *
+ * @param <T> payload returned for a hit
+ */
+final class TermIndex<T> {
+
+    static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_WEIGHT = 0.6;
+    private static final float SECONDARY_FIELD_TF = 0.5f;
+
+    private static final class Doc<T> {
+        final String key;
+        final T payload;
+        final int length;
+        final long popularity;
+        final List<String> terms;
+
+        Doc(String key, T payload, int length, long popularity, List<String> terms) {
+            this.key = key;
+            this.payload = payload;
+            this.length = length;
+            this.popularity = popularity;
+            this.terms = terms;
+        }
+    }
+
+    private final NavigableMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+    private final Map<Integer, Doc<T>> docs = new HashMap<>();
+    private final Map<String, Integer> docIdByKey = new HashMap<>();
+    private int nextDocId;
+    private long totalLength;
+
+    int size() {
+        return docs.size();
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    /** Payload stored under {@code key}, or null. */
+    T lookup(String key) {
+        Integer docId = docIdByKey.get(key);
+        return docId != null ? docs.get(docId).payload : null;
+    }
+
+    /**
+     * Add or replace a document.
+     *
+     * @param primaryTerms terms from the title/name (tokenizer output)
+     * @param secondaryTerms terms from keywords / channel name; may overlap primary
+     * @param popularity tie-breaker (subscribers, view count…), higher first
+     */
+    void put(String key, T payload, TermCounts primaryTerms, TermCounts secondaryTerms, long popularity) {
+        remove(key);
+
+        Map<String, Float> tf = new HashMap<>();
+        primaryTerms.frequencies().forEach((term, count) -> tf.merge(term, (float) count, Float::sum));
+        secondaryTerms.frequencies().forEach((term, count) -> tf.merge(term, count * SECONDARY_FIELD_TF, Float::sum));
+        if (tf.isEmpty()) return;
+
+        int docId = nextDocId++;
+        int length = Math.max(1, primaryTerms.words());
+        docs.put(docId, new Doc<>(key, payload, length, popularity, new ArrayList<>(tf.keySet())));
+        docIdByKey.put(key, docId);
+        totalLength += length;
+        tf.forEach((term, freq) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(docId, freq));
+    }
+
+    void remove(String key) {
+        Integer docId = docIdByKey.remove(key);
+        if (docId == null) return;
+        Doc<T> doc = docs.remove(docId);
+        totalLength -= doc.length;
+        for (String term : doc.terms) {
+            Map<Integer, Float> list = postings.get(term);
+            if (list != null) {
+                list.remove(docId);
+                if (list.isEmpty()) postings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * @param queryWords normalized query words (see SearchTokenizer.queryTerms)
+     * @return up to {@code limit} payloads ordered by score, then popularity, then key
+     */
+    List<T> search(List<String> queryWords, int limit) {
+        if (queryWords.isEmpty() || docs.isEmpty() || limit <= 0) return List.of();
+
+        double avgLength = (double) totalLength / docs.size();
+        List<Map<Integer, Double>> perWord = new ArrayList<>(queryWords.size());
+        List<String> broad = new ArrayList<>();
+        for (String word : queryWords) {
+            Map<Integer, Double> scores = scoreWord(word, avgLength, MAX_PREFIX_EXPANSIONS);
+            if (scores == null) {
+                broad.add(word);
+                continue;
+            }
+            if (scores.isEmpty()) return List.of(); // AND semantics
+            perWord.add(scores);
+        }
+        if (perWord.isEmpty()) {
+            // Only broad prefixes: expand the longest in full to get the candidates
+            broad.sort(Comparator.comparingInt(String::length).reversed());
+            Map<Integer, Double> scores = scoreWord(broad.remove(0), avgLength, Integer.MAX_VALUE);
+            if (scores.isEmpty()) return List.of();
+            perWord.add(scores);
+        }
+
+        // Intersect starting from the rarest word
+        perWord.sort(Comparator.comparingInt(Map::size));
+        Map<Integer, Double> smallest = perWord.get(0);
+        List<Map.Entry<Doc<T>, Double>> hits = new ArrayList<>();
+        for (Map.Entry<Integer, Double> entry : smallest.entrySet()) {
+            double total = entry.getValue();
+            boolean all = true;
+            for (int i = 1; i < perWord.size(); i++) {
+                Double s = perWord.get(i).get(entry.getKey());
+                if (s == null) {
+                    all = false;
+                    break;
+                }
+                total += s;
+            }
+            for (int i = 0; all && i < broad.size(); i++) {
+                double s = scoreInDoc(entry.getKey(), broad.get(i), avgLength);
+                if (s < 0) {
+                    all = false;
+                } else {
+                    total += s;
+                }
+            }
+            if (all) hits.add(Map.entry(docs.get(entry.getKey()), total));
+        }
+
+        hits.sort(Comparator.<Map.Entry<Doc<T>, Double>>comparingDouble(Map.Entry::getValue).reversed()
+                .thenComparing(e -> e.getKey().popularity, Comparator.reverseOrder())
+                .thenComparing(e -> e.getKey().key));
+
+        List<T> result = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && result.size() < limit; i++) {
+            result.add(hits.get(i).getKey().payload);
+        }
+        return result;
+    }
+
+    /**
+     * Score of every document matching {@code word} exactly or by prefix, or null when the
+     * word prefixes more than {@code maxExpansions} terms.
+     */
+    private Map<Integer, Double> scoreWord(String word, double avgLength, int maxExpansions) {
+        NavigableMap<String, Map<Integer, Float>> expansions =
+                postings.subMap(word, false, word + Character.MAX_VALUE, false);
+        int count = 0;
+        for (String ignored : expansions.keySet()) {
+            if (++count > maxExpansions) return null;
+        }
+        Map<Integer, Double> scores = new HashMap<>();
+        Map<Integer, Float> exact = postings.get(word);
+        if (exact != null) {
+            addBm25(scores, exact, 1.0, avgLength);
+        }
+        for (Map<Integer, Float> list : expansions.values()) {
+            addBm25(scores, list, PREFIX_WEIGHT, avgLength);
+        }
+        return scores;
+    }
+
+    /**
+     * Score of {@code word} in one document from the document's own terms, the same value
+     * {@link #scoreWord} gives it; negative when no term of the document matches.
+     */
+    private double scoreInDoc(int docId, String word, double avgLength) {
+        Doc<T> doc = docs.get(docId);
+        double best = -1;
+        for (String term : doc.terms) {
+            if (!term.startsWith(word)) continue;
+            Map<Integer, Float> list = postings.get(term);
+            double weight = term.length() == word.length() ? 1.0 : PREFIX_WEIGHT;
+            best = Math.max(best, bm25(weight, list.size(), list.get(docId), doc.length, avgLength));
+        }
+        return best;
+    }
+
+    private void addBm25(Map<Integer, Double> scores, Map<Integer, Float> list, double weight, double avgLength) {
+        int df = list.size();
+        for (Map.Entry<Integer, Float> posting : list.entrySet()) {
+            double s = bm25(weight, df, posting.getValue(), docs.get(posting.getKey()).length, avgLength);
+            // A word matching several expanded terms in one doc counts its best match only
+            scores.merge(posting.getKey(), s, Math::max);
+        }
+    }
+
+    private double bm25(double weight, int df, double tf, double dl, double avgLength) {
+        int n = docs.size();
+        double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+        return weight * idf * (tf * (K1 + 1)) / (tf + K1 * (1 - B + B * dl / avgLength));
+    }
+}
@@ -1,9 +1,12 @@
 package com.albunyaan.tube.service.sync;
 
+import com.albunyaan.tube.dto.YouTubeContentType;
 import com.albunyaan.tube.repository.ChannelRepository;
 import com.albunyaan.tube.repository.PlaylistRepository;
 import com.albunyaan.tube.repository.SyncRepository.RawRow;
 import com.albunyaan.tube.repository.VideoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -24,6 +27,10 @@ import java.util.Set;
  *
  * The underlying Firestore documents are NEVER mutated here. Archive recovery
  * (un-archive) is out of scope for Plan D (spec §9 D8).
+ *
+ * Archive state comes from the in-memory {@link ArchivedIdIndex} once it has loaded, so a
+ * projected page costs no Firestore reads; before that (and in tests without an index) it
+ * falls back to the repositories' lookups.
  */
 @Component
 public class ArchiveProjector {
@@ -31,39 +38,55 @@ public class ArchiveProjector {
     private final ChannelRepository channels;
     private final PlaylistRepository playlists;
     private final VideoRepository videos;
+    private final ArchivedIdIndex archivedIds;
 
+    /** Test seam: no archived-ID index; every lookup goes to the repositories. */
     public ArchiveProjector(ChannelRepository channels,
                             PlaylistRepository playlists,
                             VideoRepository videos) {
+        this(channels, playlists, videos, null);
+    }
+
+    @Autowired
+    public ArchiveProjector(ChannelRepository channels,
+                            PlaylistRepository playlists,
+                            VideoRepository videos,
+                            @Nullable ArchivedIdIndex archivedIds) {
         this.channels = channels;
         this.playlists = playlists;
         this.videos = videos;
+        this.archivedIds = archivedIds;
     }
 
     // ─── Per-row API (back-compat for unit tests) ────────────────────────
     //
-    // Each call here triggers one Firestore round-trip via `isArchivedById`.
-    // Production callers should use the batch counterparts below instead —
-    // a full sync page of 500 rows across all three types would otherwise
-    // generate 1,500 sequential reads (cubic R5 P1 N+1 hazard).
+    // Without a loaded index each call here triggers one Firestore round-trip
+    // via `isArchivedById`. Production callers should use the batch
+    // counterparts below instead — a full sync page of 500 rows across all
+    // three types would otherwise generate 1,500 sequential reads (cubic R5
+    // P1 N+1 hazard).
 
     public RawRow projectSubscription(RawRow row) {
-        return projectIf(row, channels.isArchivedById(row.id()));
+        Boolean archived = archivedIds != null ? archivedIds.isArchived(YouTubeContentType.CHANNEL, row.id()) : null;
+        return projectIf(row, archived != null ? archived : channels.isArchivedById(row.id()));
     }
 
     public RawRow projectPlaylist(RawRow row) {
-        return projectIf(row, playlists.isArchivedById(row.id()));
+        Boolean archived = archivedIds != null ? archivedIds.isArchived(YouTubeContentType.PLAYLIST, row.id()) : null;
+        return projectIf(row, archived != null ? archived : playlists.isArchivedById(row.id()));
     }
 
     public RawRow projectFavorite(RawRow row) {
-        return projectIf(row, videos.isArchivedById(row.id()));
+        Boolean archived = archivedIds != null ? archivedIds.isArchived(YouTubeContentType.VIDEO, row.id()) : null;
+        return projectIf(row, archived != null ? archived : videos.isArchivedById(row.id()));
     }
 
     // ─── Batch API (used by SyncService for full-page reads) ─────────────
     //
-    // Fetches the archive set in one chunked `whereIn` round-trip per page
-    // (chunks of 30) instead of one read per row. Maps each row through the
-    // same projection logic as the per-row API.
+    // Reads the archive set from the in-memory index; until it has loaded,
+    // fetches it in one batched `whereIn` lookup per page (chunks of 30,
+    // dispatched concurrently) instead of one read per row. Maps each row
+    // through the same projection logic as the per-row API.
 
     // Cubic R7 P2 — return immutable lists. Callers (SyncService streaming a
     // page through Jackson) treat the projection result as a value, never as a
@@ -72,19 +95,25 @@ public class ArchiveProjector {
 
     public List<RawRow> projectSubscriptions(List<RawRow> rows) {
         if (rows.isEmpty()) return List.of();
-        Set<String> archived = channels.archivedIdsAmong(idsOf(rows));
+        List<String> ids = idsOf(rows);
+        Set<String> archived = archivedIds != null ? archivedIds.archivedAmong(YouTubeContentType.CHANNEL, ids) : null;
+        if (archived == null) archived = channels.archivedIdsAmong(ids);
         return projectBatch(rows, archived);
     }
 
     public List<RawRow> projectPlaylists(List<RawRow> rows) {
         if (rows.isEmpty()) return List.of();
-        Set<String> archived = playlists.archivedIdsAmong(idsOf(rows));
+        List<String> ids = idsOf(rows);
+        Set<String> archived = archivedIds != null ? archivedIds.archivedAmong(YouTubeContentType.PLAYLIST, ids) : null;
+        if (archived == null) archived = playlists.archivedIdsAmong(ids);
         return projectBatch(rows, archived);
     }
 
     public List<RawRow> projectFavorites(List<RawRow> rows) {
         if (rows.isEmpty()) return List.of();
-        Set<String> archived = videos.archivedIdsAmong(idsOf(rows));
+        List<String> ids = idsOf(rows);
+        Set<String> archived = archivedIds != null ? archivedIds.archivedAmong(YouTubeContentType.VIDEO, ids) : null;
+        if (archived == null) archived = videos.archivedIdsAmong(ids);
         return projectBatch(rows, archived);
     }
 
@@ -0,0 +1,355 @@
+package com.albunyaan.tube.service.sync;
+
+import com.albunyaan.tube.config.TieredCacheProperties;
+import com.albunyaan.tube.dto.YouTubeContentType;
+import com.albunyaan.tube.model.Channel;
+import com.albunyaan.tube.model.Playlist;
+import com.albunyaan.tube.model.ValidationStatus;
+import com.albunyaan.tube.model.Video;
+import com.albunyaan.tube.repository.ChannelRepository;
+import com.albunyaan.tube.repository.PlaylistRepository;
+import com.albunyaan.tube.repository.VideoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Node-local set of archived channel / playlist / video YouTube IDs, so sync archive
+ * projection ({@link ArchiveProjector}) answers from memory instead of chunked
+ * {@code whereIn} lookups on every page.
+ *
+ * "Archived" matches the repositories' {@code archivedIdsAmong}: validationStatus ARCHIVED
+ * or UNAVAILABLE. The set is small (only unplayable content), so it is held exactly — no
+ * Bloom filter, no false positives.
+ *
+ * Freshness model (event-driven, no TTL):
+ * - Loaded at startup from {@code findByValidationStatus}; until the first load lands,
+ *   lookups fall through to the repositories, as before.
+ * - Every code path that archives, restores or deletes registry content reports it through
+ *   {@link #record} / {@link #removed}. Updates made while a reload is in flight are replayed
+ *   onto the reloaded set, so a reload never resurrects an older state.
+ * - With the tiered cache enabled ({@code app.cache.tiered.enabled}), each change is relayed
+ *   over Redis pub/sub to the other nodes.
+ * - A periodic reload picks up writes that bypass the hooks (console edits, scripts) and
+ *   messages a node missed.
+ */
+@Component
+public class ArchivedIdIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivedIdIndex.class);
+
+    static final String RELAY_CHANNEL = "albunyaan:sync:archived-ids";
+    private static final String OP_RECORD = "R";
+    private static final String OP_REMOVED = "D";
+
+    /** One type's archived docs: docId → youtubeId, plus the youtubeIds for O(1) lookup. */
+    static final class TypeSet {
+        private final Map<String, String> byDocId = new HashMap<>();
+        private final Set<String> youtubeIds = ConcurrentHashMap.newKeySet();
+
+        /** @return true if the set changed */
+        boolean put(String docId, String youtubeId) {
+            String previous = byDocId.put(docId, youtubeId);
+            if (youtubeId.equals(previous)) return false;
+            if (previous != null) dropIfUnreferenced(previous);
+            youtubeIds.add(youtubeId);
+            return true;
+        }
+
+        /** @return true if the set changed */
+        boolean remove(String docId) {
+            String previous = byDocId.remove(docId);
+            if (previous == null) return false;
+            dropIfUnreferenced(previous);
+            return true;
+        }
+
+        private void dropIfUnreferenced(String youtubeId) {
+            // Two registry docs may share a youtubeId; keep it while either is archived
+            if (!byDocId.containsValue(youtubeId)) youtubeIds.remove(youtubeId);
+        }
+
+        boolean contains(String youtubeId) {
+            return youtubeIds.contains(youtubeId);
+        }
+
+        int size() {
+            return youtubeIds.size();
+        }
+    }
+
+    private final ChannelRepository channelRepository;
+    private final PlaylistRepository playlistRepository;
+    private final VideoRepository videoRepository;
+    private final boolean enabled;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /** Guarded by {@code this}; readers only touch the concurrent youtubeId sets. */
+    private volatile Map<YouTubeContentType, TypeSet> sets;
+    /** Updates made while a reload is in flight, replayed onto the reloaded sets. */
+    private List<Consumer<Map<YouTubeContentType, TypeSet>>> pendingReplay;
+    private final AtomicBoolean reloadInFlight = new AtomicBoolean(false);
+    private final ExecutorService loader;
+
+    private StringRedisTemplate relayTemplate;
+    private RedisMessageListenerContainer relayListener;
+
+    public ArchivedIdIndex(
+            ChannelRepository channelRepository,
+            PlaylistRepository playlistRepository,
+            VideoRepository videoRepository,
+            TieredCacheProperties tieredProperties,
+            ObjectProvider<RedisConnectionFactory> redisConnectionFactory,
+            MeterRegistry meterRegistry,
+            @Value("${app.sync.archived-index.enabled:true}") boolean enabled) {
+        this.channelRepository = channelRepository;
+        this.playlistRepository = playlistRepository;
+        this.videoRepository = videoRepository;
+        this.enabled = enabled;
+        this.redisConnectionFactory = tieredProperties.isEnabled() ? redisConnectionFactory.getIfAvailable() : null;
+        this.loader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "sync-archived-ids");
+            t.setDaemon(true);
+            return t;
+        });
+
+        meterRegistry.gauge("sync.archived.index.items", this, index -> {
+            Map<YouTubeContentType, TypeSet> current = index.sets;
+            return current == null ? -1 : current.values().stream().mapToInt(TypeSet::size).sum();
+        });
+    }
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            log.info("Sync archived-ID index disabled; archive projection reads Firestore");
+            return;
+        }
+        if (redisConnectionFactory != null) {
+            relayTemplate = new StringRedisTemplate(redisConnectionFactory);
+            relayListener = new RedisMessageListenerContainer();
+            relayListener.setConnectionFactory(redisConnectionFactory);
+            relayListener.addMessageListener(this::onRelay, new ChannelTopic(RELAY_CHANNEL));
+            try {
+                relayListener.afterPropertiesSet();
+                relayListener.start();
+            } catch (RuntimeException e) {
+                // The container keeps retrying the subscription; the periodic reload covers the gap.
+                log.warn("Sync archived-ID index: could not subscribe to {} yet: {}", RELAY_CHANNEL, e.getMessage());
+            }
+        }
+        reloadAsync();
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        loader.shutdownNow();
+        if (relayListener != null) {
+            relayListener.destroy();
+        }
+    }
+
+    // ---- lookups ----
+
+    /** Whether the set has been loaded; until then lookups go to the repositories. */
+    public boolean isReady() {
+        return enabled && sets != null;
+    }
+
+    /**
+     * The subset of {@code youtubeIds} that is archived, or {@code null} when the index is not
+     * ready and the caller must ask the repository.
+     */
+    @Nullable
+    public Set<String> archivedAmong(YouTubeContentType type, Collection<String> youtubeIds) {
+        Map<YouTubeContentType, TypeSet> current = enabled ? sets : null;
+        if (current == null) return null;
+        TypeSet set = current.get(type);
+        Set<String> out = new HashSet<>();
+        for (String id : youtubeIds) {
+            if (id != null && set.contains(id)) out.add(id);
+        }
+        return out;
+    }
+
+    /** Single-id counterpart of {@link #archivedAmong}; {@code null} when not ready. */
+    @Nullable
+    public Boolean isArchived(YouTubeContentType type, String youtubeId) {
+        Map<YouTubeContentType, TypeSet> current = enabled ? sets : null;
+        if (current == null) return null;
+        return youtubeId != null && current.get(type).contains(youtubeId);
+    }
+
+    // ---- change events ----
+
+    /**
+     * Report the validationStatus just saved for a registry document. Call after every save
+     * that archives or restores content.
+     */
+    public void record(YouTubeContentType type, String docId, String youtubeId, ValidationStatus status) {
+        if (!enabled || docId == null) return;
+        boolean archived = youtubeId != null
+                && (status == ValidationStatus.ARCHIVED || status == ValidationStatus.UNAVAILABLE);
+        boolean changed = archived
+                ? apply(sets -> sets.get(type).put(docId, youtubeId))
+                : apply(sets -> sets.get(type).remove(docId));
+        if (changed) {
+            relay(archived ? OP_RECORD : OP_REMOVED, type, docId, archived ? youtubeId : "");
+        }
+    }
+
+    /** Report a registry document deleted; it no longer gates anything. */
+    public void removed(YouTubeContentType type, String docId) {
+        if (!enabled || docId == null) return;
+        if (apply(sets -> sets.get(type).remove(docId))) {
+            relay(OP_REMOVED, type, docId, "");
+        }
+    }
+
+    public void record(Channel channel) {
+        record(YouTubeContentType.CHANNEL, channel.getId(), channel.getYoutubeId(), channel.getValidationStatus());
+    }
+
+    public void record(Playlist playlist) {
+        record(YouTubeContentType.PLAYLIST, playlist.getId(), playlist.getYoutubeId(), playlist.getValidationStatus());
+    }
+
+    public void record(Video video) {
+        record(YouTubeContentType.VIDEO, video.getId(), video.getYoutubeId(), video.getValidationStatus());
+    }
+
+    /**
+     * Apply {@code update} to the live sets and queue it for replay if a reload is in flight.
+     * Before the first load there is nothing to update, but the change is still relayed (the
+     * return value is true) so loaded nodes hear about it.
+     */
+    private synchronized boolean apply(java.util.function.Predicate<Map<YouTubeContentType, TypeSet>> update) {
+        if (pendingReplay != null) {
+            pendingReplay.add(update::test);
+        }
+        Map<YouTubeContentType, TypeSet> current = sets;
+        return current == null || update.test(current);
+    }
+
+    // ---- cross-node relay ----
+
+    private void relay(String op, YouTubeContentType type, String docId, String youtubeId) {
+        if (relayTemplate == null) return;
+        try {
+            relayTemplate.convertAndSend(RELAY_CHANNEL, String.join("\n", nodeId, op, type.name(), docId, youtubeId));
+        } catch (RuntimeException e) {
+            // Other nodes converge on their next reload
+            log.warn("Sync archived-ID index: relay failed for {} {}: {}", type, docId, e.getMessage());
+        }
+    }
+
+    void onRelay(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 5);
+        if (parts.length != 5 || nodeId.equals(parts[0])) return;
+        YouTubeContentType type;
+        try {
+            type = YouTubeContentType.valueOf(parts[2]);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        String docId = parts[3];
+        String youtubeId = parts[4];
+        if (OP_RECORD.equals(parts[1]) && !youtubeId.isEmpty()) {
+            apply(sets -> sets.get(type).put(docId, youtubeId));
+        } else if (OP_REMOVED.equals(parts[1])) {
+            apply(sets -> sets.get(type).remove(docId));
+        }
+    }
+
+    // ---- load / reconcile ----
+
+    /**
+     * Reload the sets from Firestore. Runs at startup and on the reconcile schedule.
+     */
+    @Scheduled(fixedDelayString = "${app.sync.archived-index.reconcile-interval-ms:900000}",
+               initialDelayString = "${app.sync.archived-index.reconcile-interval-ms:900000}")
+    public void reloadAsync() {
+        if (!enabled) return;
+        if (reloadInFlight.compareAndSet(false, true)) {
+            try {
+                loader.submit(this::reload);
+            } catch (RuntimeException e) {
+                reloadInFlight.set(false);
+                log.warn("Could not schedule sync archived-ID reload: {}", e.getMessage());
+            }
+        }
+    }
+
+    void reload() {
+        synchronized (this) {
+            pendingReplay = new ArrayList<>();
+        }
+        Map<YouTubeContentType, TypeSet> fresh = null;
+        try {
+            Map<YouTubeContentType, TypeSet> loading = new EnumMap<>(YouTubeContentType.class);
+            loading.put(YouTubeContentType.CHANNEL, new TypeSet());
+            loading.put(YouTubeContentType.PLAYLIST, new TypeSet());
+            loading.put(YouTubeContentType.VIDEO, new TypeSet());
+            for (ValidationStatus status : List.of(ValidationStatus.ARCHIVED, ValidationStatus.UNAVAILABLE)) {
+                for (Channel c : channelRepository.findByValidationStatus(status)) {
+                    if (c.getYoutubeId() != null) loading.get(YouTubeContentType.CHANNEL).put(c.getId(), c.getYoutubeId());
+                }
+                for (Playlist p : playlistRepository.findByValidationStatus(status)) {
+                    if (p.getYoutubeId() != null) loading.get(YouTubeContentType.PLAYLIST).put(p.getId(), p.getYoutubeId());
+                }
+                for (Video v : videoRepository.findByValidationStatus(status)) {
+                    if (v.getYoutubeId() != null) loading.get(YouTubeContentType.VIDEO).put(v.getId(), v.getYoutubeId());
+                }
+            }
+            fresh = loading;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Sync archived-ID reload failed; keeping previous set: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                if (fresh != null) {
+                    for (Consumer<Map<YouTubeContentType, TypeSet>> update : pendingReplay) {
+                        update.accept(fresh);
+                    }
+                    sets = fresh;
+                    log.info("Loaded sync archived-ID index: {} channels, {} playlists, {} videos",
+                            fresh.get(YouTubeContentType.CHANNEL).size(),
+                            fresh.get(YouTubeContentType.PLAYLIST).size(),
+                            fresh.get(YouTubeContentType.VIDEO).size());
+                }
+                pendingReplay = null;
+            }
+            reloadInFlight.set(false);
+        }
+    }
+}
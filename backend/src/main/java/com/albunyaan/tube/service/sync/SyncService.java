@@ -8,14 +8,24 @@ import com.albunyaan.tube.service.ContentApprovalGate;
 import com.albunyaan.tube.service.VisibilityPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
@@ -33,72 +43,185 @@ public class SyncService {
      * for a tombstone at {@code T_old+1} to be GC'd will never see that
      * delete — the client's local view stays out of sync with no signal.
      *
-     * <p>Mitigation today is observational: we WARN when a pull arrives with
-     * {@code since} older than {@code now - 90d} so operators have a signal
-     * that a client is in the danger zone. A protocol-level fix (server
-     * returns RESYNC_REQUIRED, client clears cursor and pulls from 0) is
-     * deferred — it requires a coordinated Android client update to handle
-     * the new error, otherwise enabling the reject would brick existing
-     * 91+-day-offline clients.
+     * <p>Clients speaking {@link SyncCursors#PROTOCOL_SNAPSHOT} get a snapshot
+     * instead (see {@link #fetchSnapshotPage}): {@code resyncRequired}, live rows
+     * only, then deltas from the snapshot time — which closes the gap. Protocol-1
+     * clients keep the old behaviour, with a WARN when a pull arrives with
+     * {@code since} older than {@code now - 90d} so operators have a signal that
+     * a client is in the danger zone; rejecting them would brick existing
+     * 91+-day-offline installs.
      */
     static final long OFFLINE_RESYNC_THRESHOLD_DAYS = 90L;
 
+    /**
+     * A snapshot's pinned time is taken this far before "now", so a write whose commit
+     * time (Firestore's clock) is just under ours but lands after the snapshot page read
+     * is still picked up by the follow-up delta pull. Over-pull is harmless (clients
+     * upsert by entityId); a miss is not.
+     */
+    static final long SNAPSHOT_CLOCK_SKEW_MS = 60_000L;
+
     private final SyncRepository repo;
     private final ArchiveProjector projector;
     private final ContentApprovalGate approvalGate;
+    private final Executor pullExecutor;
 
+    /** Test seam: reads the three types one after another on the calling thread. */
     public SyncService(SyncRepository repo, ArchiveProjector projector, ContentApprovalGate approvalGate) {
+        this(repo, projector, approvalGate, Runnable::run);
+    }
+
+    @Autowired
+    public SyncService(SyncRepository repo, ArchiveProjector projector, ContentApprovalGate approvalGate,
+                       @Qualifier("syncPullExecutor") Executor pullExecutor) {
         this.repo = repo;
         this.projector = projector;
         this.approvalGate = approvalGate;
+        this.pullExecutor = pullExecutor;
+    }
+
+    /** Receives a streamed pull (see {@link #pull(String, SyncCursors, RowSink)}). */
+    public interface RowSink {
+        void row(String collection, SyncRowDto row) throws IOException;
+
+        void pageEnd(String collection, Long nextCursor, String nextCursorId) throws IOException;
+
+        /** Page end carrying the protocol-2 fields of {@link SyncPageDto}; both null on delta pages. */
+        default void pageEnd(String collection, Long nextCursor, String nextCursorId,
+                             String mode, Boolean resyncRequired) throws IOException {
+            pageEnd(collection, nextCursor, nextCursorId);
+        }
+    }
+
+    /** One type's page, projected; rows stay raw until they are written. */
+    private record ProjectedPage(String collection, List<RawRow> rows, Long nextCursor, String nextCursorId,
+                                 String mode, Boolean resyncRequired) {
+        ProjectedPage(String collection, List<RawRow> rows, Long nextCursor, String nextCursorId) {
+            this(collection, rows, nextCursor, nextCursorId, null, null);
+        }
     }
 
     public SyncResponseDto pull(String uid, SyncCursors cursors)
             throws ExecutionException, InterruptedException, TimeoutException {
-        // Cubic R5 P1: batch archive-lookup per page.
+        // Cubic R5 P1: batch archive-lookup per page — one batched `whereIn`
+        // lookup per type instead of one read per row (up to 1,500 on a full
+        // page across all three types).
         //
-        // The previous shape (`project::projectX` per-row mapping) hit Firestore
-        // once per row inside ArchiveProjector.projectIf → up to 1,500 sequential
-        // reads on a full page across all three types. The batch helpers below
-        // do one chunked `whereIn` round-trip per type (chunks of 30) which is
-        // a 50× reduction worst-case.
-        SyncPageDto<SubscriptionSyncDto> subs = pullPage(
-                uid, SyncRepository.SUBS_COLL,
-                cursors.getSubscriptions(), cursors.getSubscriptionsId(),
-                projector::projectSubscriptions, SyncService::toSubscriptionDto);
-        SyncPageDto<PlaylistSyncDto> pls = pullPage(
-                uid, SyncRepository.PLAYLISTS_COLL,
-                cursors.getPlaylists(), cursors.getPlaylistsId(),
-                projector::projectPlaylists, SyncService::toPlaylistDto);
-        SyncPageDto<FavoriteSyncDto> favs = pullPage(
-                uid, SyncRepository.FAVORITES_COLL,
-                cursors.getFavorites(), cursors.getFavoritesId(),
-                projector::projectFavorites, SyncService::toFavoriteDto);
-        return new SyncResponseDto(subs, pls, favs);
-    }
-
-    private <T extends SyncRowDto> SyncPageDto<T> pullPage(
-            String uid, String coll, long since, String lastDocId,
-            UnaryOperator<List<RawRow>> projectBatch,
-            Function<RawRow, T> toDto)
+        // The three types are independent, so their reads and projections run
+        // concurrently on syncPullExecutor; the pull costs the slowest type, not
+        // the sum of all three.
+        List<CompletableFuture<ProjectedPage>> pages = startPages(uid, cursors);
+        SyncResponseDto response = new SyncResponseDto(
+                toPageDto(await(pages.get(0), pages), SyncService::toSubscriptionDto),
+                toPageDto(await(pages.get(1), pages), SyncService::toPlaylistDto),
+                toPageDto(await(pages.get(2), pages), SyncService::toFavoriteDto));
+        if (cursors.getProtocol() >= SyncCursors.PROTOCOL_SNAPSHOT) {
+            response.setProtocolVersion(SyncCursors.PROTOCOL_SNAPSHOT);
+        }
+        return response;
+    }
+
+    /**
+     * Streamed variant of {@link #pull(String, SyncCursors)}: each type's rows go to
+     * {@code sink} as soon as that type's page is projected, in completion order, and are
+     * converted one at a time so no response-sized DTO tree is built.
+     */
+    public void pull(String uid, SyncCursors cursors, RowSink sink)
+            throws ExecutionException, InterruptedException, TimeoutException, IOException {
+        List<CompletableFuture<ProjectedPage>> pages = startPages(uid, cursors);
+        BlockingQueue<CompletableFuture<ProjectedPage>> completed = new ArrayBlockingQueue<>(pages.size());
+        for (CompletableFuture<ProjectedPage> page : pages) {
+            page.whenComplete((result, error) -> completed.add(page));
+        }
+        for (int i = 0; i < pages.size(); i++) {
+            ProjectedPage page = await(completed.take(), pages);
+            Function<RawRow, ? extends SyncRowDto> toDto = switch (page.collection()) {
+                case SyncRepository.SUBS_COLL -> SyncService::toSubscriptionDto;
+                case SyncRepository.PLAYLISTS_COLL -> SyncService::toPlaylistDto;
+                default -> SyncService::toFavoriteDto;
+            };
+            for (RawRow row : page.rows()) {
+                sink.row(page.collection(), toDto.apply(row));
+            }
+            sink.pageEnd(page.collection(), page.nextCursor(), page.nextCursorId(),
+                    page.mode(), page.resyncRequired());
+        }
+    }
+
+    /** Subscriptions, playlists and favorites pages, in that order. */
+    private List<CompletableFuture<ProjectedPage>> startPages(String uid, SyncCursors cursors) {
+        boolean snapshots = cursors.getProtocol() >= SyncCursors.PROTOCOL_SNAPSHOT;
+        return List.of(
+                fetchAsync(uid, SyncRepository.SUBS_COLL, cursors.getSubscriptions(), cursors.getSubscriptionsId(),
+                        snapshots, cursors.isSubscriptionsSnapshot(), projector::projectSubscriptions),
+                fetchAsync(uid, SyncRepository.PLAYLISTS_COLL, cursors.getPlaylists(), cursors.getPlaylistsId(),
+                        snapshots, cursors.isPlaylistsSnapshot(), projector::projectPlaylists),
+                fetchAsync(uid, SyncRepository.FAVORITES_COLL, cursors.getFavorites(), cursors.getFavoritesId(),
+                        snapshots, cursors.isFavoritesSnapshot(), projector::projectFavorites));
+    }
+
+    private CompletableFuture<ProjectedPage> fetchAsync(String uid, String coll, long since, String lastDocId,
+                                                        boolean snapshots, boolean continueSnapshot,
+                                                        UnaryOperator<List<RawRow>> projectBatch) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return fetchPage(uid, coll, since, lastDocId, snapshots, continueSnapshot, projectBatch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            } catch (ExecutionException | TimeoutException e) {
+                throw new CompletionException(e);
+            }
+        }, pullExecutor);
+    }
+
+    /** Result of {@code page}; on failure the sibling pages are cancelled and the cause rethrown as-is. */
+    private static ProjectedPage await(CompletableFuture<ProjectedPage> page,
+                                       List<CompletableFuture<ProjectedPage>> siblings)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        try {
+            return page.get();
+        } catch (InterruptedException e) {
+            siblings.forEach(f -> f.cancel(true));
+            throw e;
+        } catch (ExecutionException e) {
+            siblings.forEach(f -> f.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof ExecutionException ee) throw ee;
+            if (cause instanceof TimeoutException te) throw te;
+            if (cause instanceof InterruptedException ie) throw ie;
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    private ProjectedPage fetchPage(String uid, String coll, long since, String lastDocId,
+                                    boolean snapshots, boolean continueSnapshot,
+                                    UnaryOperator<List<RawRow>> projectBatch)
             throws ExecutionException, InterruptedException, TimeoutException {
+        long thresholdMs = Instant.now()
+                .minus(Duration.ofDays(OFFLINE_RESYNC_THRESHOLD_DAYS))
+                .toEpochMilli();
+        boolean pastGcHorizon = since > 0 && since < thresholdMs;
+        if (snapshots && (since <= 0 || pastGcHorizon || continueSnapshot)) {
+            // A snapshot continued for so long that its pinned time crossed the horizon
+            // starts over like any other stale cursor.
+            boolean resume = continueSnapshot && since > 0 && !pastGcHorizon;
+            return fetchSnapshotPage(uid, coll, resume ? since : -1L, resume ? lastDocId : null, projectBatch);
+        }
         // Cubic R-final5 P1 — observe slow-client cursor that crosses the
         // tombstone GC horizon. See OFFLINE_RESYNC_THRESHOLD_DAYS docstring.
         if (since > 0) {
-            long thresholdMs = Instant.now()
-                    .minus(Duration.ofDays(OFFLINE_RESYNC_THRESHOLD_DAYS))
-                    .toEpochMilli();
-            if (since < thresholdMs) {
+            if (pastGcHorizon) {
                 log.warn("Sync pull from stale cursor: uid={} coll={} since={} (>{}d behind). "
                         + "Tombstones in (since, now-{}d) may have been GC'd; client view "
-                        + "could miss deletions. Track for RESYNC_REQUIRED protocol upgrade.",
+                        + "could miss deletions (protocol-1 client; v2 would get a snapshot).",
                         uid, coll, since, OFFLINE_RESYNC_THRESHOLD_DAYS, OFFLINE_RESYNC_THRESHOLD_DAYS);
             }
         }
         List<RawRow> raw = repo.pull(uid, coll, since, lastDocId, SyncRepository.SYNC_PAGE_SIZE);
         List<RawRow> projected = projectBatch.apply(raw);
-        List<T> items = new ArrayList<>(projected.size());
-        for (RawRow r : projected) items.add(toDto.apply(r));
         // SYNC-TAIL-01 (Cubic R7 P1) — mint a cursor for every non-empty
         // page, full or partial. Pre-fix only full pages (size == PAGE_SIZE)
         // got a cursor; combined with R5 P0 client-side cursor change, a
@@ -116,7 +239,44 @@ public class SyncService {
             nextCursor = last.updatedAt();
             nextCursorId = last.id();
         }
-        return new SyncPageDto<>(items, nextCursor, nextCursorId);
+        return new ProjectedPage(coll, projected, nextCursor, nextCursorId);
+    }
+
+    /**
+     * One page of a protocol-2 snapshot: live rows in docId order, tombstones (real, and
+     * virtual ones from archive projection) left out. The first page ({@code snapshotAt < 0})
+     * pins the snapshot time and sets {@code resyncRequired}; while pages are full the cursor
+     * is (snapshot time, last docId) with mode=SNAPSHOT. The last page hands back just the
+     * snapshot time, so the client resumes deltas from it and sees every write and delete
+     * made while it was paging.
+     */
+    private ProjectedPage fetchSnapshotPage(String uid, String coll, long snapshotAt, String afterDocId,
+                                            UnaryOperator<List<RawRow>> projectBatch)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        boolean first = snapshotAt < 0;
+        long pinned = first ? Instant.now().toEpochMilli() - SNAPSHOT_CLOCK_SKEW_MS : snapshotAt;
+        List<RawRow> raw = repo.pullLive(uid, coll, afterDocId, SyncRepository.SYNC_PAGE_SIZE);
+        List<RawRow> live = new ArrayList<>(raw.size());
+        for (RawRow row : projectBatch.apply(raw)) {
+            if (!Boolean.TRUE.equals(row.data().get("deleted"))) live.add(row);
+        }
+        if (first) {
+            log.info("Sync snapshot started: uid={} coll={} snapshotAt={}", uid, coll, pinned);
+        }
+        boolean more = raw.size() == SyncRepository.SYNC_PAGE_SIZE;
+        return new ProjectedPage(coll, live, pinned,
+                more ? raw.get(raw.size() - 1).id() : null,
+                more ? SyncPageDto.MODE_SNAPSHOT : null,
+                first ? Boolean.TRUE : null);
+    }
+
+    private static <T extends SyncRowDto> SyncPageDto<T> toPageDto(ProjectedPage page, Function<RawRow, T> toDto) {
+        List<T> items = new ArrayList<>(page.rows().size());
+        for (RawRow r : page.rows()) items.add(toDto.apply(r));
+        SyncPageDto<T> dto = new SyncPageDto<>(items, page.nextCursor(), page.nextCursorId());
+        dto.setMode(page.mode());
+        dto.setResyncRequired(page.resyncRequired());
+        return dto;
     }
 
     // ── Row → DTO converters ─────────────────────────────────────────────
@@ -245,6 +405,12 @@ public class SyncService {
             return toSubscriptionDto(projector.projectSubscription(
                     repo.tombstone(uid, SyncRepository.SUBS_COLL, id)));
         }
+        return toSubscriptionDto(projector.projectSubscription(
+                repo.upsert(uid, SyncRepository.SUBS_COLL, id, subscriptionBody(uid, id, req, info))));
+    }
+
+    private static Map<String, Object> subscriptionBody(String uid, String id, PutSubscriptionRequest req,
+                                                        ContentApprovalGate.ApprovalInfo info) {
         Map<String, Object> body = new java.util.HashMap<>();
         // F1: persist the youtubeId (== the {id} path var, server-authoritative) so
         // ImportGraduationService's collection-group fan-out — whereEqualTo("youtubeId", …)
@@ -257,8 +423,7 @@ public class SyncService {
         body.put("approvalStatus", deriveApprovalStatus(info, uid));
         body.put("source", req.getSource());
         body.put("importedAt", req.getImportedAt());
-        return toSubscriptionDto(projector.projectSubscription(
-                repo.upsert(uid, SyncRepository.SUBS_COLL, id, body)));
+        return body;
     }
 
     public SubscriptionSyncDto tombstoneSubscription(String uid, String id)
@@ -275,8 +440,14 @@ public class SyncService {
             return toPlaylistDto(projector.projectPlaylist(
                     repo.tombstone(uid, SyncRepository.PLAYLISTS_COLL, id)));
         }
+        return toPlaylistDto(projector.projectPlaylist(
+                repo.upsert(uid, SyncRepository.PLAYLISTS_COLL, id, playlistBody(uid, id, req, info))));
+    }
+
+    private static Map<String, Object> playlistBody(String uid, String id, PutPlaylistRequest req,
+                                                    ContentApprovalGate.ApprovalInfo info) {
         Map<String, Object> body = new java.util.HashMap<>();
-        // F1: persist the youtubeId (== the {id} path var) — see upsertSubscription.
+        // F1: persist the youtubeId (== the {id} path var) — see subscriptionBody.
         body.put("youtubeId", id);
         body.put("playlistUrl", req.getPlaylistUrl());
         body.put("name", req.getName());
@@ -286,8 +457,7 @@ public class SyncService {
         body.put("approvalStatus", deriveApprovalStatus(info, uid));
         body.put("source", req.getSource());
         body.put("importedAt", req.getImportedAt());
-        return toPlaylistDto(projector.projectPlaylist(
-                repo.upsert(uid, SyncRepository.PLAYLISTS_COLL, id, body)));
+        return body;
     }
 
     public PlaylistSyncDto tombstonePlaylist(String uid, String id)
@@ -304,8 +474,14 @@ public class SyncService {
             return toFavoriteDto(projector.projectFavorite(
                     repo.tombstone(uid, SyncRepository.FAVORITES_COLL, id)));
         }
+        return toFavoriteDto(projector.projectFavorite(
+                repo.upsert(uid, SyncRepository.FAVORITES_COLL, id, favoriteBody(uid, id, req, info))));
+    }
+
+    private static Map<String, Object> favoriteBody(String uid, String id, PutFavoriteRequest req,
+                                                    ContentApprovalGate.ApprovalInfo info) {
         Map<String, Object> body = new java.util.HashMap<>();
-        // F1: persist the youtubeId (== the {id} path var) — see upsertSubscription.
+        // F1: persist the youtubeId (== the {id} path var) — see subscriptionBody.
         body.put("youtubeId", id);
         body.put("title", req.getTitle());
         body.put("channelName", req.getChannelName());
@@ -315,8 +491,7 @@ public class SyncService {
         body.put("approvalStatus", deriveApprovalStatus(info, uid));
         body.put("source", req.getSource());
         body.put("importedAt", req.getImportedAt());
-        return toFavoriteDto(projector.projectFavorite(
-                repo.upsert(uid, SyncRepository.FAVORITES_COLL, id, body)));
+        return body;
     }
 
     public FavoriteSyncDto tombstoneFavorite(String uid, String id)
@@ -324,4 +499,99 @@ public class SyncService {
         return toFavoriteDto(projector.projectFavorite(
                 repo.tombstone(uid, SyncRepository.FAVORITES_COLL, id)));
     }
+
+    // ── Batched push ─────────────────────────────────────────────────────────
+
+    /**
+     * Applies a client's queued offline edits in one pass: the same approval derivation,
+     * REJECTED tombstoning and archive projection as the single-row endpoints, but with one
+     * batched registry lookup per type and the writes committed in WriteBatch groups (see
+     * {@link SyncRepository#writeBatch}). Results are in {@code ops} order.
+     *
+     * <p>Ops are applied in order, so when several ops touch the same row only the last one
+     * is written — every field is set on each upsert, so the committed row is the same as
+     * applying them one by one — and all of them echo that row.
+     */
+    public SyncBatchResponseDto pushBatch(String uid, List<SyncBatchOp> ops)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        // Last op per (collection, id), in first-seen order
+        Map<String, SyncBatchOp> lastOps = new LinkedHashMap<>();
+        for (SyncBatchOp op : ops) {
+            lastOps.put(op.getCollection() + '/' + op.getId(), op);
+        }
+        List<SyncBatchOp> unique = new ArrayList<>(lastOps.values());
+
+        // F3: one registry lookup per type for every upserted id, instead of one per row
+        Map<String, Map<String, ContentApprovalGate.ApprovalInfo>> infos = new HashMap<>();
+        for (String coll : List.of(SyncRepository.SUBS_COLL, SyncRepository.PLAYLISTS_COLL,
+                SyncRepository.FAVORITES_COLL)) {
+            List<String> ids = unique.stream()
+                    .filter(op -> !op.isDelete() && coll.equals(op.getCollection()))
+                    .map(SyncBatchOp::getId)
+                    .toList();
+            infos.put(coll, ids.isEmpty() ? Map.of() : approvalGate.infosOf(contentTypeOf(coll), ids));
+        }
+
+        List<SyncRepository.BatchWrite> writes = new ArrayList<>(unique.size());
+        for (SyncBatchOp op : unique) {
+            writes.add(toWrite(uid, op, infos.get(op.getCollection()).get(op.getId())));
+        }
+        List<RawRow> committed = repo.writeBatch(uid, writes);
+
+        // SYNC-ECHO-01: project the echoes like the single-row writes, one batch per type
+        Map<String, SyncRowDto> echoes = new HashMap<>();
+        project(unique, committed, SyncRepository.SUBS_COLL, projector::projectSubscriptions,
+                SyncService::toSubscriptionDto, echoes);
+        project(unique, committed, SyncRepository.PLAYLISTS_COLL, projector::projectPlaylists,
+                SyncService::toPlaylistDto, echoes);
+        project(unique, committed, SyncRepository.FAVORITES_COLL, projector::projectFavorites,
+                SyncService::toFavoriteDto, echoes);
+
+        List<SyncBatchResultDto> results = new ArrayList<>(ops.size());
+        for (SyncBatchOp op : ops) {
+            results.add(new SyncBatchResultDto(op.getCollection(), op.getId(),
+                    echoes.get(op.getCollection() + '/' + op.getId())));
+        }
+        return new SyncBatchResponseDto(results);
+    }
+
+    private static SyncRepository.BatchWrite toWrite(String uid, SyncBatchOp op,
+                                                     ContentApprovalGate.ApprovalInfo info) {
+        String coll = op.getCollection();
+        String id = op.getId();
+        // F3: an admin-rejected row is tombstoned, not resurrected — see upsertSubscription
+        if (op.isDelete() || (info != null && "REJECTED".equalsIgnoreCase(info.status()))) {
+            return SyncRepository.BatchWrite.tombstone(coll, id);
+        }
+        Map<String, Object> body = switch (coll) {
+            case SyncRepository.SUBS_COLL -> subscriptionBody(uid, id, op.getSubscription(), info);
+            case SyncRepository.PLAYLISTS_COLL -> playlistBody(uid, id, op.getPlaylist(), info);
+            default -> favoriteBody(uid, id, op.getFavorite(), info);
+        };
+        return new SyncRepository.BatchWrite(coll, id, body);
+    }
+
+    /** Projects {@code coll}'s committed rows and records their DTOs by "collection/id"; failed rows are skipped. */
+    private static void project(List<SyncBatchOp> ops, List<RawRow> committed, String coll,
+                                UnaryOperator<List<RawRow>> projectBatch,
+                                Function<RawRow, ? extends SyncRowDto> toDto, Map<String, SyncRowDto> echoes) {
+        List<RawRow> rows = new ArrayList<>();
+        for (int i = 0; i < ops.size(); i++) {
+            if (coll.equals(ops.get(i).getCollection()) && committed.get(i) != null) {
+                rows.add(committed.get(i));
+            }
+        }
+        if (rows.isEmpty()) return;
+        for (RawRow row : projectBatch.apply(rows)) {
+            echoes.put(coll + '/' + row.id(), toDto.apply(row));
+        }
+    }
+
+    private static YouTubeContentType contentTypeOf(String coll) {
+        return switch (coll) {
+            case SyncRepository.SUBS_COLL -> YouTubeContentType.CHANNEL;
+            case SyncRepository.PLAYLISTS_COLL -> YouTubeContentType.PLAYLIST;
+            default -> YouTubeContentType.VIDEO;
+        };
+    }
 }
@@ -0,0 +1,164 @@
+package com.albunyaan.tube.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FirestoreQueryMetricsTest {
+
+    @Repository
+    static class StubRepository {
+        private static final String COLLECTION_NAME = "stubs";
+
+        public List<String> findByCategory(String category) {
+            return List.of("a", "b", "c");
+        }
+
+        public Optional<String> findById(String id) {
+            return Optional.empty();
+        }
+
+        public long countAll() {
+            return 2500;
+        }
+
+        public void batchSave(List<String> items) {
+        }
+
+        public String findSlow() throws TimeoutException {
+            throw new TimeoutException("deadline");
+        }
+    }
+
+    @Repository
+    static class ContentReportRepository {
+        public void save(String report) {
+        }
+    }
+
+    private SimpleMeterRegistry registry;
+    private MetricsConfig.ApplicationMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new MetricsConfig.ApplicationMetrics(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T instrument(T repository) {
+        FirestoreQueryMetrics postProcessor = new FirestoreQueryMetrics(
+                new StaticListableBeanFactory(Map.of("applicationMetrics", metrics))
+                        .getBeanProvider(MetricsConfig.ApplicationMetrics.class));
+        postProcessor.setBeanFactory(new DefaultListableBeanFactory());
+        return (T) postProcessor.postProcessAfterInitialization(repository, "repository");
+    }
+
+    private double documents(String query) {
+        return registry.get("firestore.query.documents").tag("query", query).summary().totalAmount();
+    }
+
+    @Test
+    void readsAreTimedAndCountedByCollectionOperationAndQuery() {
+        StubRepository repository = instrument(new StubRepository());
+        assertTrue(AopUtils.isAopProxy(repository));
+
+        repository.findByCategory("quran");
+        repository.findById("missing");
+        repository.countAll();
+        repository.batchSave(List.of("x", "y"));
+
+        var timer = registry.get("firestore.query.duration")
+                .tags("collection", "stubs", "operation", "read", "query", "findByCategory", "outcome", "success")
+                .timer();
+        assertEquals(1, timer.count());
+        assertEquals(3.0, documents("findByCategory"));
+        assertNull(registry.find("firestore.query.documents").tag("query", "findById").summary(),
+                "an absent document is not counted");
+        assertEquals(3.0, documents("countAll"), "aggregations bill one read per 1000 entries");
+        assertEquals("write", registry.get("firestore.query.documents").tag("query", "batchSave").summary()
+                .getId().getTag("operation"));
+        assertEquals(2.0, documents("batchSave"));
+    }
+
+    @Test
+    void timeoutsAreTaggedAndCounted() {
+        StubRepository repository = instrument(new StubRepository());
+
+        assertThrows(TimeoutException.class, repository::findSlow);
+
+        assertEquals(1, registry.get("firestore.query.duration").tag("outcome", "timeout").timer().count());
+        assertEquals(1.0, registry.get("firestore.query.timeouts").tag("collection", "stubs").counter().count());
+    }
+
+    @Test
+    void collectionFallsBackToRepositoryName() {
+        instrument(new ContentReportRepository()).save("r");
+
+        assertNotNull(registry.find("firestore.query.duration").tag("collection", "content_report").timer());
+    }
+
+    @Test
+    void operationIsDerivedFromMethodName() {
+        assertEquals("read", FirestoreQueryMetrics.operationOf("findAllByIds"));
+        assertEquals("read", FirestoreQueryMetrics.operationOf("existsById"));
+        assertEquals("count", FirestoreQueryMetrics.operationOf("countByStatus"));
+        assertEquals("write", FirestoreQueryMetrics.operationOf("getOrCreate"));
+        assertEquals("write", FirestoreQueryMetrics.operationOf("markInvisible"));
+    }
+
+    @Test
+    void requestOverReadBudgetIsRecordedByRoute() throws Exception {
+        StubRepository repository = instrument(new StubRepository());
+        FirestoreReadBudgetFilter filter = new FirestoreReadBudgetFilter(metrics, 5);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/content");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/content");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(req));
+                repository.findByCategory("a");
+                repository.findByCategory("b");
+                repository.batchSave(List.of("not", "a", "read"));
+            }
+        }));
+
+        var reads = registry.get("firestore.request.reads").tags("method", "GET", "uri", "/api/v1/content").summary();
+        assertEquals(6.0, reads.totalAmount());
+        assertEquals(1.0, registry.get("firestore.request.read.budget.exceeded").counter().count());
+    }
+
+    @Test
+    void readsOutsideARequestAreNotCharged() {
+        instrument(new StubRepository()).findByCategory("a");
+
+        assertNull(registry.find("firestore.request.reads").summary());
+    }
+}
@@ -0,0 +1,86 @@
+package com.albunyaan.tube.config.cache;
+
+import com.albunyaan.tube.dto.CategoryDto;
+import com.albunyaan.tube.dto.ContentItemDto;
+import com.albunyaan.tube.dto.CursorPageDto;
+import com.albunyaan.tube.model.Category;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheValueCodecTest {
+
+    private final CacheValueCodec codec = new CacheValueCodec();
+
+    @Test
+    void cursorPageOfContentItemsRoundTrips() throws IOException {
+        ContentItemDto video = ContentItemDto.video("v1", "Tafsir Al-Fatiha", "cat-1", 620, 3,
+                "دروس في التفسير", "https://i.ytimg.com/v1.jpg", 12_345L, "Channel", List.of("tafsir"));
+        ContentItemDto channel = ContentItemDto.channel("c1", "Channel", null, 9_000L, null, null, 12, null);
+        CursorPageDto<ContentItemDto> page = new CursorPageDto<>(List.of(video, channel), "next-cursor", 40, null);
+
+        @SuppressWarnings("unchecked")
+        CursorPageDto<ContentItemDto> decoded = (CursorPageDto<ContentItemDto>) codec.decode(codec.encode(page));
+
+        assertEquals("next-cursor", decoded.getPageInfo().getNextCursor());
+        assertTrue(decoded.getPageInfo().isHasNext());
+        assertEquals(40, decoded.getPageInfo().getTotalCount());
+        assertNull(decoded.getPageInfo().getTruncated());
+        assertEquals(2, decoded.getData().size());
+
+        ContentItemDto v = decoded.getData().get(0);
+        assertEquals("VIDEO", v.getType());
+        assertEquals("دروس في التفسير", v.getDescription());
+        assertEquals(620, v.getDurationSeconds());
+        assertEquals(12_345L, v.getViewCount());
+        assertEquals(List.of("tafsir"), v.getKeywords());
+        ContentItemDto c = decoded.getData().get(1);
+        assertEquals(9_000L, c.getSubscribers());
+        assertNull(c.getDescription());
+        assertNull(c.getKeywords());
+    }
+
+    @Test
+    void encodingIsMuchSmallerThanJson() throws Exception {
+        ContentItemDto item = ContentItemDto.video("v1", "Title", "cat", 60, 1, "desc", "thumb", 1L, "ch", null);
+        CursorPageDto<ContentItemDto> page = new CursorPageDto<>(java.util.Collections.nCopies(20, item), null);
+
+        int binary = codec.encode(page).length;
+        int json = new com.fasterxml.jackson.databind.ObjectMapper().writeValueAsBytes(page).length;
+
+        assertTrue(binary < json * 0.7, "binary=" + binary + " json=" + json);
+    }
+
+    @Test
+    void responseEntityWithAllowListedJsonBodyRoundTrips() throws IOException {
+        CategoryDto category = new CategoryDto("cat-1", "Quran", "quran", null);
+        ResponseEntity<List<CategoryDto>> entity = ResponseEntity.ok(List.of(category));
+
+        ResponseEntity<?> decoded = (ResponseEntity<?>) codec.decode(codec.encode(entity));
+
+        assertEquals(200, decoded.getStatusCode().value());
+        CategoryDto body = (CategoryDto) ((List<?>) decoded.getBody()).get(0);
+        assertEquals("quran", body.getSlug());
+    }
+
+    @Test
+    void unsupportedValuesAreNotEncoded() {
+        assertNull(codec.encode(List.of(new Category())));
+        assertNull(codec.encode(new Object()));
+    }
+
+    @Test
+    void rejectsForeignFormatVersionAndTruncatedData() {
+        byte[] encoded = codec.encode("value");
+        byte[] otherVersion = encoded.clone();
+        otherVersion[0] = (byte) (CacheValueCodec.FORMAT_VERSION + 1);
+
+        assertThrows(IOException.class, () -> codec.decode(otherVersion));
+        assertThrows(IOException.class, () -> codec.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+    }
+}
@@ -0,0 +1,231 @@
+package com.albunyaan.tube.config.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaleWhileRevalidateCacheTest {
+
+    private ExecutorService refreshExecutor;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        refreshExecutor = Executors.newSingleThreadExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private StaleWhileRevalidateCache cache(Duration ttl, Duration maxStale) {
+        return new StaleWhileRevalidateCache("public-content", ttl, maxStale, 100, refreshExecutor, meterRegistry);
+    }
+
+    private double count(String metric, String result) {
+        var search = meterRegistry.find(metric).tag("cache", "public-content");
+        if (result != null) search = search.tag("result", result);
+        return search.counter().count();
+    }
+
+    private void drainRefreshes() throws Exception {
+        refreshExecutor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void clearedEntryIsServedStaleWhileOneRefreshRecomputesIt() throws Exception {
+        StaleWhileRevalidateCache cache = cache(Duration.ofHours(1), Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals("v1", cache.get("HOME", () -> "v" + loads.incrementAndGet()));
+
+        cache.clear();
+
+        assertNull(cache.get("HOME"), "plain get only returns fresh entries");
+        assertEquals("v1", cache.get("HOME", () -> "v" + loads.incrementAndGet()));
+        drainRefreshes();
+        assertEquals("v2", cache.get("HOME", () -> "v" + loads.incrementAndGet()));
+        assertEquals(2, loads.get());
+        assertEquals(1.0, count("cache.swr.stale.served", null));
+        assertEquals(1.0, count("cache.swr.refreshes", "success"));
+    }
+
+    @Test
+    void onlyOneBackgroundRefreshPerKey() throws Exception {
+        StaleWhileRevalidateCache cache = cache(Duration.ofHours(1), Duration.ofMinutes(1));
+        cache.put("HOME", "old");
+        cache.evict("HOME");
+
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            assertEquals("old", cache.get("HOME", () -> {
+                loads.incrementAndGet();
+                release.await();
+                return "new";
+            }));
+        }
+        release.countDown();
+        drainRefreshes();
+
+        assertEquals(1, loads.get());
+        assertEquals("new", cache.get("HOME", () -> "unused"));
+    }
+
+    @Test
+    void concurrentMissesCoalesceOntoOneComputation() throws Exception {
+        StaleWhileRevalidateCache cache = cache(Duration.ofHours(1), Duration.ofMinutes(1));
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> cache.get("HOME", () -> {
+                    loads.incrementAndGet();
+                    started.countDown();
+                    release.await();
+                    return "value";
+                })));
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            // Let the other callers reach the in-flight future before releasing the loader
+            long deadline = System.currentTimeMillis() + 5000;
+            while (count("cache.swr.coalesced.waiters", null) < 7 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("value", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(7.0, count("cache.swr.coalesced.waiters", null));
+    }
+
+    @Test
+    void loaderFailureReachesEveryCoalescedCaller() {
+        StaleWhileRevalidateCache cache = cache(Duration.ofHours(1), Duration.ofMinutes(1));
+        IllegalStateException boom = new IllegalStateException("firestore down");
+
+        Cache.ValueRetrievalException thrown = assertThrows(Cache.ValueRetrievalException.class,
+                () -> cache.get("HOME", () -> { throw boom; }));
+
+        assertSame(boom, thrown.getCause());
+        // Nothing cached, next caller retries
+        assertEquals("ok", cache.get("HOME", () -> "ok"));
+    }
+
+    @Test
+    void refreshStartedBeforeAnEvictionIsNotTreatedAsFresh() throws Exception {
+        StaleWhileRevalidateCache cache = cache(Duration.ofHours(1), Duration.ofMinutes(1));
+        cache.put("HOME", "v1");
+        cache.clear();
+
+        CountDownLatch inLoader = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        assertEquals("v1", cache.get("HOME", () -> {
+            inLoader.countDown();
+            release.await();
+            return "computed-before-evict";
+        }));
+        assertTrue(inLoader.await(5, TimeUnit.SECONDS));
+        cache.evict("HOME"); // moderation change lands mid-refresh
+        release.countDown();
+        drainRefreshes();
+
+        assertNull(cache.get("HOME"));
+        assertEquals("computed-before-evict", cache.get("HOME", () -> "after-evict"));
+        drainRefreshes();
+        assertEquals("after-evict", cache.get("HOME", () -> "unused"));
+    }
+
+    @Test
+    void entriesStaleLongerThanMaxStaleAreRecomputedInline() throws Exception {
+        StaleWhileRevalidateCache cache = cache(Duration.ofMillis(20), Duration.ofMillis(20));
+        cache.put("HOME", "old");
+
+        Thread.sleep(60);
+
+        assertEquals("new", cache.get("HOME", () -> "new"));
+        assertEquals(0.0, count("cache.swr.stale.served", null));
+    }
+
+    @Test
+    void rejectedRefreshKeepsServingStale() {
+        StaleWhileRevalidateCache cache = new StaleWhileRevalidateCache("public-content", Duration.ofHours(1),
+                Duration.ofMinutes(1), 100, task -> { throw new RejectedExecutionException("full"); }, meterRegistry);
+        cache.put("HOME", "old");
+        cache.clear();
+
+        assertEquals("old", cache.get("HOME", () -> "new"));
+        assertEquals("old", cache.get("HOME", () -> "new"));
+        assertEquals(2.0, count("cache.swr.refreshes", "rejected"));
+    }
+
+    @Test
+    void evictDependentsOnlyStalesEntriesBuiltFromTheChangedScope() throws Exception {
+        StaleWhileRevalidateCache cache = cache(Duration.ofHours(1), Duration.ofMinutes(1));
+        cache.get("cat-a", () -> { CacheDependencies.declare("ORDER", "a"); return "A"; });
+        cache.get("cat-b", () -> { CacheDependencies.declare("ORDER", "b"); return "B"; });
+        cache.get("all", () -> { CacheDependencies.declare("ORDER", (String) null); return "ALL"; });
+        cache.get("untagged", () -> "U");
+
+        cache.evictDependents("ORDER", Set.of("a"));
+
+        assertNull(cache.get("cat-a"));
+        assertNotNull(cache.get("cat-b"), "other categories stay warm");
+        assertNull(cache.get("all"), "any-scope dependency matches every category");
+        assertNull(cache.get("untagged"), "untagged entries are conservatively evicted");
+        // Evicted entries are still served stale while they refresh
+        assertEquals("A", cache.get("cat-a", () -> "A2"));
+        drainRefreshes();
+        assertEquals("A2", cache.get("cat-a", () -> "unused"));
+
+        cache.evictDependents("VIDEO", null);
+        assertNotNull(cache.get("cat-b"), "entry has no VIDEO dependency");
+    }
+
+    @Test
+    void loadRacingWithDependencyEvictionIsStoredStale() throws Exception {
+        StaleWhileRevalidateCache cache = cache(Duration.ofHours(1), Duration.ofMinutes(1));
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        CountDownLatch inLoader = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Future<String> result = caller.submit(() -> cache.get("cat-a", () -> {
+                CacheDependencies.declare("ORDER", "a");
+                inLoader.countDown();
+                release.await();
+                return "computed-before-reorder";
+            }));
+            assertTrue(inLoader.await(5, TimeUnit.SECONDS));
+            cache.evictDependents("ORDER", Set.of("a"));
+            release.countDown();
+            assertEquals("computed-before-reorder", result.get(5, TimeUnit.SECONDS));
+        } finally {
+            caller.shutdownNow();
+        }
+        assertNull(cache.get("cat-a"));
+    }
+}
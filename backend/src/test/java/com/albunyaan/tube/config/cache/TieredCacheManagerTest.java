@@ -0,0 +1,197 @@
+package com.albunyaan.tube.config.cache;
+
+import com.albunyaan.tube.config.CacheConfig;
+import com.albunyaan.tube.config.TieredCacheProperties;
+import com.albunyaan.tube.dto.ContentItemDto;
+import com.albunyaan.tube.dto.CursorPageDto;
+import com.albunyaan.tube.model.Category;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import redis.embedded.RedisServer;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Two TieredCacheManagers (two "nodes") sharing one embedded Redis.
+ */
+class TieredCacheManagerTest {
+
+    private RedisServer redis;
+    private final List<LettuceConnectionFactory> factories = new ArrayList<>();
+    private final List<TieredCacheManager> managers = new ArrayList<>();
+    private int port;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        try {
+            redis = new RedisServer(port);
+            redis.start();
+        } catch (Exception e) {
+            redis = null;
+        }
+        assumeTrue(redis != null && redis.isActive(), "embedded Redis binary not runnable on this platform");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (TieredCacheManager manager : managers) manager.destroy();
+        for (LettuceConnectionFactory factory : factories) factory.destroy();
+        if (redis != null && redis.isActive()) redis.stop();
+    }
+
+    private TieredCacheManager node() {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", port),
+                LettuceClientConfiguration.builder().commandTimeout(Duration.ofMillis(500)).build());
+        factory.afterPropertiesSet();
+        factory.start();
+        factories.add(factory);
+
+        TieredCacheProperties properties = new TieredCacheProperties();
+        properties.setEnabled(true);
+        properties.setFailureBackoff(Duration.ofMillis(200));
+        CaffeineCacheManager local = new CaffeineCacheManager(
+                CacheConfig.CACHE_PUBLIC_CONTENT, CacheConfig.CACHE_PUBLIC_CONTENT_SEARCH,
+                CacheConfig.CACHE_CATEGORY_TREE, CacheConfig.CACHE_CHANNELS);
+
+        TieredCacheManager manager = new TieredCacheManager(local, factory, properties, new SimpleMeterRegistry());
+        manager.afterPropertiesSet();
+        managers.add(manager);
+        return manager;
+    }
+
+    private static CursorPageDto<ContentItemDto> page(String title) {
+        return new CursorPageDto<>(List.of(ContentItemDto.playlist("p1", title, null, 3, null, null, null)), "c2");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String firstTitle(Cache.ValueWrapper wrapper) {
+        return ((CursorPageDto<ContentItemDto>) wrapper.get()).getData().get(0).getTitle();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("condition not met within 5s");
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void valueWrittenOnOneNodeIsServedFromRedisOnAnother() {
+        Cache a = node().getCache(CacheConfig.CACHE_PUBLIC_CONTENT);
+        Cache b = node().getCache(CacheConfig.CACHE_PUBLIC_CONTENT);
+
+        a.put("HOME-1", page("Seerah"));
+
+        Cache.ValueWrapper hit = b.get("HOME-1");
+        assertNotNull(hit);
+        assertEquals("Seerah", firstTitle(hit));
+        // Promoted into B's L1
+        assertNotNull(((TieredCache) b).local().get("HOME-1"));
+    }
+
+    @Test
+    void clearOnOneNodeDropsOtherNodesNearCacheAndSharedEntries() throws Exception {
+        Cache a = node().getCache(CacheConfig.CACHE_PUBLIC_CONTENT);
+        Cache b = node().getCache(CacheConfig.CACHE_PUBLIC_CONTENT);
+        a.put("HOME-1", page("Old"));
+        assertNotNull(b.get("HOME-1"));
+
+        a.clear();
+
+        await(() -> ((TieredCache) b).local().get("HOME-1") == null);
+        assertNull(b.get("HOME-1"));
+        assertNull(a.get("HOME-1"));
+    }
+
+    @Test
+    void evictOnOneNodePropagates() throws Exception {
+        Cache a = node().getCache(CacheConfig.CACHE_CATEGORY_TREE);
+        Cache b = node().getCache(CacheConfig.CACHE_CATEGORY_TREE);
+        a.put("public-categories", List.of());
+        assertNotNull(b.get("public-categories"));
+
+        a.evict("public-categories");
+
+        await(() -> ((TieredCache) b).local().get("public-categories") == null);
+        assertNull(b.get("public-categories"));
+    }
+
+    @Test
+    void nodeThatMissedClearMessageConvergesOnGenerationPoll() {
+        TieredCacheManager managerB = node();
+        Cache a = node().getCache(CacheConfig.CACHE_PUBLIC_CONTENT);
+        TieredCache b = (TieredCache) managerB.getCache(CacheConfig.CACHE_PUBLIC_CONTENT);
+        a.put("HOME-1", page("Old"));
+        assertNotNull(b.get("HOME-1"));
+
+        // Simulate a lost pub/sub message: bump the generation without publishing
+        factories.get(0).getConnection().stringCommands()
+                .incr("albunyaan:cache:public-content:gen".getBytes());
+        managerB.refreshGenerations();
+
+        assertNull(b.local().get("HOME-1"));
+        assertNull(b.get("HOME-1"));
+    }
+
+    @Test
+    void untieredAndUnencodableValuesStayLocal() {
+        TieredCacheManager managerA = node();
+        TieredCacheManager managerB = node();
+
+        assertFalse(managerA.getCache(CacheConfig.CACHE_CHANNELS) instanceof TieredCache);
+
+        managerA.getCache(CacheConfig.CACHE_CATEGORY_TREE).put("all", List.of(new Category()));
+        assertNotNull(managerA.getCache(CacheConfig.CACHE_CATEGORY_TREE).get("all"));
+        assertNull(managerB.getCache(CacheConfig.CACHE_CATEGORY_TREE).get("all"));
+    }
+
+    @Test
+    void redisOutageDegradesToLocalCache() {
+        Cache a = node().getCache(CacheConfig.CACHE_PUBLIC_CONTENT_SEARCH);
+        redis.stop();
+
+        a.put("quran-all-20", page("Local"));
+        assertEquals("Local", firstTitle(a.get("quran-all-20")));
+        assertNull(a.get("missing"));
+        assertDoesNotThrow(a::clear);
+    }
+
+    @Test
+    void evictDependentsDropsOnlyMatchingEntriesOnEveryNode() throws Exception {
+        Cache a = node().getCache(CacheConfig.CACHE_PUBLIC_CONTENT);
+        TieredCache b = (TieredCache) node().getCache(CacheConfig.CACHE_PUBLIC_CONTENT);
+        a.get("home-cat-a", () -> { CacheDependencies.declare("ORDER", "a"); return page("A"); });
+        a.get("home-cat-b", () -> { CacheDependencies.declare("ORDER", "b"); return page("B"); });
+        assertNotNull(b.get("home-cat-a"));
+        assertNotNull(b.get("home-cat-b"));
+
+        ((DependencyAwareCache) a).evictDependents("ORDER", Set.of("a"));
+
+        // B's L1 copies came from Redis untagged, so both are dropped locally...
+        await(() -> b.local().get("home-cat-a") == null);
+        // ...but only the dependent entry is gone from the shared tier
+        assertNull(b.get("home-cat-a"));
+        assertEquals("B", firstTitle(b.get("home-cat-b")));
+        assertEquals("B", firstTitle(a.get("home-cat-b")));
+    }
+}
@@ -87,9 +87,9 @@ class DownloadControllerTest {
     @Test
     void trackDownloadFailed_shouldTrackEvent() {
         DownloadFailedEventDto event = new DownloadFailedEventDto("video-123", "Network error", "mobile");
-        ResponseEntity<Void> response = downloadController.trackDownloadFailed(event, testUser);
+        ResponseEntity<Void> response = downloadController.trackDownloadFailed(event, testUser, "device-1");
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
-        verify(downloadService).trackDownloadFailed("video-123", "user-123", "Network error", "mobile");
+        verify(downloadService).trackDownloadFailed("video-123", "user-123", "device-1", "Network error", "mobile");
     }
 }
 
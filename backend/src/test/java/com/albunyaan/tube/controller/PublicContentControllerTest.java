@@ -1,7 +1,9 @@
 package com.albunyaan.tube.controller;
 
 import com.albunyaan.tube.dto.ChannelDetailsDto;
+import com.albunyaan.tube.dto.ContentItemDto;
 import com.albunyaan.tube.dto.CursorPageDto;
+import com.albunyaan.tube.dto.HomeCategoryDto;
 import com.albunyaan.tube.dto.PlaylistDetailsDto;
 import com.albunyaan.tube.exception.GlobalExceptionHandler;
 import com.albunyaan.tube.exception.ContentGoneException;
@@ -21,8 +23,14 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -219,6 +227,51 @@ public class PublicContentControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("GET /api/v1/content - Unchanged page revalidates with 304")
+    void testGetContent_IfNoneMatchReturnsNotModified() throws Exception {
+        CursorPageDto page = new CursorPageDto(Collections.emptyList(), null);
+        when(contentService.getContent(
+                anyString(), any(), anyInt(), any(), any(), any(), any(), any()))
+                .thenReturn(page);
+
+        String etag = mockMvc.perform(get("/api/v1/content"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/content").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/home - Pre-gzipped body when the client accepts gzip")
+    void testGetHomeFeed_GzipWhenAccepted() throws Exception {
+        List<ContentItemDto> items = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            items.add(ContentItemDto.playlist("p" + i, "Playlist " + i, null, 3, null, null, null));
+        }
+        CursorPageDto<HomeCategoryDto> feed = new CursorPageDto<>(List.of(new HomeCategoryDto(
+                "c1", "Quran", "quran", null, 0, null, items, items.size())), null);
+        when(contentService.getHomeFeed(any(), anyInt(), anyInt(), any())).thenReturn(feed);
+
+        String plain = mockMvc.perform(get("/api/v1/home"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn().getResponse().getContentAsString();
+
+        byte[] gzipped = mockMvc.perform(get("/api/v1/home").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", org.hamcrest.Matchers.hasItem(
+                        org.hamcrest.Matchers.containsString("Accept-Encoding"))))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertEquals(plain, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
     @Test
     @DisplayName("GET /api/v1/categories - Success")
     void testGetCategories_Success() throws Exception {
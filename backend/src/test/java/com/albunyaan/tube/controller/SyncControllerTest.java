@@ -4,6 +4,10 @@ import com.albunyaan.tube.dto.sync.FavoriteSyncDto;
 import com.albunyaan.tube.dto.sync.PlaylistSyncDto;
 import com.albunyaan.tube.dto.sync.PutSubscriptionRequest;
 import com.albunyaan.tube.dto.sync.SubscriptionSyncDto;
+import com.albunyaan.tube.dto.sync.SyncBatchOp;
+import com.albunyaan.tube.dto.sync.SyncBatchRequest;
+import com.albunyaan.tube.dto.sync.SyncBatchResponseDto;
+import com.albunyaan.tube.dto.sync.SyncBatchResultDto;
 import com.albunyaan.tube.dto.sync.SyncCursors;
 import com.albunyaan.tube.dto.sync.SyncPageDto;
 import com.albunyaan.tube.dto.sync.SyncResponseDto;
@@ -28,12 +32,19 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -90,6 +101,68 @@ class SyncControllerTest {
                 .andExpect(jsonPath("$.favorites.items").isArray());
     }
 
+    @Test
+    void getSyncWithNdjsonAcceptStreamsOneLinePerRowAndEndsWithDone() throws Exception {
+        SubscriptionSyncDto sub = new SubscriptionSyncDto();
+        sub.setEntityId("UC1");
+        sub.setUpdatedAt(10L);
+        doAnswer(invocation -> {
+            SyncService.RowSink sink = invocation.getArgument(2);
+            sink.row("subscriptions", sub);
+            sink.pageEnd("subscriptions", 10L, "UC1");
+            sink.pageEnd("playlists", null, null);
+            return null;
+        }).when(service).pull(eq(TEST_UID), any(SyncCursors.class), any(SyncService.RowSink.class));
+
+        String body = mvc.perform(get("/api/account/sync").accept("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertEquals(4, lines.size());
+        assertEquals("row", json.readTree(lines.get(0)).get("type").asText());
+        assertEquals("UC1", json.readTree(lines.get(0)).get("item").get("entityId").asText());
+        assertEquals(10L, json.readTree(lines.get(1)).get("nextCursor").asLong());
+        assertFalse(json.readTree(lines.get(2)).has("nextCursor"));
+        assertEquals("{\"type\":\"done\"}", lines.get(3));
+    }
+
+    @Test
+    void getSyncWithNdjsonAcceptRejectsBadCursorId() throws Exception {
+        mvc.perform(get("/api/account/sync").param("subs_id", "a/b").accept("application/x-ndjson"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getSyncPassesProtocolAndSnapshotModeThrough() throws Exception {
+        when(service.pull(eq(TEST_UID), any(SyncCursors.class)))
+                .thenReturn(new SyncResponseDto(
+                        new SyncPageDto<>(List.of(), null),
+                        new SyncPageDto<>(List.of(), null),
+                        new SyncPageDto<>(List.of(), null)));
+
+        mvc.perform(get("/api/account/sync").param("v", "2").param("subs", "5")
+                        .param("subs_id", "UC1").param("subs_mode", "SNAPSHOT"))
+                .andExpect(status().isOk());
+
+        org.mockito.ArgumentCaptor<SyncCursors> cursors = org.mockito.ArgumentCaptor.forClass(SyncCursors.class);
+        org.mockito.Mockito.verify(service).pull(eq(TEST_UID), cursors.capture());
+        assertEquals(SyncCursors.PROTOCOL_SNAPSHOT, cursors.getValue().getProtocol());
+        assertTrue(cursors.getValue().isSubscriptionsSnapshot());
+        assertFalse(cursors.getValue().isPlaylistsSnapshot());
+    }
+
+    @Test
+    void getSyncRejectsSnapshotModeWithoutProtocol2() throws Exception {
+        mvc.perform(get("/api/account/sync").param("subs_mode", "SNAPSHOT"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/account/sync").param("v", "2").param("favorites_mode", "full"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/account/sync").param("v", "3"))
+                .andExpect(status().isBadRequest());
+    }
+
     // ── Test 2: PUT /subscriptions/{id} delegates to service ───────────────
 
     @Test
@@ -152,4 +225,58 @@ class SyncControllerTest {
                 .andExpect(jsonPath("$.deleted").value(true))
                 .andExpect(jsonPath("$.entityId").value("fav1"));
     }
+
+    // ── Test 5: POST /sync/batch ───────────────────────────────────────────
+
+    @Test
+    void postSyncBatchReturnsOneResultPerOp() throws Exception {
+        PutSubscriptionRequest sub = new PutSubscriptionRequest();
+        sub.setChannelUrl("u");
+        sub.setName("n");
+        sub.setSubscribedAt(100L);
+        SyncBatchOp upsert = new SyncBatchOp();
+        upsert.setOp(SyncBatchOp.OP_UPSERT);
+        upsert.setCollection("subscriptions");
+        upsert.setId("ch1");
+        upsert.setSubscription(sub);
+
+        SubscriptionSyncDto echo = new SubscriptionSyncDto();
+        echo.setEntityId("ch1");
+        echo.setUpdatedAt(500L);
+        when(service.pushBatch(eq(TEST_UID), anyList())).thenReturn(new SyncBatchResponseDto(List.of(
+                new SyncBatchResultDto("subscriptions", "ch1", echo),
+                new SyncBatchResultDto("favorites", "v1", null))));
+
+        mvc.perform(post("/api/account/sync/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsString(new SyncBatchRequest(List.of(
+                                upsert, SyncBatchOp.delete("favorites", "v1"))))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value("ok"))
+                .andExpect(jsonPath("$.results[0].item.updatedAt").value(500))
+                .andExpect(jsonPath("$.results[1].status").value("failed"))
+                .andExpect(jsonPath("$.results[1].item").doesNotExist());
+    }
+
+    @Test
+    void postSyncBatchRejectsUpsertWithoutItsBody() throws Exception {
+        SyncBatchOp upsert = new SyncBatchOp();
+        upsert.setOp(SyncBatchOp.OP_UPSERT);
+        upsert.setCollection("favorites");
+        upsert.setId("v1");
+
+        mvc.perform(post("/api/account/sync/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsString(new SyncBatchRequest(List.of(upsert)))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void postSyncBatchRejectsIdWithSlash() throws Exception {
+        mvc.perform(post("/api/account/sync/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsString(new SyncBatchRequest(List.of(
+                                SyncBatchOp.delete("favorites", "a/b"))))))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -26,6 +26,9 @@ import static org.junit.jupiter.api.Assertions.*;
  * - Multiple instances share breaker state
  * - Stale OPEN state transitions to HALF_OPEN on startup
  * - Optimistic locking prevents race conditions
+ *
+ * State changes are written by the breaker's background publisher, so assertions on the
+ * stored document wait for it ({@link #awaitStored}).
  */
 public class CircuitBreakerIntegrationTest extends BaseIntegrationTest {
 
@@ -62,6 +65,15 @@ public class CircuitBreakerIntegrationTest extends BaseIntegrationTest {
         return props;
     }
 
+    private Map<String, Object> awaitStored(String expectedState) {
+        await().atMost(Duration.ofSeconds(10))
+                .pollInterval(Duration.ofMillis(100))
+                .until(() -> systemSettingsRepository.load("youtube_circuit_breaker")
+                        .map(data -> expectedState.equals(data.get("state")))
+                        .orElse(false));
+        return systemSettingsRepository.load("youtube_circuit_breaker").orElseThrow();
+    }
+
     @Test
     @DisplayName("Circuit breaker state should survive restart (Firestore persistence)")
     void circuitBreakerState_shouldSurviveRestart() {
@@ -74,6 +86,7 @@ public class CircuitBreakerIntegrationTest extends BaseIntegrationTest {
 
         assertTrue(breaker1.isOpen(), "Breaker 1 should be open after rate limit error");
         assertEquals(YouTubeCircuitBreaker.State.OPEN, breaker1.getCurrentState());
+        awaitStored("OPEN");
 
         // Act - simulate restart by creating new instance
         YouTubeCircuitBreaker breaker2 = new YouTubeCircuitBreaker(validationProperties, systemSettingsRepository);
@@ -102,9 +115,8 @@ public class CircuitBreakerIntegrationTest extends BaseIntegrationTest {
         breaker1.recordRateLimitError(rateLimitError);
 
         // Assert - instance 2 should see the open state from Firestore.
-        // YouTubeCircuitBreaker refreshes from Firestore at most every 5 seconds
-        // (REFRESH_INTERVAL_MS), so poll up to ~10 seconds to allow the refresh
-        // window to elapse before isOpen() re-reads persisted state.
+        // The write is published in the background and reaches instance 2 through its
+        // snapshot listener, so poll until it arrives.
         assertTrue(breaker1.isOpen(), "Breaker 1 should be open");
         await().atMost(Duration.ofSeconds(10))
                 .pollInterval(Duration.ofMillis(500))
@@ -147,11 +159,7 @@ public class CircuitBreakerIntegrationTest extends BaseIntegrationTest {
         breaker.recordRateLimitError(rateLimitError);
 
         // Assert - verify state is persisted in Firestore
-        Optional<Map<String, Object>> stored = systemSettingsRepository.load("youtube_circuit_breaker");
-        assertTrue(stored.isPresent(), "State should be persisted to Firestore");
-
-        Map<String, Object> data = stored.get();
-        assertEquals("OPEN", data.get("state"));
+        Map<String, Object> data = awaitStored("OPEN");
         assertNotNull(data.get("openedAtEpoch"));
         assertNotNull(data.get("cooldownUntilEpoch"));
         assertEquals(0, ((Number) data.get("backoffLevel")).intValue());
@@ -184,9 +192,7 @@ public class CircuitBreakerIntegrationTest extends BaseIntegrationTest {
         assertFalse(breaker.isOpen());
 
         // Verify persisted state
-        Optional<Map<String, Object>> stored = systemSettingsRepository.load("youtube_circuit_breaker");
-        assertTrue(stored.isPresent());
-        assertEquals("CLOSED", stored.get().get("state"));
+        awaitStored("CLOSED");
     }
 
     @Test
@@ -216,10 +222,8 @@ public class CircuitBreakerIntegrationTest extends BaseIntegrationTest {
         assertTrue(breaker.isOpen());
 
         // Verify backoff level increased
-        Optional<Map<String, Object>> stored = systemSettingsRepository.load("youtube_circuit_breaker");
-        assertTrue(stored.isPresent());
-        assertEquals("OPEN", stored.get().get("state"));
-        assertEquals(2, ((Number) stored.get().get("backoffLevel")).intValue(),
+        Map<String, Object> stored = awaitStored("OPEN");
+        assertEquals(2, ((Number) stored.get("backoffLevel")).intValue(),
                 "Backoff level should increase from 1 to 2");
     }
 
@@ -272,9 +276,7 @@ public class CircuitBreakerIntegrationTest extends BaseIntegrationTest {
         assertEquals(2, successCount.get(), "Both updates should succeed (with retries)");
 
         // Final state should be OPEN
-        Optional<Map<String, Object>> stored = systemSettingsRepository.load("youtube_circuit_breaker");
-        assertTrue(stored.isPresent());
-        assertEquals("OPEN", stored.get().get("state"));
+        awaitStored("OPEN");
     }
 
     @Test
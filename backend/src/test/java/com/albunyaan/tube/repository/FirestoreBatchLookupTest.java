@@ -0,0 +1,227 @@
+package com.albunyaan.tube.repository;
+
+import com.albunyaan.tube.config.FirestoreTimeoutProperties;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class FirestoreBatchLookupTest {
+
+    private CollectionReference collection;
+    private FirestoreTimeoutProperties timeouts;
+    /** Values of every whereIn chunk dispatched, in dispatch order. */
+    private final List<List<String>> dispatched = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        collection = mock(CollectionReference.class);
+        when(collection.getPath()).thenReturn("videos");
+        timeouts = new FirestoreTimeoutProperties();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static List<String> ids(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "yt-" + i).toList();
+    }
+
+    private static QueryDocumentSnapshot doc(String youtubeId) {
+        QueryDocumentSnapshot doc = mock(QueryDocumentSnapshot.class);
+        lenient().when(doc.exists()).thenReturn(true);
+        lenient().when(doc.get("youtubeId")).thenReturn(youtubeId);
+        lenient().when(doc.getId()).thenReturn("doc-" + youtubeId);
+        return doc;
+    }
+
+    /** Every chunk answers immediately with one document per value, in reverse order. */
+    @SuppressWarnings("unchecked")
+    private void answerAllChunks() {
+        when(collection.whereIn(eq("youtubeId"), anyList())).thenAnswer(invocation -> {
+            List<String> chunk = new ArrayList<>((List<String>) invocation.getArgument(1));
+            dispatched.add(chunk);
+            List<QueryDocumentSnapshot> docs = new ArrayList<>(chunk.stream().map(FirestoreBatchLookupTest::doc).toList());
+            Collections.reverse(docs);
+            QuerySnapshot snapshot = mock(QuerySnapshot.class);
+            when(snapshot.getDocuments()).thenReturn(docs);
+            Query query = mock(Query.class);
+            when(query.get()).thenReturn(ApiFutures.immediateFuture(snapshot));
+            return query;
+        });
+    }
+
+    private static List<String> youtubeIds(List<DocumentSnapshot> docs) {
+        return docs.stream().map(d -> (String) d.get("youtubeId")).toList();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("condition not met within 5s");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void whereIn_splitsIntoChunksOf30AndReturnsResultsInValueOrder() throws Exception {
+        answerAllChunks();
+
+        List<DocumentSnapshot> docs = FirestoreBatchLookup.whereIn(collection, "youtubeId", ids(65), timeouts, 5, null);
+
+        assertEquals(List.of(30, 30, 5), dispatched.stream().map(List::size).toList());
+        assertEquals(ids(65), youtubeIds(docs));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whereIn_keepsAtMostLookupConcurrencyChunksInFlight() throws Exception {
+        timeouts.setLookupConcurrency(2);
+        List<SettableApiFuture<QuerySnapshot>> futures = new CopyOnWriteArrayList<>();
+        when(collection.whereIn(eq("youtubeId"), anyList())).thenAnswer(invocation -> {
+            dispatched.add(new ArrayList<>((List<String>) invocation.getArgument(1)));
+            SettableApiFuture<QuerySnapshot> future = SettableApiFuture.create();
+            futures.add(future);
+            Query query = mock(Query.class);
+            when(query.get()).thenReturn(future);
+            return query;
+        });
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<DocumentSnapshot>> result = caller.submit(
+                    () -> FirestoreBatchLookup.whereIn(collection, "youtubeId", ids(90), timeouts, 5, null));
+
+            await(() -> futures.size() == 2);
+            Thread.sleep(50);
+            assertEquals(2, futures.size(), "third chunk waits for a free slot");
+
+            for (int i = 0; i < 3; i++) {
+                int index = i;
+                await(() -> futures.size() > index);
+                List<QueryDocumentSnapshot> docs = dispatched.get(i).stream().map(FirestoreBatchLookupTest::doc).toList();
+                QuerySnapshot snapshot = mock(QuerySnapshot.class);
+                when(snapshot.getDocuments()).thenReturn(docs);
+                futures.get(i).set(snapshot);
+            }
+
+            assertEquals(ids(90), youtubeIds(result.get(5, TimeUnit.SECONDS)));
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whereIn_failedChunkIsSkippedWithHandlerAndThrownWithout() throws Exception {
+        when(collection.whereIn(eq("youtubeId"), anyList())).thenAnswer(invocation -> {
+            List<String> chunk = (List<String>) invocation.getArgument(1);
+            Query query = mock(Query.class);
+            if (chunk.contains("yt-0")) {
+                when(query.get()).thenReturn(ApiFutures.immediateFailedFuture(new IllegalStateException("unavailable")));
+            } else {
+                List<QueryDocumentSnapshot> docs = chunk.stream().map(FirestoreBatchLookupTest::doc).toList();
+                QuerySnapshot snapshot = mock(QuerySnapshot.class);
+                when(snapshot.getDocuments()).thenReturn(docs);
+                when(query.get()).thenReturn(ApiFutures.immediateFuture(snapshot));
+            }
+            return query;
+        });
+        List<Exception> failures = new ArrayList<>();
+
+        List<DocumentSnapshot> docs = FirestoreBatchLookup.whereIn(collection, "youtubeId", ids(40), timeouts, 5, failures::add);
+
+        assertEquals(ids(40).subList(30, 40), youtubeIds(docs));
+        assertEquals(1, failures.size());
+        assertThrows(ExecutionException.class,
+                () -> FirestoreBatchLookup.whereIn(collection, "youtubeId", ids(40), timeouts, 5, null));
+    }
+
+    @Test
+    void whereIn_getRequestMemoizesFoundAndMissingValues() throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/v1/search")));
+        answerAllChunks();
+
+        FirestoreBatchLookup.whereIn(collection, "youtubeId", List.of("yt-0", "yt-1"), timeouts, 5, null);
+        List<DocumentSnapshot> docs = FirestoreBatchLookup.whereIn(
+                collection, "youtubeId", List.of("yt-1", "yt-2", "yt-0"), timeouts, 5, null);
+
+        assertEquals(List.of(List.of("yt-0", "yt-1"), List.of("yt-2")), dispatched);
+        assertEquals(List.of("yt-1", "yt-2", "yt-0"), youtubeIds(docs));
+    }
+
+    @Test
+    void whereIn_writeRequestsAndBackgroundWorkReadThrough() throws Exception {
+        answerAllChunks();
+        FirestoreBatchLookup.whereIn(collection, "youtubeId", List.of("yt-0"), timeouts, 5, null);
+        FirestoreBatchLookup.whereIn(collection, "youtubeId", List.of("yt-0"), timeouts, 5, null);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("POST", "/api/v1/sync/push")));
+        FirestoreBatchLookup.whereIn(collection, "youtubeId", List.of("yt-0"), timeouts, 5, null);
+        FirestoreBatchLookup.whereIn(collection, "youtubeId", List.of("yt-0"), timeouts, 5, null);
+
+        assertEquals(4, dispatched.size());
+    }
+
+    @Test
+    void getAll_returnsExistingDocumentsInIdOrder() throws Exception {
+        Firestore firestore = mock(Firestore.class);
+        when(collection.document(anyString())).thenAnswer(invocation -> {
+            DocumentReference ref = mock(DocumentReference.class);
+            when(ref.getId()).thenReturn(invocation.getArgument(0));
+            return ref;
+        });
+        List<Integer> chunkSizes = new CopyOnWriteArrayList<>();
+        when(firestore.getAll(any(DocumentReference[].class))).thenAnswer(invocation -> {
+            List<DocumentSnapshot> snapshots = new ArrayList<>();
+            Object[] refs = invocation.getArguments();
+            chunkSizes.add(refs.length);
+            for (Object ref : refs) {
+                String id = ((DocumentReference) ref).getId();
+                DocumentSnapshot snap = mock(DocumentSnapshot.class);
+                when(snap.getId()).thenReturn(id);
+                when(snap.exists()).thenReturn(!id.equals("yt-7"));
+                snapshots.add(0, snap);
+            }
+            return ApiFutures.immediateFuture(snapshots);
+        });
+
+        List<DocumentSnapshot> docs = FirestoreBatchLookup.getAll(firestore, collection, ids(150), timeouts, 5);
+
+        assertEquals(List.of(100, 50), chunkSizes);
+        List<String> expected = new ArrayList<>(ids(150));
+        expected.remove("yt-7");
+        assertEquals(expected, docs.stream().map(DocumentSnapshot::getId).toList());
+    }
+}
@@ -0,0 +1,71 @@
+package com.albunyaan.tube.scheduler;
+
+import com.albunyaan.tube.scheduler.TombstoneGcScheduler.Pass;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TombstoneGcSchedulerTest {
+
+    @Test
+    void splitCoversTheWholeRangeWithoutGaps() {
+        Pass pass = Pass.split(1_000L, 2_003L, 4);
+
+        assertEquals(4, pass.cursors().length);
+        assertEquals(1_000L, pass.cursors()[0]);
+        for (int i = 1; i < 4; i++) {
+            assertEquals(pass.ends()[i - 1], pass.cursors()[i]);
+        }
+        assertEquals(2_003L, pass.ends()[3]);
+        assertFalse(pass.isComplete());
+    }
+
+    @Test
+    void splitNeverMakesEmptyPartitions() {
+        Pass pass = Pass.split(10L, 12L, 8);
+
+        assertEquals(2, pass.cursors().length);
+        for (int i = 0; i < 2; i++) {
+            assertFalse(pass.isDone(i));
+        }
+    }
+
+    @Test
+    void advanceIsMonotonicAndBoundedByThePartitionEnd() {
+        Pass pass = Pass.split(0L, 100L, 2);
+
+        pass.advance(0, 30L);
+        pass.advance(0, 20L);
+        assertEquals(30L, pass.cursors()[0]);
+        pass.advance(0, 70L);
+        assertTrue(pass.isDone(0));
+        assertEquals(50L, pass.cursors()[0]);
+
+        pass.finish(1);
+        assertTrue(pass.isComplete());
+    }
+
+    @Test
+    void checkpointRoundTripsThroughSettingsMap() {
+        Pass pass = Pass.split(0L, 100L, 2);
+        pass.advance(1, 75L);
+
+        // Firestore hands numbers back as Long inside List<Object>
+        Pass resumed = Pass.fromMap(pass.toMap());
+
+        assertNotNull(resumed);
+        assertEquals(100L, resumed.cutoffMs());
+        assertArrayEquals(new long[] {0L, 75L}, resumed.cursors());
+        assertArrayEquals(new long[] {50L, 100L}, resumed.ends());
+    }
+
+    @Test
+    void malformedCheckpointStartsAFreshPass() {
+        assertNull(Pass.fromMap(Map.of("cutoffMs", 5L)));
+        assertNull(Pass.fromMap(Map.of("cutoffMs", 5L, "cursors", List.of(1L), "ends", List.of())));
+        assertNull(Pass.fromMap(Map.of("cutoffMs", 5L, "cursors", List.of("x"), "ends", List.of(2L))));
+    }
+}
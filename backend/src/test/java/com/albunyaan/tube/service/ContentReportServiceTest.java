@@ -6,6 +6,7 @@ import com.albunyaan.tube.model.Playlist;
 import com.albunyaan.tube.model.ReportReason;
 import com.albunyaan.tube.model.ReportStatus;
 import com.albunyaan.tube.model.ReportTargetType;
+import com.albunyaan.tube.model.ValidationStatus;
 import com.albunyaan.tube.model.Video;
 import com.albunyaan.tube.repository.ChannelRepository;
 import com.albunyaan.tube.repository.ContentReportRepository;
@@ -13,6 +14,7 @@ import com.albunyaan.tube.repository.PlaylistRepository;
 import com.albunyaan.tube.repository.VideoRepository;
 import com.albunyaan.tube.service.PublicContentCacheService;
 import com.albunyaan.tube.service.StreamIndexService;
+import com.albunyaan.tube.service.sync.ArchivedIdIndex;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,6 +34,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -51,6 +54,8 @@ class ContentReportServiceTest {
     PublicContentCacheService publicContentCacheService;
     @Mock
     StreamIndexService streamIndexService;
+    @Mock
+    ArchivedIdIndex archivedIdIndex;
 
     Cache<String, AtomicInteger> rateLimitCache;
     ContentReportService service;
@@ -61,7 +66,7 @@ class ContentReportServiceTest {
     @BeforeEach
     void setUp() {
         rateLimitCache = Caffeine.newBuilder().build();
-        service = new ContentReportService(reportRepository, rateLimitCache, videoRepository, channelRepository, playlistRepository, publicContentCacheService, streamIndexService);
+        service = new ContentReportService(reportRepository, rateLimitCache, videoRepository, channelRepository, playlistRepository, publicContentCacheService, streamIndexService, archivedIdIndex);
     }
 
     @Test
@@ -197,4 +202,54 @@ class ContentReportServiceTest {
 
         verify(streamIndexService).removeSource("PLAYLIST", "PLxyz");
     }
+
+    @Test
+    void archiveReportedContent_recordsArchivedIdsForSync()
+            throws ExecutionException, InterruptedException, TimeoutException {
+        Video v = new Video();
+        v.setId("doc-v1");
+        v.setYoutubeId("ytv-1");
+        Channel ch = new Channel();
+        ch.setId("doc-ch1");
+        ch.setYoutubeId("UCabc");
+
+        ContentReport videoReport = new ContentReport();
+        videoReport.setTargetType(ReportTargetType.VIDEO);
+        videoReport.setTargetId("ytv-1");
+        ContentReport channelReport = new ContentReport();
+        channelReport.setTargetType(ReportTargetType.CHANNEL);
+        channelReport.setTargetId("UCabc");
+        when(reportRepository.findById("report-v1")).thenReturn(Optional.of(videoReport));
+        when(reportRepository.findById("report-ch1")).thenReturn(Optional.of(channelReport));
+        when(reportRepository.update(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(videoRepository.findByYoutubeId("ytv-1")).thenReturn(Optional.of(v));
+        when(channelRepository.findByYoutubeId("UCabc")).thenReturn(Optional.of(ch));
+
+        service.resolveReport("report-v1", ReportStatus.RESOLVED, "admin", null);
+        service.resolveReport("report-ch1", ReportStatus.RESOLVED, "admin", null);
+
+        verify(archivedIdIndex).record(v);
+        verify(archivedIdIndex).record(ch);
+        assertThat(v.getValidationStatus()).isEqualTo(ValidationStatus.ARCHIVED);
+        assertThat(ch.getValidationStatus()).isEqualTo(ValidationStatus.ARCHIVED);
+    }
+
+    @Test
+    void archiveReportedContent_saveFails_doesNotRecordArchivedId()
+            throws ExecutionException, InterruptedException, TimeoutException {
+        Playlist pl = new Playlist();
+        pl.setYoutubeId("PLxyz");
+
+        ContentReport report = new ContentReport();
+        report.setTargetType(ReportTargetType.PLAYLIST);
+        report.setTargetId("PLxyz");
+        when(reportRepository.findById("report-pl1")).thenReturn(Optional.of(report));
+        when(reportRepository.update(any())).thenReturn(report);
+        when(playlistRepository.findByYoutubeId("PLxyz")).thenReturn(Optional.of(pl));
+        when(playlistRepository.save(any())).thenThrow(new ExecutionException(new RuntimeException("write failed")));
+
+        service.resolveReport("report-pl1", ReportStatus.RESOLVED, "admin", null);
+
+        verify(archivedIdIndex, never()).record(any(Playlist.class));
+    }
 }
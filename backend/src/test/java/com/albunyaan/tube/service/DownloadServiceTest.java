@@ -248,5 +248,43 @@ class DownloadServiceTest {
                 () -> downloadService.getDownloadManifest("YT-personal", "tok", "other-uid", false));
         verifyNoInteractions(youtubeGateway);
     }
-}
 
+    @Test
+    void trackDownloadFailed_reportsOnlyApprovedVideosToValidationQueue() throws Exception {
+        ValidationQueueService queue = mock(ValidationQueueService.class);
+        DownloadService service = new DownloadService(videoRepository, tokenService, youtubeGateway, firestore, null, queue);
+        Video pending = new Video("YT-pending");
+        pending.setStatus("PENDING");
+        Video archived = new Video("YT-archived");
+        archived.setStatus("APPROVED");
+        archived.setValidationStatus(ValidationStatus.ARCHIVED);
+        when(videoRepository.findByYoutubeId("YT-video-123")).thenReturn(Optional.of(approvedVideo));
+        when(videoRepository.findByYoutubeId("YT-pending")).thenReturn(Optional.of(pending));
+        when(videoRepository.findByYoutubeId("YT-archived")).thenReturn(Optional.of(archived));
+        when(videoRepository.findByYoutubeId("made-up")).thenReturn(Optional.empty());
+
+        for (String id : List.of("YT-video-123", "YT-pending", "YT-archived", "made-up")) {
+            service.trackDownloadFailed(id, "anonymous", "device-1", "Network error", "mobile");
+        }
+
+        verify(queue).reportPlaybackFailure("YT-video-123");
+        verifyNoMoreInteractions(queue);
+        verify(collectionReference, times(4)).add(any());
+    }
+
+    @Test
+    void trackDownloadFailed_capsValidationQueueReportsPerDevice() throws Exception {
+        ValidationQueueService queue = mock(ValidationQueueService.class);
+        DownloadService service = new DownloadService(videoRepository, tokenService, youtubeGateway, firestore, null, queue);
+        when(videoRepository.findByYoutubeId("YT-video-123")).thenReturn(Optional.of(approvedVideo));
+
+        for (int i = 0; i < 50; i++) {
+            service.trackDownloadFailed("YT-video-123", "anonymous", "device-1", "Network error", "mobile");
+        }
+        service.trackDownloadFailed("YT-video-123", "anonymous", "device-2", "Network error", "mobile");
+
+        verify(queue, times(21)).reportPlaybackFailure("YT-video-123");
+        // Over-limit reports stop before the catalog lookup
+        verify(videoRepository, times(21)).findByYoutubeId("YT-video-123");
+    }
+}
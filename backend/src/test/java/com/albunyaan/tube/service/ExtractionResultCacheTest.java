@@ -0,0 +1,185 @@
+package com.albunyaan.tube.service;
+
+import com.albunyaan.tube.service.ExtractionResultCache.Entry;
+import com.albunyaan.tube.service.ExtractionResultCache.Kind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.channel.ChannelInfo;
+import org.schabi.newpipe.extractor.exceptions.ContentNotAvailableException;
+import org.schabi.newpipe.extractor.stream.StreamInfo;
+import org.schabi.newpipe.extractor.stream.VideoStream;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExtractionResultCacheTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong(T0);
+    private YouTubeCircuitBreaker circuitBreaker;
+    private ExtractionResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = mock(YouTubeCircuitBreaker.class);
+        when(circuitBreaker.getCurrentState()).thenReturn(YouTubeCircuitBreaker.State.CLOSED);
+        cache = new ExtractionResultCache(Duration.ofHours(6), Duration.ofMinutes(30), Duration.ofHours(72),
+                100, circuitBreaker, now::get);
+    }
+
+    @Test
+    void freshEntryIsServedWithoutExtracting() throws Exception {
+        ChannelInfo info = mock(ChannelInfo.class);
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.get(Kind.CHANNEL, "UC1", ChannelInfo.class, () -> { calls.incrementAndGet(); return info; });
+        now.addAndGet(TimeUnit.HOURS.toMillis(5));
+        ChannelInfo second = cache.get(Kind.CHANNEL, "UC1", ChannelInfo.class,
+                () -> { calls.incrementAndGet(); return info; });
+
+        assertSame(info, second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void expiredMetadataIsExtractedAgain() throws Exception {
+        ChannelInfo first = mock(ChannelInfo.class);
+        ChannelInfo second = mock(ChannelInfo.class);
+
+        cache.get(Kind.CHANNEL, "UC1", ChannelInfo.class, () -> first);
+        now.addAndGet(TimeUnit.HOURS.toMillis(7));
+
+        assertSame(second, cache.get(Kind.CHANNEL, "UC1", ChannelInfo.class, () -> second));
+    }
+
+    @Test
+    void staleEntryIsServedWhileCircuitIsOpen() throws Exception {
+        ChannelInfo info = mock(ChannelInfo.class);
+        cache.get(Kind.CHANNEL, "UC1", ChannelInfo.class, () -> info);
+        now.addAndGet(TimeUnit.HOURS.toMillis(24));
+        when(circuitBreaker.isOpen()).thenReturn(true);
+
+        ChannelInfo served = cache.get(Kind.CHANNEL, "UC1", ChannelInfo.class,
+                () -> { throw new AssertionError("must not extract while the circuit is open"); });
+
+        assertSame(info, served);
+    }
+
+    @Test
+    void staleEntryIsServedWhenTheFailedCallTripsTheCircuit() throws Exception {
+        ChannelInfo info = mock(ChannelInfo.class);
+        cache.get(Kind.CHANNEL, "UC1", ChannelInfo.class, () -> info);
+        now.addAndGet(TimeUnit.HOURS.toMillis(24));
+        when(circuitBreaker.getCurrentState()).thenReturn(YouTubeCircuitBreaker.State.OPEN);
+
+        assertSame(info, cache.get(Kind.CHANNEL, "UC1", ChannelInfo.class,
+                () -> { throw new IOException("429"); }));
+    }
+
+    @Test
+    void failureWithClosedCircuitIsNotMasked() throws Exception {
+        cache.get(Kind.CHANNEL, "UC1", ChannelInfo.class, () -> mock(ChannelInfo.class));
+        now.addAndGet(TimeUnit.HOURS.toMillis(24));
+
+        assertThrows(IOException.class, () -> cache.get(Kind.CHANNEL, "UC1", ChannelInfo.class,
+                () -> { throw new IOException("timeout"); }));
+    }
+
+    @Test
+    void unavailableContentIsNeverMaskedByStaleEntry() throws Exception {
+        cache.get(Kind.CHANNEL, "UC1", ChannelInfo.class, () -> mock(ChannelInfo.class));
+        now.addAndGet(TimeUnit.HOURS.toMillis(24));
+        when(circuitBreaker.getCurrentState()).thenReturn(YouTubeCircuitBreaker.State.OPEN);
+
+        assertThrows(ContentNotAvailableException.class, () -> cache.get(Kind.CHANNEL, "UC1", ChannelInfo.class,
+                () -> { throw new ContentNotAvailableException("terminated"); }));
+    }
+
+    @Test
+    void metadataPastMaxStaleIsDropped() throws Exception {
+        cache.get(Kind.CHANNEL, "UC1", ChannelInfo.class, () -> mock(ChannelInfo.class));
+        now.addAndGet(TimeUnit.HOURS.toMillis(6 + 72 + 1));
+        when(circuitBreaker.isOpen()).thenReturn(true);
+
+        assertThrows(IOException.class, () -> cache.get(Kind.CHANNEL, "UC1", ChannelInfo.class,
+                () -> { throw new IOException("circuit open"); }));
+    }
+
+    @Test
+    void streamEntryNeverOutlivesItsUrls() {
+        long expireSeconds = TimeUnit.MILLISECONDS.toSeconds(T0) + TimeUnit.MINUTES.toSeconds(20);
+        StreamInfo info = streamWithUrl("https://rr1.googlevideo.com/videoplayback?expire=" + expireSeconds + "&id=x");
+
+        Entry entry = cache.entryFor(Kind.STREAM, info, T0);
+
+        long usableUntil = TimeUnit.SECONDS.toMillis(expireSeconds) - ExtractionResultCache.EXPIRY_MARGIN_MS;
+        assertEquals(usableUntil, entry.freshUntil());
+        assertEquals(usableUntil, entry.staleUntil());
+    }
+
+    @Test
+    void streamFreshnessUsesConfiguredTtlWhenUrlsLiveLonger() {
+        long expireSeconds = TimeUnit.MILLISECONDS.toSeconds(T0) + TimeUnit.HOURS.toSeconds(6);
+        StreamInfo info = streamWithUrl("https://rr1.googlevideo.com/videoplayback?id=x&expire=" + expireSeconds);
+
+        Entry entry = cache.entryFor(Kind.STREAM, info, T0);
+
+        assertEquals(T0 + TimeUnit.MINUTES.toMillis(30), entry.freshUntil());
+        assertEquals(TimeUnit.SECONDS.toMillis(expireSeconds) - ExtractionResultCache.EXPIRY_MARGIN_MS,
+                entry.staleUntil());
+    }
+
+    @Test
+    void streamWithExpiringUrlsIsNotCached() throws Exception {
+        long expireSeconds = TimeUnit.MILLISECONDS.toSeconds(T0) + 60;
+        StreamInfo info = streamWithUrl("https://rr1.googlevideo.com/videoplayback?expire=" + expireSeconds);
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.get(Kind.STREAM, "v1", StreamInfo.class, () -> { calls.incrementAndGet(); return info; });
+        cache.get(Kind.STREAM, "v1", StreamInfo.class, () -> { calls.incrementAndGet(); return info; });
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void urlExpiryReadsQueryAndPathForms() {
+        assertEquals(1_700_000_123_000L,
+                ExtractionResultCache.urlExpiry("https://x.googlevideo.com/videoplayback?expire=1700000123&ei=a"));
+        assertEquals(1_700_000_123_000L,
+                ExtractionResultCache.urlExpiry("https://manifest.googlevideo.com/api/manifest/hls_variant/expire/1700000123/ei/a"));
+        assertEquals(Long.MAX_VALUE, ExtractionResultCache.urlExpiry("https://example.com/video.mp4?notexpire=1"));
+        assertEquals(Long.MAX_VALUE, ExtractionResultCache.urlExpiry(null));
+    }
+
+    @Test
+    void entriesRoundTripThroughTheSharedEncoding() throws Exception {
+        ChannelInfo info = new ChannelInfo(0, "UC1", "https://www.youtube.com/channel/UC1",
+                "https://www.youtube.com/channel/UC1", "Channel");
+        info.setSubscriberCount(1234L);
+
+        Entry decoded = ExtractionResultCache.decode(
+                ExtractionResultCache.encode(new Entry(info, T0 + 1, T0 + 2)));
+
+        assertEquals(T0 + 1, decoded.freshUntil());
+        assertEquals(T0 + 2, decoded.staleUntil());
+        ChannelInfo value = assertInstanceOf(ChannelInfo.class, decoded.value());
+        assertEquals("Channel", value.getName());
+        assertEquals(1234L, value.getSubscriberCount());
+    }
+
+    private static StreamInfo streamWithUrl(String url) {
+        VideoStream stream = mock(VideoStream.class);
+        when(stream.getContent()).thenReturn(url);
+        StreamInfo info = mock(StreamInfo.class);
+        when(info.getVideoStreams()).thenReturn(List.of(stream));
+        return info;
+    }
+}
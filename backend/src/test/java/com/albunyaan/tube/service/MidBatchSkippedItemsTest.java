@@ -123,10 +123,11 @@ class MidBatchSkippedItemsTest {
             ValidationRun run = service.validateVideos("SCHEDULED", "system", "System", null);
 
             // Assert: Verify only 4 videos were saved (the processed ones)
-            ArgumentCaptor<Video> videoCaptor = ArgumentCaptor.forClass(Video.class);
-            verify(videoRepository, times(4)).save(videoCaptor.capture());
+            ArgumentCaptor<List<Video>> videoCaptor = ArgumentCaptor.forClass(List.class);
+            verify(videoRepository).saveAll(videoCaptor.capture());
 
-            List<Video> savedVideos = videoCaptor.getAllValues();
+            List<Video> savedVideos = videoCaptor.getValue();
+            assertEquals(4, savedVideos.size());
 
             // All saved videos should be from the first 4 (processed)
             Set<String> savedIds = new HashSet<>();
@@ -227,7 +228,7 @@ class MidBatchSkippedItemsTest {
             ValidationRun run = service.validateVideos("SCHEDULED", "system", "System", null);
 
             // Assert: No videos should be saved
-            verify(videoRepository, never()).save(any(Video.class));
+            verify(videoRepository, never()).saveAll(anyList());
 
             // Verify run statistics - 0 checked since all were skipped
             assertEquals(0, run.getVideosChecked(), "No videos should be checked");
@@ -269,11 +270,12 @@ class MidBatchSkippedItemsTest {
             ValidationRun run = service.validateVideos("SCHEDULED", "system", "System", null);
 
             // Assert: 4 videos should be saved (2 valid + 1 notFound + 1 error)
-            ArgumentCaptor<Video> videoCaptor = ArgumentCaptor.forClass(Video.class);
-            verify(videoRepository, times(4)).save(videoCaptor.capture());
+            ArgumentCaptor<List<Video>> videoCaptor = ArgumentCaptor.forClass(List.class);
+            verify(videoRepository).saveAll(videoCaptor.capture());
+            assertEquals(4, videoCaptor.getValue().size());
 
             Map<String, ValidationStatus> statusByVideo = new HashMap<>();
-            for (Video saved : videoCaptor.getAllValues()) {
+            for (Video saved : videoCaptor.getValue()) {
                 statusByVideo.put(saved.getYoutubeId(), saved.getValidationStatus());
             }
 
@@ -0,0 +1,123 @@
+package com.albunyaan.tube.service;
+
+import com.albunyaan.tube.config.CacheConfig;
+import com.albunyaan.tube.config.cache.CacheDependencies;
+import com.albunyaan.tube.config.cache.StaleWhileRevalidateCache;
+import com.albunyaan.tube.service.catalog.PublicCatalogSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class PublicContentCacheServiceTest {
+
+    private SimpleCacheManager cacheManager;
+    private PublicCatalogSnapshotService snapshotService;
+    private PublicContentCacheService service;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                swr(CacheConfig.CACHE_PUBLIC_CONTENT),
+                swr(CacheConfig.CACHE_PUBLIC_CONTENT_SEARCH),
+                new ConcurrentMapCache(CacheConfig.CACHE_CATEGORY_TREE),
+                new ConcurrentMapCache(CacheConfig.CACHE_NEWPIPE_SEARCH_RESULTS)));
+        cacheManager.afterPropertiesSet();
+        snapshotService = mock(PublicCatalogSnapshotService.class);
+        service = new PublicContentCacheService(cacheManager, snapshotService);
+    }
+
+    private static Cache swr(String name) {
+        return new StaleWhileRevalidateCache(name, Duration.ofHours(1), Duration.ofMinutes(1), 100, Runnable::run, null);
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+    /** Simulates a cached home-feed section for one category. */
+    private void cacheSection(String key, String categoryId) {
+        cache(CacheConfig.CACHE_PUBLIC_CONTENT).get(key, () -> {
+            PublicContentChange.dependsOnContent(List.of(categoryId));
+            PublicContentChange.dependsOn(PublicContentChange.Kind.ORDER, List.of(categoryId));
+            PublicContentChange.dependsOn(PublicContentChange.Kind.CATEGORY, null);
+            return key;
+        });
+    }
+
+    @Test
+    void reorderingOneCategoryKeepsOtherCategoriesWarm() {
+        cacheSection("home-quran", "quran");
+        cacheSection("home-seerah", "seerah");
+        cache(CacheConfig.CACHE_NEWPIPE_SEARCH_RESULTS).put("q", "results");
+
+        service.evictForChange(PublicContentChange.order("quran"));
+
+        assertNull(cache(CacheConfig.CACHE_PUBLIC_CONTENT).get("home-quran"));
+        assertNotNull(cache(CacheConfig.CACHE_PUBLIC_CONTENT).get("home-seerah"));
+        assertNotNull(cache(CacheConfig.CACHE_NEWPIPE_SEARCH_RESULTS).get("q"), "order changes do not affect alreadyKnown");
+        verify(snapshotService).markStale();
+    }
+
+    @Test
+    void snapshotIsMarkedStaleBeforeEntriesAreEvicted() {
+        cacheSection("home-quran", "quran");
+        AtomicBoolean cachedWhenMarkedStale = new AtomicBoolean();
+        doAnswer(invocation -> {
+            cachedWhenMarkedStale.set(cache(CacheConfig.CACHE_PUBLIC_CONTENT).get("home-quran") != null);
+            return null;
+        }).when(snapshotService).markStale();
+
+        service.evictForChange(PublicContentChange.order("quran"));
+
+        assertTrue(cachedWhenMarkedStale.get(), "a refill after eviction must not read the pre-change snapshot");
+        assertNull(cache(CacheConfig.CACHE_PUBLIC_CONTENT).get("home-quran"));
+    }
+
+    @Test
+    void contentChangeEvictsItsCategoriesAndModeratorSearch() {
+        cacheSection("home-quran", "quran");
+        cacheSection("home-seerah", "seerah");
+        cache(CacheConfig.CACHE_CATEGORY_TREE).put("public-categories", List.of());
+        cache(CacheConfig.CACHE_NEWPIPE_SEARCH_RESULTS).put("q", "results");
+
+        service.evictForChange(PublicContentChange.content("videos", "v1", Set.of("seerah")));
+
+        assertNotNull(cache(CacheConfig.CACHE_PUBLIC_CONTENT).get("home-quran"));
+        assertNull(cache(CacheConfig.CACHE_PUBLIC_CONTENT).get("home-seerah"));
+        // Caches that cannot track dependencies are cleared whole
+        assertNull(cache(CacheConfig.CACHE_CATEGORY_TREE).get("public-categories"));
+        assertNull(cache(CacheConfig.CACHE_NEWPIPE_SEARCH_RESULTS).get("q"));
+    }
+
+    @Test
+    void categoryChangeEvictsEveryPageDependingOnTheTree() {
+        cacheSection("home-quran", "quran");
+        cacheSection("home-seerah", "seerah");
+
+        service.evictForChange(PublicContentChange.category("new-category"));
+
+        assertNull(cache(CacheConfig.CACHE_PUBLIC_CONTENT).get("home-quran"));
+        assertNull(cache(CacheConfig.CACHE_PUBLIC_CONTENT).get("home-seerah"));
+    }
+
+    @Test
+    void contentTypesAreNormalized() {
+        assertEquals(PublicContentChange.Kind.CHANNEL, PublicContentChange.content("channel", "c", null).kind());
+        assertEquals(PublicContentChange.Kind.PLAYLIST, PublicContentChange.content("PLAYLISTS", "p", null).kind());
+        assertThrows(IllegalArgumentException.class, () -> PublicContentChange.content("category", "x", null));
+        assertTrue(CacheDependencies.matches(null, "VIDEO", Set.of("a")), "untagged entries match every change");
+    }
+}
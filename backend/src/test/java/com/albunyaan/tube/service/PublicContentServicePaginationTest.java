@@ -207,23 +207,51 @@ class PublicContentServicePaginationTest {
     }
 
     @Test
-    void getContent_videos_withFilters_fallsBackToLegacyPagination() throws Exception {
-        // Arrange - when filters are applied, legacy pagination is used
-        List<Video> videos = createTestVideos(3);
+    void getContent_videos_withFilters_filtersAlongKeysetAndResumes() throws Exception {
+        // Alternate short (1 min) and long (30 min) videos, newest first
+        List<Video> videos = createTestVideos(8);
+        for (int i = 0; i < videos.size(); i++) {
+            videos.get(i).setDurationSeconds(i % 2 == 0 ? 60 : 1800);
+        }
+        when(videoRepository.findApprovedByUploadedAtDescWithCursor(anyInt(), any()))
+                .thenAnswer(inv -> keysetPage(videos, Video::getId, inv.getArgument(0), inv.getArgument(1),
+                        VideoRepository.PaginatedResult::new));
 
-        // Legacy method uses the non-cursor repository method
-        when(videoRepository.findAllByOrderByUploadedAtDesc(anyInt()))
-                .thenReturn(videos);
+        CursorPageDto<ContentItemDto> firstPage = publicContentService.getContent(
+                "VIDEOS", null, 2, null, "SHORT", null, null, null);
+        CursorPageDto<ContentItemDto> secondPage = publicContentService.getContent(
+                "VIDEOS", firstPage.getPageInfo().getNextCursor(), 2, null, "SHORT", null, null, null);
 
-        // Act - apply length filter
-        CursorPageDto<ContentItemDto> response = publicContentService.getContent(
-                "VIDEOS", null, 5, null, "SHORT", null, null
-        , null);
+        assertEquals(List.of("yt-video-1", "yt-video-3"), ids(firstPage));
+        assertNotNull(firstPage.getPageInfo().getNextCursor());
+        assertEquals(List.of("yt-video-5", "yt-video-7"), ids(secondPage));
+        assertNull(secondPage.getPageInfo().getNextCursor());
+    }
 
-        // Assert
-        assertNotNull(response);
-        // Legacy pagination generates fake cursor
-        verify(videoRepository, never()).findApprovedByUploadedAtDescWithCursor(anyInt(), any());
+    @Test
+    void getContent_channels_parentCategory_mergesChildPagesUnderOneCursor() throws Exception {
+        Category child = new Category();
+        child.setId("child");
+        child.setParentCategoryId("parent");
+        when(categoryRepository.findByParentId("parent")).thenReturn(List.of(child));
+
+        Channel a = channel("channel-a", 5000L);
+        Channel b = channel("channel-b", 3000L);
+        Channel c = channel("channel-c", 1000L); // filed under both categories
+        Channel d = channel("channel-d", 500L);
+        stubChannelPages("parent", List.of(a, c));
+        stubChannelPages("child", List.of(b, c, d));
+
+        CursorPageDto<ContentItemDto> firstPage = publicContentService.getContent(
+                "CHANNELS", null, 2, "parent", null, null, null, null);
+        CursorPageDto<ContentItemDto> secondPage = publicContentService.getContent(
+                "CHANNELS", firstPage.getPageInfo().getNextCursor(), 2, "parent", null, null, null, null);
+
+        assertEquals(List.of("yt-channel-a", "yt-channel-b"), ids(firstPage));
+        assertNotNull(firstPage.getPageInfo().getNextCursor());
+        assertEquals(List.of("yt-channel-c", "yt-channel-d"), ids(secondPage));
+        assertNull(secondPage.getPageInfo().getNextCursor());
+        verify(channelRepository, never()).findByCategoryIds(anyList(), anyInt());
     }
 
     @Test
@@ -253,11 +281,9 @@ class PublicContentServicePaginationTest {
     @Test
     void getContent_homeWithCategory_fallbackPaginationLoadsPastFirstPage_whenOnlyOneTypeExists() throws Exception {
         when(categoryRepository.findByParentId("kids")).thenReturn(Collections.emptyList());
-        when(channelRepository.findByCategoryIds(eq(List.of("kids")), anyInt())).thenReturn(Collections.emptyList());
-        when(videoRepository.findByCategoryIds(eq(List.of("kids")), anyInt())).thenReturn(Collections.emptyList());
-
-        List<Playlist> playlists = createTestPlaylists(80);
-        when(playlistRepository.findByCategoryIds(eq(List.of("kids")), anyInt())).thenReturn(playlists);
+        stubChannelPages("kids", Collections.emptyList());
+        stubVideoPages("kids", Collections.emptyList());
+        stubPlaylistPages("kids", createTestPlaylists(80));
 
         CursorPageDto<ContentItemDto> firstPage = publicContentService.getContent(
                 "HOME", null, 50, "kids", null, null, null
@@ -299,12 +325,12 @@ class PublicContentServicePaginationTest {
 
         when(channelRepository.findAllByIds(List.of("channel-1")))
                 .thenReturn(java.util.Map.of("channel-1", parentChannel));
-        when(channelRepository.findByCategoryIds(eq(List.of("parent", "child")), anyInt()))
-                .thenReturn(List.of(parentChannel, childChannel));
-        when(playlistRepository.findByCategoryIds(eq(List.of("parent", "child")), anyInt()))
-                .thenReturn(Collections.emptyList());
-        when(videoRepository.findByCategoryIds(eq(List.of("parent", "child")), anyInt()))
-                .thenReturn(Collections.emptyList());
+        stubChannelPages("parent", List.of(parentChannel));
+        stubChannelPages("child", List.of(childChannel));
+        stubPlaylistPages("parent", Collections.emptyList());
+        stubPlaylistPages("child", Collections.emptyList());
+        stubVideoPages("parent", Collections.emptyList());
+        stubVideoPages("child", Collections.emptyList());
 
         CursorPageDto<ContentItemDto> response = publicContentService.getContent(
                 "HOME", null, 10, "parent", null, null, null
@@ -331,17 +357,16 @@ class PublicContentServicePaginationTest {
 
         // Fallback fetches channels first (empty), then playlists (has items).
         // Once enough items are collected, videos are never fetched (early return).
-        when(channelRepository.findByCategoryIds(eq(List.of("kids")), anyInt())).thenReturn(Collections.emptyList());
-        List<Playlist> playlists = createTestPlaylists(10);
-        when(playlistRepository.findByCategoryIds(eq(List.of("kids")), anyInt())).thenReturn(playlists);
+        stubChannelPages("kids", Collections.emptyList());
+        stubPlaylistPages("kids", createTestPlaylists(10));
 
-        // Should not throw — negative offset is clamped to 0
+        // Should not throw — a legacy offset cursor restarts from the first page
         CursorPageDto<ContentItemDto> response = publicContentService.getContent(
                 "HOME", negativeCursor, 5, "kids", null, null, null
         , null);
 
         assertNotNull(response);
-        // Should return items starting from offset 0 (clamped)
+        // Should return items from the first page
         assertFalse(response.getData().isEmpty());
     }
 
@@ -355,23 +380,139 @@ class PublicContentServicePaginationTest {
         when(orderRepository.findByCategoryIdsOrderByPosition(List.of("kids")))
                 .thenReturn(Collections.emptyList());
 
-        List<Playlist> playlists = createTestPlaylists(20);
-        when(playlistRepository.findByCategoryIds(eq(List.of("kids")), anyInt())).thenReturn(playlists);
-        when(channelRepository.findByCategoryIds(eq(List.of("kids")), anyInt())).thenReturn(Collections.emptyList());
-        when(videoRepository.findByCategoryIds(eq(List.of("kids")), anyInt())).thenReturn(Collections.emptyList());
+        stubPlaylistPages("kids", createTestPlaylists(20));
+        stubChannelPages("kids", Collections.emptyList());
+        stubVideoPages("kids", Collections.emptyList());
 
         CursorPageDto<ContentItemDto> response = publicContentService.getContent(
                 "HOME", null, 20, "kids", null, null, null
         , null);
 
         assertEquals(20, response.getData().size());
-        // No phantom next cursor: we over-fetched by 1, got exactly 20, so hasNext=false
+        // No phantom next cursor: we read one item ahead and found none, so hasNext=false
         assertNull(response.getPageInfo().getNextCursor());
         assertFalse(response.getPageInfo().isHasNext());
     }
 
+    @Test
+    void getContent_homeWithParentCategory_resumesOrderedEntriesThenFallbackFromCursor() throws Exception {
+        Category child = new Category();
+        child.setId("child");
+        child.setParentCategoryId("parent");
+        when(categoryRepository.findByParentId("parent")).thenReturn(List.of(child));
+
+        List<Channel> ordered = List.of(channel("channel-1", 30L), channel("channel-2", 20L), channel("channel-3", 10L));
+        when(orderRepository.findByCategoryIdOrderByPosition("parent")).thenReturn(List.of(
+                new CategoryContentOrder("parent", "channel-1", "channel", 0),
+                new CategoryContentOrder("parent", "channel-2", "channel", 1),
+                new CategoryContentOrder("parent", "channel-3", "channel", 2)));
+        when(channelRepository.findAllByIds(anyList())).thenAnswer(inv -> {
+            List<String> requested = inv.getArgument(0);
+            java.util.Map<String, Channel> found = new java.util.HashMap<>();
+            ordered.stream().filter(ch -> requested.contains(ch.getId())).forEach(ch -> found.put(ch.getId(), ch));
+            return found;
+        });
+        stubChannelPages("parent", ordered);
+        stubChannelPages("child", List.of(channel("channel-4", 5L)));
+        stubPlaylistPages("parent", Collections.emptyList());
+        stubPlaylistPages("child", Collections.emptyList());
+        stubVideoPages("parent", Collections.emptyList());
+        stubVideoPages("child", Collections.emptyList());
+
+        CursorPageDto<ContentItemDto> firstPage = publicContentService.getContent(
+                "HOME", null, 2, "parent", null, null, null, null);
+        CursorPageDto<ContentItemDto> secondPage = publicContentService.getContent(
+                "HOME", firstPage.getPageInfo().getNextCursor(), 2, "parent", null, null, null, null);
+
+        assertEquals(List.of("yt-channel-1", "yt-channel-2"), ids(firstPage));
+        assertEquals(List.of("yt-channel-3", "yt-channel-4"), ids(secondPage));
+        assertNull(secondPage.getPageInfo().getNextCursor());
+        // Order entries are looked up a window at a time, never all of them per page
+        verify(channelRepository, never()).findAllByIds(List.of("channel-1", "channel-2", "channel-3"));
+    }
+
+    @Test
+    void getContent_homeWithCategory_sparseFallbackReturnsShortPageWithinScanBudget() throws Exception {
+        when(categoryRepository.findByParentId("kids")).thenReturn(Collections.emptyList());
+        List<Channel> channels = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Channel hidden = channel(String.format("hidden-%02d", i), 100L - i);
+            hidden.setStatus("PENDING");
+            channels.add(hidden);
+        }
+        channels.add(channel("visible", 1L));
+        stubChannelPages("kids", channels);
+        stubPlaylistPages("kids", Collections.emptyList());
+        stubVideoPages("kids", Collections.emptyList());
+
+        // limit 2 → at most 20 items read per page
+        CursorPageDto<ContentItemDto> firstPage = publicContentService.getContent(
+                "HOME", null, 2, "kids", null, null, null, null);
+        CursorPageDto<ContentItemDto> secondPage = publicContentService.getContent(
+                "HOME", firstPage.getPageInfo().getNextCursor(), 2, "kids", null, null, null, null);
+
+        assertTrue(firstPage.getData().isEmpty());
+        assertNotNull(firstPage.getPageInfo().getNextCursor());
+        assertEquals(List.of("yt-visible"), ids(secondPage));
+        assertNull(secondPage.getPageInfo().getNextCursor());
+    }
+
     // Helper methods to create test data
 
+    @FunctionalInterface
+    private interface PageFactory<T, R> {
+        R create(List<T> items, String nextCursor, boolean hasNext);
+    }
+
+    /** Repository-style keyset page over an already sorted list. */
+    private static <T, R> R keysetPage(List<T> sorted, java.util.function.Function<T, String> idOf,
+                                       int limit, String cursor, PageFactory<T, R> factory) {
+        int start = 0;
+        CursorUtils.CursorData cursorData = CursorUtils.decode(cursor);
+        if (cursorData != null) {
+            for (int i = 0; i < sorted.size(); i++) {
+                if (idOf.apply(sorted.get(i)).equals(cursorData.getId())) start = i + 1;
+            }
+        }
+        int end = Math.min(start + limit, sorted.size());
+        List<T> page = sorted.subList(Math.min(start, end), end);
+        boolean hasNext = end < sorted.size();
+        String next = hasNext ? CursorUtils.encodeFromDocumentId(idOf.apply(page.get(page.size() - 1))) : null;
+        return factory.create(page, next, hasNext);
+    }
+
+    private void stubChannelPages(String category, List<Channel> sorted) throws Exception {
+        lenient().when(channelRepository.findApprovedByCategoryAndSubscribersDescWithCursor(eq(category), anyInt(), any()))
+                .thenAnswer(inv -> keysetPage(sorted, Channel::getId, inv.getArgument(1), inv.getArgument(2),
+                        ChannelRepository.PaginatedResult::new));
+    }
+
+    private void stubPlaylistPages(String category, List<Playlist> sorted) throws Exception {
+        lenient().when(playlistRepository.findApprovedByCategoryAndItemCountDescWithCursor(eq(category), anyInt(), any()))
+                .thenAnswer(inv -> keysetPage(sorted, Playlist::getId, inv.getArgument(1), inv.getArgument(2),
+                        PlaylistRepository.PaginatedResult::new));
+    }
+
+    private void stubVideoPages(String category, List<Video> sorted) throws Exception {
+        lenient().when(videoRepository.findApprovedByCategoryAndUploadedAtDescWithCursor(eq(category), anyInt(), any()))
+                .thenAnswer(inv -> keysetPage(sorted, Video::getId, inv.getArgument(1), inv.getArgument(2),
+                        VideoRepository.PaginatedResult::new));
+    }
+
+    private static List<String> ids(CursorPageDto<ContentItemDto> page) {
+        return page.getData().stream().map(ContentItemDto::getId).toList();
+    }
+
+    private static Channel channel(String id, Long subscribers) {
+        Channel channel = new Channel();
+        channel.setId(id);
+        channel.setYoutubeId("yt-" + id);
+        channel.setName(id);
+        channel.setStatus("APPROVED");
+        channel.setSubscribers(subscribers);
+        return channel;
+    }
+
     private List<Channel> createTestChannels(int count) {
         List<Channel> channels = new ArrayList<>();
         for (int i = 1; i <= count; i++) {
@@ -410,6 +551,15 @@ class PublicContentServicePaginationTest {
         assertEquals("20", key);
     }
 
+    @Test
+    void cacheCursorKey_homeKeysetCursor_preservedAsIs() {
+        // HOME pages of a category resume from an opaque keyset cursor
+        CursorUtils.CursorData data = new CursorUtils.CursorData("category");
+        data.withField("phase", 1);
+        String cursor = CursorUtils.encode(data);
+        assertEquals(cursor, PublicContentService.cacheCursorKey("HOME", cursor));
+    }
+
     @Test
     void cacheCursorKey_nullType_normalizesAsHome() {
         String cursor = java.util.Base64.getEncoder().encodeToString("10".getBytes());
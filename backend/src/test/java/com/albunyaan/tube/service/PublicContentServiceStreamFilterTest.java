@@ -78,7 +78,7 @@ class PublicContentServiceStreamFilterTest {
         s2.setTitleNorm("halal cooking 2");
         s2.setSearchTokens(List.of("halal"));
 
-        when(searchTokenizer.tokenize("halal", null)).thenReturn(List.of("halal"));
+        when(searchTokenizer.exactQueryTerms("halal")).thenReturn(List.of("halal"));
         when(searchableStreamRepository.searchByToken(eq("halal"), anyInt()))
                 .thenReturn(new ArrayList<>(List.of(s1, s2)));
 
@@ -134,7 +134,7 @@ class PublicContentServiceStreamFilterTest {
         s2.setTitleNorm("gone video");
         s2.setSearchTokens(List.of("good"));
 
-        when(searchTokenizer.tokenize("good", null)).thenReturn(List.of("good"));
+        when(searchTokenizer.exactQueryTerms("good")).thenReturn(List.of("good"));
         when(searchableStreamRepository.searchByToken(eq("good"), anyInt()))
                 .thenReturn(new ArrayList<>(List.of(s1, s2)));
 
@@ -184,7 +184,7 @@ class PublicContentServiceStreamFilterTest {
         s2.setTitleNorm("halal cooking rejected");
         s2.setSearchTokens(List.of("halal"));
 
-        when(searchTokenizer.tokenize("halal", null)).thenReturn(List.of("halal"));
+        when(searchTokenizer.exactQueryTerms("halal")).thenReturn(List.of("halal"));
         when(searchableStreamRepository.searchByToken(eq("halal"), anyInt()))
                 .thenReturn(new ArrayList<>(List.of(s1, s2)));
 
@@ -229,7 +229,7 @@ class PublicContentServiceStreamFilterTest {
         s1.setTitleNorm("orphan video");
         s1.setSearchTokens(List.of("orphan"));
 
-        when(searchTokenizer.tokenize("orphan", null)).thenReturn(List.of("orphan"));
+        when(searchTokenizer.exactQueryTerms("orphan")).thenReturn(List.of("orphan"));
         when(searchableStreamRepository.searchByToken(eq("orphan"), anyInt()))
                 .thenReturn(new ArrayList<>(List.of(s1)));
 
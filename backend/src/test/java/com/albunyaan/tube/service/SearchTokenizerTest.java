@@ -71,4 +71,111 @@ class SearchTokenizerTest {
         List<String> tokens = tokenizer.tokenize("Ali Ali", null);
         assertEquals(1, tokens.stream().filter("ali"::equals).count());
     }
+
+    @Test
+    void normalizeArabic_returnsSameInstanceWhenNothingToFold() {
+        String clean = "quran الله";
+        assertSame(clean, tokenizer.normalizeArabic(clean));
+    }
+
+    @Test
+    void tokenize_splitsOnArabicAndAsciiPunctuation() {
+        List<String> tokens = tokenizer.tokenize("تفسير،سورة؟البقرة - Part(12)", null);
+        assertEquals(List.of("تفسير", "سورة", "سوره", "البقرة", "البقره", "part"), tokens);
+    }
+
+    @Test
+    void tokenizeAndQueryTermsMatchTheRegexImplementation() {
+        // The single-pass tokenizer must index exactly what the old split/replaceAll version did
+        List<String> titles = List.of(
+                "Tafsir Surat Al-Baqarah (Part 12) | Sheikh Ahmad",
+                "تفسير سُورَةِ البَقَرَة - الدرس ١٢",
+                "«الأربعون النووية» شرح الحديث الأول",
+                "What is Tawheed? Q&A with Br. Ali... 2024",
+                "آية الكرسي — تلاوة خاشعة",
+                "  leading, trailing;  spaces\t\ttabs  ",
+                "",
+                "a b c ٱلله");
+        for (String title : titles) {
+            assertEquals(legacyTokenize(title), tokenizer.tokenize(title, null), title);
+            assertEquals(legacyQueryTerms(title), tokenizer.queryTerms(title), title);
+        }
+    }
+
+    @Test
+    void stemmingMode_indexesLightStemsAndStemsQueries() {
+        SearchTokenizer stemming = new SearchTokenizer(true);
+
+        List<String> tokens = stemming.tokenize("Prayers والصلاة", null);
+        assertTrue(tokens.contains("prayers"));
+        assertTrue(tokens.contains("prayer"));
+        assertTrue(tokens.contains("والصلاه"));
+        assertTrue(tokens.contains("صلا"));
+
+        assertEquals(List.of("prayer", "صلا"), stemming.queryTerms("prayers الصلاة"));
+        // Too short to strip
+        assertEquals(List.of("bus", "is"), stemming.queryTerms("bus is"));
+    }
+
+    @Test
+    void termCounts_countRepeatedWordsAndEachFormOncePerWord() {
+        SearchTokenizer.TermCounts counts = tokenizer.termCounts("الصلاة Salah الصلاة");
+
+        assertEquals(3, counts.words());
+        assertEquals(2, counts.frequencies().get("الصلاة"));
+        assertEquals(2, counts.frequencies().get("الصلاه"));
+        assertEquals(1, counts.frequencies().get("salah"));
+        assertEquals(0, tokenizer.termCounts(null).words());
+    }
+
+    @Test
+    void exactQueryTerms_matchTokensIndexedWithOrWithoutStemming() {
+        SearchTokenizer stemming = new SearchTokenizer(true);
+
+        List<String> terms = stemming.exactQueryTerms("prayers الصلاة is");
+
+        assertEquals(List.of("prayers", "الصلاه"), terms);
+        assertTrue(tokenizer.tokenize("Prayers الصلاة", null).containsAll(terms));
+        assertTrue(stemming.tokenize("Prayers الصلاة", null).containsAll(terms));
+    }
+
+    @Test
+    void stem_englishInflections() {
+        assertEquals("lecture", SearchTokenizer.stem("lectures"));
+        assertEquals("story", SearchTokenizer.stem("stories"));
+        assertEquals("teach", SearchTokenizer.stem("teaching"));
+        assertEquals("church", SearchTokenizer.stem("churches"));
+        assertNull(SearchTokenizer.stem("class"));
+        assertNull(SearchTokenizer.stem("quran"));
+    }
+
+    private static final String LEGACY_SPLIT = "[\\s\\p{Punct}\\u060C\\u061B\\u061F\\u00BB\\u00AB]+";
+
+    private static String legacyNormalize(String text) {
+        return text.replaceAll("[\\u064B-\\u065F]", "")
+                .replaceAll("[\\u0623\\u0625\\u0622\\u0671]", "ا")
+                .replaceAll("ة", "ه");
+    }
+
+    private static List<String> legacyTokenize(String title) {
+        java.util.Set<String> tokens = new java.util.LinkedHashSet<>();
+        for (String word : title.split(LEGACY_SPLIT)) {
+            if (word.length() < 3) continue;
+            String lower = word.toLowerCase(java.util.Locale.ROOT);
+            tokens.add(lower);
+            String normalized = legacyNormalize(lower);
+            if (!normalized.equals(lower) && !normalized.isEmpty()) tokens.add(normalized);
+        }
+        return new java.util.ArrayList<>(tokens);
+    }
+
+    private static List<String> legacyQueryTerms(String query) {
+        java.util.Set<String> terms = new java.util.LinkedHashSet<>();
+        for (String word : query.split(LEGACY_SPLIT)) {
+            if (word.length() < 2) continue;
+            String normalized = legacyNormalize(word.toLowerCase(java.util.Locale.ROOT));
+            if (normalized.length() >= 2) terms.add(normalized);
+        }
+        return new java.util.ArrayList<>(terms);
+    }
 }
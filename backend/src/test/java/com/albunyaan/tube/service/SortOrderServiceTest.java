@@ -159,6 +159,9 @@ class SortOrderServiceTest {
         assertEquals(1, saved.get(1).getPosition());
         assertEquals("ch2", saved.get(2).getContentId());
         assertEquals(2, saved.get(2).getPosition());
+        // Only pages depending on cat1's order are invalidated
+        verify(cacheService).evictForChange(PublicContentChange.order("cat1"));
+        verify(cacheService, never()).evictPublicContentCaches();
     }
 
     @Test
@@ -291,7 +294,7 @@ class SortOrderServiceTest {
         assertEquals(0, saved.get(0).getPosition());
         assertEquals("ch2", saved.get(1).getContentId());
         assertEquals(1, saved.get(1).getPosition());
-        verify(cacheService).evictPublicContentCaches();
+        verify(cacheService).evictForChange(PublicContentChange.order("cat1"));
     }
 
     // --- addMultipleContentToCategory ---
@@ -328,7 +331,9 @@ class SortOrderServiceTest {
         assertTrue(ch.getCategoryIds().contains("cat1"));
         verify(channelRepository).save(ch);
         // Verify cache evicted
-        verify(cacheService).evictPublicContentCaches();
+        verify(cacheService).evictForChanges(List.of(
+                PublicContentChange.order("cat1"),
+                PublicContentChange.content("channel", "ch1", Set.of("cat1"))));
         // Verify result returned
         assertEquals(1, result.size());
         assertEquals("ch1", result.get(0).getContentId());
@@ -344,7 +349,7 @@ class SortOrderServiceTest {
         );
         // No writes should have happened
         verify(orderRepository, never()).save(any());
-        verify(cacheService, never()).evictPublicContentCaches();
+        verify(cacheService, never()).evictForChanges(any());
     }
 
     @Test
@@ -413,7 +418,7 @@ class SortOrderServiceTest {
         // Verify rollback: ch1 categoryIds reverted (removeCategoryIdFromContent called)
         // ch1 was in writtenCategoryIds, so its categoryIds should have been cleaned
         // Cache should NOT have been evicted (batch failed)
-        verify(cacheService, never()).evictPublicContentCaches();
+        verify(cacheService, never()).evictForChanges(any());
     }
 
     @Test
@@ -469,7 +474,9 @@ class SortOrderServiceTest {
         // Sort-order entry deleted
         verify(orderRepository).deleteById(docId);
         // Cache evicted
-        verify(cacheService).evictPublicContentCaches();
+        verify(cacheService).evictForChanges(List.of(
+                PublicContentChange.content("channel", "ch1", Set.of("cat1")),
+                PublicContentChange.order("cat1")));
     }
 
     @Test
@@ -487,7 +494,9 @@ class SortOrderServiceTest {
 
         // Sort-order entry still deleted even though content is gone
         verify(orderRepository).deleteById(docId);
-        verify(cacheService).evictPublicContentCaches();
+        verify(cacheService).evictForChanges(List.of(
+                PublicContentChange.content("channel", "ch-gone", Set.of("cat1")),
+                PublicContentChange.order("cat1")));
     }
 
     // --- contentExists ---
@@ -14,8 +14,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -72,13 +74,126 @@ class StreamIndexServiceTest {
 
         service.indexFromChannel("UC123", List.of(makeItem("abc12345678", "Quran Recitation")));
 
-        verify(streamRepository).upsert(argThat(s ->
-            s.getStreamId().equals("abc12345678") &&
+        verify(streamRepository).upsertAll(argThat(page -> page.size() == 1 && matches(page.get(0))), eq("channel:UC123"));
+    }
+
+    private static boolean matches(SearchableStream s) {
+        return s.getStreamId().equals("abc12345678") &&
             s.getTitle().equals("Quran Recitation") &&
             s.getChannelName().equals("Test Channel") &&
             s.getSearchTokens().contains("quran") &&
-            s.isVisible()
-        ), eq("channel:UC123"));
+            s.getContentHash() != null &&
+            s.isVisible();
+    }
+
+    @Test
+    void indexFromChannel_readsThePageOnceAndSkipsUnchangedStreams() throws Exception {
+        Channel ch = new Channel("UC123");
+        ch.setStatus("APPROVED");
+        ch.setName("Test Channel");
+        when(channelRepository.findByYoutubeId("UC123")).thenReturn(Optional.of(ch));
+        StreamItemDto same = makeItem("aaa11111111", "Same");
+        same.setViewCount(12_345L);
+        StreamItemDto renamed = makeItem("bbb22222222", "New Title");
+        when(streamRepository.findByIds(any())).thenReturn(Map.of(
+                "aaa11111111", stored(same, "Test Channel", 12_399L, "channel:UC123"),
+                "bbb22222222", stored(makeItem("bbb22222222", "Old Title"), "Test Channel", null, "channel:UC123")));
+        when(streamRepository.upsertAll(anyList(), eq("channel:UC123"))).thenReturn(List.of("bbb22222222"));
+
+        service.indexFromChannel("UC123", List.of(same, renamed));
+
+        verify(streamRepository).findByIds(argThat(ids -> ids.size() == 2));
+        verify(streamRepository).upsertAll(argThat(page ->
+                page.size() == 1 && page.get(0).getStreamId().equals("bbb22222222")), eq("channel:UC123"));
+        verify(streamRepository, never()).upsert(any(), any());
+    }
+
+    @Test
+    void indexFromChannel_rewritesWhenViewsCrossABucketOrStreamIsInvisible() throws Exception {
+        Channel ch = new Channel("UC123");
+        ch.setStatus("APPROVED");
+        ch.setName("Test Channel");
+        when(channelRepository.findByYoutubeId("UC123")).thenReturn(Optional.of(ch));
+        StreamItemDto popular = makeItem("aaa11111111", "Popular");
+        popular.setViewCount(13_000L);
+        StreamItemDto hidden = makeItem("bbb22222222", "Hidden");
+        SearchableStream hiddenStored = stored(hidden, "Test Channel", null, "channel:UC123");
+        hiddenStored.setVisible(false);
+        when(streamRepository.findByIds(any())).thenReturn(Map.of(
+                "aaa11111111", stored(popular, "Test Channel", 12_999L, "channel:UC123"),
+                "bbb22222222", hiddenStored));
+
+        service.indexFromChannel("UC123", List.of(popular, hidden));
+
+        verify(streamRepository).upsertAll(argThat(page -> page.size() == 2), eq("channel:UC123"));
+    }
+
+    @Test
+    void indexFromChannel_rewritesStreamsIndexedWithAnotherTokenizer() throws Exception {
+        Channel ch = new Channel("UC123");
+        ch.setStatus("APPROVED");
+        ch.setName("Test Channel");
+        when(channelRepository.findByYoutubeId("UC123")).thenReturn(Optional.of(ch));
+        StreamItemDto item = makeItem("aaa11111111", "Prayers");
+        // Written before stemming was enabled: same display fields, no stems
+        when(streamRepository.findByIds(any())).thenReturn(Map.of(
+                "aaa11111111", stored(new SearchTokenizer(false), item, "Test Channel", null, "channel:UC123")));
+
+        new StreamIndexService(streamRepository, channelRepository, playlistRepository, new SearchTokenizer(true))
+                .indexFromChannel("UC123", List.of(item));
+
+        verify(streamRepository).upsertAll(argThat(page ->
+                page.size() == 1 && page.get(0).getSearchTokens().contains("prayer")), eq("channel:UC123"));
+    }
+
+    @Test
+    void indexFromChannel_readdsASourceRemovedEarlierEvenWhenTheHashMatches() throws Exception {
+        Channel ch = new Channel("UC123");
+        ch.setStatus("APPROVED");
+        ch.setName("Test Channel");
+        when(channelRepository.findByYoutubeId("UC123")).thenReturn(Optional.of(ch));
+        StreamItemDto item = makeItem("aaa11111111", "Same");
+        // Hash written while both sources listed the stream; the channel was removed since
+        SearchableStream current = stored(item, "Test Channel", null, "channel:UC123", "playlist:PL1");
+        current.setSourceKeys(List.of("playlist:PL1"));
+        when(streamRepository.findByIds(any())).thenReturn(Map.of("aaa11111111", current));
+
+        service.indexFromChannel("UC123", List.of(item));
+
+        verify(streamRepository).upsertAll(argThat(page ->
+                page.size() == 1 && page.get(0).getStreamId().equals("aaa11111111")), eq("channel:UC123"));
+    }
+
+    @Test
+    void viewBucketKeepsTwoSignificantDigits() {
+        assertEquals(99L, StreamIndexService.viewBucket(99L));
+        assertEquals(12_000L, StreamIndexService.viewBucket(12_345L));
+        assertEquals(12_000L, StreamIndexService.viewBucket(12_999L));
+        assertEquals(-1L, StreamIndexService.viewBucket(null));
+    }
+
+    /** What a previous ingest of {@code item} would have left in Firestore. */
+    private SearchableStream stored(StreamItemDto item, String channelName, Long viewCount, String... sourceKeys) {
+        return stored(tokenizer, item, channelName, viewCount, sourceKeys);
+    }
+
+    private static SearchableStream stored(SearchTokenizer tokenizer, StreamItemDto item, String channelName,
+                                           Long viewCount, String... sourceKeys) {
+        SearchableStream s = new SearchableStream();
+        s.setStreamId(item.getId());
+        s.setTitle(item.getName());
+        s.setTitleNorm(tokenizer.normalizeArabic(item.getName().toLowerCase(java.util.Locale.ROOT)));
+        s.setSearchTokens(tokenizer.tokenize(item.getName(), channelName));
+        s.setThumbnailUrl(item.getThumbnailUrl());
+        s.setChannelId("UC123");
+        s.setChannelName(channelName);
+        s.setStreamType(item.getStreamType());
+        s.setDurationSeconds(item.getDuration());
+        s.setViewCount(viewCount);
+        s.setSourceKeys(List.of(sourceKeys));
+        s.setVisible(true);
+        s.setContentHash(StreamIndexService.contentHash(s, new java.util.TreeSet<>(List.of(sourceKeys))));
+        return s;
     }
 
     @Test
@@ -134,15 +249,16 @@ class StreamIndexServiceTest {
     }
 
     @Test
-    void removeSource_callsRepositoryForEachStream() throws Exception {
-        SearchableStream s1 = new SearchableStream(); s1.setStreamId("aaa11111111");
-        SearchableStream s2 = new SearchableStream(); s2.setStreamId("bbb22222222");
-        when(streamRepository.findBySourceKey("channel:UC123", 500)).thenReturn(List.of(s1, s2));
+    void removeSource_removesPageByPageUntilAShortPage() throws Exception {
+        List<String> full = java.util.stream.IntStream.range(0, 500).mapToObj(i -> "s" + i).toList();
+        when(streamRepository.removeSourcePage("channel:UC123", 500))
+                .thenReturn(full)
+                .thenReturn(List.of("aaa11111111", "bbb22222222"));
 
         service.removeSource("CHANNEL", "UC123");
 
-        verify(streamRepository).removeSource("aaa11111111", "channel:UC123");
-        verify(streamRepository).removeSource("bbb22222222", "channel:UC123");
+        verify(streamRepository, times(2)).removeSourcePage("channel:UC123", 500);
+        verify(streamRepository, never()).removeSource(any(), any());
     }
 
     private StreamItemDto makeItem(String id, String name) {
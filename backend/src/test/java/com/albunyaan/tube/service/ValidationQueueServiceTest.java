@@ -0,0 +1,147 @@
+package com.albunyaan.tube.service;
+
+import com.albunyaan.tube.config.ValidationProperties;
+import com.albunyaan.tube.model.Channel;
+import com.albunyaan.tube.model.Playlist;
+import com.albunyaan.tube.model.Video;
+import com.albunyaan.tube.repository.ValidationQueueRepository;
+import com.albunyaan.tube.repository.ValidationQueueRepository.FailureReport;
+import com.albunyaan.tube.service.ValidationQueueService.ContentType;
+import com.albunyaan.tube.service.ValidationQueueService.Pull;
+import com.albunyaan.tube.service.ValidationQueueService.Signals;
+import com.albunyaan.tube.service.catalog.HomeFeedProjector;
+import com.albunyaan.tube.service.catalog.PublicCatalogSnapshot;
+import com.google.cloud.Timestamp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ValidationQueueServiceTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private ValidationQueueRepository repository;
+    private HomeFeedProjector homeFeedProjector;
+    private ValidationQueueService queue;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ValidationQueueRepository.class);
+        homeFeedProjector = mock(HomeFeedProjector.class);
+        when(homeFeedProjector.featuredIds()).thenReturn(Set.of());
+        // Lease everything requested unless a test says otherwise
+        when(repository.tryLease(anyString(), anyList(), anyMap(), anyString(), anyLong()))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.<List<String>>getArgument(1)));
+        queue = new ValidationQueueService(repository, new ValidationProperties(), homeFeedProjector, () -> NOW);
+    }
+
+    private static Timestamp daysAgo(double days) {
+        return Timestamp.ofTimeMicroseconds(TimeUnit.MILLISECONDS.toMicros(NOW - (long) (days * 86_400_000L)));
+    }
+
+    private static Signals item(String id, double daysSinceValidation, Long views, boolean categorized) {
+        return new Signals(id, daysAgo(daysSinceValidation), daysAgo(365), views, categorized);
+    }
+
+    @Test
+    void exposedItemWithReportedFailuresOutranksStaleObscureItem() {
+        Signals obscure = item("obscure", 29, null, false);
+        Signals hot = item("hot", 2, 250_000L, true);
+        when(homeFeedProjector.featuredIds()).thenReturn(Set.of("hot"));
+        Map<String, FailureReport> failures = Map.of("hot", new FailureReport("hot", 3, daysAgo(1)));
+
+        Pull<Signals> pull = queue.pull(ContentType.VIDEO, List.of(obscure, hot), Function.identity(), failures, 1);
+
+        assertEquals(List.of(hot), pull.items());
+    }
+
+    @Test
+    void exposedIdsAreHomeItemsThenStalestCategorizedItems() {
+        Video validatedLongAgo = video("a", daysAgo(10), "quran");
+        Video neverValidated = video("b", null, "quran");
+        Video validatedYesterday = video("c", daysAgo(1), "seerah");
+        Video uncategorized = video("d", null);
+        when(homeFeedProjector.featuredIds("VIDEO")).thenReturn(Set.of("home"));
+        when(homeFeedProjector.latestCatalog()).thenReturn(PublicCatalogSnapshot.build(1, 0, List.of(),
+                List.<Channel>of(), List.<Playlist>of(),
+                List.of(validatedLongAgo, neverValidated, validatedYesterday, uncategorized), List.of()));
+
+        assertEquals(List.of("home", "b", "a"), new ArrayList<>(queue.exposedIds(ContentType.VIDEO, 3)));
+        assertEquals(Set.of("home", "a", "b", "c"), queue.exposedIds(ContentType.VIDEO, 10));
+    }
+
+    private static Video video(String id, Timestamp lastValidatedAt, String... categoryIds) {
+        Video v = new Video(id);
+        v.setId("doc-" + id);
+        v.setStatus("APPROVED");
+        v.setCategoryIds(List.of(categoryIds));
+        v.setLastValidatedAt(lastValidatedAt);
+        return v;
+    }
+
+    @Test
+    void failureReportedBeforeLastValidationIsAlreadyAnswered() {
+        FailureReport report = new FailureReport("v", 5, daysAgo(3));
+
+        assertFalse(ValidationQueueService.isOpen(report, daysAgo(1)));
+        assertTrue(ValidationQueueService.isOpen(report, daysAgo(4)));
+        assertEquals(ValidationQueueService.score(item("v", 1, null, false), null, false, NOW),
+                ValidationQueueService.score(item("v", 1, null, false), report, false, NOW));
+    }
+
+    @Test
+    void stalenessIsCappedAndRecentChangesFadeOut() {
+        Signals ancient = new Signals("a", daysAgo(400), null, null, false);
+        Signals neverValidated = new Signals("n", null, null, null, false);
+        Signals justEdited = new Signals("e", daysAgo(0), daysAgo(0), null, false);
+        Signals editedLongAgo = new Signals("o", daysAgo(0), daysAgo(30), null, false);
+
+        assertEquals(ValidationQueueService.MAX_STALENESS_DAYS,
+                ValidationQueueService.score(ancient, null, false, NOW), 1e-9);
+        assertEquals(ValidationQueueService.MAX_STALENESS_DAYS,
+                ValidationQueueService.score(neverValidated, null, false, NOW), 1e-9);
+        assertEquals(ValidationQueueService.CHANGE_BONUS,
+                ValidationQueueService.score(justEdited, null, false, NOW), 1e-9);
+        assertEquals(0, ValidationQueueService.score(editedLongAgo, null, false, NOW), 1e-9);
+    }
+
+    @Test
+    void itemsLeasedByAnotherRunAreSkippedAndBackfilled() {
+        List<Signals> candidates = List.of(item("a", 20, null, false), item("b", 10, null, false),
+                item("c", 5, null, false));
+        when(repository.tryLease(anyString(), anyList(), anyMap(), anyString(), anyLong()))
+                .thenAnswer(invocation -> {
+                    List<String> ids = new ArrayList<>(invocation.<List<String>>getArgument(1));
+                    ids.remove("a"); // held by another run
+                    return ids;
+                });
+
+        Pull<Signals> pull = queue.pull(ContentType.VIDEO, candidates, Function.identity(), Map.of(), 2);
+
+        assertEquals(List.of("b", "c"), pull.items().stream().map(Signals::youtubeId).toList());
+        verify(repository).tryLease(eq("VIDEO"), eq(List.of("a", "b")), anyMap(), anyString(), anyLong());
+        verify(repository).tryLease(eq("VIDEO"), eq(List.of("c")), anyMap(), anyString(), anyLong());
+    }
+
+    @Test
+    void releaseClearsFailuresOnlyForItemsValidatedDuringTheRun() {
+        Timestamp runStart = daysAgo(0.01);
+        Signals validated = new Signals("done", daysAgo(0), null, null, false);
+        Signals skipped = new Signals("skipped", daysAgo(5), null, null, false);
+        Pull<Signals> pull = new Pull<>(ContentType.VIDEO, List.of(validated, skipped), "holder");
+
+        queue.release(pull, Function.identity(), runStart);
+
+        verify(repository).release("VIDEO", List.of("done", "skipped"), Set.of("done"));
+    }
+}
@@ -8,6 +8,7 @@ import com.albunyaan.tube.model.ValidationStatus;
 import com.albunyaan.tube.model.Video;
 import com.albunyaan.tube.repository.ValidationRunRepository;
 import com.albunyaan.tube.repository.VideoRepository;
+import com.albunyaan.tube.service.sync.ArchivedIdIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +28,7 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -104,6 +106,32 @@ class VideoValidationServiceTest {
         verify(auditLogService, never()).logSystem(eq("video_marked_unavailable"), eq("video"), eq("v-3"), any());
     }
 
+    @Test
+    void validateStandaloneVideos_reportsErrorStatusToArchivedIdIndex() throws Exception {
+        ArchivedIdIndex archivedIdIndex = mock(ArchivedIdIndex.class);
+        service = new VideoValidationService(videoRepository, channelOrchestrator, auditLogService,
+                validationRunRepository, validationProperties, archivedIdIndex);
+        Video errorVideo = new Video("flaky");
+        errorVideo.setId("v-3");
+        Video unclassifiedVideo = new Video("silent");
+        unclassifiedVideo.setId("v-4");
+
+        when(videoRepository.findByStatus("APPROVED")).thenReturn(List.of(errorVideo, unclassifiedVideo));
+        when(videoRepository.save(any(Video.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(validationRunRepository.save(any(ValidationRun.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchValidationResult<StreamDetailsDto> validationResult = new BatchValidationResult<>();
+        validationResult.addError("flaky", "Network error: timeout");
+        when(channelOrchestrator.batchValidateVideosDtoWithDetails(anyList())).thenReturn(validationResult);
+
+        service.validateStandaloneVideos(ValidationRun.TRIGGER_SCHEDULED, null, null, null);
+
+        assertSame(ValidationStatus.ERROR, errorVideo.getValidationStatus());
+        assertSame(ValidationStatus.ERROR, unclassifiedVideo.getValidationStatus());
+        verify(archivedIdIndex).record(errorVideo);
+        verify(archivedIdIndex).record(unclassifiedVideo);
+    }
+
     @Test
     void validateSpecificVideos_countsUnavailableAndErrorsViaDetails() throws ExecutionException, InterruptedException, TimeoutException {
         Video valid = new Video("exists");
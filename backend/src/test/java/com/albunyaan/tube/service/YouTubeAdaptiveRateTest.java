@@ -0,0 +1,163 @@
+package com.albunyaan.tube.service;
+
+import com.albunyaan.tube.config.ValidationProperties;
+import com.albunyaan.tube.repository.SystemSettingsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class YouTubeAdaptiveRateTest {
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    private ValidationProperties props;
+    private SystemSettingsRepository settings;
+
+    @BeforeEach
+    void setUp() {
+        props = new ValidationProperties();
+        props.getYoutube().getThrottle().setDelayBetweenItemsMs(3000);
+        ValidationProperties.YouTube.Throttle.Adaptive adaptive = props.getYoutube().getThrottle().getAdaptive();
+        adaptive.setMinDelayMs(1000);
+        adaptive.setMaxDelayMs(20000);
+        adaptive.setDecreaseStepMs(500);
+        adaptive.setBackoffFactor(2.0);
+        adaptive.setSlowResponseMs(5000);
+        adaptive.setPersistIntervalSeconds(60);
+        settings = mock(SystemSettingsRepository.class);
+    }
+
+    private YouTubeAdaptiveRate rate() {
+        return new YouTubeAdaptiveRate(props, settings, null, now::get, Runnable::run);
+    }
+
+    @Test
+    void cleanFastResponsesShortenTheDelayDownToTheMinimum() {
+        YouTubeAdaptiveRate rate = rate();
+
+        rate.onSuccess(400);
+        assertEquals(2500, rate.getDelayMs());
+        for (int i = 0; i < 10; i++) {
+            rate.onSuccess(400);
+        }
+        assertEquals(1000, rate.getDelayMs());
+    }
+
+    @Test
+    void rateLimitBacksOffOncePerEpisode() {
+        YouTubeAdaptiveRate rate = rate();
+
+        rate.onRateLimited();
+        rate.onRateLimited(); // in-flight request failing in the same episode
+        assertEquals(6000, rate.getDelayMs());
+
+        now.addAndGet(6000);
+        rate.onRateLimited();
+        assertEquals(12000, rate.getDelayMs());
+        now.addAndGet(12000);
+        rate.onRateLimited();
+        assertEquals(20000, rate.getDelayMs());
+    }
+
+    @Test
+    void slowSuccessCountsAsBackoffSignal() {
+        YouTubeAdaptiveRate rate = rate();
+
+        rate.onSuccess(7000);
+
+        assertEquals(6000, rate.getDelayMs());
+    }
+
+    @Test
+    void learnedDelayIsRestoredAndSavedAfterBackoff() {
+        when(settings.load("youtube_adaptive_rate")).thenReturn(Optional.of(Map.of("delayMs", 1500L)));
+        YouTubeAdaptiveRate rate = rate();
+        rate.loadPersistedState();
+        assertEquals(1500, rate.getDelayMs());
+
+        rate.onRateLimited();
+
+        verify(settings).save(eq("youtube_adaptive_rate"), argThat(data -> Long.valueOf(3000).equals(data.get("delayMs"))));
+    }
+
+    @Test
+    void backOffDoesNotWaitForTheSettingsWrite() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            writing.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(settings).save(eq("youtube_adaptive_rate"), anyMap());
+        ExecutorService publisher = Executors.newSingleThreadExecutor();
+        try {
+            YouTubeAdaptiveRate rate = new YouTubeAdaptiveRate(props, settings, null, now::get, publisher);
+
+            long start = System.nanoTime();
+            rate.onRateLimited();
+            assertTrue(writing.await(5, TimeUnit.SECONDS)); // first write now blocks the publisher
+            now.addAndGet(6000);
+            rate.onRateLimited();
+            now.addAndGet(12000);
+            rate.onRateLimited();
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000,
+                    "back-off must not block on Firestore");
+            assertEquals(20000, rate.getDelayMs());
+
+            release.countDown();
+            // The blocked write, then the two queued ones coalesced into the latest delay
+            verify(settings, timeout(5000)).save(eq("youtube_adaptive_rate"),
+                    argThat(data -> Long.valueOf(20000).equals(data.get("delayMs"))));
+            verify(settings, times(2)).save(eq("youtube_adaptive_rate"), anyMap());
+        } finally {
+            release.countDown();
+            publisher.shutdownNow();
+        }
+    }
+
+    @Test
+    void speedUpsAreSavedAtMostOncePerInterval() {
+        YouTubeAdaptiveRate rate = rate();
+
+        rate.onSuccess(100);
+        rate.onSuccess(100);
+        verify(settings, times(1)).save(eq("youtube_adaptive_rate"), anyMap());
+
+        now.addAndGet(60_000);
+        rate.onSuccess(100);
+        verify(settings, times(2)).save(eq("youtube_adaptive_rate"), anyMap());
+    }
+
+    @Test
+    void disabledControllerUsesTheConfiguredDelay() {
+        props.getYoutube().getThrottle().getAdaptive().setEnabled(false);
+        YouTubeAdaptiveRate rate = rate();
+
+        rate.onRateLimited();
+        rate.onSuccess(100);
+
+        assertEquals(3000, rate.getDelayMs());
+        verifyNoInteractions(settings);
+    }
+
+    @Test
+    void exposesDelayAndRateGauges() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        YouTubeAdaptiveRate rate = new YouTubeAdaptiveRate(props, null, registry, now::get, Runnable::run);
+
+        assertEquals(3000, rate.getDelayMs());
+        assertEquals(3000, registry.get("youtube.throttle.delay").gauge().value());
+        assertEquals(20, registry.get("youtube.throttle.rate").gauge().value(), 1e-9);
+    }
+}
@@ -0,0 +1,144 @@
+package com.albunyaan.tube.service;
+
+import com.albunyaan.tube.config.ValidationProperties;
+import com.albunyaan.tube.model.Channel;
+import com.albunyaan.tube.model.Video;
+import com.albunyaan.tube.service.YouTubeAvailabilityProbe.Availability;
+import com.albunyaan.tube.service.YouTubeAvailabilityProbe.Plan;
+import com.albunyaan.tube.service.YouTubeAvailabilityProbe.Reply;
+import com.albunyaan.tube.service.YouTubeAvailabilityProbe.Result;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class YouTubeAvailabilityProbeTest {
+
+    private static final String FEED = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <feed xmlns:yt="http://www.youtube.com/xml/schemas/2015" xmlns="http://www.w3.org/2005/Atom">
+             <title>Channel One</title>
+             <entry>
+              <yt:videoId>vid00000001</yt:videoId>
+              <title>First</title>
+             </entry>
+             <entry>
+              <yt:videoId>vid00000002</yt:videoId>
+              <title>Second</title>
+             </entry>
+            </feed>
+            """;
+
+    private final List<String> requested = new ArrayList<>();
+
+    private YouTubeAvailabilityProbe probe(Function<String, Reply> responder) {
+        ValidationProperties props = new ValidationProperties();
+        props.getYoutube().getProbe().setDelayMs(0);
+        return new YouTubeAvailabilityProbe(url -> {
+            requested.add(url);
+            return responder.apply(url);
+        }, props, null, null);
+    }
+
+    private static Video video(String id, String channelId, String title) {
+        Video video = new Video(id);
+        video.setChannelId(channelId);
+        video.setTitle(title);
+        return video;
+    }
+
+    @Test
+    void oneChannelFeedConfirmsSeveralVideosAndTheRestFallBackToOembed() {
+        YouTubeAvailabilityProbe probe = probe(url -> {
+            if (url.contains("/feeds/videos.xml")) return new Reply(200, FEED);
+            if (url.contains("vid00000003")) return new Reply(404, "Not Found");
+            return new Reply(200, "{\"title\":\"Other\"}");
+        });
+
+        Map<String, Result> results = probe.probeVideos(List.of(
+                video("vid00000001", "UCone", "First"),
+                video("vid00000002", "UCone", "Second"),
+                video("vid00000003", "UCone", "Third")));
+
+        assertEquals(new Result(Availability.AVAILABLE, "First"), results.get("vid00000001"));
+        assertEquals(new Result(Availability.AVAILABLE, "Second"), results.get("vid00000002"));
+        assertEquals(Availability.SUSPECT, results.get("vid00000003").availability());
+        assertEquals(2, requested.size(), "one feed plus one oEmbed for the video it does not list");
+    }
+
+    @Test
+    void rateLimitStopsTheBatchAndLeavesTheRestUnknown() {
+        YouTubeAvailabilityProbe probe = probe(url -> new Reply(429, null));
+
+        Map<String, Result> results = probe.probeVideos(List.of(
+                video("vid00000001", null, "A"),
+                video("vid00000002", null, "B")));
+
+        assertEquals(Availability.UNKNOWN, results.get("vid00000001").availability());
+        assertEquals(Availability.UNKNOWN, results.get("vid00000002").availability());
+        assertEquals(1, requested.size());
+    }
+
+    @Test
+    void channelFeedStatusDecidesChannelAvailability() {
+        YouTubeAvailabilityProbe probe = probe(url ->
+                url.contains("UCgone") ? new Reply(404, null) : new Reply(200, FEED));
+
+        Map<String, Result> results = probe.probeChannels(List.of(new Channel("UCone"), new Channel("UCgone")));
+
+        assertEquals(new Result(Availability.AVAILABLE, "Channel One"), results.get("UCone"));
+        assertEquals(Availability.SUSPECT, results.get("UCgone").availability());
+    }
+
+    @Test
+    void planExtractsFlaggedThenUnknownThenStalestConfirmed() {
+        List<Video> candidates = List.of(
+                video("a", null, "A"),         // available, unchanged (stalest)
+                video("b", null, "B"),         // available, unchanged
+                video("c", null, "C"),         // suspect
+                video("d", null, "D"),         // unknown
+                video("e", null, "E old"));    // available, title changed
+        Map<String, Result> results = Map.of(
+                "a", new Result(Availability.AVAILABLE, "A"),
+                "b", new Result(Availability.AVAILABLE, "B"),
+                "c", new Result(Availability.SUSPECT, null),
+                "e", new Result(Availability.AVAILABLE, "E new"));
+
+        Plan<Video> plan = YouTubeAvailabilityProbe.plan(candidates, results, Video::getYoutubeId, Video::getTitle, 4);
+
+        assertEquals(List.of("c", "e", "d", "a"), ids(plan.extract()));
+        assertEquals(List.of("b"), ids(plan.confirmed()));
+    }
+
+    @Test
+    void flaggedItemsBeyondTheLimitAreLeftForTheNextRun() {
+        List<Video> candidates = List.of(video("a", null, "A"), video("b", null, "B"), video("c", null, "C"));
+        Map<String, Result> results = Map.of(
+                "a", new Result(Availability.SUSPECT, null),
+                "b", new Result(Availability.SUSPECT, null),
+                "c", new Result(Availability.AVAILABLE, "C"));
+
+        Plan<Video> plan = YouTubeAvailabilityProbe.plan(candidates, results, Video::getYoutubeId, Video::getTitle, 1);
+
+        assertEquals(List.of("a"), ids(plan.extract()));
+        assertEquals(List.of("c"), ids(plan.confirmed()));
+    }
+
+    @Test
+    void feedParserRejectsDoctypeAndNonAtomBodies() {
+        assertNull(YouTubeAvailabilityProbe.parseFeed(
+                "<?xml version=\"1.0\"?><!DOCTYPE feed [<!ENTITY x SYSTEM \"file:///etc/passwd\">]>"
+                        + "<feed xmlns=\"http://www.w3.org/2005/Atom\"><title>&x;</title></feed>"));
+        assertNull(YouTubeAvailabilityProbe.parseFeed("<html><body>consent</body></html>"));
+        assertEquals(Map.of("vid00000001", "First", "vid00000002", "Second"),
+                YouTubeAvailabilityProbe.parseFeed(FEED).videoTitles());
+    }
+
+    private static List<String> ids(List<Video> videos) {
+        return videos.stream().map(Video::getYoutubeId).toList();
+    }
+}
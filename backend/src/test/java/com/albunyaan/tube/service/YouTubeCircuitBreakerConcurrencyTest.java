@@ -0,0 +1,139 @@
+package com.albunyaan.tube.service;
+
+import com.albunyaan.tube.config.ValidationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests for the lock-free state of YouTubeCircuitBreaker: many threads checking and
+ * recording at once, the way admin previews, downloads and validation runs share one breaker.
+ */
+class YouTubeCircuitBreakerConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private static ValidationProperties props(int errorThreshold) {
+        ValidationProperties props = new ValidationProperties();
+        props.getYoutube().getCircuitBreaker().setEnabled(true);
+        props.getYoutube().getCircuitBreaker().setCooldownMaxMinutes(10);
+        props.getYoutube().getCircuitBreaker().getRollingWindow().setErrorThreshold(errorThreshold);
+        props.getYoutube().getCircuitBreaker().getRollingWindow().setWindowMinutes(10);
+        return props;
+    }
+
+    private void runConcurrently(Runnable task) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(20, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent errors are all counted in the window and totals")
+    void concurrentErrorsAreNotLost() throws Exception {
+        int perThread = 2_000;
+        YouTubeCircuitBreaker breaker = new YouTubeCircuitBreaker(props(THREADS * perThread + 1), null);
+
+        runConcurrently(() -> {
+            for (int i = 0; i < perThread; i++) {
+                breaker.recordRateLimitError(new RuntimeException("rate limit"));
+                breaker.isOpen();
+            }
+        });
+
+        assertEquals(THREADS * perThread, breaker.rollingWindowErrorCount());
+        assertEquals(THREADS * perThread, breaker.getStatusSnapshot().getTotalRateLimitErrors());
+        assertEquals(YouTubeCircuitBreaker.State.CLOSED, breaker.getCurrentState());
+    }
+
+    @Test
+    @DisplayName("Threshold reached under contention opens the circuit and clears the window")
+    void thresholdUnderContentionOpensCircuit() throws Exception {
+        YouTubeCircuitBreaker breaker = new YouTubeCircuitBreaker(props(THREADS), null);
+
+        runConcurrently(() -> breaker.recordRateLimitError(new RuntimeException("rate limit")));
+
+        assertEquals(YouTubeCircuitBreaker.State.OPEN, breaker.getCurrentState());
+        assertTrue(breaker.isOpen());
+        assertTrue(breaker.getStatusSnapshot().getTotalCircuitOpens() >= 1);
+        assertEquals(THREADS, breaker.getStatusSnapshot().getTotalRateLimitErrors());
+    }
+
+    @RepeatedTest(50)
+    @DisplayName("HALF_OPEN grants exactly one probe permit to racing callers")
+    void halfOpenGrantsExactlyOneProbe() throws Exception {
+        YouTubeCircuitBreaker breaker = new YouTubeCircuitBreaker(props(1), null);
+        breaker.recordRateLimitError(new RuntimeException("rate limit"));
+        breaker.setStateForTesting(YouTubeCircuitBreaker.State.HALF_OPEN);
+        AtomicInteger permits = new AtomicInteger();
+
+        runConcurrently(() -> {
+            if (!breaker.isOpen() && breaker.allowProbe()) {
+                permits.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, permits.get());
+        assertTrue(breaker.isProbeRequest());
+    }
+
+    @Test
+    @DisplayName("Checks and successes racing with an open keep a consistent snapshot")
+    void checksRacingWithTransitionsStayConsistent() throws Exception {
+        YouTubeCircuitBreaker breaker = new YouTubeCircuitBreaker(props(3), null);
+        AtomicInteger inconsistent = new AtomicInteger();
+        CountDownLatch opened = new CountDownLatch(1);
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                if (i == 10_000 && opened.getCount() > 0) {
+                    for (int e = 0; e < 3; e++) {
+                        breaker.recordRateLimitError(new RuntimeException("rate limit"));
+                    }
+                    opened.countDown();
+                }
+                boolean open = breaker.isOpen();
+                YouTubeCircuitBreaker.CircuitBreakerStatus status = breaker.getStatusSnapshot();
+                // An OPEN snapshot always carries its cooldown; a CLOSED one never does
+                if (status.getState() == YouTubeCircuitBreaker.State.OPEN && status.getCooldownUntil() == null
+                        || status.getState() == YouTubeCircuitBreaker.State.CLOSED && status.getRemainingCooldownMs() > 0) {
+                    inconsistent.incrementAndGet();
+                }
+                if (!open) {
+                    breaker.recordSuccess();
+                }
+            }
+        });
+
+        assertEquals(0, inconsistent.get());
+    }
+}
@@ -23,7 +23,13 @@ import org.schabi.newpipe.extractor.search.SearchExtractor;
 import org.schabi.newpipe.extractor.stream.StreamInfo;
 
 import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -193,6 +199,136 @@ class YouTubeGatewayTest {
         }
     }
 
+    @Nested
+    @DisplayName("Single-flight")
+    class SingleFlightTests {
+
+        @Test
+        @DisplayName("Concurrent callers for the same ID share one extraction")
+        void concurrentCallsShareOneExtraction() throws Exception {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger runs = new AtomicInteger();
+            Object shared = new Object();
+            YouTubeGateway.Extraction<Object> slow = () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return shared;
+            };
+
+            ExecutorService callers = Executors.newFixedThreadPool(2);
+            try {
+                Future<Object> first = callers.submit(() -> gateway.singleFlight("stream.info", "v1", slow));
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                Future<Object> second = callers.submit(() -> gateway.singleFlight("stream.info", "v1", slow));
+                // Give the follower time to join before the leader finishes
+                Thread.sleep(100);
+                release.countDown();
+
+                assertSame(shared, first.get(5, TimeUnit.SECONDS));
+                assertSame(shared, second.get(5, TimeUnit.SECONDS));
+                assertEquals(1, runs.get());
+            } finally {
+                callers.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Followers receive the leader's exception")
+        void followersShareTheLeadersFailure() throws Exception {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            YouTubeGateway.Extraction<Object> failing = () -> {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("rate limited");
+            };
+
+            ExecutorService callers = Executors.newFixedThreadPool(2);
+            try {
+                Future<Object> first = callers.submit(() -> gateway.singleFlight("channel.info", "UC1", failing));
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                Future<Object> second = callers.submit(() -> gateway.singleFlight("channel.info", "UC1",
+                        () -> { throw new AssertionError("follower must not extract"); }));
+                Thread.sleep(100);
+                release.countDown();
+
+                ExecutionException leaderError = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+                ExecutionException followerError = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IOException.class, leaderError.getCause());
+                assertSame(leaderError.getCause(), followerError.getCause());
+            } finally {
+                callers.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("An interactive follower lifts the leader out of the background queue")
+        void interactiveFollowerRaisesTheLeadersLane() throws Exception {
+            ValidationProperties props = new ValidationProperties();
+            props.getYoutube().getThrottle().setEnabled(true);
+            props.getYoutube().getThrottle().setDelayBetweenItemsMs(60_000);
+            props.getYoutube().getThrottle().setJitterMs(0);
+            props.getYoutube().getThrottle().setBurst(1);
+            props.getYoutube().getThrottle().setInteractiveReserve(0);
+            props.getYoutube().getCircuitBreaker().setEnabled(true);
+            props.getYoutube().getCircuitBreaker().getRollingWindow().setErrorThreshold(1);
+            props.getYoutube().getCircuitBreaker().setMaxRateLimitErrorsToOpen(1);
+            YouTubeCircuitBreaker circuitBreaker = new YouTubeCircuitBreaker(props, null);
+            YouTubeRequestScheduler scheduler = new YouTubeRequestScheduler(props, circuitBreaker, null);
+            YouTubeGateway throttled = new YouTubeGateway(ServiceList.YouTube, 1, null, null, null, scheduler, null);
+            scheduler.acquire(YouTubeRequestScheduler.Lane.BACKGROUND); // no token left for a minute
+
+            ExecutorService callers = Executors.newFixedThreadPool(2);
+            try {
+                Future<StreamInfo> leader = callers.submit(() -> throttled.fetchStreamInfo("dQw4w9WgXcQ"));
+                Thread.sleep(100);
+                assertEquals(1, scheduler.queueDepth(YouTubeRequestScheduler.Lane.BACKGROUND));
+
+                Future<StreamInfo> follower = callers.submit(() -> {
+                    try (YouTubeRequestScheduler.LaneScope ignored =
+                                 YouTubeRequestScheduler.withLane(YouTubeRequestScheduler.Lane.INTERACTIVE)) {
+                        return throttled.fetchStreamInfo("dQw4w9WgXcQ");
+                    }
+                });
+                Thread.sleep(100);
+                assertEquals(0, scheduler.queueDepth(YouTubeRequestScheduler.Lane.BACKGROUND));
+                assertEquals(1, scheduler.queueDepth(YouTubeRequestScheduler.Lane.INTERACTIVE));
+
+                // Opening the circuit only cancels background work; the shared call keeps its place
+                circuitBreaker.recordRateLimitError(new RuntimeException("Sign in to confirm you're not a bot"));
+                scheduler.onCircuitStateChanged();
+                Thread.sleep(100);
+                assertFalse(leader.isDone());
+                assertFalse(follower.isDone());
+            } finally {
+                callers.shutdownNow();
+                throttled.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("Completed extractions are not reused and keys are independent")
+        void sequentialAndDistinctCallsExtractSeparately() throws Exception {
+            AtomicInteger runs = new AtomicInteger();
+            YouTubeGateway.Extraction<Integer> counting = runs::incrementAndGet;
+
+            assertEquals(1, gateway.singleFlight("stream.info", "v1", counting));
+            assertEquals(2, gateway.singleFlight("stream.info", "v1", counting));
+            assertEquals(3, gateway.singleFlight("stream.info", "v2", counting));
+            assertEquals(4, gateway.singleFlight("playlist.info", "v1", counting));
+        }
+    }
+
     @Nested
     @DisplayName("URL Utilities")
     class UrlUtilityTests {
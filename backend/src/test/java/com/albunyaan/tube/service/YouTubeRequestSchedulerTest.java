@@ -0,0 +1,173 @@
+package com.albunyaan.tube.service;
+
+import com.albunyaan.tube.config.ValidationProperties;
+import com.albunyaan.tube.service.YouTubeRequestScheduler.Lane;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class YouTubeRequestSchedulerTest {
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    private static ValidationProperties throttle(long delayMs, int burst, int reserve) {
+        ValidationProperties props = new ValidationProperties();
+        ValidationProperties.YouTube.Throttle config = props.getYoutube().getThrottle();
+        config.setEnabled(true);
+        config.setDelayBetweenItemsMs(delayMs);
+        config.setJitterMs(0);
+        config.setBurst(burst);
+        config.setInteractiveReserve(reserve);
+        props.getYoutube().getCircuitBreaker().setEnabled(true);
+        props.getYoutube().getCircuitBreaker().getRollingWindow().setErrorThreshold(1);
+        props.getYoutube().getCircuitBreaker().setMaxRateLimitErrorsToOpen(1);
+        return props;
+    }
+
+    private Future<Lane> acquireAsync(YouTubeRequestScheduler scheduler, Lane lane, List<Lane> order) {
+        return callers.submit(() -> {
+            scheduler.acquire(lane);
+            order.add(lane);
+            return lane;
+        });
+    }
+
+    @Test
+    void interactiveRequestOvertakesQueuedBackgroundWork() throws Exception {
+        YouTubeRequestScheduler scheduler = new YouTubeRequestScheduler(throttle(300, 1, 0), null, null);
+        scheduler.acquire(Lane.BACKGROUND); // spend the only token
+        List<Lane> order = new CopyOnWriteArrayList<>();
+
+        Future<Lane> background = acquireAsync(scheduler, Lane.BACKGROUND, order);
+        Thread.sleep(50);
+        Future<Lane> interactive = acquireAsync(scheduler, Lane.INTERACTIVE, order);
+
+        interactive.get(5, TimeUnit.SECONDS);
+        background.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(Lane.INTERACTIVE, Lane.BACKGROUND), order);
+    }
+
+    @Test
+    void queuedRequestMovesToItsRaisedLane() throws Exception {
+        YouTubeRequestScheduler scheduler = new YouTubeRequestScheduler(throttle(300, 1, 0), null, null);
+        scheduler.acquire(Lane.BACKGROUND);
+        List<Lane> order = new CopyOnWriteArrayList<>();
+        AtomicReference<Lane> lane = new AtomicReference<>(Lane.BACKGROUND);
+
+        Future<?> raised = callers.submit(() -> {
+            scheduler.acquire(lane::get);
+            order.add(lane.get());
+            return null;
+        });
+        Thread.sleep(50);
+        Future<Lane> download = acquireAsync(scheduler, Lane.DOWNLOAD, order);
+        Thread.sleep(50);
+        assertEquals(1, scheduler.queueDepth(Lane.BACKGROUND));
+
+        lane.set(Lane.INTERACTIVE);
+        scheduler.onLaneRaised();
+
+        raised.get(5, TimeUnit.SECONDS);
+        download.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(Lane.INTERACTIVE, Lane.DOWNLOAD), order);
+        assertEquals(0, scheduler.queueDepth(Lane.BACKGROUND));
+        assertEquals(0, scheduler.queueDepth(Lane.INTERACTIVE));
+    }
+
+    @Test
+    void reservedTokensAreOnlySpentByInteractiveRequests() throws Exception {
+        YouTubeRequestScheduler scheduler = new YouTubeRequestScheduler(throttle(60_000, 2, 1), null, null);
+        scheduler.acquire(Lane.BULK); // 2 → 1 token, which is the interactive reserve
+
+        Future<Lane> bulk = acquireAsync(scheduler, Lane.BULK, new CopyOnWriteArrayList<>());
+        assertThrows(TimeoutException.class, () -> bulk.get(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, scheduler.queueDepth(Lane.BULK));
+
+        // The interactive request is not behind the queued bulk one and may use the reserve
+        Future<Lane> interactive = acquireAsync(scheduler, Lane.INTERACTIVE, new CopyOnWriteArrayList<>());
+        assertEquals(Lane.INTERACTIVE, interactive.get(1, TimeUnit.SECONDS));
+
+        bulk.cancel(true);
+    }
+
+    @Test
+    void queuedBackgroundWorkIsCancelledWhenTheCircuitOpens() throws Exception {
+        ValidationProperties props = throttle(60_000, 1, 0);
+        YouTubeCircuitBreaker circuitBreaker = new YouTubeCircuitBreaker(props, null);
+        YouTubeRequestScheduler scheduler = new YouTubeRequestScheduler(props, circuitBreaker, null);
+        scheduler.acquire(Lane.BACKGROUND);
+
+        Future<Lane> background = acquireAsync(scheduler, Lane.BACKGROUND, new CopyOnWriteArrayList<>());
+        Future<Lane> download = acquireAsync(scheduler, Lane.DOWNLOAD, new CopyOnWriteArrayList<>());
+        Thread.sleep(100);
+
+        circuitBreaker.recordRateLimitError(new RuntimeException("Sign in to confirm you're not a bot"));
+        scheduler.onCircuitStateChanged();
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> background.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, error.getCause());
+        // Only background work is dropped; other lanes keep their place
+        assertFalse(download.isDone());
+        assertEquals(0, scheduler.queueDepth(Lane.BACKGROUND));
+
+        download.cancel(true);
+    }
+
+    @Test
+    void jitteredCostIsCarriedAsDebtInsteadOfRefillingTheBucket() throws Exception {
+        ValidationProperties props = throttle(100, 1, 0);
+        // Each request costs 1 to 4 tokens, usually more than the balance it was admitted with
+        props.getYoutube().getThrottle().setJitterMs(300);
+        YouTubeRequestScheduler scheduler = new YouTubeRequestScheduler(props, null, null);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            scheduler.acquire(Lane.BACKGROUND);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // The first request spends the full bucket; each later one waits at least one interval
+        assertTrue(elapsedMs >= 480, "six requests admitted in " + elapsedMs + " ms");
+    }
+
+    @Test
+    void disabledThrottleAdmitsImmediately() throws Exception {
+        ValidationProperties props = throttle(60_000, 1, 0);
+        props.getYoutube().getThrottle().setEnabled(false);
+        YouTubeRequestScheduler scheduler = new YouTubeRequestScheduler(props, null, null);
+
+        for (int i = 0; i < 5; i++) {
+            scheduler.acquire(Lane.BACKGROUND);
+        }
+    }
+
+    @Test
+    void laneDefaultsToBackgroundOffRequestThreadsAndScopesNest() {
+        assertEquals(Lane.BACKGROUND, YouTubeRequestScheduler.currentLane());
+        try (YouTubeRequestScheduler.LaneScope outer = YouTubeRequestScheduler.withLane(Lane.DOWNLOAD)) {
+            try (YouTubeRequestScheduler.LaneScope inner = YouTubeRequestScheduler.withLane(Lane.BULK)) {
+                assertEquals(Lane.BULK, YouTubeRequestScheduler.currentLane());
+            }
+            assertEquals(Lane.DOWNLOAD, YouTubeRequestScheduler.currentLane());
+        }
+        assertEquals(Lane.BACKGROUND, YouTubeRequestScheduler.currentLane());
+    }
+}
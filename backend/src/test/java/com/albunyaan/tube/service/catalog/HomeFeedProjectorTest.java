@@ -0,0 +1,122 @@
+package com.albunyaan.tube.service.catalog;
+
+import com.albunyaan.tube.dto.CursorPageDto;
+import com.albunyaan.tube.dto.HomeCategoryDto;
+import com.albunyaan.tube.model.Category;
+import com.albunyaan.tube.model.CategoryContentOrder;
+import com.albunyaan.tube.model.Channel;
+import com.albunyaan.tube.model.Video;
+import com.albunyaan.tube.repository.CategoryContentOrderRepository;
+import com.albunyaan.tube.repository.CategoryRepository;
+import com.albunyaan.tube.repository.ChannelRepository;
+import com.albunyaan.tube.repository.PlaylistRepository;
+import com.albunyaan.tube.repository.SearchableStreamRepository;
+import com.albunyaan.tube.repository.VideoRepository;
+import com.albunyaan.tube.service.PublicContentService;
+import com.albunyaan.tube.service.SearchTokenizer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class HomeFeedProjectorTest {
+
+    private PublicCatalogSnapshotService snapshotService;
+    private CategoryContentOrderRepository orderRepository;
+    private HomeFeedProjector projector;
+    private PublicContentService contentService;
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = mock(PublicCatalogSnapshotService.class);
+        orderRepository = mock(CategoryContentOrderRepository.class);
+        projector = new HomeFeedProjector(snapshotService, true, 3);
+        contentService = new PublicContentService(
+                mock(ChannelRepository.class), mock(PlaylistRepository.class), mock(VideoRepository.class),
+                mock(CategoryRepository.class), orderRepository, Runnable::run,
+                mock(SearchableStreamRepository.class), new SearchTokenizer(),
+                snapshotService, null, projector);
+        contentService.bindHomeFeedProjector();
+    }
+
+    private static Category category(String id, String parentId, int displayOrder) {
+        Category c = new Category();
+        c.setId(id);
+        c.setName("Cat " + id);
+        c.setParentCategoryId(parentId);
+        c.setDisplayOrder(displayOrder);
+        return c;
+    }
+
+    private static Video video(String id, String... categoryIds) {
+        Video v = new Video();
+        v.setId(id);
+        v.setYoutubeId("yt-" + id);
+        v.setTitle("Video " + id);
+        v.setCategoryIds(List.of(categoryIds));
+        v.setStatus("APPROVED");
+        return v;
+    }
+
+    private PublicCatalogSnapshot snapshot(long version, List<Video> videos, List<CategoryContentOrder> order) {
+        return PublicCatalogSnapshot.build(version, 0,
+                List.of(category("quran", null, 0), category("tajweed", "quran", 0), category("seerah", null, 1)),
+                List.<Channel>of(), List.of(), videos, order);
+    }
+
+    private PublicCatalogSnapshot publish(PublicCatalogSnapshot snapshot) {
+        projector.project(snapshot);
+        when(snapshotService.current()).thenReturn(snapshot);
+        return snapshot;
+    }
+
+    private static List<String> itemIds(HomeCategoryDto section) {
+        return section.getItems().stream().map(i -> i.getId()).collect(Collectors.toList());
+    }
+
+    @Test
+    void homeFeedIsSlicedFromProjectedSections() throws Exception {
+        List<Video> videos = new ArrayList<>();
+        List<CategoryContentOrder> order = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            videos.add(video("q" + i, "tajweed"));
+            order.add(new CategoryContentOrder("quran", "q" + i, "video", 4 - i));
+        }
+        videos.add(video("s0", "seerah"));
+        order.add(new CategoryContentOrder("seerah", "s0", "video", 0));
+        publish(snapshot(1, videos, order));
+
+        CursorPageDto<HomeCategoryDto> feed = contentService.getHomeFeed(null, 5, 2, null);
+
+        assertEquals(List.of("quran", "seerah"),
+                feed.getData().stream().map(HomeCategoryDto::getId).collect(Collectors.toList()));
+        HomeCategoryDto quran = feed.getData().get(0);
+        assertEquals(List.of("yt-q4", "yt-q3"), itemIds(quran), "parent order applies to child content");
+        assertEquals(5, quran.getTotalContentCount());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void projectionIsOnlyUsedWhileItsSnapshotIsCurrent() {
+        PublicCatalogSnapshot first = publish(snapshot(1, List.of(video("q0", "quran")), List.of()));
+        assertNotNull(projector.current(3));
+        assertNull(projector.current(4), "deeper sections than projected are computed per request");
+
+        when(snapshotService.current()).thenReturn(null); // mutation pending rebuild
+        assertNull(projector.current(3));
+
+        when(snapshotService.current()).thenReturn(snapshot(2, List.of(), List.of()));
+        assertNull(projector.current(3), "projection of an older snapshot is not served");
+
+        when(snapshotService.current()).thenReturn(first);
+        assertEquals(1, projector.current(3).section("quran").items(3).size());
+        assertEquals(0, projector.current(3).section("seerah").items(3).size());
+    }
+}
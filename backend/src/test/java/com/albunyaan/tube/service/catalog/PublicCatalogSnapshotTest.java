@@ -0,0 +1,230 @@
+package com.albunyaan.tube.service.catalog;
+
+import com.albunyaan.tube.model.Category;
+import com.albunyaan.tube.model.CategoryContentOrder;
+import com.albunyaan.tube.model.Channel;
+import com.albunyaan.tube.model.Playlist;
+import com.albunyaan.tube.model.ValidationStatus;
+import com.albunyaan.tube.model.Video;
+import com.albunyaan.tube.repository.CategoryContentOrderRepository;
+import com.albunyaan.tube.repository.CategoryRepository;
+import com.albunyaan.tube.repository.ChannelRepository;
+import com.albunyaan.tube.repository.PlaylistRepository;
+import com.albunyaan.tube.repository.VideoRepository;
+import com.google.cloud.Timestamp;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class PublicCatalogSnapshotTest {
+
+    private static Channel channel(String id, long subscribers, String... categoryIds) {
+        Channel c = new Channel("UC-" + id);
+        c.setId(id);
+        c.setName("Channel " + id);
+        c.setSubscribers(subscribers);
+        c.setCategoryIds(List.of(categoryIds));
+        c.setStatus("APPROVED");
+        return c;
+    }
+
+    private static Video video(String id, long uploadedSeconds, String... categoryIds) {
+        Video v = new Video();
+        v.setId(id);
+        v.setYoutubeId("yt-" + id);
+        v.setTitle("Video " + id);
+        v.setUploadedAt(Timestamp.ofTimeSecondsAndNanos(uploadedSeconds, 0));
+        v.setCategoryIds(List.of(categoryIds));
+        v.setStatus("APPROVED");
+        return v;
+    }
+
+    private static Category category(String id, String parentId, int displayOrder) {
+        Category c = new Category();
+        c.setId(id);
+        c.setName("Cat " + id);
+        c.setParentCategoryId(parentId);
+        c.setDisplayOrder(displayOrder);
+        return c;
+    }
+
+    private static List<String> ids(List<Channel> channels) {
+        return channels.stream().map(Channel::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void excludesNonPublicAndUnavailableItemsButKeepsTheirCategoriesActiveWhenOnlyUnavailable() {
+        Channel visible = channel("c1", 10, "cat-a");
+        Channel personal = channel("c2", 20, "cat-b");
+        personal.setVisibility("PERSONAL");
+        Channel archived = channel("c3", 30, "cat-c");
+        archived.setValidationStatus(ValidationStatus.ARCHIVED);
+        Channel pending = channel("c4", 40, "cat-d");
+        pending.setStatus("PENDING");
+
+        PublicCatalogSnapshot snapshot = PublicCatalogSnapshot.build(1, 0, List.of(),
+                List.of(visible, personal, archived, pending), List.of(), List.of(), List.of());
+
+        assertEquals(List.of("c1"), ids(snapshot.findAllChannels(10)));
+        assertTrue(snapshot.findChannelsByIds(List.of("c2", "c3", "c4")).isEmpty());
+        // getCategories() semantics: approved + public, availability not considered
+        assertEquals(java.util.Set.of("cat-a", "cat-c"), snapshot.findActiveCategoryIds());
+    }
+
+    @Test
+    void listsAreSortedLikeRepositoryQueries() {
+        PublicCatalogSnapshot snapshot = PublicCatalogSnapshot.build(1, 0, List.of(),
+                List.of(channel("low", 1, "cat"), channel("high", 100, "cat"), channel("mid", 50, "other")),
+                List.of(),
+                List.of(video("old", 1_000, "cat"), video("new", 2_000, "cat")),
+                List.of());
+
+        assertEquals(List.of("high", "mid", "low"), ids(snapshot.findAllChannels(10)));
+        assertEquals(List.of("high", "low"), ids(snapshot.findChannelsByCategory("cat", 10)));
+        assertEquals(List.of("high", "mid"), ids(snapshot.findChannelsByCategoryIds(List.of("other", "cat"), 2)));
+        assertEquals("new", snapshot.findVideosByCategory("cat", 1).get(0).getId());
+    }
+
+    @Test
+    void cursorPagesWalkTheWholeListAndStaleCursorSeeksByPosition() {
+        PublicCatalogSnapshot snapshot = PublicCatalogSnapshot.build(1, 0, List.of(),
+                List.of(channel("a", 5), channel("b", 4), channel("c", 3)),
+                List.of(), List.of(), List.of());
+
+        ChannelRepository.PaginatedResult<Channel> first = snapshot.findChannelPage(null, 2, null);
+        assertEquals(List.of("a", "b"), ids(first.getItems()));
+        assertTrue(first.hasNext());
+        assertNotNull(first.getNextCursor());
+
+        ChannelRepository.PaginatedResult<Channel> second = snapshot.findChannelPage(null, 2, first.getNextCursor());
+        assertEquals(List.of("c"), ids(second.getItems()));
+        assertFalse(second.hasNext());
+        assertNull(second.getNextCursor());
+
+        // Cursor pointing at a document no longer in the catalog resumes after its sort position
+        PublicCatalogSnapshot rebuilt = PublicCatalogSnapshot.build(2, 0, List.of(),
+                List.of(channel("a", 5), channel("c", 3)), List.of(), List.of(), List.of());
+        ChannelRepository.PaginatedResult<Channel> afterRemoval =
+                rebuilt.findChannelPage(null, 2, first.getNextCursor());
+        assertEquals(List.of("c"), ids(afterRemoval.getItems()));
+
+        // Cursor document whose sort value changed: seek by the cursor's value, not the new position
+        PublicCatalogSnapshot moved = PublicCatalogSnapshot.build(3, 0, List.of(),
+                List.of(channel("b", 9), channel("a", 5), channel("c", 3), channel("d", 1)),
+                List.of(), List.of(), List.of());
+        assertEquals(List.of("c", "d"), ids(moved.findChannelPage(null, 2, first.getNextCursor()).getItems()));
+    }
+
+    @Test
+    void staleCursorSeeksWithinCategoryViews() {
+        PublicCatalogSnapshot snapshot = PublicCatalogSnapshot.build(1, 0, List.of(), List.of(), List.of(),
+                List.of(video("v1", 4_000, "cat"), video("v2", 3_000, "cat"),
+                        video("v3", 2_000, "other"), video("v4", 1_000, "cat")),
+                List.of());
+        VideoRepository.PaginatedResult<Video> first = snapshot.findVideoPage("cat", 2, null);
+        assertEquals(List.of("v1", "v2"), first.getItems().stream().map(Video::getId).collect(Collectors.toList()));
+
+        PublicCatalogSnapshot rebuilt = PublicCatalogSnapshot.build(2, 0, List.of(), List.of(), List.of(),
+                List.of(video("v1", 4_000, "cat"), video("v3", 2_000, "other"), video("v4", 1_000, "cat")),
+                List.of());
+        VideoRepository.PaginatedResult<Video> next = rebuilt.findVideoPage("cat", 2, first.getNextCursor());
+        assertEquals(List.of("v4"), next.getItems().stream().map(Video::getId).collect(Collectors.toList()));
+        assertFalse(next.hasNext());
+    }
+
+    @Test
+    void orderEntriesMergeAtLowestPositionAndCountDedupes() {
+        PublicCatalogSnapshot snapshot = PublicCatalogSnapshot.build(1, 0,
+                List.of(category("parent", null, 1), category("child", "parent", 1)),
+                List.of(), List.of(), List.of(),
+                List.of(new CategoryContentOrder("parent", "v1", "video", 3),
+                        new CategoryContentOrder("child", "v1", "video", 1),
+                        new CategoryContentOrder("child", "v2", "video", 2)));
+
+        List<CategoryContentOrder> merged = snapshot.findOrderEntries(List.of("parent", "child"));
+        assertEquals(List.of("v1", "v2"),
+                merged.stream().map(CategoryContentOrder::getContentId).collect(Collectors.toList()));
+        assertEquals(1, merged.get(0).getPosition());
+        assertEquals(2, snapshot.countOrderEntries(List.of("parent", "child")));
+        assertEquals(List.of("child"),
+                snapshot.findChildCategories("parent").stream().map(Category::getId).collect(Collectors.toList()));
+    }
+
+    // ---- PublicCatalogSnapshotService ----
+
+    private ChannelRepository channelRepository;
+    private PlaylistRepository playlistRepository;
+    private VideoRepository videoRepository;
+    private CategoryRepository categoryRepository;
+    private CategoryContentOrderRepository orderRepository;
+    private PublicCatalogSnapshotService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        channelRepository = Mockito.mock(ChannelRepository.class);
+        playlistRepository = Mockito.mock(PlaylistRepository.class);
+        videoRepository = Mockito.mock(VideoRepository.class);
+        categoryRepository = Mockito.mock(CategoryRepository.class);
+        orderRepository = Mockito.mock(CategoryContentOrderRepository.class);
+        when(categoryRepository.findAll()).thenReturn(List.of());
+        when(channelRepository.findByStatus("APPROVED")).thenReturn(List.of(channel("c1", 1)));
+        when(playlistRepository.findByStatus("APPROVED")).thenReturn(List.<Playlist>of());
+        when(videoRepository.findByStatus("APPROVED")).thenReturn(List.of());
+        when(orderRepository.findAll()).thenReturn(List.of());
+        // Long debounce: markStale() must not rebuild behind the test's back
+        service = new PublicCatalogSnapshotService(channelRepository, playlistRepository, videoRepository,
+                categoryRepository, orderRepository, new SimpleMeterRegistry(), true, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void serviceServesSnapshotOnlyUntilMarkedStale() {
+        assertNull(service.current());
+
+        service.rebuildNow();
+        PublicCatalogSnapshot built = service.current();
+        assertNotNull(built);
+        assertEquals(1, built.size());
+
+        service.markStale();
+        assertNull(service.current(), "stale snapshot must not be served after a mutation");
+
+        service.rebuildNow();
+        assertNotNull(service.current());
+        assertTrue(service.current().getVersion() > built.getVersion());
+    }
+
+    @Test
+    void failedRebuildKeepsFallingBackToFirestore() throws Exception {
+        when(channelRepository.findByStatus("APPROVED")).thenThrow(new java.util.concurrent.TimeoutException("slow"));
+
+        service.rebuildNow();
+
+        assertNull(service.current());
+    }
+
+    @Test
+    void disabledServiceNeverServesSnapshot() {
+        PublicCatalogSnapshotService disabled = new PublicCatalogSnapshotService(channelRepository,
+                playlistRepository, videoRepository, categoryRepository, orderRepository,
+                new SimpleMeterRegistry(), false, 0);
+        try {
+            disabled.rebuildNow();
+            assertNull(disabled.current());
+        } finally {
+            disabled.shutdown();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.albunyaan.tube.service.search;
+
+import com.albunyaan.tube.model.Channel;
+import com.albunyaan.tube.model.SearchableStream;
+import com.albunyaan.tube.model.Video;
+import com.albunyaan.tube.repository.SearchableStreamRepository;
+import com.albunyaan.tube.service.SearchTokenizer;
+import com.albunyaan.tube.service.catalog.PublicCatalogSnapshot;
+import com.albunyaan.tube.service.catalog.PublicCatalogSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PublicSearchIndexServiceTest {
+
+    private SearchTokenizer tokenizer;
+    private SearchableStreamRepository streamRepository;
+    private PublicCatalogSnapshotService snapshotService;
+    private PublicSearchIndexService service;
+
+    @BeforeEach
+    void setUp() {
+        tokenizer = new SearchTokenizer();
+        streamRepository = mock(SearchableStreamRepository.class);
+        snapshotService = mock(PublicCatalogSnapshotService.class);
+        service = new PublicSearchIndexService(tokenizer, streamRepository, snapshotService, true);
+    }
+
+    private static Channel channel(String id, String name, long subscribers) {
+        Channel c = new Channel("UC-" + id);
+        c.setId(id);
+        c.setName(name);
+        c.setSubscribers(subscribers);
+        c.setStatus("APPROVED");
+        return c;
+    }
+
+    private static Video video(String id, String title, List<String> keywords) {
+        Video v = new Video();
+        v.setId(id);
+        v.setYoutubeId("yt-" + id);
+        v.setTitle(title);
+        v.setKeywords(keywords);
+        v.setStatus("APPROVED");
+        return v;
+    }
+
+    private static SearchableStream stream(String id, String title) {
+        SearchableStream s = new SearchableStream();
+        s.setStreamId(id);
+        s.setTitle(title);
+        s.setChannelName("Channel");
+        s.setSourceKeys(new ArrayList<>(List.of("channel:UC1")));
+        return s;
+    }
+
+    private PublicCatalogSnapshot publish(List<Channel> channels, List<Video> videos) {
+        PublicCatalogSnapshot snapshot = PublicCatalogSnapshot.build(1, 0, List.of(),
+                channels, List.of(), videos, List.of());
+        service.indexCatalog(snapshot);
+        when(snapshotService.current()).thenReturn(snapshot);
+        return snapshot;
+    }
+
+    @Test
+    void notReadyUntilSnapshotIndexedAndAfterSnapshotIsInvalidated() {
+        assertNull(service.searchChannels("quran", 10));
+
+        publish(List.of(channel("c1", "Quran Recitation", 10)), List.of());
+        assertEquals(1, service.searchChannels("quran", 10).size());
+
+        // A pending rebuild (no current snapshot) must not serve results from the old index
+        when(snapshotService.current()).thenReturn(null);
+        assertNull(service.searchChannels("quran", 10));
+    }
+
+    @Test
+    void multiWordQueriesRequireEveryWordAndMatchPrefixes() {
+        publish(List.of(
+                channel("c1", "Quran Recitation", 10),
+                channel("c2", "Quran Tafsir", 20),
+                channel("c3", "Islamic History", 30)), List.of());
+
+        assertEquals(List.of("c1"), ids(service.searchChannels("quran recit", 10)));
+        assertEquals(List.of("c3"), ids(service.searchChannels("isl", 10)));
+        assertTrue(service.searchChannels("quran history", 10).isEmpty());
+    }
+
+    @Test
+    void titleMatchesOutrankKeywordMatchesAndTiesBreakOnPopularity() {
+        publish(List.of(
+                channel("small", "Fiqh Lessons", 5),
+                channel("big", "Fiqh Lessons", 500)), List.of(
+                video("kw", "Friday Khutbah", List.of("seerah")),
+                video("title", "Seerah of the Prophet", List.of())));
+
+        assertEquals(List.of("title", "kw"),
+                service.searchVideos("seerah", 10).stream().map(Video::getId).collect(Collectors.toList()));
+        assertEquals(List.of("big", "small"), ids(service.searchChannels("fiqh", 10)));
+    }
+
+    @Test
+    void repeatedTitleWordsRankHigherAndShortPrefixesStayComplete() {
+        List<Channel> channels = new ArrayList<>();
+        // More than MAX_PREFIX_EXPANSIONS terms share the "ta" prefix and sort before "tazkiyah"
+        for (int i = 0; i < TermIndex.MAX_PREFIX_EXPANSIONS + 10; i++) {
+            channels.add(channel(String.format("filler%03d", i), String.format("ta%03d lessons", i), 1));
+        }
+        channels.add(channel("once", "Fiqh Tazkiyah", 1));
+        channels.add(channel("twice", "Fiqh Tazkiyah Tazkiyah", 1));
+        publish(channels, List.of());
+
+        assertEquals(List.of("twice", "once"), ids(service.searchChannels("tazkiyah", 10)));
+        // "ta" is too broad to expand, but is still checked on the "fiqh" candidates
+        assertEquals(java.util.Set.of("twice", "once"), new java.util.HashSet<>(ids(service.searchChannels("fiqh ta", 10))));
+    }
+
+    @Test
+    void arabicQueriesMatchAcrossDiacriticsAndLetterVariants() {
+        publish(List.of(channel("c1", "صَلاة الفجر", 1)), List.of());
+
+        assertEquals(List.of("c1"), ids(service.searchChannels("صلاه", 10)));
+        assertEquals(List.of("c1"), ids(service.searchChannels("صلاة الفج", 10)));
+    }
+
+    @Test
+    void streamIndexFollowsIncrementalUpdates() throws Exception {
+        when(streamRepository.findVisiblePage(isNull(), anyInt()))
+                .thenReturn(List.of(stream("s1", "Quran Recitation")));
+        assertNull(service.searchStreams("quran", 10));
+
+        service.reloadStreams();
+        assertEquals(List.of("s1"), streamIds(service.searchStreams("quran", 10)));
+
+        // Second source added, then one removed: still visible
+        service.onStreamUpserted(stream("s1", "Quran Recitation"), "playlist:PL1");
+        service.onStreamSourceRemoved("s1", "channel:UC1");
+        assertEquals(List.of("s1"), streamIds(service.searchStreams("quran", 10)));
+
+        // Last source removed: gone
+        service.onStreamSourceRemoved("s1", "playlist:PL1");
+        assertTrue(service.searchStreams("quran", 10).isEmpty());
+
+        service.onStreamUpserted(stream("s2", "Quran Tajweed"), "channel:UC1");
+        assertEquals(List.of("s2"), streamIds(service.searchStreams("tajw", 10)));
+        service.onStreamArchived("s2");
+        assertTrue(service.searchStreams("tajw", 10).isEmpty());
+    }
+
+    @Test
+    void failedStreamReloadKeepsFallbackPath() throws Exception {
+        when(streamRepository.findVisiblePage(any(), anyInt()))
+                .thenThrow(new java.util.concurrent.TimeoutException("slow"));
+
+        service.reloadStreams();
+
+        assertNull(service.searchStreams("quran", 10));
+    }
+
+    private static List<String> ids(List<Channel> channels) {
+        return channels.stream().map(Channel::getId).collect(Collectors.toList());
+    }
+
+    private static List<String> streamIds(List<SearchableStream> streams) {
+        return streams.stream().map(SearchableStream::getStreamId).collect(Collectors.toList());
+    }
+}
@@ -61,4 +61,33 @@ class ArchiveProjectorTest {
         assertTrue((Boolean) projector.projectPlaylist(pl).data().get("deleted"));
         assertTrue((Boolean) projector.projectFavorite(fv).data().get("deleted"));
     }
+
+    @Test
+    void loadedIndexAnswersWithoutRepositoryLookups() {
+        ArchivedIdIndex index = Mockito.mock(ArchivedIdIndex.class);
+        when(index.archivedAmong(com.albunyaan.tube.dto.YouTubeContentType.CHANNEL, java.util.List.of("UC1", "UC2")))
+                .thenReturn(java.util.Set.of("UC2"));
+        ArchiveProjector indexed = new ArchiveProjector(channels, playlists, videos, index);
+        RawRow live = new RawRow("UC1", Map.of("deleted", false), 1L);
+        RawRow archived = new RawRow("UC2", Map.of("deleted", false), 2L);
+
+        java.util.List<RawRow> out = indexed.projectSubscriptions(java.util.List.of(live, archived));
+
+        assertSame(live, out.get(0));
+        assertTrue((Boolean) out.get(1).data().get("deleted"));
+        Mockito.verifyNoInteractions(channels);
+    }
+
+    @Test
+    void indexNotReadyFallsBackToRepository() {
+        ArchivedIdIndex index = Mockito.mock(ArchivedIdIndex.class);
+        when(index.archivedAmong(Mockito.any(), Mockito.anyCollection())).thenReturn(null);
+        when(videos.archivedIdsAmong(java.util.List.of("V1"))).thenReturn(java.util.Set.of("V1"));
+        ArchiveProjector indexed = new ArchiveProjector(channels, playlists, videos, index);
+
+        java.util.List<RawRow> out = indexed.projectFavorites(
+                java.util.List.of(new RawRow("V1", Map.of("deleted", false), 1L)));
+
+        assertTrue((Boolean) out.get(0).data().get("deleted"));
+    }
 }
@@ -0,0 +1,124 @@
+package com.albunyaan.tube.service.sync;
+
+import com.albunyaan.tube.config.TieredCacheProperties;
+import com.albunyaan.tube.dto.YouTubeContentType;
+import com.albunyaan.tube.model.Channel;
+import com.albunyaan.tube.model.ValidationStatus;
+import com.albunyaan.tube.model.Video;
+import com.albunyaan.tube.repository.ChannelRepository;
+import com.albunyaan.tube.repository.PlaylistRepository;
+import com.albunyaan.tube.repository.VideoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ArchivedIdIndexTest {
+
+    private ChannelRepository channels;
+    private PlaylistRepository playlists;
+    private VideoRepository videos;
+    private ArchivedIdIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        channels = mock(ChannelRepository.class);
+        playlists = mock(PlaylistRepository.class);
+        videos = mock(VideoRepository.class);
+        index = new ArchivedIdIndex(channels, playlists, videos, new TieredCacheProperties(),
+                mock(ObjectProvider.class), new SimpleMeterRegistry(), true);
+    }
+
+    private static Channel channel(String docId, String youtubeId, ValidationStatus status) {
+        Channel c = new Channel(youtubeId);
+        c.setId(docId);
+        c.setValidationStatus(status);
+        return c;
+    }
+
+    private static Video video(String docId, String youtubeId, ValidationStatus status) {
+        Video v = new Video();
+        v.setId(docId);
+        v.setYoutubeId(youtubeId);
+        v.setValidationStatus(status);
+        return v;
+    }
+
+    @Test
+    void notReadyUntilLoaded() {
+        assertFalse(index.isReady());
+        assertNull(index.archivedAmong(YouTubeContentType.CHANNEL, List.of("UC1")));
+        assertNull(index.isArchived(YouTubeContentType.CHANNEL, "UC1"));
+    }
+
+    @Test
+    void loadsArchivedAndUnavailableIdsPerType() throws Exception {
+        when(channels.findByValidationStatus(ValidationStatus.ARCHIVED))
+                .thenReturn(List.of(channel("c1", "UC1", ValidationStatus.ARCHIVED)));
+        when(videos.findByValidationStatus(ValidationStatus.UNAVAILABLE))
+                .thenReturn(List.of(video("v1", "yt1", ValidationStatus.UNAVAILABLE)));
+
+        index.reload();
+
+        assertTrue(index.isReady());
+        assertEquals(Set.of("UC1"), index.archivedAmong(YouTubeContentType.CHANNEL, List.of("UC1", "UC2")));
+        assertEquals(Set.of("yt1"), index.archivedAmong(YouTubeContentType.VIDEO, List.of("yt1")));
+        // Types are kept apart: a video id never gates a subscription row
+        assertFalse(index.isArchived(YouTubeContentType.CHANNEL, "yt1"));
+    }
+
+    @Test
+    void archiveRestoreAndDeleteEventsApplyImmediately() throws Exception {
+        index.reload();
+
+        index.record(channel("c1", "UC1", ValidationStatus.ARCHIVED));
+        assertTrue(index.isArchived(YouTubeContentType.CHANNEL, "UC1"));
+
+        index.record(channel("c1", "UC1", ValidationStatus.VALID));
+        assertFalse(index.isArchived(YouTubeContentType.CHANNEL, "UC1"));
+
+        index.record(video("v1", "yt1", ValidationStatus.UNAVAILABLE));
+        index.removed(YouTubeContentType.VIDEO, "v1");
+        assertFalse(index.isArchived(YouTubeContentType.VIDEO, "yt1"));
+    }
+
+    @Test
+    void sharedYoutubeIdStaysArchivedWhileAnyDocIsArchived() throws Exception {
+        index.reload();
+
+        index.record(channel("c1", "UC1", ValidationStatus.ARCHIVED));
+        index.record(channel("c2", "UC1", ValidationStatus.ARCHIVED));
+        index.record(channel("c1", "UC1", ValidationStatus.VALID));
+
+        assertTrue(index.isArchived(YouTubeContentType.CHANNEL, "UC1"));
+    }
+
+    @Test
+    void eventsDuringReloadAreReplayedOntoTheLoadedSet() throws Exception {
+        // The reload reads the channel as archived; a restore lands while the load is running
+        when(channels.findByValidationStatus(ValidationStatus.ARCHIVED)).thenAnswer(inv -> {
+            index.record(channel("c1", "UC1", ValidationStatus.VALID));
+            return List.of(channel("c1", "UC1", ValidationStatus.ARCHIVED));
+        });
+
+        index.reload();
+
+        assertFalse(index.isArchived(YouTubeContentType.CHANNEL, "UC1"));
+    }
+
+    @Test
+    void disabledIndexIsNeverReady() throws Exception {
+        ArchivedIdIndex disabled = new ArchivedIdIndex(channels, playlists, videos, new TieredCacheProperties(),
+                mock(ObjectProvider.class), new SimpleMeterRegistry(), false);
+        disabled.reload();
+        assertNull(disabled.archivedAmong(YouTubeContentType.CHANNEL, List.of("UC1")));
+    }
+}
@@ -231,4 +231,240 @@ class SyncServiceTest {
 
         assertEquals("AWAITING", body.getValue().get("approvalStatus"));
     }
+
+    // ── Batched push ─────────────────────────────────────────────────────
+
+    @Test
+    void pushBatchLooksUpApprovalsOncePerTypeAndCommitsInOneCall() throws Exception {
+        var fav1 = new PutFavoriteRequest();
+        fav1.setTitle("t"); fav1.setChannelName("c"); fav1.setAddedAt(1L);
+        var fav2 = new PutFavoriteRequest();
+        fav2.setTitle("t2"); fav2.setChannelName("c"); fav2.setAddedAt(2L);
+        var sub = new PutSubscriptionRequest();
+        sub.setChannelUrl("u"); sub.setName("n"); sub.setSubscribedAt(3L);
+        List<SyncBatchOp> ops = List.of(
+                upsertOp("favorites", "v1", op -> op.setFavorite(fav1)),
+                upsertOp("subscriptions", "ch1", op -> op.setSubscription(sub)),
+                upsertOp("favorites", "v2", op -> op.setFavorite(fav2)),
+                SyncBatchOp.delete("playlists", "pl1"));
+        when(approvalGate.infosOf(eq(YouTubeContentType.VIDEO), Mockito.anyCollection()))
+                .thenReturn(Map.of("v2", new ContentApprovalGate.ApprovalInfo("PENDING", null, null)));
+        // An admin-rejected channel is tombstoned, as on the single-row path
+        when(approvalGate.infosOf(eq(YouTubeContentType.CHANNEL), Mockito.anyCollection()))
+                .thenReturn(Map.of("ch1", new ContentApprovalGate.ApprovalInfo("REJECTED", null, null)));
+        ArgumentCaptor<List<SyncRepository.BatchWrite>> writes = ArgumentCaptor.forClass(List.class);
+        when(repo.writeBatch(eq("u1"), writes.capture())).thenAnswer(inv -> {
+            List<SyncRepository.BatchWrite> ws = inv.getArgument(1);
+            return java.util.stream.IntStream.range(0, ws.size())
+                    .mapToObj(i -> new RawRow(ws.get(i).id(),
+                            Map.of("deleted", ws.get(i).payload() == null), 100L + i))
+                    .toList();
+        });
+        when(projector.projectSubscriptions(Mockito.anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(projector.projectPlaylists(Mockito.anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(projector.projectFavorites(Mockito.anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        SyncBatchResponseDto out = service.pushBatch("u1", ops);
+
+        Mockito.verify(approvalGate).infosOf(YouTubeContentType.VIDEO, List.of("v1", "v2"));
+        Mockito.verify(approvalGate).infosOf(YouTubeContentType.CHANNEL, List.of("ch1"));
+        Mockito.verify(approvalGate, Mockito.never()).infosOf(eq(YouTubeContentType.PLAYLIST), Mockito.anyCollection());
+        Mockito.verify(approvalGate, Mockito.never()).infoOf(Mockito.any(), Mockito.any());
+        assertEquals(4, writes.getValue().size());
+        assertEquals("APPROVED", writes.getValue().get(0).payload().get("approvalStatus"));
+        assertNull(writes.getValue().get(1).payload());
+        assertEquals("AWAITING", writes.getValue().get(2).payload().get("approvalStatus"));
+
+        List<SyncBatchResultDto> results = out.getResults();
+        assertEquals(4, results.size());
+        assertEquals("ok", results.get(0).getStatus());
+        assertEquals(100L, results.get(0).getItem().getUpdatedAt());
+        assertTrue(results.get(1).getItem().isDeleted());
+        assertEquals(102L, results.get(2).getItem().getUpdatedAt());
+        assertEquals("pl1", results.get(3).getItem().getEntityId());
+    }
+
+    @Test
+    void pushBatchWritesOnlyTheLastOpPerRowAndReportsFailedGroups() throws Exception {
+        var fav = new PutFavoriteRequest();
+        fav.setTitle("t"); fav.setChannelName("c"); fav.setAddedAt(1L);
+        List<SyncBatchOp> ops = List.of(
+                upsertOp("favorites", "v1", op -> op.setFavorite(fav)),
+                SyncBatchOp.delete("subscriptions", "ch1"),
+                SyncBatchOp.delete("favorites", "v1"));
+        ArgumentCaptor<List<SyncRepository.BatchWrite>> writes = ArgumentCaptor.forClass(List.class);
+        RawRow tomb = new RawRow("v1", Map.of("deleted", true), 7L);
+        // The subscription's commit group failed
+        when(repo.writeBatch(eq("u1"), writes.capture())).thenReturn(java.util.Arrays.asList(tomb, null));
+        when(projector.projectFavorites(List.of(tomb))).thenReturn(List.of(tomb));
+
+        SyncBatchResponseDto out = service.pushBatch("u1", ops);
+
+        assertEquals(2, writes.getValue().size());
+        assertEquals("v1", writes.getValue().get(0).id());
+        assertNull(writes.getValue().get(0).payload());
+        List<SyncBatchResultDto> results = out.getResults();
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).getItem().isDeleted());
+        assertEquals(7L, results.get(0).getItem().getUpdatedAt());
+        assertEquals("failed", results.get(1).getStatus());
+        assertNull(results.get(1).getItem());
+        assertEquals(7L, results.get(2).getItem().getUpdatedAt());
+        Mockito.verify(projector, Mockito.never()).projectSubscriptions(Mockito.anyList());
+    }
+
+    private static SyncBatchOp upsertOp(String collection, String id, java.util.function.Consumer<SyncBatchOp> body) {
+        SyncBatchOp op = new SyncBatchOp();
+        op.setOp(SyncBatchOp.OP_UPSERT);
+        op.setCollection(collection);
+        op.setId(id);
+        body.accept(op);
+        return op;
+    }
+
+    // ── Concurrent / streamed pull ──────────────────────────────────────
+
+    @Test
+    void pullReadsTheThreeTypesConcurrently() throws Exception {
+        java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(3);
+        java.util.concurrent.CountDownLatch allStarted = new java.util.concurrent.CountDownLatch(3);
+        // Each read waits until all three are in flight; a sequential pull would time out here
+        org.mockito.stubbing.Answer<List<RawRow>> barrier = invocation -> {
+            allStarted.countDown();
+            if (!allStarted.await(5, java.util.concurrent.TimeUnit.SECONDS)) {
+                throw new java.util.concurrent.TimeoutException("types were read one after another");
+            }
+            return List.of();
+        };
+        when(repo.pull(eq("u1"), eq("subscriptions"), eq(0L), isNull(), eq(500))).thenAnswer(barrier);
+        when(repo.pull(eq("u1"), eq("playlists"),     eq(0L), isNull(), eq(500))).thenAnswer(barrier);
+        when(repo.pull(eq("u1"), eq("favorites"),     eq(0L), isNull(), eq(500))).thenAnswer(barrier);
+        try {
+            SyncService concurrent = new SyncService(repo, projector, approvalGate, pool);
+
+            SyncResponseDto resp = concurrent.pull("u1", new SyncCursors(0L, 0L, 0L));
+
+            assertTrue(resp.getSubscriptions().getItems().isEmpty());
+            assertTrue(resp.getFavorites().getItems().isEmpty());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void pullRethrowsTheFailingTypesCause() throws Exception {
+        java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(3);
+        java.util.concurrent.TimeoutException slow = new java.util.concurrent.TimeoutException("firestore");
+        when(repo.pull(eq("u1"), eq("subscriptions"), eq(0L), isNull(), eq(500))).thenReturn(List.of());
+        when(repo.pull(eq("u1"), eq("playlists"),     eq(0L), isNull(), eq(500))).thenThrow(slow);
+        when(repo.pull(eq("u1"), eq("favorites"),     eq(0L), isNull(), eq(500))).thenReturn(List.of());
+        try {
+            SyncService concurrent = new SyncService(repo, projector, approvalGate, pool);
+
+            assertSame(slow, assertThrows(java.util.concurrent.TimeoutException.class,
+                    () -> concurrent.pull("u1", new SyncCursors(0L, 0L, 0L))));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void streamedPullWritesEachTypesRowsThenItsCursor() throws Exception {
+        RawRow s = new RawRow("ch1", Map.of("deleted", false, "channelUrl","u","name","n","subscribedAt",1L), 10L);
+        RawRow v = new RawRow("v1",  Map.of("deleted", false, "title","t","channelName","c","durationSeconds",10L,"addedAt",1L), 30L);
+        when(repo.pull(eq("u1"), eq("subscriptions"), eq(0L), isNull(), eq(500))).thenReturn(List.of(s));
+        when(repo.pull(eq("u1"), eq("playlists"),     eq(0L), isNull(), eq(500))).thenReturn(List.of());
+        when(repo.pull(eq("u1"), eq("favorites"),     eq(0L), isNull(), eq(500))).thenReturn(List.of(v));
+        when(projector.projectSubscriptions(List.of(s))).thenReturn(List.of(s));
+        when(projector.projectFavorites(List.of(v))).thenReturn(List.of(v));
+        List<String> lines = new java.util.ArrayList<>();
+
+        service.pull("u1", new SyncCursors(0L, 0L, 0L), new SyncService.RowSink() {
+            @Override
+            public void row(String collection, SyncRowDto row) {
+                lines.add(collection + ":" + row.getClass().getSimpleName() + ":" + row.getEntityId());
+            }
+
+            @Override
+            public void pageEnd(String collection, Long nextCursor, String nextCursorId) {
+                lines.add(collection + ":end:" + nextCursor + ":" + nextCursorId);
+            }
+        });
+
+        assertEquals(List.of(
+                "subscriptions:SubscriptionSyncDto:ch1",
+                "subscriptions:end:10:ch1",
+                "playlists:end:null:null",
+                "favorites:FavoriteSyncDto:v1",
+                "favorites:end:30:v1"), lines);
+    }
+
+    @Test
+    void protocol2StaleCursorGetsLiveOnlySnapshotWithResyncRequired() throws Exception {
+        long stale = System.currentTimeMillis() - java.time.Duration.ofDays(120).toMillis();
+        RawRow live = new RawRow("ch1", Map.of("deleted", false, "channelUrl","u","name","n","subscribedAt",1L), 10L);
+        RawRow archived = new RawRow("ch2", Map.of("deleted", true), 20L);
+        when(repo.pullLive(eq("u1"), eq("subscriptions"), isNull(), eq(500))).thenReturn(List.of(live, archived));
+        when(repo.pullLive(eq("u1"), eq("playlists"),     isNull(), eq(500))).thenReturn(List.of());
+        when(repo.pullLive(eq("u1"), eq("favorites"),     isNull(), eq(500))).thenReturn(List.of());
+        when(projector.projectSubscriptions(List.of(live, archived))).thenReturn(List.of(live, archived));
+        SyncCursors cursors = new SyncCursors(stale, "old", stale, null, stale, null);
+        cursors.setProtocol(SyncCursors.PROTOCOL_SNAPSHOT);
+        long before = System.currentTimeMillis();
+
+        SyncResponseDto resp = service.pull("u1", cursors);
+
+        SyncPageDto<SubscriptionSyncDto> subs = resp.getSubscriptions();
+        assertEquals(Integer.valueOf(2), resp.getProtocolVersion());
+        assertEquals(List.of("ch1"), subs.getItems().stream().map(SubscriptionSyncDto::getEntityId).toList());
+        assertEquals(Boolean.TRUE, subs.getResyncRequired());
+        // Partial page: snapshot done, deltas resume from the pinned time
+        assertNull(subs.getMode());
+        assertNull(subs.getNextCursorId());
+        assertTrue(subs.getNextCursor() <= before - SyncService.SNAPSHOT_CLOCK_SKEW_MS);
+        assertTrue(subs.getNextCursor() > stale);
+        Mockito.verify(repo, Mockito.never()).pull(eq("u1"), eq("subscriptions"), Mockito.anyLong(), Mockito.any(), Mockito.anyInt());
+    }
+
+    @Test
+    void protocol2SnapshotContinuationKeepsPinnedTimeAndPagesByDocId() throws Exception {
+        long pinned = System.currentTimeMillis() - 5_000L;
+        List<RawRow> rows = java.util.stream.IntStream.range(0, 500)
+                .mapToObj(i -> new RawRow(String.format("ch%03d", i), Map.of("deleted", false,
+                        "channelUrl", "u" + i, "name", "n" + i, "subscribedAt", (long) i), 1000L + i))
+                .toList();
+        when(repo.pullLive(eq("u1"), eq("subscriptions"), eq("ch-prev"), eq(500))).thenReturn(rows);
+        when(repo.pull(eq("u1"), eq("playlists"), eq(pinned), isNull(), eq(500))).thenReturn(List.of());
+        when(repo.pull(eq("u1"), eq("favorites"), eq(pinned), isNull(), eq(500))).thenReturn(List.of());
+        when(projector.projectSubscriptions(rows)).thenReturn(rows);
+        SyncCursors cursors = new SyncCursors(pinned, "ch-prev", pinned, null, pinned, null);
+        cursors.setProtocol(SyncCursors.PROTOCOL_SNAPSHOT);
+        cursors.setSubscriptionsSnapshot(true);
+
+        SyncResponseDto resp = service.pull("u1", cursors);
+
+        SyncPageDto<SubscriptionSyncDto> subs = resp.getSubscriptions();
+        assertEquals(500, subs.getItems().size());
+        assertEquals(Long.valueOf(pinned), subs.getNextCursor());
+        assertEquals("ch499", subs.getNextCursorId());
+        assertEquals(SyncPageDto.MODE_SNAPSHOT, subs.getMode());
+        assertNull(subs.getResyncRequired());
+        // Types without the continuation flag are plain delta pulls
+        assertNull(resp.getPlaylists().getMode());
+        assertNull(resp.getPlaylists().getResyncRequired());
+    }
+
+    @Test
+    void protocol1StaleCursorStillGetsDeltas() throws Exception {
+        long stale = System.currentTimeMillis() - java.time.Duration.ofDays(120).toMillis();
+        when(repo.pull(eq("u1"), eq("subscriptions"), eq(stale), isNull(), eq(500))).thenReturn(List.of());
+        when(repo.pull(eq("u1"), eq("playlists"),     eq(stale), isNull(), eq(500))).thenReturn(List.of());
+        when(repo.pull(eq("u1"), eq("favorites"),     eq(stale), isNull(), eq(500))).thenReturn(List.of());
+
+        SyncResponseDto resp = service.pull("u1", new SyncCursors(stale, stale, stale));
+
+        assertNull(resp.getProtocolVersion());
+        assertNull(resp.getSubscriptions().getResyncRequired());
+        Mockito.verify(repo, Mockito.never()).pullLive(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt());
+    }
 }